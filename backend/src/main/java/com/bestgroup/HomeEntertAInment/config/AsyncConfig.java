@@ -0,0 +1,21 @@
+package com.bestgroup.HomeEntertAInment.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executor configuration for concurrent calls to external AI providers
+ * Calls to Gemini/Runware are blocking I/O, so each task runs on its own virtual thread;
+ * callers bound their own concurrency where a provider quota applies
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService aiTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -44,4 +44,24 @@ public class ClerkUserExtractor {
         }
         return userId;
     }
+
+    /**
+     * Extract a display name for the user from the JWT claims
+     * Clerk only includes these claims when they are added to the session token template
+     *
+     * @param authentication The Spring Security authentication object
+     * @return The first non-blank of the name, username and first_name claims, or null if none is present
+     */
+    public String extractDisplayName(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken jwtAuth) {
+            Jwt jwt = jwtAuth.getToken();
+            for (String claim : new String[] {"name", "username", "first_name"}) {
+                String value = jwt.getClaimAsString(claim);
+                if (value != null && !value.isBlank()) {
+                    return value.trim();
+                }
+            }
+        }
+        return null;
+    }
 }
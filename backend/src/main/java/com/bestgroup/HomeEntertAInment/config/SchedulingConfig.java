@@ -0,0 +1,13 @@
+package com.bestgroup.HomeEntertAInment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's scheduled task support
+ * Used by background jobs such as periodic statistics flushing
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -17,7 +17,7 @@ public class SecurityConfig {
         http
                 .csrf((csrf -> csrf.disable()))
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers(HttpMethod.GET, "/api/proxy/image").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/proxy/image", "/api/proxy/image/thumbnail").permitAll()
                         // Require auth for movie APIs
                         .requestMatchers("/api/movies/**").authenticated()
                         .requestMatchers("/api/movie-lists/**").authenticated()
@@ -0,0 +1,27 @@
+package com.bestgroup.HomeEntertAInment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.bestgroup.HomeEntertAInment.quiz.controller.QuizRoomWebSocketHandler;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * WebSocket configuration for live quiz rooms
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final QuizRoomWebSocketHandler quizRoomWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(quizRoomWebSocketHandler, "/ws/quiz-rooms/*")
+                .setAllowedOriginPatterns("http://localhost:5173", "http://localhost:3000", "http://127.0.0.1:5173");
+    }
+}
@@ -0,0 +1,63 @@
+package com.bestgroup.HomeEntertAInment.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes files from local disk to HTTP responses without copying them through the heap
+ * Uses Tomcat sendfile when the connector supports it, otherwise FileChannel.transferTo.
+ * With sendfile the file is opened after the handler returns, so caches must not delete a file
+ * right after evicting it (see {@link com.bestgroup.HomeEntertAInment.service.DelayedFileDeleter}).
+ */
+public final class FileResponses {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileResponses() {
+    }
+
+    /**
+     * Write a byte range of a file as the response body
+     * Status and headers, including Content-Length, must already be set
+     *
+     * @param file The file to send
+     * @param start First byte to send
+     * @param end Last byte to send, inclusive
+     * @param request The HTTP request, used to hand the file to Tomcat sendfile
+     * @param response The HTTP response
+     * @throws IOException if the file cannot be read or the response written
+     */
+    public static void transfer(Path file, long start, long end, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file with sendfile once the handler returns, without copying through the JVM
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.bestgroup.HomeEntertAInment.controller;
+
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.bestgroup.HomeEntertAInment.service.ImageThumbnailService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controller serving remote images (story covers, movie posters) and their thumbnails through the local disk cache
+ * Images are fetched once and then served from disk through {@link FileResponses}.
+ * Single byte ranges and ETag revalidation are supported.
+ */
+@CrossOrigin
+@RestController
+@RequestMapping("/api/proxy")
+@RequiredArgsConstructor
+public class ImageProxyController {
+
+    private final ImageDiskCache imageDiskCache;
+    private final ImageThumbnailService imageThumbnailService;
+
+    /**
+     * How long clients may reuse a proxied image without revalidating
+     */
+    @Value("${app.image-cache.max-age-seconds:604800}")
+    private long maxAgeSeconds;
+
+    /**
+     * Serve a remote image from the local cache
+     *
+     * @param url The remote image URL (must be on an allowed host)
+     * @param request The HTTP request, read for Range, If-Range and If-None-Match
+     * @param response The HTTP response the image is written to
+     */
+    @GetMapping("/image")
+    @Operation(summary = "Proxy a remote image", description = "Serve a story cover or movie poster through the local image cache. "
+        + "Supports single byte ranges and ETag revalidation.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Image served"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range served"),
+        @ApiResponse(responseCode = "304", description = "Image not modified"),
+        @ApiResponse(responseCode = "400", description = "URL missing or not allowed"),
+        @ApiResponse(responseCode = "416", description = "Requested range not satisfiable"),
+        @ApiResponse(responseCode = "502", description = "Image could not be fetched")
+    })
+    public void getImage(@RequestParam("url") String url, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!imageDiskCache.isAllowed(url)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Image URL not allowed");
+            return;
+        }
+        serve(imageDiskCache.get(url), request, response);
+    }
+
+    /**
+     * Serve a downscaled thumbnail of a remote image
+     *
+     * @param url The remote image URL (must be on an allowed host)
+     * @param width The wanted width in pixels; rounded up to the nearest configured thumbnail width
+     * @param request The HTTP request, read for Range, If-Range and If-None-Match
+     * @param response The HTTP response the thumbnail is written to
+     */
+    @GetMapping("/image/thumbnail")
+    @Operation(summary = "Proxy a thumbnail of a remote image", description = "Serve a downscaled story cover or movie poster, "
+        + "rendered once and kept in the local image cache. Supports single byte ranges and ETag revalidation.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Thumbnail served"),
+        @ApiResponse(responseCode = "304", description = "Thumbnail not modified"),
+        @ApiResponse(responseCode = "400", description = "URL missing or not allowed, or invalid width"),
+        @ApiResponse(responseCode = "502", description = "Image could not be fetched"),
+        @ApiResponse(responseCode = "503", description = "Too many thumbnails being rendered")
+    })
+    public void getThumbnail(@RequestParam("url") String url,
+                             @RequestParam(value = "width", defaultValue = "192") int width,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        if (!imageDiskCache.isAllowed(url) || width <= 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Image URL not allowed or invalid width");
+            return;
+        }
+        Optional<ImageDiskCache.CachedImage> thumbnail;
+        try {
+            thumbnail = imageThumbnailService.getThumbnail(url, width);
+        } catch (RejectedExecutionException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many thumbnails being rendered");
+            return;
+        }
+        serve(thumbnail, request, response);
+    }
+
+    private void serve(Optional<ImageDiskCache.CachedImage> cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (cached.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY, "Image could not be fetched");
+            return;
+        }
+        ImageDiskCache.CachedImage image = cached.get();
+        String etag = image.etag();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+            CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().getHeaderValue());
+
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = image.size() - 1;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        ByteRange range = (ifRange == null || ifRange.equals(etag))
+            ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), image.size())
+            : null;
+        if (range != null) {
+            if (!range.satisfiable()) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + image.size());
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range.start();
+            end = range.end();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + image.size());
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        FileResponses.transfer(image.file(), start, end, request, response);
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    /**
+     * A single byte range from a Range header; end is inclusive
+     */
+    record ByteRange(long start, long end, boolean satisfiable) {
+
+        /**
+         * Parse a Range header
+         * Multiple ranges and malformed headers are ignored, so the whole image is served
+         *
+         * @param header The Range header value, may be null
+         * @param size The image size
+         * @return The range, or null if the whole image should be served
+         */
+        static ByteRange parse(String header, long size) {
+            if (header == null || !header.startsWith("bytes=") || header.contains(",")) {
+                return null;
+            }
+            String spec = header.substring("bytes=".length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                String first = spec.substring(0, dash).trim();
+                String last = spec.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    // Suffix range: the last N bytes
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0) {
+                        return new ByteRange(0, 0, false);
+                    }
+                    return new ByteRange(Math.max(size - suffix, 0), size - 1, size > 0);
+                }
+                long start = Long.parseLong(first);
+                if (!last.isEmpty() && Long.parseLong(last) < start) {
+                    // Invalid range; the header is ignored
+                    return null;
+                }
+                long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+                return new ByteRange(start, end, start < size);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.bestgroup.HomeEntertAInment.controller;
 
+import com.bestgroup.HomeEntertAInment.dto.MovieRecommendationCacheStatsDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieRecommenderStatsDto;
 import com.bestgroup.HomeEntertAInment.dto.MovieRequestDto;
 import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import com.bestgroup.HomeEntertAInment.service.MovieRecommendationCache;
+import com.bestgroup.HomeEntertAInment.service.MovieRecommender;
 import com.bestgroup.HomeEntertAInment.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Controller for movie recommendation endpoints
@@ -20,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieRecommender movieRecommender;
+    private final MovieRecommendationCache movieCache;
 
     /**
      * Generate movie recommendations based on user preferences
@@ -44,4 +52,51 @@ public class MovieController {
             return ResponseEntity.internalServerError().body(null);
         }
     }
+
+    /**
+     * Stream movie recommendations, one event per movie as soon as it is generated
+     *
+     * @param request The movie request containing user preferences
+     * @return Server-sent events: "movie" per recommendation, then "complete" or "error"
+     */
+    @PostMapping(value = "/recommendations/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream movie recommendations", description = "Generate movie recommendations based on user preferences, "
+        + "sending each movie as a server-sent \"movie\" event as soon as it is generated, followed by a \"complete\" "
+        + "or \"error\" event.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    public SseEmitter streamMovieRecommendations(@RequestBody MovieRequestDto request) {
+        return movieService.streamMovieRecommendations(request);
+    }
+
+    /**
+     * Get hit rate and latency of the local recommender
+     *
+     * @return Recommender statistics since startup
+     */
+    @GetMapping("/recommender/stats")
+    @Operation(summary = "Get recommender statistics", description = "Hit rate and latency of recommendations answered from saved "
+        + "movie lists, compared with Gemini.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved")
+    })
+    public ResponseEntity<MovieRecommenderStatsDto> getRecommenderStats() {
+        return ResponseEntity.ok(movieRecommender.getStats());
+    }
+
+    /**
+     * Get hit rates of the recommendation cache
+     *
+     * @return Cache statistics since startup
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get recommendation cache statistics", description = "Exact and similar-request hit rates of the "
+        + "movie recommendation cache.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved")
+    })
+    public ResponseEntity<MovieRecommendationCacheStatsDto> getCacheStats() {
+        return ResponseEntity.ok(movieCache.getStats());
+    }
 }
@@ -4,13 +4,14 @@ import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
 import com.bestgroup.HomeEntertAInment.dto.MovieListSummaryDto;
 import com.bestgroup.HomeEntertAInment.dto.MovieListDetailDto;
 import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.dto.SavedMovieSearchResponseDto;
 import com.bestgroup.HomeEntertAInment.service.MovieListService;
+import com.bestgroup.HomeEntertAInment.service.SavedMovieSearch;
 import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,7 +25,7 @@ public class MovieListController {
 
     private final MovieListService movieListService;
     private final ClerkUserExtractor clerkUserExtractor;
-    private final ObjectMapper objectMapper;
+    private final SavedMovieSearch savedMovieSearch;
 
     @PostMapping("/save")
     public ResponseEntity<Map<String, Object>> saveMovieList(
@@ -64,17 +65,61 @@ public class MovieListController {
         }
     }
 
+    /**
+     * All of the user's lists, or one page of them when page or size is given
+     */
     @GetMapping
     public ResponseEntity<List<MovieListSummaryDto>> getUserMovieLists(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
             Authentication authentication
     ) {
         try {
             String clerkUserId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
-            List<MovieList> movieLists = movieListService.getMovieListsByUserId(clerkUserId);
-            List<MovieListSummaryDto> summaryDtos = movieLists.stream()
-                    .map(this::convertToSummaryDto)
-                    .collect(java.util.stream.Collectors.toList());
-            return ResponseEntity.ok(summaryDtos);
+            if (page == null && size == null) {
+                return ResponseEntity.ok(movieListService.getMovieListSummaries(clerkUserId));
+            }
+            return ResponseEntity.ok(movieListService.getMovieListSummaries(clerkUserId,
+                    page != null ? page : 0, size != null ? size : 50));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SavedMovieSearchResponseDto> searchSavedMovies(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) List<String> decade,
+            @RequestParam(required = false) List<String> ageRating,
+            @RequestParam(required = false) List<String> duration,
+            @RequestParam(required = false) List<String> director,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        try {
+            String clerkUserId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+            Map<String, List<String>> filters = new HashMap<>();
+            filters.put(SavedMovieSearch.GENRE, genre != null ? genre : List.of());
+            filters.put(SavedMovieSearch.DECADE, decade != null ? decade : List.of());
+            filters.put(SavedMovieSearch.AGE_RATING, ageRating != null ? ageRating : List.of());
+            filters.put(SavedMovieSearch.DURATION, duration != null ? duration : List.of());
+            filters.put(SavedMovieSearch.DIRECTOR, director != null ? director : List.of());
+            return ResponseEntity.ok(savedMovieSearch.search(clerkUserId, q, filters, page, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/movies")
+    public ResponseEntity<List<MovieResponseDto.MovieDto>> getSavedMoviesByGenre(
+            @RequestParam String genre,
+            Authentication authentication
+    ) {
+        try {
+            String clerkUserId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+            return ResponseEntity.ok(movieListService.getSavedMoviesByGenre(clerkUserId, genre));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -158,16 +203,6 @@ public class MovieListController {
                 .build();
     }
     
-    private MovieListSummaryDto convertToSummaryDto(MovieList movieList) {
-        return MovieListSummaryDto.builder()
-                .id(movieList.getId())
-                .listName(movieList.getListName())
-                .description(movieList.getDescription())
-                .movieCount(movieList.getMovies() != null ? movieList.getMovies().size() : 0)
-                .createdAt(movieList.getCreatedAt())
-                .build();
-    }
-    
     private MovieListDetailDto convertToDetailDto(MovieList movieList) {
         List<MovieResponseDto.MovieDto> movieDtos = movieList.getMovies() != null ?
                 movieList.getMovies().stream()
@@ -185,37 +220,20 @@ public class MovieListController {
                 .build();
     }
     
-    private MovieResponseDto.MovieDto convertToMovieDto(com.bestgroup.HomeEntertAInment.entity.MovieListItem movieItem) {
-        try {
-            List<String> genres = movieItem.getGenres() != null ?
-                    objectMapper.readValue(movieItem.getGenres(), 
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, String.class)) :
-                    new java.util.ArrayList<>();
-            
-            List<String> cast = movieItem.getCast() != null ?
-                    objectMapper.readValue(movieItem.getCast(), 
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, String.class)) :
-                    new java.util.ArrayList<>();
-            
-            return MovieResponseDto.MovieDto.builder()
-                    .title(movieItem.getTitle())
-                    .year(movieItem.getYear())
-                    .imdbId(movieItem.getImdbId())
-                    .genres(genres)
-                    .description(movieItem.getDescription())
-                    .duration(movieItem.getDuration())
-                    .ageRating(movieItem.getAgeRating())
-                    .director(movieItem.getDirector())
-                    .cast(cast)
-                    .rating(movieItem.getRating())
-                    .recommendationReason(movieItem.getRecommendationReason())
-                    .build();
-        } catch (Exception e) {
-            // Fallback if JSON parsing fails
-            return MovieResponseDto.MovieDto.builder()
-                    .title(movieItem.getTitle())
-                    .description(movieItem.getDescription())
-                    .build();
-        }
+    private MovieResponseDto.MovieDto convertToMovieDto(com.bestgroup.HomeEntertAInment.entity.MovieListItem listItem) {
+        com.bestgroup.HomeEntertAInment.entity.Movie movie = listItem.getMovie();
+        return MovieResponseDto.MovieDto.builder()
+                .title(movie.getTitle())
+                .year(movie.getYear())
+                .imdbId(movie.getImdbId())
+                .genres(movie.getGenres() != null ? movie.getGenres() : new java.util.ArrayList<>())
+                .description(movie.getDescription())
+                .duration(movie.getDuration())
+                .ageRating(movie.getAgeRating())
+                .director(movie.getDirector())
+                .cast(movie.getCast() != null ? movie.getCast() : new java.util.ArrayList<>())
+                .rating(movie.getRating())
+                .recommendationReason(listItem.getRecommendationReason())
+                .build();
     }
 }
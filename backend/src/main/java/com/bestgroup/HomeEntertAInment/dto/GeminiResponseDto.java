@@ -8,6 +8,7 @@ import java.util.List;
  * DTO for handling Gemini API responses
  * Based on the structure returned by Google's Gemini API
  */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public record GeminiResponseDto(List<Candidate> candidates) {
     
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -0,0 +1,23 @@
+package com.bestgroup.HomeEntertAInment.dto;
+
+/**
+ * Hit rates of the movie recommendation cache
+ *
+ * @param exactHits Requests served for identical preferences
+ * @param similarHits Requests served from a similar earlier request
+ * @param misses Requests passed on to Gemini
+ * @param hitRate Share of requests served from the cache
+ * @param averageSimilarity Average similarity of the similar hits
+ * @param similarityThreshold Configured smallest similarity for a similar hit
+ * @param entries Cached requests
+ */
+public record MovieRecommendationCacheStatsDto(
+        long exactHits,
+        long similarHits,
+        long misses,
+        double hitRate,
+        double averageSimilarity,
+        double similarityThreshold,
+        int entries
+) {
+}
@@ -0,0 +1,23 @@
+package com.bestgroup.HomeEntertAInment.dto;
+
+/**
+ * Hit rate and latency of the local movie recommender
+ *
+ * @param hits Requests answered from saved lists
+ * @param misses Requests passed on to Gemini
+ * @param hitRate Share of requests answered locally
+ * @param averageLocalMillis Average time to answer a request locally
+ * @param averageGeminiMillis Average time Gemini took for the requests passed on
+ * @param lists Saved lists learned from
+ * @param movies Distinct movies learned
+ */
+public record MovieRecommenderStatsDto(
+        long hits,
+        long misses,
+        double hitRate,
+        double averageLocalMillis,
+        double averageGeminiMillis,
+        long lists,
+        int movies
+) {
+}
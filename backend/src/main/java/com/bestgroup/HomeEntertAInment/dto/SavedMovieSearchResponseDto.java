@@ -0,0 +1,61 @@
+package com.bestgroup.HomeEntertAInment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a page of faceted search results over a user's saved movies
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedMovieSearchResponseDto {
+
+    /**
+     * Matching movies on the requested page, most recently saved first
+     */
+    private List<SavedMovieDto> items;
+
+    /**
+     * Facet name (genre, decade, ageRating, duration, director) -> value -> number of matching movies
+     * Each facet is counted with all filters applied except its own, so other values stay selectable
+     */
+    private Map<String, Map<String, Long>> facets;
+
+    /**
+     * Zero-based page number
+     */
+    private int page;
+
+    /**
+     * Requested page size
+     */
+    private int size;
+
+    /**
+     * Total number of matching movies
+     */
+    private long totalResults;
+
+    /**
+     * A saved movie and the lists it is saved in
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SavedMovieDto {
+
+        private MovieResponseDto.MovieDto movie;
+
+        private List<Long> listIds;
+
+        private List<String> listNames;
+    }
+}
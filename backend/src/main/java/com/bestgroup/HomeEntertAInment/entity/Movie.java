@@ -0,0 +1,122 @@
+package com.bestgroup.HomeEntertAInment.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Movie metadata shared by every list the movie is saved in
+ */
+@Entity
+@Table(name = "movies")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Movie {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    @SequenceGenerator(name = "movies_seq", sequenceName = "movies_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Identity of the movie, from {@link #key}
+     */
+    @Column(name = "movie_key", nullable = false, unique = true, length = 512)
+    private String movieKey;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "year")
+    private Integer year;
+
+    @Column(name = "imdb_id")
+    private String imdbId;
+
+    @Column(name = "rating")
+    private Double rating;
+
+    @Column(name = "age_rating")
+    private String ageRating;
+
+    @Column(name = "duration")
+    private Integer duration;
+
+    @Column(name = "director")
+    private String director;
+
+    /**
+     * Native array column, GIN-indexed on Postgres for genre lookups
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "genres")
+    private List<String> genres;
+
+    /**
+     * {@link #genres} as {@link #genreKey}s, kept in sync on write; genre lookups match on it so
+     * "Comedy" and "comedy" find the same movies while genres keep their original spelling
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "genre_keys")
+    @Setter(AccessLevel.NONE)
+    private List<String> genreKeys;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "movie_cast")
+    private List<String> cast;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    @PreUpdate
+    void updateGenreKeys() {
+        genreKeys = genres == null ? null : genres.stream()
+                .filter(genre -> genre != null && !genre.isBlank())
+                .map(Movie::genreKey)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Normalized genre, as stored in {@link #genreKeys}
+     * Must match the backfill in the V13 migration
+     */
+    public static String genreKey(String genre) {
+        return genre.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Identity of a movie: its IMDb ID, or its title and year when the ID is unknown
+     * Pass the IMDb ID only once it is confirmed to belong to the title; unconfirmed IDs may be made up
+     * Must match the backfill in the V10 migration
+     *
+     * @return The key, or null without IMDb ID and title
+     */
+    public static String key(String imdbId, String title, Integer year) {
+        if (imdbId != null && !imdbId.isBlank()) {
+            return imdbId.strip().toLowerCase(Locale.ROOT);
+        }
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        return title.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ") + "|" + (year == null ? "" : year);
+    }
+}
@@ -35,6 +35,7 @@ public class MovieList {
     private String searchCriteria;
 
     @OneToMany(mappedBy = "movieList", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OrderBy("position")
     private List<MovieListItem> movies;
 
     @CreationTimestamp
@@ -17,43 +17,25 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class MovieListItem {
 
+    // Sequence ids (allocated 50 at a time) keep the item inserts of a list in one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_list_items_seq")
+    @SequenceGenerator(name = "movie_list_items_seq", sequenceName = "movie_list_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "movie_list_id", nullable = false)
     private MovieList movieList;
 
-    @Column(name = "title", nullable = false)
-    private String title;
-
-    @Column(name = "year")
-    private Integer year;
-
-    @Column(name = "imdb_id")
-    private String imdbId;
-
-    @Column(name = "rating")
-    private Double rating;
-
-    @Column(name = "age_rating")
-    private String ageRating;
-
-    @Column(name = "duration")
-    private Integer duration;
-
-    @Column(name = "director")
-    private String director;
-
-    @Column(name = "genres", columnDefinition = "TEXT")
-    private String genres; // Stored as JSON string
-
-    @Column(name = "movie_cast", columnDefinition = "TEXT")
-    private String cast; // Stored as JSON string
-
-    @Column(name = "description", columnDefinition = "TEXT")
-    private String description;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "movie_id", nullable = false)
+    private Movie movie;
+
+    /**
+     * Position of the movie in the list, from 0
+     */
+    @Column(name = "position")
+    private Integer position;
 
     @Column(name = "recommendation_reason", columnDefinition = "TEXT")
     private String recommendationReason;
@@ -1,10 +1,14 @@
 package com.bestgroup.HomeEntertAInment.quiz.controller;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,13 +17,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.quiz.dto.LeaderboardPageDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizAttemptStatsDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizConfigurationDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizDeleteDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizPrivacyUpdateDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizSearchResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizSubmissionResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizLeaderboardService;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizSearchService;
 import com.bestgroup.HomeEntertAInment.quiz.service.QuizService;
+import com.bestgroup.HomeEntertAInment.service.JsonResponseCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,6 +48,16 @@ import lombok.RequiredArgsConstructor;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizSearchService quizSearchService;
+    private final QuizLeaderboardService quizLeaderboardService;
+    private final JsonResponseCache jsonResponseCache;
+    private final ClerkUserExtractor clerkUserExtractor;
+
+    /**
+     * How long clients may reuse a quiz response before revalidating its ETag
+     */
+    @Value("${app.http-cache.quiz-max-age-seconds:60}")
+    private long quizMaxAgeSeconds;
 
     /**
      * Create a new quiz based on configuration
@@ -61,13 +85,19 @@ public class QuizController {
 
     /**
      * Get quiz by ID
+     * Quiz content never changes after creation, so the serialized quiz is cached with a strong
+     * ETag; a request with a matching If-None-Match is answered with 304 Not Modified
      * @param quizId The ID of the quiz to retrieve
-     * @return ResponseEntity containing quiz data
+     * @return ResponseEntity containing the quiz data as JSON
      */
     @GetMapping("/{quizId}")
-    public ResponseEntity<QuizResponseDto> getQuiz(@PathVariable UUID quizId) {
-        Optional<QuizResponseDto> quiz = quizService.getQuizById(quizId);
-        return quiz.map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getQuiz(@PathVariable UUID quizId) {
+        return jsonResponseCache.get(quizCacheKey(quizId), null, () -> quizService.getQuizById(quizId),
+                        quiz -> !Boolean.TRUE.equals(quiz.getIsPrivate()))
+                // Private quizzes must never be stored by proxies and served to other users
+                .map(quiz -> quiz.toResponse(quiz.shared()
+                        ? CacheControl.maxAge(Duration.ofSeconds(quizMaxAgeSeconds)).cachePublic()
+                        : CacheControl.noCache().cachePrivate()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -81,6 +111,22 @@ public class QuizController {
         return ResponseEntity.ok(quizzes);
     }
 
+    /**
+     * Search public quizzes by title, description and topics
+     * Each word is matched as a prefix, so this can back a typeahead
+     * @param q The search text
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return ResponseEntity containing a page of matching quizzes
+     */
+    @GetMapping("/search")
+    public ResponseEntity<QuizSearchResponseDto> searchQuizzes(
+            @RequestParam("q") String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(quizSearchService.search(q, page, size));
+    }
+
     /**
      * Get all quizzes created by a specific user
      * @param userId The ID of the user who created the quizzes
@@ -94,13 +140,22 @@ public class QuizController {
 
     /**
      * Submit quiz answers for scoring
+     * Submissions with a valid bearer token are also ranked on the leaderboards
      * @param quizId The ID of the quiz
+     * @param answers The selected option index for each question, in quiz order
+     * @param authentication The authentication of the submitting user, if signed in
      * @return ResponseEntity containing quiz results
      */
     @PostMapping("/{quizId}/submit")
-    public ResponseEntity<String> submitQuiz(@PathVariable UUID quizId) {
-        // TODO: Implement quiz submission logic
-        return ResponseEntity.ok("Submit quiz endpoint - not implemented yet");
+    public ResponseEntity<QuizSubmissionResponseDto> submitQuiz(
+            @PathVariable UUID quizId,
+            @RequestBody List<Integer> answers,
+            Authentication authentication) {
+        Optional<QuizSubmissionResponseDto> result = quizService.submitQuiz(quizId, answers,
+                clerkUserExtractor.extractClerkUserId(authentication),
+                clerkUserExtractor.extractDisplayName(authentication));
+        return result.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -116,6 +171,7 @@ public class QuizController {
         boolean deleted = quizService.deleteQuiz(quizId, request.getUserId());
         
         if (deleted) {
+            jsonResponseCache.evict(quizCacheKey(quizId));
             return ResponseEntity.ok("Quiz deleted successfully");
         } else {
             return ResponseEntity.badRequest().body("Failed to delete quiz. Quiz not found or not owned by user.");
@@ -136,6 +192,7 @@ public class QuizController {
         boolean updated = quizService.updateQuizPrivacy(quizId, request.getUserId(), request.getIsPrivate());
         
         if (updated) {
+            jsonResponseCache.evict(quizCacheKey(quizId));
             return ResponseEntity.ok("Quiz privacy updated successfully");
         } else {
             return ResponseEntity.badRequest().body("Failed to update quiz privacy. Quiz not found or not owned by user.");
@@ -144,11 +201,55 @@ public class QuizController {
     
     /**
      * Get quiz statistics
+     * Served from incrementally maintained counters, so the cost does not grow with data size
      * @return ResponseEntity containing quiz statistics
      */
     @GetMapping("/stats")
-    public ResponseEntity<String> getQuizStats() {
-        // TODO: Implement quiz statistics logic
-        return ResponseEntity.ok("Quiz stats endpoint - not implemented yet");
+    public ResponseEntity<QuizStatsDto> getQuizStats() {
+        return ResponseEntity.ok(quizService.getQuizStats());
+    }
+
+    /**
+     * Get statistics of a single quiz, including per-question correctness rates
+     * @param quizId The ID of the quiz
+     * @return ResponseEntity containing the quiz statistics
+     */
+    @GetMapping("/{quizId}/stats")
+    public ResponseEntity<QuizAttemptStatsDto> getQuizStats(@PathVariable UUID quizId) {
+        Optional<QuizAttemptStatsDto> stats = quizService.getQuizStats(quizId);
+        return stats.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the leaderboard of a quiz, ranked by each user's best score
+     * @param quizId The ID of the quiz
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return ResponseEntity containing a page of the leaderboard
+     */
+    @GetMapping("/{quizId}/leaderboard")
+    public ResponseEntity<LeaderboardPageDto> getQuizLeaderboard(
+            @PathVariable UUID quizId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(quizLeaderboardService.getQuizLeaderboard(quizId, page, size));
+    }
+
+    /**
+     * Get the global leaderboard, ranked by the sum of each user's best quiz scores
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return ResponseEntity containing a page of the leaderboard
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<LeaderboardPageDto> getGlobalLeaderboard(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(quizLeaderboardService.getGlobalLeaderboard(page, size));
+    }
+
+    private static String quizCacheKey(UUID quizId) {
+        return "quiz:" + quizId;
     }
 }
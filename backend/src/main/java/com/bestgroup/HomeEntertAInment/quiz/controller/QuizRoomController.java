@@ -0,0 +1,55 @@
+package com.bestgroup.HomeEntertAInment.quiz.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomDto;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizRoomService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for live multiplayer quiz rooms
+ * Rooms are created over REST; the game itself is played over the WebSocket endpoint
+ * returned in {@link QuizRoomDto#getWebSocketPath()}
+ */
+@CrossOrigin
+@RestController
+@RequestMapping("/api/quiz")
+@RequiredArgsConstructor
+public class QuizRoomController {
+
+    private final QuizRoomService quizRoomService;
+
+    /**
+     * Create a live room for an existing quiz
+     * @param quizId The ID of the quiz to play
+     * @return ResponseEntity containing the room code and the host token
+     */
+    @PostMapping("/{quizId}/rooms")
+    public ResponseEntity<QuizRoomDto> createRoom(@PathVariable UUID quizId) {
+        return quizRoomService.createRoom(quizId)
+                .map(room -> ResponseEntity.status(HttpStatus.CREATED).body(room))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the status of a live room
+     * @param roomCode The room code
+     * @return ResponseEntity containing the room status
+     */
+    @GetMapping("/rooms/{roomCode}")
+    public ResponseEntity<QuizRoomDto> getRoom(@PathVariable String roomCode) {
+        return quizRoomService.getRoom(roomCode)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
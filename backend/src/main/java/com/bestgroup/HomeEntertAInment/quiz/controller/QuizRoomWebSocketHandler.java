@@ -0,0 +1,66 @@
+package com.bestgroup.HomeEntertAInment.quiz.controller;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomClientMessageDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomMessageDto;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizRoomService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket endpoint for live quiz rooms, mapped to /ws/quiz-rooms/{roomCode}
+ * Parses client messages and hands them to the room; all game logic lives in {@link QuizRoomService}
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class QuizRoomWebSocketHandler extends TextWebSocketHandler {
+
+    private final QuizRoomService quizRoomService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        if (!quizRoomService.roomExists(roomCode(session))) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Unknown room"));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Capture arrival time before any parsing, so answer timing is not skewed by server work
+        long receivedNanos = System.nanoTime();
+        String roomCode = roomCode(session);
+        try {
+            QuizRoomClientMessageDto clientMessage = objectMapper.readValue(message.getPayload(), QuizRoomClientMessageDto.class);
+            quizRoomService.handleMessage(roomCode, session, clientMessage, receivedNanos);
+        } catch (JsonProcessingException e) {
+            quizRoomService.sendDirect(session, QuizRoomMessageDto.builder()
+                    .type("error")
+                    .roomCode(roomCode)
+                    .message("Invalid message")
+                    .build());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        quizRoomService.leave(roomCode(session), session.getId());
+    }
+
+    private String roomCode(WebSocketSession session) {
+        if (session.getUri() == null) {
+            return null;
+        }
+        String path = session.getUri().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
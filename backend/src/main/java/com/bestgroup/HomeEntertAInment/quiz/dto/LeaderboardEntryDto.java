@@ -0,0 +1,38 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single leaderboard row
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntryDto {
+
+    /**
+     * One-based rank on the leaderboard
+     */
+    private long rank;
+
+    /**
+     * Display name of the player who reached the score
+     */
+    private String playerName;
+
+    /**
+     * Best score (quiz leaderboard) or sum of best scores (global leaderboard)
+     */
+    private long score;
+
+    /**
+     * When the score was reached
+     */
+    private LocalDateTime achievedAt;
+}
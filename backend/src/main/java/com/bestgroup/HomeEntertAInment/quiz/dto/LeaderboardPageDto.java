@@ -0,0 +1,38 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a page of a leaderboard
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardPageDto {
+
+    /**
+     * Leaderboard rows on the requested page, best first
+     */
+    private List<LeaderboardEntryDto> entries;
+
+    /**
+     * Zero-based page number
+     */
+    private int page;
+
+    /**
+     * Requested page size
+     */
+    private int size;
+
+    /**
+     * Total number of players on the leaderboard
+     */
+    private long totalEntries;
+}
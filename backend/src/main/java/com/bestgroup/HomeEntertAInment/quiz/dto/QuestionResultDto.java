@@ -0,0 +1,44 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the result of a single answered question
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionResultDto {
+
+    /**
+     * Unique identifier for the question
+     */
+    private String questionId;
+
+    /**
+     * Index of the option chosen by the user (null if unanswered)
+     */
+    private Integer userAnswer;
+
+    /**
+     * Index of the correct option
+     */
+    private Integer correctAnswer;
+
+    /**
+     * Whether the user's answer was correct
+     */
+    @JsonProperty("isCorrect")
+    private boolean correct;
+
+    /**
+     * Explanation for why the correct answer is right
+     */
+    private String explanation;
+}
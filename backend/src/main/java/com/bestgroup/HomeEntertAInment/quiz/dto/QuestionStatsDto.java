@@ -0,0 +1,36 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the statistics of a single question
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionStatsDto {
+
+    /**
+     * Unique identifier for the question
+     */
+    private String questionId;
+
+    /**
+     * Number of times the question was answered
+     */
+    private long answered;
+
+    /**
+     * Number of times the question was answered correctly
+     */
+    private long correct;
+
+    /**
+     * Share of answers that were correct (0-1)
+     */
+    private double correctnessRate;
+}
@@ -0,0 +1,39 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the statistics of a single quiz
+ * Contains attempt totals and the correctness rate of every question
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAttemptStatsDto {
+
+    /**
+     * Unique identifier for the quiz
+     */
+    private String quizId;
+
+    /**
+     * Number of submitted attempts for this quiz
+     */
+    private long attempts;
+
+    /**
+     * Average attempt score as a percentage (0-100)
+     */
+    private double averageScore;
+
+    /**
+     * Per-question statistics, in quiz order
+     */
+    private List<QuestionStatsDto> questions;
+}
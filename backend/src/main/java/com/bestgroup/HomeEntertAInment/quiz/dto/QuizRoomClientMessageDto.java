@@ -0,0 +1,43 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for messages sent by clients over the quiz room WebSocket
+ * Types: "join" (name, optional hostToken), "start" (host only) and "answer" (questionIndex, answerIndex)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class QuizRoomClientMessageDto {
+
+    /**
+     * Message type
+     */
+    private String type;
+
+    /**
+     * Display name of a joining player
+     */
+    private String name;
+
+    /**
+     * Host token returned when the room was created; identifies the host on join
+     */
+    private String hostToken;
+
+    /**
+     * Index of the question being answered
+     */
+    private Integer questionIndex;
+
+    /**
+     * Selected option index (0-3)
+     */
+    private Integer answerIndex;
+}
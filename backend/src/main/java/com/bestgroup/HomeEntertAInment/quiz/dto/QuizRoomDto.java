@@ -0,0 +1,57 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a live quiz room
+ * Returned to the host when a room is created, and as the room status
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizRoomDto {
+
+    /**
+     * Short code players use to join the room
+     */
+    private String roomCode;
+
+    /**
+     * ID of the quiz played in the room
+     */
+    private String quizId;
+
+    /**
+     * Title of the quiz played in the room
+     */
+    private String quizTitle;
+
+    /**
+     * Number of questions in the quiz
+     */
+    private int questionCount;
+
+    /**
+     * Secret that identifies the host when joining; only returned on creation
+     */
+    private String hostToken;
+
+    /**
+     * Path of the WebSocket endpoint for this room
+     */
+    private String webSocketPath;
+
+    /**
+     * Current phase of the room: LOBBY, QUESTION, RESULT or FINISHED
+     */
+    private String phase;
+
+    /**
+     * Number of players who joined the room
+     */
+    private int playerCount;
+}
@@ -0,0 +1,88 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for messages pushed to clients over the quiz room WebSocket
+ * Types: "joined", "players", "question", "result", "finished" and "error";
+ * only the fields relevant to the type are included
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuizRoomMessageDto {
+
+    /**
+     * Message type
+     */
+    private String type;
+
+    /**
+     * Room code
+     */
+    private String roomCode;
+
+    /**
+     * ID assigned to the receiving player (joined)
+     */
+    private String playerId;
+
+    /**
+     * Names of the players in the room (joined, players)
+     */
+    private List<String> players;
+
+    /**
+     * Zero-based index of the current question (question, result)
+     */
+    private Integer questionIndex;
+
+    /**
+     * Number of questions in the quiz
+     */
+    private Integer questionCount;
+
+    /**
+     * Question text (question)
+     */
+    private String questionText;
+
+    /**
+     * Answer options (question)
+     */
+    private List<String> options;
+
+    /**
+     * Time allowed to answer, in milliseconds (question)
+     */
+    private Long durationMs;
+
+    /**
+     * Index of the correct option (result)
+     */
+    private Integer correctAnswerIndex;
+
+    /**
+     * Explanation of the correct answer (result)
+     */
+    private String explanation;
+
+    /**
+     * Standings after the question (result, finished)
+     */
+    private List<QuizRoomScoreDto> leaderboard;
+
+    /**
+     * Error description (error)
+     */
+    private String message;
+}
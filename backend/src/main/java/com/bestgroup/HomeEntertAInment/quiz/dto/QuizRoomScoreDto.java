@@ -0,0 +1,36 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a player's standing in a live quiz room
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizRoomScoreDto {
+
+    /**
+     * One-based rank in the room
+     */
+    private int rank;
+
+    /**
+     * Player display name
+     */
+    private String name;
+
+    /**
+     * Points scored; faster correct answers score more
+     */
+    private long score;
+
+    /**
+     * Number of correctly answered questions
+     */
+    private int correctAnswers;
+}
@@ -0,0 +1,38 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a page of quiz search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSearchResponseDto {
+
+    /**
+     * Matching quizzes on the requested page, best match first
+     */
+    private List<QuizSummaryDto> items;
+
+    /**
+     * Zero-based page number
+     */
+    private int page;
+
+    /**
+     * Requested page size
+     */
+    private int size;
+
+    /**
+     * Total number of matching quizzes
+     */
+    private long totalResults;
+}
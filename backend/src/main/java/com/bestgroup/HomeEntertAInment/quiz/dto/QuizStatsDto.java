@@ -0,0 +1,54 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for aggregate quiz statistics
+ * Built from incrementally maintained counters, never from a table scan
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizStatsDto {
+
+    /**
+     * Total number of stored quizzes
+     */
+    private long totalQuizzes;
+
+    /**
+     * Number of quizzes per age group
+     */
+    private Map<String, Long> quizzesByAgeGroup;
+
+    /**
+     * Number of quizzes per difficulty level
+     */
+    private Map<String, Long> quizzesByDifficulty;
+
+    /**
+     * Number of quizzes per topic
+     */
+    private Map<String, Long> quizzesByTopic;
+
+    /**
+     * Total number of submitted quiz attempts
+     */
+    private long totalAttempts;
+
+    /**
+     * Average attempt score as a percentage (0-100)
+     */
+    private double averageScore;
+
+    /**
+     * Share of all answered questions that were answered correctly (0-1)
+     */
+    private double correctnessRate;
+}
@@ -0,0 +1,44 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for Quiz Submission Response
+ * Contains the score of a submitted attempt and the result of every question
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSubmissionResponseDto {
+
+    /**
+     * Whether the submission was scored successfully
+     */
+    private boolean success;
+
+    /**
+     * Score as a percentage (0-100)
+     */
+    private int score;
+
+    /**
+     * Number of questions in the quiz
+     */
+    private int totalQuestions;
+
+    /**
+     * Number of correctly answered questions
+     */
+    private int correctAnswers;
+
+    /**
+     * Result of each question, in quiz order
+     */
+    private List<QuestionResultDto> results;
+}
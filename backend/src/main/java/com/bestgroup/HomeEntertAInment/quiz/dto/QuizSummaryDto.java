@@ -0,0 +1,54 @@
+package com.bestgroup.HomeEntertAInment.quiz.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a quiz listed in search results
+ * Contains quiz metadata only, without questions
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSummaryDto {
+
+    /**
+     * Unique identifier for the quiz
+     */
+    private String id;
+
+    /**
+     * Title of the quiz
+     */
+    private String title;
+
+    /**
+     * Description of the quiz
+     */
+    private String description;
+
+    /**
+     * Topics covered in this quiz
+     */
+    private List<String> topics;
+
+    /**
+     * Age group this quiz is designed for
+     */
+    private String ageGroup;
+
+    /**
+     * Difficulty level of the quiz
+     */
+    private String difficulty;
+
+    /**
+     * Number of questions in the quiz
+     */
+    private Integer questionCount;
+}
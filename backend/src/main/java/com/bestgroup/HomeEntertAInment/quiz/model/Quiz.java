@@ -7,6 +7,8 @@ import java.util.UUID;
 
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
@@ -18,6 +20,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -108,4 +112,36 @@ public class Quiz {
     @Column(name = "is_private", nullable = false)
     @Builder.Default
     private Boolean isPrivate = false;
+    
+    /**
+     * Denormalized title, description and topics used by the full-text search index
+     * (a GIN expression index on Postgres, see V5 migration)
+     */
+    @JsonIgnore
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+    
+    /**
+     * Build the text indexed for search from the title, description and topics
+     * @return Space separated search text
+     */
+    public String buildSearchText() {
+        StringBuilder text = new StringBuilder();
+        if (title != null) {
+            text.append(title);
+        }
+        if (description != null) {
+            text.append(' ').append(description);
+        }
+        if (topics != null) {
+            topics.forEach(topic -> text.append(' ').append(topic));
+        }
+        return text.toString().trim();
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void updateSearchText() {
+        searchText = buildSearchText();
+    }
 }
@@ -0,0 +1,71 @@
+package com.bestgroup.HomeEntertAInment.quiz.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a user's best score on a quiz
+ * Leaderboards are maintained in memory and periodically snapshotted to this table
+ */
+@Entity
+@Table(name = "quiz_leaderboard_entries")
+@IdClass(QuizLeaderboardEntry.EntryId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizLeaderboardEntry {
+
+    @Id
+    @Column(name = "quiz_id", nullable = false)
+    private UUID quizId;
+
+    /**
+     * Clerk user ID of the player
+     */
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /**
+     * Display name shown on the leaderboard
+     */
+    @Column(name = "player_name", nullable = false)
+    private String playerName;
+
+    /**
+     * Best score of the user on this quiz, as a percentage (0-100)
+     */
+    @Column(name = "score", nullable = false)
+    private Integer score;
+
+    /**
+     * When the best score was first reached; earlier wins ties
+     */
+    @Column(name = "achieved_at", nullable = false)
+    private LocalDateTime achievedAt;
+
+    /**
+     * Composite primary key of a leaderboard entry
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EntryId implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private UUID quizId;
+        private String userId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.bestgroup.HomeEntertAInment.quiz.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a single persisted quiz statistics counter
+ * Counters are maintained in memory and periodically flushed to this summary table
+ */
+@Entity
+@Table(name = "quiz_stat_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizStatCounter {
+
+    /**
+     * Key of the counter, prefixed by its dimension (e.g. "ageGroup:teen")
+     */
+    @Id
+    @Column(name = "stat_key", nullable = false, length = 512)
+    private String statKey;
+
+    /**
+     * Current value of the counter
+     */
+    @Column(name = "stat_value", nullable = false)
+    private Long statValue;
+
+    /**
+     * Timestamp of the last flush that touched this counter
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.bestgroup.HomeEntertAInment.quiz.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bestgroup.HomeEntertAInment.quiz.model.QuizLeaderboardEntry;
+
+/**
+ * Repository interface for QuizLeaderboardEntry entity
+ * Used to snapshot and rebuild the in-memory quiz leaderboards
+ */
+@Repository
+public interface QuizLeaderboardEntryRepository extends JpaRepository<QuizLeaderboardEntry, QuizLeaderboardEntry.EntryId> {
+
+    /**
+     * Delete every leaderboard entry of a quiz
+     * @param quizId The ID of the quiz
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM QuizLeaderboardEntry e WHERE e.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") UUID quizId);
+}
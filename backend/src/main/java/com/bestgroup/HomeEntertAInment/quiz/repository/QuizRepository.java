@@ -45,9 +45,34 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
      * @param topic The topic to search for
      * @return List of quizzes containing the specified topic
      */
-    @Query("SELECT q FROM Quiz q WHERE q.topics LIKE %:topic%")
+    @Query("SELECT DISTINCT q FROM Quiz q JOIN q.topics t WHERE LOWER(t) LIKE LOWER(CONCAT('%', :topic, '%'))")
     List<Quiz> findByTopicsContaining(@Param("topic") String topic);
     
+    /**
+     * Full-text search over public quizzes using the Postgres GIN index on search_text
+     * @param tsQuery The tsquery expression (e.g. "spa:* & plan:*")
+     * @param limit Maximum number of IDs to return
+     * @param offset Number of matches to skip
+     * @return IDs of matching quizzes, best match first
+     */
+    @Query(value = "SELECT CAST(q.id AS VARCHAR) FROM quizzes q "
+            + "WHERE q.is_private = false "
+            + "AND to_tsvector('simple', coalesce(q.search_text, '')) @@ to_tsquery('simple', :tsQuery) "
+            + "ORDER BY ts_rank(to_tsvector('simple', coalesce(q.search_text, '')), to_tsquery('simple', :tsQuery)) DESC, "
+            + "q.created_at DESC "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> searchPublicIds(@Param("tsQuery") String tsQuery, @Param("limit") int limit, @Param("offset") int offset);
+    
+    /**
+     * Count public quizzes matching a full-text search
+     * @param tsQuery The tsquery expression
+     * @return Number of matching quizzes
+     */
+    @Query(value = "SELECT COUNT(*) FROM quizzes q "
+            + "WHERE q.is_private = false "
+            + "AND to_tsvector('simple', coalesce(q.search_text, '')) @@ to_tsquery('simple', :tsQuery)", nativeQuery = true)
+    long countPublicSearchMatches(@Param("tsQuery") String tsQuery);
+    
     /**
      * Find a quiz by ID with all its questions loaded
      * @param id The quiz ID
@@ -56,6 +81,14 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
     @Query("SELECT q FROM Quiz q LEFT JOIN FETCH q.questions WHERE q.id = :id")
     Optional<Quiz> findByIdWithQuestions(@Param("id") UUID id);
     
+    /**
+     * Find quizzes by ID with their topics loaded in the same query
+     * @param ids The quiz IDs
+     * @return Quizzes with the given IDs, in no particular order
+     */
+    @Query("SELECT DISTINCT q FROM Quiz q LEFT JOIN FETCH q.topics WHERE q.id IN :ids")
+    List<Quiz> findAllByIdWithTopics(@Param("ids") List<UUID> ids);
+    
     /**
      * Find all quizzes with their questions loaded
      * @return List of all quizzes with questions
@@ -91,4 +124,25 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
      */
     @Query("SELECT q FROM Quiz q LEFT JOIN FETCH q.questions WHERE q.userId = :userId")
     List<Quiz> findByUserIdWithQuestions(@Param("userId") String userId);
+    
+    /**
+     * Count quizzes grouped by age group
+     * @return Rows of [ageGroup, count]
+     */
+    @Query("SELECT q.ageGroup, COUNT(q) FROM Quiz q GROUP BY q.ageGroup")
+    List<Object[]> countGroupedByAgeGroup();
+    
+    /**
+     * Count quizzes grouped by difficulty
+     * @return Rows of [difficulty, count]
+     */
+    @Query("SELECT q.difficulty, COUNT(q) FROM Quiz q GROUP BY q.difficulty")
+    List<Object[]> countGroupedByDifficulty();
+    
+    /**
+     * Count quizzes grouped by topic
+     * @return Rows of [topic, count]
+     */
+    @Query("SELECT t, COUNT(q) FROM Quiz q JOIN q.topics t GROUP BY t")
+    List<Object[]> countGroupedByTopic();
 }
@@ -0,0 +1,39 @@
+package com.bestgroup.HomeEntertAInment.quiz.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bestgroup.HomeEntertAInment.quiz.model.QuizStatCounter;
+
+/**
+ * Repository interface for QuizStatCounter entity
+ * Provides atomic increments used when flushing in-memory quiz statistics
+ */
+@Repository
+public interface QuizStatCounterRepository extends JpaRepository<QuizStatCounter, String> {
+
+    /**
+     * Atomically add a delta to an existing counter
+     * @param statKey The key of the counter
+     * @param delta The value to add
+     * @return Number of rows updated (0 if the counter does not exist yet)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE QuizStatCounter c SET c.statValue = c.statValue + :delta, c.updatedAt = CURRENT_TIMESTAMP WHERE c.statKey = :statKey")
+    int incrementBy(@Param("statKey") String statKey, @Param("delta") long delta);
+
+    /**
+     * Delete all counters with the given keys
+     * @param statKeys The keys of the counters to delete
+     */
+    @Modifying
+    @Transactional
+    void deleteByStatKeyIn(Collection<String> statKeys);
+}
@@ -0,0 +1,135 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index for quiz search, used where the Postgres GIN index is unavailable (H2)
+ * Terms are kept in a sorted map so a prefix lookup is a single range scan
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.quiz.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryQuizSearchIndex implements QuizSearchIndex {
+
+    private final QuizRepository quizRepository;
+
+    /**
+     * Term -> IDs of quizzes containing the term
+     */
+    private final NavigableMap<String, Set<UUID>> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Quiz ID -> indexed document
+     */
+    private final Map<UUID, IndexedQuiz> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Build the index from all stored quizzes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        quizRepository.findAll().forEach(this::index);
+        log.info("Built in-memory quiz search index with {} quizzes and {} terms", documents.size(), postings.size());
+    }
+
+    @Override
+    public SearchHits search(List<String> terms, int page, int size) {
+        Set<UUID> matches = null;
+        for (String term : terms) {
+            Set<UUID> termMatches = new HashSet<>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(termMatches::addAll);
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.retainAll(termMatches);
+            }
+            if (matches.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+        }
+        if (matches == null) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        List<IndexedQuiz> ranked = new ArrayList<>();
+        for (UUID id : matches) {
+            IndexedQuiz document = documents.get(id);
+            if (document != null && document.isPublic()) {
+                ranked.add(document);
+            }
+        }
+        // Exact term matches rank above prefix-only matches, newest first within a rank
+        ranked.sort(Comparator.comparingLong((IndexedQuiz document) -> document.exactMatches(terms)).reversed()
+                .thenComparing(IndexedQuiz::createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        List<UUID> ids = ranked.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(IndexedQuiz::id)
+                .toList();
+        return new SearchHits(ids, ranked.size());
+    }
+
+    @Override
+    public synchronized void index(Quiz quiz) {
+        remove(quiz.getId());
+
+        Set<String> terms = new HashSet<>(QuizSearchIndex.tokenize(quiz.buildSearchText()));
+        IndexedQuiz document = new IndexedQuiz(quiz.getId(), terms, quiz.getCreatedAt(), !Boolean.TRUE.equals(quiz.getIsPrivate()));
+        documents.put(quiz.getId(), document);
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(quiz.getId());
+        }
+    }
+
+    @Override
+    public synchronized void remove(UUID quizId) {
+        IndexedQuiz previous = documents.remove(quizId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Set<UUID> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(quizId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexed view of a quiz
+     */
+    private record IndexedQuiz(UUID id, Set<String> terms, LocalDateTime createdAt, boolean isPublic) {
+
+        long exactMatches(List<String> queryTerms) {
+            return queryTerms.stream().filter(terms::contains).count();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Thread-safe ranking of players by score
+ * A hash map holds each player's current entry and a skip list keeps the entries sorted,
+ * so updates are O(log n) and reading the top K is O(K) without sorting on read.
+ * Updates of one player are serialized by the map's per-key lock, which keeps the map
+ * and the skip list consistent with each other.
+ */
+final class Leaderboard {
+
+    /**
+     * Highest score first; ties go to whoever reached the score first
+     */
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(Entry::achievedAt)
+            .thenComparing(Entry::playerId);
+
+    private final Map<String, Entry> byPlayer = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>(RANKING);
+
+    /**
+     * Record a score, keeping only the player's best
+     * @param playerId The player ID
+     * @param playerName The display name
+     * @param score The achieved score
+     * @param achievedAt When the score was achieved
+     * @return How much the player's best score improved, or -1 if it did not change
+     */
+    long submitBest(String playerId, String playerName, long score, LocalDateTime achievedAt) {
+        long[] improvement = {-1};
+        byPlayer.compute(playerId, (id, current) -> {
+            if (current != null && current.score() >= score) {
+                return current;
+            }
+            Entry updated = new Entry(id, playerName, score, achievedAt);
+            if (current != null) {
+                ranked.remove(current);
+            }
+            ranked.add(updated);
+            improvement[0] = score - (current == null ? 0 : current.score());
+            return updated;
+        });
+        return improvement[0];
+    }
+
+    /**
+     * Add a delta to a player's score; the player is dropped once the score reaches zero
+     * @param playerId The player ID
+     * @param playerName The display name, or null to keep the current one
+     * @param delta The amount to add (may be negative)
+     * @param achievedAt When the score changed; only applied when the score grows
+     */
+    void add(String playerId, String playerName, long delta, LocalDateTime achievedAt) {
+        byPlayer.compute(playerId, (id, current) -> {
+            long total = (current == null ? 0 : current.score()) + delta;
+            if (current != null) {
+                ranked.remove(current);
+            }
+            if (total <= 0) {
+                return null;
+            }
+            Entry updated = new Entry(id,
+                    playerName != null || current == null ? playerName : current.playerName(),
+                    total,
+                    delta > 0 || current == null ? achievedAt : current.achievedAt());
+            ranked.add(updated);
+            return updated;
+        });
+    }
+
+    /**
+     * Get a slice of the ranking
+     * @param offset Number of entries to skip from the top
+     * @param limit Maximum number of entries to return
+     * @return The entries, best first
+     */
+    List<Entry> range(long offset, int limit) {
+        return ranked.stream().skip(offset).limit(limit).toList();
+    }
+
+    Entry get(String playerId) {
+        return byPlayer.get(playerId);
+    }
+
+    Collection<Entry> entries() {
+        return byPlayer.values();
+    }
+
+    int size() {
+        return byPlayer.size();
+    }
+
+    /**
+     * A player's position on a leaderboard
+     * @param playerId The player ID
+     * @param playerName The display name
+     * @param score The score
+     * @param achievedAt When the score was reached
+     */
+    record Entry(String playerId, String playerName, long score, LocalDateTime achievedAt) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Quiz search backed by the Postgres GIN index on to_tsvector('simple', search_text)
+ * The search_text column is maintained by the Quiz entity, so indexing is a no-op here
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.quiz.search.engine", havingValue = "postgres")
+public class PostgresQuizSearchIndex implements QuizSearchIndex {
+
+    private final QuizRepository quizRepository;
+
+    @Override
+    public SearchHits search(List<String> terms, int page, int size) {
+        // Terms only contain letters and digits, so they are safe to use as tsquery lexemes
+        String tsQuery = terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+
+        long total = quizRepository.countPublicSearchMatches(tsQuery);
+        if (total == 0) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        List<UUID> ids = quizRepository.searchPublicIds(tsQuery, size, page * size).stream()
+                .map(UUID::fromString)
+                .toList();
+        return new SearchHits(ids, total);
+    }
+
+    @Override
+    public void index(Quiz quiz) {
+        // search_text is written with the quiz row and indexed by Postgres
+    }
+
+    @Override
+    public void remove(UUID quizId) {
+        // Deleted rows leave the GIN index with the quiz row
+    }
+}
@@ -0,0 +1,184 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.LeaderboardEntryDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.LeaderboardPageDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.QuizLeaderboardEntry;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizLeaderboardEntryRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining real-time quiz leaderboards in memory
+ * Every quiz has a board of each user's best score, and the global board ranks users by
+ * the sum of their best scores. Boards are updated on every scored submission and read
+ * without touching the database; changed entries are periodically snapshotted to the
+ * quiz_leaderboard_entries table, from which all boards are rebuilt on startup.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class QuizLeaderboardService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final QuizLeaderboardEntryRepository leaderboardRepository;
+
+    private final Map<UUID, Leaderboard> quizBoards = new ConcurrentHashMap<>();
+    private final Leaderboard globalBoard = new Leaderboard();
+
+    /**
+     * Quiz entries changed since the last snapshot
+     */
+    private final Set<QuizLeaderboardEntry.EntryId> dirtyEntries = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Rebuild every leaderboard from the last snapshot
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<QuizLeaderboardEntry> persisted = leaderboardRepository.findAll();
+        for (QuizLeaderboardEntry entry : persisted) {
+            quizBoards.computeIfAbsent(entry.getQuizId(), id -> new Leaderboard())
+                    .submitBest(entry.getUserId(), entry.getPlayerName(), entry.getScore(), entry.getAchievedAt());
+            globalBoard.add(entry.getUserId(), entry.getPlayerName(), entry.getScore(), entry.getAchievedAt());
+        }
+        log.info("Rebuilt {} quiz leaderboards from {} entries", quizBoards.size(), persisted.size());
+    }
+
+    /**
+     * Record a scored attempt; only the user's best score on the quiz counts
+     * @param quizId The ID of the attempted quiz
+     * @param userId The ID of the user who made the attempt
+     * @param playerName The display name of the user
+     * @param scorePercent The attempt score as a percentage (0-100)
+     */
+    public void recordScore(UUID quizId, String userId, String playerName, int scorePercent) {
+        LocalDateTime now = LocalDateTime.now();
+        long improvement = quizBoards.computeIfAbsent(quizId, id -> new Leaderboard())
+                .submitBest(userId, playerName, scorePercent, now);
+        if (improvement < 0) {
+            return;
+        }
+        globalBoard.add(userId, playerName, improvement, now);
+        dirtyEntries.add(new QuizLeaderboardEntry.EntryId(quizId, userId));
+    }
+
+    /**
+     * Get a page of a quiz leaderboard
+     * @param quizId The ID of the quiz
+     * @param page Zero-based page number
+     * @param size Page size (capped at 100)
+     * @return The requested page; empty if nobody has scored on the quiz yet
+     */
+    public LeaderboardPageDto getQuizLeaderboard(UUID quizId, int page, int size) {
+        return toPage(quizBoards.getOrDefault(quizId, new Leaderboard()), page, size);
+    }
+
+    /**
+     * Get a page of the global leaderboard, ranked by the sum of each user's best quiz scores
+     * @param page Zero-based page number
+     * @param size Page size (capped at 100)
+     * @return The requested page
+     */
+    public LeaderboardPageDto getGlobalLeaderboard(int page, int size) {
+        return toPage(globalBoard, page, size);
+    }
+
+    /**
+     * Drop the leaderboard of a deleted quiz and take its scores off the global board
+     * @param quizId The ID of the deleted quiz
+     */
+    public void removeQuiz(UUID quizId) {
+        Leaderboard board = quizBoards.remove(quizId);
+        if (board != null) {
+            for (Leaderboard.Entry entry : board.entries()) {
+                globalBoard.add(entry.playerId(), null, -entry.score(), entry.achievedAt());
+            }
+        }
+        synchronized (this) {
+            dirtyEntries.removeIf(id -> id.getQuizId().equals(quizId));
+            leaderboardRepository.deleteByQuizId(quizId);
+        }
+    }
+
+    /**
+     * Write entries changed since the last snapshot to the database
+     * Entries that fail to save are kept and retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${app.quiz.leaderboard.snapshot-interval-ms:60000}")
+    public synchronized void snapshot() {
+        List<QuizLeaderboardEntry.EntryId> ids = new ArrayList<>(dirtyEntries);
+        if (ids.isEmpty()) {
+            return;
+        }
+        dirtyEntries.removeAll(ids);
+
+        List<QuizLeaderboardEntry> changed = new ArrayList<>(ids.size());
+        for (QuizLeaderboardEntry.EntryId id : ids) {
+            Leaderboard board = quizBoards.get(id.getQuizId());
+            Leaderboard.Entry entry = board == null ? null : board.get(id.getUserId());
+            if (entry != null) {
+                changed.add(QuizLeaderboardEntry.builder()
+                        .quizId(id.getQuizId())
+                        .userId(id.getUserId())
+                        .playerName(entry.playerName())
+                        .score((int) entry.score())
+                        .achievedAt(entry.achievedAt())
+                        .build());
+            }
+        }
+
+        try {
+            leaderboardRepository.saveAll(changed);
+            log.debug("Snapshotted {} quiz leaderboard entries", changed.size());
+        } catch (Exception e) {
+            dirtyEntries.addAll(ids);
+            log.warn("Failed to snapshot quiz leaderboards, will retry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private LeaderboardPageDto toPage(Leaderboard board, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long offset = (long) safePage * safeSize;
+
+        List<Leaderboard.Entry> slice = board.range(offset, safeSize);
+        List<LeaderboardEntryDto> entries = new ArrayList<>(slice.size());
+        for (int i = 0; i < slice.size(); i++) {
+            Leaderboard.Entry entry = slice.get(i);
+            entries.add(LeaderboardEntryDto.builder()
+                    .rank(offset + i + 1)
+                    .playerName(entry.playerName())
+                    .score(entry.score())
+                    .achievedAt(entry.achievedAt())
+                    .build());
+        }
+
+        return LeaderboardPageDto.builder()
+                .entries(entries)
+                .page(safePage)
+                .size(safeSize)
+                .totalEntries(board.size())
+                .build();
+    }
+}
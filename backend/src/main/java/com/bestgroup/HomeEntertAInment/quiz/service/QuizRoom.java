@@ -0,0 +1,436 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomMessageDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomScoreDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Question;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * State of one live quiz room
+ * All state changes run on the room's serial mailbox, so the room is effectively
+ * single-threaded without locks; the public methods only enqueue work.
+ * Outbound messages are serialized once per broadcast and delivered through a
+ * per-participant serial outbox, so a slow client never stalls the room or other players.
+ */
+@Slf4j
+final class QuizRoom {
+
+    enum Phase { LOBBY, QUESTION, RESULT, FINISHED }
+
+    private static final int MAX_NAME_LENGTH = 40;
+    private static final long BASE_POINTS = 500;
+    private static final long SPEED_POINTS = 500;
+
+    private final String code;
+    private final String hostToken;
+    private final Quiz quiz;
+    private final QuizRoomService service;
+    private final SerialExecutor mailbox;
+
+    /**
+     * Participants (players and host connections) by WebSocket session ID; mailbox-confined
+     */
+    private final Map<String, Participant> participants = new LinkedHashMap<>();
+
+    private volatile Phase phase = Phase.LOBBY;
+    private volatile int playerCount;
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+
+    private int questionIndex = -1;
+    private long questionStartedNanos;
+    private ScheduledFuture<?> timer;
+
+    QuizRoom(String code, String hostToken, Quiz quiz, QuizRoomService service) {
+        this.code = code;
+        this.hostToken = hostToken;
+        this.quiz = quiz;
+        this.service = service;
+        this.mailbox = new SerialExecutor(service.roomExecutor());
+    }
+
+    String getCode() {
+        return code;
+    }
+
+    Quiz getQuiz() {
+        return quiz;
+    }
+
+    Phase getPhase() {
+        return phase;
+    }
+
+    int getPlayerCount() {
+        return playerCount;
+    }
+
+    long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    void join(WebSocketSession session, String name, String token) {
+        mailbox.execute(() -> handleJoin(session, name, token));
+    }
+
+    void start(String sessionId) {
+        mailbox.execute(() -> handleStart(sessionId));
+    }
+
+    void answer(String sessionId, int answeredQuestion, int answerIndex, long receivedNanos) {
+        mailbox.execute(() -> handleAnswer(sessionId, answeredQuestion, answerIndex, receivedNanos));
+    }
+
+    void leave(String sessionId) {
+        mailbox.execute(() -> handleLeave(sessionId));
+    }
+
+    void close() {
+        mailbox.execute(() -> {
+            cancelTimer();
+            participants.values().forEach(participant -> participant.close(CloseStatus.GOING_AWAY));
+            participants.clear();
+        });
+    }
+
+    private void handleJoin(WebSocketSession session, String name, String token) {
+        touch();
+        boolean isHost = token != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), hostToken.getBytes(StandardCharsets.UTF_8));
+
+        String error = null;
+        if (participants.containsKey(session.getId())) {
+            error = "Already joined";
+        } else if (phase == Phase.FINISHED) {
+            error = "Quiz is finished";
+        } else if (!isHost && phase != Phase.LOBBY) {
+            error = "Quiz has already started";
+        } else if (!isHost && playerCount >= service.maxPlayers()) {
+            error = "Room is full";
+        }
+        if (error != null) {
+            service.sendDirect(session, error(error));
+            return;
+        }
+
+        Participant participant = new Participant(session, isHost ? "Host" : uniqueName(name), isHost);
+        participants.put(session.getId(), participant);
+        if (!isHost) {
+            playerCount++;
+        }
+
+        participant.send(serialize(QuizRoomMessageDto.builder()
+                .type("joined")
+                .roomCode(code)
+                .playerId(participant.id)
+                .players(playerNames())
+                .questionCount(quiz.getQuestions().size())
+                .build()));
+        if (!isHost) {
+            broadcast(QuizRoomMessageDto.builder()
+                    .type("players")
+                    .roomCode(code)
+                    .players(playerNames())
+                    .build());
+        }
+    }
+
+    private void handleStart(String sessionId) {
+        touch();
+        Participant participant = participants.get(sessionId);
+        if (participant == null || !participant.host) {
+            sendError(participant, "Only the host can start the quiz");
+        } else if (phase != Phase.LOBBY) {
+            sendError(participant, "Quiz has already started");
+        } else if (playerCount == 0) {
+            sendError(participant, "No players have joined");
+        } else {
+            nextQuestion();
+        }
+    }
+
+    private void handleAnswer(String sessionId, int answeredQuestion, int answerIndex, long receivedNanos) {
+        touch();
+        Participant participant = participants.get(sessionId);
+        if (participant == null || participant.host || phase != Phase.QUESTION
+                || answeredQuestion != questionIndex || participant.answered[questionIndex]
+                || answerIndex < 0 || answerIndex > 3) {
+            return;
+        }
+
+        // Timing is measured on the server, from when the question was pushed to when the answer arrived
+        long durationNanos = TimeUnit.MILLISECONDS.toNanos(service.questionDurationMs());
+        long elapsedNanos = Math.max(receivedNanos - questionStartedNanos, 0);
+        if (elapsedNanos > durationNanos) {
+            return;
+        }
+
+        Question question = quiz.getQuestions().get(questionIndex);
+        boolean correct = question.getCorrectAnswerIndex() == answerIndex;
+        participant.answered[questionIndex] = true;
+        participant.correct[questionIndex] = correct;
+        if (correct) {
+            participant.correctCount++;
+            participant.score += BASE_POINTS + SPEED_POINTS * (durationNanos - elapsedNanos) / durationNanos;
+        }
+
+        if (allConnectedPlayersAnswered()) {
+            endQuestion(questionIndex);
+        }
+    }
+
+    private void handleLeave(String sessionId) {
+        Participant participant = participants.get(sessionId);
+        if (participant == null) {
+            return;
+        }
+        touch();
+        participant.connected = false;
+
+        if (phase == Phase.LOBBY || participant.host) {
+            participants.remove(sessionId);
+            if (!participant.host) {
+                playerCount--;
+                broadcast(QuizRoomMessageDto.builder()
+                        .type("players")
+                        .roomCode(code)
+                        .players(playerNames())
+                        .build());
+            }
+        } else if (phase == Phase.QUESTION && allConnectedPlayersAnswered()) {
+            endQuestion(questionIndex);
+        }
+    }
+
+    private void nextQuestion() {
+        questionIndex++;
+        if (questionIndex >= quiz.getQuestions().size()) {
+            finish();
+            return;
+        }
+
+        phase = Phase.QUESTION;
+        Question question = quiz.getQuestions().get(questionIndex);
+        broadcast(QuizRoomMessageDto.builder()
+                .type("question")
+                .roomCode(code)
+                .questionIndex(questionIndex)
+                .questionCount(quiz.getQuestions().size())
+                .questionText(question.getQuestionText())
+                .options(question.getOptions())
+                .durationMs(service.questionDurationMs())
+                .build());
+        questionStartedNanos = System.nanoTime();
+
+        int current = questionIndex;
+        timer = service.scheduler().schedule(() -> mailbox.execute(() -> endQuestion(current)),
+                service.questionDurationMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void endQuestion(int endedQuestion) {
+        if (phase != Phase.QUESTION || endedQuestion != questionIndex) {
+            return;
+        }
+        cancelTimer();
+        phase = Phase.RESULT;
+
+        Question question = quiz.getQuestions().get(questionIndex);
+        broadcast(QuizRoomMessageDto.builder()
+                .type("result")
+                .roomCode(code)
+                .questionIndex(questionIndex)
+                .questionCount(quiz.getQuestions().size())
+                .correctAnswerIndex(question.getCorrectAnswerIndex())
+                .explanation(question.getExplanation())
+                .leaderboard(leaderboard())
+                .build());
+
+        timer = service.scheduler().schedule(() -> mailbox.execute(this::nextQuestion),
+                service.resultPauseMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void finish() {
+        phase = Phase.FINISHED;
+        touch();
+        broadcast(QuizRoomMessageDto.builder()
+                .type("finished")
+                .roomCode(code)
+                .questionCount(quiz.getQuestions().size())
+                .leaderboard(leaderboard())
+                .build());
+
+        List<QuizRoomService.PlayerResult> results = new ArrayList<>();
+        for (Participant participant : participants.values()) {
+            if (!participant.host) {
+                List<Boolean> correctness = new ArrayList<>(participant.correct.length);
+                for (boolean correct : participant.correct) {
+                    correctness.add(correct);
+                }
+                results.add(new QuizRoomService.PlayerResult(participant.name, participant.score, correctness));
+            }
+        }
+        service.roomFinished(this, results);
+    }
+
+    private List<QuizRoomScoreDto> leaderboard() {
+        List<Participant> players = participants.values().stream()
+                .filter(participant -> !participant.host)
+                .sorted(Comparator.comparingLong((Participant participant) -> participant.score).reversed()
+                        .thenComparing(participant -> participant.name))
+                .toList();
+
+        List<QuizRoomScoreDto> leaderboard = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            Participant player = players.get(i);
+            leaderboard.add(QuizRoomScoreDto.builder()
+                    .rank(i + 1)
+                    .name(player.name)
+                    .score(player.score)
+                    .correctAnswers(player.correctCount)
+                    .build());
+        }
+        return leaderboard;
+    }
+
+    private boolean allConnectedPlayersAnswered() {
+        return participants.values().stream()
+                .filter(participant -> !participant.host && participant.connected)
+                .allMatch(participant -> participant.answered[questionIndex]);
+    }
+
+    private List<String> playerNames() {
+        return participants.values().stream()
+                .filter(participant -> !participant.host)
+                .map(participant -> participant.name)
+                .toList();
+    }
+
+    private String uniqueName(String requested) {
+        String base = requested == null || requested.isBlank()
+                ? "Player " + (playerCount + 1)
+                : requested.trim().substring(0, Math.min(requested.trim().length(), MAX_NAME_LENGTH));
+        List<String> taken = playerNames();
+        String name = base;
+        for (int suffix = 2; taken.contains(name); suffix++) {
+            name = base + " (" + suffix + ")";
+        }
+        return name;
+    }
+
+    /**
+     * Serialize once and hand the same message to every connected participant
+     */
+    private void broadcast(QuizRoomMessageDto message) {
+        TextMessage text = serialize(message);
+        for (Participant participant : participants.values()) {
+            if (participant.connected) {
+                participant.send(text);
+            }
+        }
+    }
+
+    private void sendError(Participant participant, String message) {
+        if (participant != null) {
+            participant.send(serialize(error(message)));
+        }
+    }
+
+    private QuizRoomMessageDto error(String message) {
+        return QuizRoomMessageDto.builder()
+                .type("error")
+                .roomCode(code)
+                .message(message)
+                .build();
+    }
+
+    private TextMessage serialize(QuizRoomMessageDto message) {
+        return service.serialize(message);
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    private void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * A connection in the room: a player, or the host screen
+     */
+    private final class Participant {
+
+        private final String id = UUID.randomUUID().toString();
+        private final WebSocketSession session;
+        private final String name;
+        private final boolean host;
+        private final SerialExecutor outbox;
+        private final AtomicInteger pendingMessages = new AtomicInteger();
+        private final boolean[] answered;
+        private final boolean[] correct;
+        private boolean connected = true;
+        private long score;
+        private int correctCount;
+
+        private Participant(WebSocketSession session, String name, boolean host) {
+            this.session = session;
+            this.name = name;
+            this.host = host;
+            this.outbox = new SerialExecutor(service.roomExecutor());
+            this.answered = new boolean[quiz.getQuestions().size()];
+            this.correct = new boolean[quiz.getQuestions().size()];
+        }
+
+        private void send(TextMessage message) {
+            // A client that cannot keep up is disconnected instead of buffering without bound
+            if (pendingMessages.incrementAndGet() > service.outboundBufferLimit()) {
+                log.warn("Disconnecting slow client {} from quiz room {}", session.getId(), code);
+                connected = false;
+                close(CloseStatus.SESSION_NOT_RELIABLE);
+                return;
+            }
+            outbox.execute(() -> {
+                try {
+                    if (session.isOpen()) {
+                        // Guards against a concurrent direct (error) send to the same session
+                        synchronized (session) {
+                            session.sendMessage(message);
+                        }
+                    }
+                } catch (Exception e) {
+                    log.debug("Failed to send to {} in quiz room {}: {}", session.getId(), code, e.getMessage());
+                } finally {
+                    pendingMessages.decrementAndGet();
+                }
+            });
+        }
+
+        private void close(CloseStatus status) {
+            try {
+                session.close(status);
+            } catch (Exception e) {
+                log.debug("Failed to close {} in quiz room {}: {}", session.getId(), code, e.getMessage());
+            }
+        }
+    }
+}
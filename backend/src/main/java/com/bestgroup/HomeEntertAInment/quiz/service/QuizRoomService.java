@@ -0,0 +1,324 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomClientMessageDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomMessageDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service managing live multiplayer quiz rooms
+ * A host creates a room for an existing quiz, players join over WebSocket, questions are
+ * pushed to everyone at once and answers are scored with server-side timing.
+ * Rooms live in memory on this node; each room runs on its own serial mailbox over a
+ * shared virtual-thread executor, and all question timers share one scheduler thread.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class QuizRoomService {
+
+    static final String WEB_SOCKET_PATH = "/ws/quiz-rooms/";
+    private static final String ROOM_CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int ROOM_CODE_LENGTH = 6;
+
+    private final QuizRepository quizRepository;
+    private final QuizStatsService quizStatsService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Time players have to answer each question
+     */
+    @Value("${app.quiz.rooms.question-duration-ms:20000}")
+    private long questionDurationMs;
+
+    /**
+     * Time the result of a question is shown before the next question
+     */
+    @Value("${app.quiz.rooms.result-pause-ms:5000}")
+    private long resultPauseMs;
+
+    @Value("${app.quiz.rooms.max-players:200}")
+    private int maxPlayers;
+
+    /**
+     * Rooms without activity for this long are closed
+     */
+    @Value("${app.quiz.rooms.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
+    /**
+     * Messages queued for a single client before it is disconnected as too slow
+     */
+    @Value("${app.quiz.rooms.outbound-buffer-limit:64}")
+    private int outboundBufferLimit;
+
+    private final Map<String, QuizRoom> rooms = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private ExecutorService roomExecutor;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        this.roomExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-room-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rooms.values().forEach(QuizRoom::close);
+        rooms.clear();
+        scheduler.shutdownNow();
+        roomExecutor.shutdown();
+    }
+
+    /**
+     * Create a room for an existing quiz
+     * @param quizId The ID of the quiz to play
+     * @return The room, including the host token, or empty if the quiz was not found
+     */
+    public Optional<QuizRoomDto> createRoom(UUID quizId) {
+        return quizRepository.findByIdWithQuestions(quizId)
+                .filter(quiz -> !quiz.getQuestions().isEmpty())
+                .map(quiz -> {
+                    String hostToken = UUID.randomUUID().toString();
+                    QuizRoom room;
+                    String code;
+                    do {
+                        code = generateRoomCode();
+                        room = new QuizRoom(code, hostToken, quiz, this);
+                    } while (rooms.putIfAbsent(code, room) != null);
+
+                    log.info("Created quiz room {} for quiz {}", code, quizId);
+                    QuizRoomDto dto = toDto(room);
+                    dto.setHostToken(hostToken);
+                    return dto;
+                });
+    }
+
+    /**
+     * Get the status of a room
+     * @param roomCode The room code
+     * @return The room status, or empty if no such room exists
+     */
+    public Optional<QuizRoomDto> getRoom(String roomCode) {
+        return findRoom(roomCode).map(this::toDto);
+    }
+
+    /**
+     * Whether a room with the given code exists
+     * @param roomCode The room code
+     * @return true if the room exists
+     */
+    public boolean roomExists(String roomCode) {
+        return findRoom(roomCode).isPresent();
+    }
+
+    /**
+     * Handle a message received from a client connected to a room
+     * @param roomCode The room code
+     * @param session The client's WebSocket session
+     * @param message The parsed client message
+     * @param receivedNanos System.nanoTime() when the message arrived, used to time answers
+     */
+    public void handleMessage(String roomCode, WebSocketSession session, QuizRoomClientMessageDto message, long receivedNanos) {
+        Optional<QuizRoom> room = findRoom(roomCode);
+        if (room.isEmpty()) {
+            sendDirect(session, error(roomCode, "Unknown room"));
+            return;
+        }
+
+        String type = message.getType() == null ? "" : message.getType();
+        switch (type) {
+            case "join" -> room.get().join(session, message.getName(), message.getHostToken());
+            case "start" -> room.get().start(session.getId());
+            case "answer" -> {
+                if (message.getQuestionIndex() == null || message.getAnswerIndex() == null) {
+                    sendDirect(session, error(roomCode, "Answer requires questionIndex and answerIndex"));
+                } else {
+                    room.get().answer(session.getId(), message.getQuestionIndex(), message.getAnswerIndex(), receivedNanos);
+                }
+            }
+            default -> sendDirect(session, error(roomCode, "Unknown message type: " + type));
+        }
+    }
+
+    /**
+     * Handle a client disconnecting from a room
+     * @param roomCode The room code
+     * @param sessionId The client's WebSocket session ID
+     */
+    public void leave(String roomCode, String sessionId) {
+        findRoom(roomCode).ifPresent(room -> room.leave(sessionId));
+    }
+
+    /**
+     * Send a message to a session that is not (yet) a room participant
+     * @param session The WebSocket session
+     * @param message The message to send
+     */
+    public void sendDirect(WebSocketSession session, QuizRoomMessageDto message) {
+        TextMessage text = serialize(message);
+        roomExecutor.execute(() -> {
+            try {
+                if (session.isOpen()) {
+                    synchronized (session) {
+                        session.sendMessage(text);
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("Failed to send to {}: {}", session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Close rooms that finished or have been idle for too long
+     */
+    @Scheduled(fixedDelayString = "${app.quiz.rooms.cleanup-interval-ms:60000}")
+    public void closeInactiveRooms() {
+        long now = System.currentTimeMillis();
+        long idleCutoff = now - TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+        long finishedCutoff = now - TimeUnit.MINUTES.toMillis(1);
+
+        rooms.values().removeIf(room -> {
+            boolean expired = room.getLastActivityMillis() < idleCutoff
+                    || (room.getPhase() == QuizRoom.Phase.FINISHED && room.getLastActivityMillis() < finishedCutoff);
+            if (expired) {
+                log.info("Closing quiz room {}", room.getCode());
+                room.close();
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * Number of open rooms on this node
+     * @return The room count
+     */
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    /**
+     * Record the final results of a room; called on the room's mailbox
+     * @param room The finished room
+     * @param results The result of every player
+     */
+    void roomFinished(QuizRoom room, List<PlayerResult> results) {
+        Quiz quiz = room.getQuiz();
+        int questionCount = quiz.getQuestions().size();
+        for (PlayerResult result : results) {
+            long correct = result.correctness().stream().filter(Boolean::booleanValue).count();
+            int scorePercent = (int) Math.round(correct * 100.0 / questionCount);
+            quizStatsService.recordAttempt(quiz, result.correctness(), scorePercent);
+        }
+        log.info("Quiz room {} finished with {} players", room.getCode(), results.size());
+    }
+
+    TextMessage serialize(QuizRoomMessageDto message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize quiz room message", e);
+        }
+    }
+
+    Executor roomExecutor() {
+        return roomExecutor;
+    }
+
+    ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    long questionDurationMs() {
+        return questionDurationMs;
+    }
+
+    long resultPauseMs() {
+        return resultPauseMs;
+    }
+
+    int maxPlayers() {
+        return maxPlayers;
+    }
+
+    int outboundBufferLimit() {
+        return outboundBufferLimit;
+    }
+
+    private Optional<QuizRoom> findRoom(String roomCode) {
+        if (roomCode == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(rooms.get(roomCode.toUpperCase(Locale.ROOT)));
+    }
+
+    private String generateRoomCode() {
+        StringBuilder code = new StringBuilder(ROOM_CODE_LENGTH);
+        for (int i = 0; i < ROOM_CODE_LENGTH; i++) {
+            code.append(ROOM_CODE_ALPHABET.charAt(random.nextInt(ROOM_CODE_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+
+    private QuizRoomDto toDto(QuizRoom room) {
+        return QuizRoomDto.builder()
+                .roomCode(room.getCode())
+                .quizId(room.getQuiz().getId().toString())
+                .quizTitle(room.getQuiz().getTitle())
+                .questionCount(room.getQuiz().getQuestions().size())
+                .webSocketPath(WEB_SOCKET_PATH + room.getCode())
+                .phase(room.getPhase().name())
+                .playerCount(room.getPlayerCount())
+                .build();
+    }
+
+    private QuizRoomMessageDto error(String roomCode, String message) {
+        return QuizRoomMessageDto.builder()
+                .type("error")
+                .roomCode(roomCode)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Final result of one player in a room
+     * @param name Player display name
+     * @param score Points scored
+     * @param correctness Whether each question was answered correctly, in quiz order
+     */
+    record PlayerResult(String name, long score, List<Boolean> correctness) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+
+/**
+ * Full-text index over public quiz titles, descriptions and topics
+ * Every query term is matched as a prefix, so partially typed words match (typeahead)
+ */
+public interface QuizSearchIndex {
+
+    /**
+     * Find public quizzes matching all terms
+     * @param terms Normalized query terms (see {@link #tokenize(String)})
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return IDs of matching quizzes on the page, best match first, and the total match count
+     */
+    SearchHits search(List<String> terms, int page, int size);
+
+    /**
+     * Add or refresh a quiz in the index
+     * @param quiz The saved quiz
+     */
+    void index(Quiz quiz);
+
+    /**
+     * Remove a quiz from the index
+     * @param quizId The ID of the deleted quiz
+     */
+    void remove(UUID quizId);
+
+    /**
+     * Split text into lowercase letter/digit terms, mirroring Postgres' 'simple' text search configuration
+     * @param text The text to tokenize
+     * @return List of terms in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * A page of search matches
+     * @param ids IDs of matching quizzes, best match first
+     * @param total Total number of matches
+     */
+    record SearchHits(List<UUID> ids, long total) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizSearchResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizSummaryDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for searching public quizzes by title, description and topics
+ * Delegates matching to the configured QuizSearchIndex and loads only the quizzes on the requested page
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class QuizSearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final QuizSearchIndex quizSearchIndex;
+    private final QuizRepository quizRepository;
+
+    /**
+     * Search public quizzes; every word of the query is matched as a prefix
+     * @param query The search text typed by the user
+     * @param page Zero-based page number
+     * @param size Page size (capped at 50)
+     * @return Page of matching quiz summaries, best match first
+     */
+    public QuizSearchResponseDto search(String query, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<String> terms = QuizSearchIndex.tokenize(query);
+
+        if (terms.isEmpty()) {
+            return QuizSearchResponseDto.builder()
+                    .items(List.of())
+                    .page(safePage)
+                    .size(safeSize)
+                    .totalResults(0)
+                    .build();
+        }
+
+        QuizSearchIndex.SearchHits hits = quizSearchIndex.search(terms, safePage, safeSize);
+        // Topics are fetched in the same query, so the summaries below don't load them one quiz at a time
+        Map<UUID, Quiz> quizzes = hits.ids().isEmpty() ? Map.of() : quizRepository.findAllByIdWithTopics(hits.ids()).stream()
+                .collect(Collectors.toMap(Quiz::getId, Function.identity(), (first, duplicate) -> first));
+
+        List<QuizSummaryDto> items = hits.ids().stream()
+                .map(quizzes::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToSummaryDto)
+                .toList();
+
+        log.debug("Quiz search for '{}' matched {} quizzes", query, hits.total());
+        return QuizSearchResponseDto.builder()
+                .items(items)
+                .page(safePage)
+                .size(safeSize)
+                .totalResults(hits.total())
+                .build();
+    }
+
+    /**
+     * Convert Quiz model to QuizSummaryDto (without questions)
+     * @param quiz The quiz model to convert
+     * @return QuizSummaryDto with quiz metadata
+     */
+    private QuizSummaryDto convertToSummaryDto(Quiz quiz) {
+        return QuizSummaryDto.builder()
+                .id(quiz.getId().toString())
+                .title(quiz.getTitle())
+                .description(quiz.getDescription())
+                .topics(quiz.getTopics())
+                .ageGroup(quiz.getAgeGroup())
+                .difficulty(quiz.getDifficulty())
+                .questionCount(quiz.getQuestionCount())
+                .build();
+    }
+}
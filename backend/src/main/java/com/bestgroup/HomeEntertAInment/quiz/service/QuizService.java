@@ -3,21 +3,36 @@ package com.bestgroup.HomeEntertAInment.quiz.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuestionResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuestionResultDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizAttemptStatsDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizConfigurationDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizSubmissionResponseDto;
 import com.bestgroup.HomeEntertAInment.quiz.model.Question;
 import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
 import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
 import com.bestgroup.HomeEntertAInment.service.GeminiService;
+import com.bestgroup.HomeEntertAInment.service.StreamingJsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
@@ -36,13 +51,40 @@ public class QuizService {
 
     private final GeminiService geminiService;
     private final QuizRepository quizRepository;
+    private final QuizStatsService quizStatsService;
+    private final QuizSearchIndex quizSearchIndex;
+    private final QuizLeaderboardService quizLeaderboardService;
+    private final ExecutorService aiTaskExecutor;
     private ObjectMapper objectMapper;
     
+    /**
+     * Maximum number of questions requested from Gemini in a single prompt
+     */
+    @Value("${app.quiz.generation.shard-size:10}")
+    private int shardSize;
+    
+    /**
+     * Number of retries for a shard whose response fails to parse or validate
+     */
+    @Value("${app.quiz.generation.shard-retries:2}")
+    private int shardRetries;
+    
+    /**
+     * Maximum number of concurrent Gemini quiz requests across all generations
+     */
+    @Value("${app.quiz.generation.max-concurrent-requests:8}")
+    private int maxConcurrentRequests;
+    
+    private Semaphore geminiPermits;
+    
     @PostConstruct
     public void init() {
         this.objectMapper = new ObjectMapper();
         // Register JavaTimeModule to handle Java 8 time types (LocalDateTime, etc.)
         this.objectMapper.registerModule(new JavaTimeModule());
+        // Tolerate extra fields in generated questions rather than discarding them
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.geminiPermits = new Semaphore(Math.max(maxConcurrentRequests, 1));
     }
 
     /**
@@ -61,6 +103,8 @@ public class QuizService {
         } else {
             // Save the quiz to the database
             Quiz savedQuiz = quizRepository.save(quiz);
+            quizStatsService.recordQuizCreated(savedQuiz);
+            quizSearchIndex.index(savedQuiz);
             return convertToResponseDto(savedQuiz);
         }
     }
@@ -123,6 +167,7 @@ public class QuizService {
         
         quiz.setIsPrivate(Boolean.TRUE.equals(isPrivate));
         quizRepository.save(quiz);
+        quizSearchIndex.index(quiz);
         
         log.info("Updated privacy setting for quiz {} to {} by user {}", quizId, isPrivate, userId);
         return true;
@@ -136,7 +181,7 @@ public class QuizService {
      */
     @Transactional
     public boolean deleteQuiz(UUID id, String userId) {
-        Optional<Quiz> quizOpt = quizRepository.findById(id);
+        Optional<Quiz> quizOpt = quizRepository.findByIdWithQuestions(id);
         
         if (quizOpt.isEmpty()) {
             log.warn("Quiz not found with ID: {}", id);
@@ -152,12 +197,99 @@ public class QuizService {
         }
         
         quizRepository.deleteById(id);
+        quizStatsService.recordQuizDeleted(quiz);
+        quizSearchIndex.remove(id);
+        quizLeaderboardService.removeQuiz(id);
         log.info("Quiz {} deleted by user {}", id, userId);
         return true;
     }
 
+    /**
+     * Score a submitted quiz attempt and record it in the quiz statistics
+     * Attempts of signed-in users are also ranked on the quiz and global leaderboards
+     * @param quizId The ID of the quiz being answered
+     * @param answers The selected option index for each question, in quiz order (null for unanswered)
+     * @param userId The ID of the submitting user, or null for anonymous attempts
+     * @param playerName The display name of the submitting user, or null if unknown
+     * @return Optional containing the scored attempt, or empty if the quiz was not found
+     */
+    public Optional<QuizSubmissionResponseDto> submitQuiz(UUID quizId, List<Integer> answers, String userId, String playerName) {
+        Optional<Quiz> quizOpt = quizRepository.findByIdWithQuestions(quizId);
+
+        if (quizOpt.isEmpty()) {
+            log.warn("Quiz not found with ID: {}", quizId);
+            return Optional.empty();
+        }
+
+        Quiz quiz = quizOpt.get();
+        List<Question> questions = quiz.getQuestions();
+        List<QuestionResultDto> results = new ArrayList<>(questions.size());
+        List<Boolean> correctness = new ArrayList<>(questions.size());
+        int correctAnswers = 0;
+
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            Integer answer = answers != null && i < answers.size() ? answers.get(i) : null;
+            boolean correct = question.getCorrectAnswerIndex().equals(answer);
+            if (correct) {
+                correctAnswers++;
+            }
+            correctness.add(correct);
+            results.add(QuestionResultDto.builder()
+                    .questionId(question.getId().toString())
+                    .userAnswer(answer)
+                    .correctAnswer(question.getCorrectAnswerIndex())
+                    .correct(correct)
+                    .explanation(question.getExplanation())
+                    .build());
+        }
+
+        int score = questions.isEmpty() ? 0 : Math.round(100f * correctAnswers / questions.size());
+        quizStatsService.recordAttempt(quiz, correctness, score);
+        if (userId != null) {
+            quizLeaderboardService.recordScore(quizId, userId, playerName != null ? playerName : defaultPlayerName(userId), score);
+        }
+
+        log.info("Scored submission for quiz {}: {}/{} correct", quizId, correctAnswers, questions.size());
+        return Optional.of(QuizSubmissionResponseDto.builder()
+                .success(true)
+                .score(score)
+                .totalQuestions(questions.size())
+                .correctAnswers(correctAnswers)
+                .results(results)
+                .build());
+    }
+
+    /**
+     * Build a stable display name for a user whose token carries no name claim
+     * @param userId The user ID
+     * @return A name derived from the end of the user ID
+     */
+    private static String defaultPlayerName(String userId) {
+        return "Player " + userId.substring(Math.max(userId.length() - 6, 0));
+    }
+
+    /**
+     * Get aggregate statistics over all quizzes
+     * @return Aggregate quiz statistics
+     */
+    public QuizStatsDto getQuizStats() {
+        return quizStatsService.getStats();
+    }
+
+    /**
+     * Get the statistics of a single quiz, including per-question correctness rates
+     * @param quizId The ID of the quiz
+     * @return Optional containing the quiz statistics, or empty if the quiz was not found
+     */
+    public Optional<QuizAttemptStatsDto> getQuizStats(UUID quizId) {
+        return quizRepository.findByIdWithQuestions(quizId)
+                .map(quizStatsService::getQuizStats);
+    }
+
     /**
      * Internal method to generate the full quiz model using Gemini API
+     * Large question counts are split into topic-balanced shards generated concurrently
      * @param config The quiz configuration from the frontend
      * @return Generated quiz with questions (including correct answers)
      */
@@ -165,19 +297,38 @@ public class QuizService {
         try {
             log.info("Generating quiz using Gemini API for configuration: {}", config);
             
-            // Call Gemini API to generate quiz
-            String quizJson = geminiService.sendQuizPrompt(config);
+            List<QuizConfigurationDto> shards = planShards(config);
+            
+            // Generate every shard concurrently; each shard is validated and retried on its own
+            List<CompletableFuture<Quiz>> futures = shards.stream()
+                    .map(shard -> CompletableFuture.supplyAsync(() -> generateShard(shard), aiTaskExecutor))
+                    .toList();
             
-            // Parse JSON response to Quiz model
-            Quiz generatedQuiz = parseQuizFromJson(quizJson);
+            List<Quiz> shardQuizzes = new ArrayList<>();
+            List<QuizConfigurationDto> failedShards = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    shardQuizzes.add(futures.get(i).join());
+                } catch (Exception e) {
+                    log.warn("Quiz shard {}/{} failed after retries: {}", i + 1, futures.size(), e.getMessage());
+                    failedShards.add(shards.get(i));
+                }
+            }
+            
+            if (shardQuizzes.isEmpty()) {
+                throw new Exception("All " + shards.size() + " quiz shards failed");
+            }
+            
+            Quiz generatedQuiz = mergeShards(config, shardQuizzes);
+            topUpQuestions(config, failedShards, generatedQuiz);
             
             // Set the current timestamp, user ID, and privacy setting
             generatedQuiz.setCreatedAt(LocalDateTime.now());
             generatedQuiz.setUserId(config.getUserId());
             generatedQuiz.setIsPrivate(Boolean.TRUE.equals(config.getIsPrivate()));
             
-            log.info("Successfully generated quiz with title: '{}' and {} questions for user: {}", 
-                    generatedQuiz.getTitle(), generatedQuiz.getQuestions().size(), config.getUserId());
+            log.info("Successfully generated quiz with title: '{}' and {} questions from {} shard(s) for user: {}", 
+                    generatedQuiz.getTitle(), generatedQuiz.getQuestions().size(), shards.size(), config.getUserId());
             
             return generatedQuiz;
             
@@ -190,44 +341,278 @@ public class QuizService {
     }
 
     /**
-     * Parse JSON response from Gemini API into Quiz model
-     * @param quizJson JSON string from Gemini API
-     * @return Parsed Quiz model
-     * @throws Exception if parsing fails
+     * Split a quiz configuration into shards of at most shardSize questions
+     * Topics are dealt round-robin so every topic is covered and shards stay balanced
+     * @param config The full quiz configuration
+     * @return Shard configurations (a single shard for small quizzes)
      */
-    private Quiz parseQuizFromJson(String quizJson) throws Exception {
-        try {
-            // Clean the JSON response (remove any markdown formatting if present)
-            String cleanJson = quizJson.trim();
-            if (cleanJson.startsWith("```json")) {
-                cleanJson = cleanJson.substring(7);
+    List<QuizConfigurationDto> planShards(QuizConfigurationDto config) {
+        int questionCount = config.getQuestionCount() != null ? config.getQuestionCount() : 0;
+        int shardCount = Math.max(1, (questionCount + shardSize - 1) / shardSize);
+        if (shardCount == 1) {
+            return List.of(config);
+        }
+        
+        List<String> topics = config.getTopics() != null && !config.getTopics().isEmpty()
+                ? config.getTopics() : List.of("General Knowledge");
+        
+        List<List<String>> shardTopics = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shardTopics.add(new ArrayList<>());
+        }
+        if (topics.size() >= shardCount) {
+            for (int i = 0; i < topics.size(); i++) {
+                shardTopics.get(i % shardCount).add(topics.get(i));
             }
-            if (cleanJson.endsWith("```")) {
-                cleanJson = cleanJson.substring(0, cleanJson.length() - 3);
+        } else {
+            for (int i = 0; i < shardCount; i++) {
+                shardTopics.get(i).add(topics.get(i % topics.size()));
             }
-            cleanJson = cleanJson.trim();
-            
-            log.debug("Parsing quiz JSON: {}", cleanJson);
-            
-            // Parse JSON to Quiz model
-            Quiz quiz = objectMapper.readValue(cleanJson, Quiz.class);
+        }
+        
+        List<QuizConfigurationDto> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            int shardQuestions = questionCount / shardCount + (i < questionCount % shardCount ? 1 : 0);
+            shards.add(new QuizConfigurationDto(
+                    config.getAgeGroup(),
+                    shardTopics.get(i),
+                    config.getDifficulty(),
+                    shardQuestions,
+                    config.getUserId(),
+                    config.getIsPrivate()));
+        }
+        return shards;
+    }
+
+    /**
+     * Generate a single shard, keeping every valid question streamed by Gemini and
+     * requesting only the missing questions again when some were invalid or lost
+     * @param shard The shard configuration
+     * @return The validated shard quiz
+     */
+    private Quiz generateShard(QuizConfigurationDto shard) {
+        int target = shard.getQuestionCount() != null ? shard.getQuestionCount() : 0;
+        List<Question> questions = new ArrayList<>();
+        Quiz quiz = collectQuestions(shard, target, questions, new HashSet<>());
+        
+        if (questions.isEmpty()) {
+            throw new IllegalStateException("Quiz shard for topics " + shard.getTopics() + " produced no valid questions");
+        }
+        if (quiz == null) {
+            // Metadata was lost but questions were salvaged; derive it from the configuration
+            quiz = Quiz.builder()
+                    .title(String.join(", ", shard.getTopics()) + " Quiz")
+                    .ageGroup(shard.getAgeGroup())
+                    .topics(new ArrayList<>(shard.getTopics()))
+                    .difficulty(shard.getDifficulty())
+                    .build();
+        }
+        for (Question question : questions) {
+            question.setQuiz(quiz);
+        }
+        quiz.setQuestions(questions);
+        quiz.setQuestionCount(questions.size());
+        return quiz;
+    }
+
+    /**
+     * Request questions from Gemini until there are target unique questions or the retries run out
+     * Each retry asks only for the questions still missing
+     * @param request The configuration to request questions for
+     * @param target Number of questions wanted
+     * @param questions Receives the valid questions
+     * @param seenQuestions Normalized texts of questions already in the quiz; updated with the new ones
+     * @return Quiz holding the metadata of the first response that had a title, or null if none had
+     */
+    private Quiz collectQuestions(QuizConfigurationDto request, int target, List<Question> questions,
+                                  Set<String> seenQuestions) {
+        Quiz quiz = null;
+        for (int attempt = 1; attempt <= shardRetries + 1 && questions.size() < target; attempt++) {
+            int missing = Math.max(target - questions.size(), 1);
+            QuizConfigurationDto attemptRequest = Integer.valueOf(missing).equals(request.getQuestionCount())
+                    ? request : new QuizConfigurationDto(request.getAgeGroup(), request.getTopics(),
+                            request.getDifficulty(), missing, request.getUserId(), request.getIsPrivate());
             
-            // Establish bidirectional relationship between quiz and questions
-            if (quiz.getQuestions() != null) {
-                for (Question question : quiz.getQuestions()) {
-                    question.setQuiz(quiz);
+            Quiz streamed = streamQuiz(attemptRequest, question -> {
+                if (questions.size() < target && seenQuestions.add(normalizeQuestionText(question.getQuestionText()))) {
+                    questions.add(question);
                 }
+            });
+            if (quiz == null) {
+                quiz = streamed;
             }
-            
-            // Validate the parsed quiz
-            validateQuiz(quiz);
-            
-            return quiz;
-            
+            if (questions.size() < target) {
+                log.warn("Quiz questions for topics {}: {}/{} valid after attempt {}/{}", 
+                        request.getTopics(), questions.size(), target, attempt, shardRetries + 1);
+            }
+        }
+        return quiz;
+    }
+
+    /**
+     * Request the questions a merged quiz is still missing, because a shard failed or
+     * duplicates across shards were dropped
+     * If Gemini still falls short the quiz keeps fewer questions, and its question count says so
+     * @param config The full quiz configuration
+     * @param failedShards Shards that produced no questions; their topics are requested again
+     * @param quiz The merged quiz, completed in place
+     */
+    private void topUpQuestions(QuizConfigurationDto config, List<QuizConfigurationDto> failedShards, Quiz quiz) {
+        int target = config.getQuestionCount() != null ? config.getQuestionCount() : 0;
+        int missing = target - quiz.getQuestions().size();
+        if (missing <= 0) {
+            return;
+        }
+        
+        List<String> topics = failedShards.stream()
+                .flatMap(shard -> shard.getTopics().stream())
+                .distinct()
+                .toList();
+        if (topics.isEmpty()) {
+            topics = config.getTopics() != null && !config.getTopics().isEmpty()
+                    ? config.getTopics() : List.of("General Knowledge");
+        }
+        log.info("Quiz has {}/{} questions after merging shards, requesting {} more on topics {}", 
+                quiz.getQuestions().size(), target, missing, topics);
+        
+        Set<String> seenQuestions = new HashSet<>();
+        quiz.getQuestions().forEach(question -> seenQuestions.add(normalizeQuestionText(question.getQuestionText())));
+        List<Question> extra = new ArrayList<>();
+        collectQuestions(new QuizConfigurationDto(config.getAgeGroup(), topics, config.getDifficulty(), missing,
+                config.getUserId(), config.getIsPrivate()), missing, extra, seenQuestions);
+        for (Question question : extra) {
+            question.setQuiz(quiz);
+            quiz.getQuestions().add(question);
+        }
+        quiz.setQuestionCount(quiz.getQuestions().size());
+        
+        if (quiz.getQuestions().size() < target) {
+            log.warn("Quiz generated with {} of the {} requested questions for user: {}", 
+                    quiz.getQuestions().size(), target, config.getUserId());
+        }
+    }
+
+    /**
+     * Stream one quiz generation from Gemini, parsing questions as they arrive
+     * Valid questions are handed to the consumer immediately; invalid ones are skipped, and a
+     * failed or malformed response keeps everything received before the failure
+     * @param request The quiz configuration to request
+     * @param questionConsumer Receives each valid question
+     * @return Quiz holding the streamed metadata (without questions), or null if no title was received
+     */
+    private Quiz streamQuiz(QuizConfigurationDto request, Consumer<Question> questionConsumer) {
+        int[] invalidQuestions = {0};
+        StreamingJsonParser parser = new StreamingJsonParser(objectMapper, "questions", node -> {
+            Question question = toValidQuestion(node, request);
+            if (question != null) {
+                questionConsumer.accept(question);
+            } else {
+                invalidQuestions[0]++;
+            }
+        });
+        
+        try {
+            geminiPermits.acquire();
+            try {
+                geminiService.streamQuizPrompt(request, parser::feed);
+            } finally {
+                geminiPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating quiz", e);
         } catch (Exception e) {
-            log.error("Failed to parse quiz JSON: {}", quizJson, e);
-            throw new Exception("Failed to parse quiz from Gemini API response: " + e.getMessage(), e);
+            log.warn("Quiz stream for topics {} failed after {} questions: {}", 
+                    request.getTopics(), parser.getElementCount(), e.getMessage());
+        }
+        
+        if (parser.isMalformed() || invalidQuestions[0] > 0) {
+            log.warn("Quiz stream for topics {} had {} invalid question(s){}", request.getTopics(), 
+                    invalidQuestions[0], parser.isMalformed() ? " and malformed JSON" : "");
+        }
+        
+        JsonNode header = parser.getHeader();
+        String title = header.path("title").asText("");
+        if (title.isBlank()) {
+            return null;
         }
+        return Quiz.builder()
+                .title(title)
+                .description(header.path("description").asText(null))
+                .ageGroup(request.getAgeGroup())
+                .topics(new ArrayList<>(request.getTopics()))
+                .difficulty(request.getDifficulty())
+                .build();
+    }
+
+    /**
+     * Convert a streamed question to the model, filling metadata Gemini left out
+     * @param node The question JSON
+     * @param request The configuration the question was generated for
+     * @return The question, or null if it is invalid
+     */
+    private Question toValidQuestion(JsonNode node, QuizConfigurationDto request) {
+        try {
+            Question question = objectMapper.treeToValue(node, Question.class);
+            if (question.getTopic() == null || question.getTopic().isBlank()) {
+                question.setTopic(request.getTopics().get(0));
+            }
+            if (question.getDifficulty() == null) {
+                question.setDifficulty(request.getDifficulty());
+            }
+            if (question.getAgeGroup() == null) {
+                question.setAgeGroup(request.getAgeGroup());
+            }
+            validateQuestion(question, 0);
+            return question;
+        } catch (Exception e) {
+            log.debug("Skipping invalid streamed question {}: {}", node, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Merge shard quizzes into a single quiz, dropping questions duplicated across shards
+     * @param config The full quiz configuration
+     * @param shardQuizzes The successfully generated shards, in shard order
+     * @return The merged quiz
+     */
+    private Quiz mergeShards(QuizConfigurationDto config, List<Quiz> shardQuizzes) throws Exception {
+        if (shardQuizzes.size() == 1) {
+            return shardQuizzes.get(0);
+        }
+        
+        Quiz first = shardQuizzes.get(0);
+        Quiz merged = Quiz.builder()
+                .title(first.getTitle())
+                .description(first.getDescription())
+                .ageGroup(config.getAgeGroup())
+                .topics(config.getTopics() != null ? new ArrayList<>(config.getTopics()) : new ArrayList<>())
+                .difficulty(config.getDifficulty())
+                .build();
+        
+        Set<String> seenQuestions = new HashSet<>();
+        for (Quiz shardQuiz : shardQuizzes) {
+            for (Question question : shardQuiz.getQuestions()) {
+                if (seenQuestions.add(normalizeQuestionText(question.getQuestionText()))) {
+                    question.setQuiz(merged);
+                    merged.getQuestions().add(question);
+                } else {
+                    log.debug("Dropping duplicate question across shards: {}", question.getQuestionText());
+                }
+            }
+        }
+        merged.setQuestionCount(merged.getQuestions().size());
+        
+        validateQuiz(merged);
+        return merged;
+    }
+
+    /**
+     * Normalize question text for duplicate detection (case, punctuation and spacing insensitive)
+     */
+    private String normalizeQuestionText(String questionText) {
+        return questionText.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
     }
 
     /**
@@ -253,24 +638,33 @@ public class QuizService {
         
         // Validate each question
         for (int i = 0; i < quiz.getQuestions().size(); i++) {
-            Question question = quiz.getQuestions().get(i);
-            if (question == null) {
-                throw new Exception("Question " + i + " is null");
-            }
-            if (question.getQuestionText() == null || question.getQuestionText().trim().isEmpty()) {
-                throw new Exception("Question " + i + " text is missing or empty");
-            }
-            if (question.getOptions() == null || question.getOptions().isEmpty()) {
-                throw new Exception("Question " + i + " options are missing or empty");
-            }
-            if (question.getOptions().size() != 4) {
-                throw new Exception("Question " + i + " must have exactly 4 options");
-            }
-            if (question.getCorrectAnswerIndex() == null || 
-                question.getCorrectAnswerIndex() < 0 || 
-                question.getCorrectAnswerIndex() > 3) {
-                throw new Exception("Question " + i + " has invalid correct answer index");
-            }
+            validateQuestion(quiz.getQuestions().get(i), i);
+        }
+    }
+
+    /**
+     * Validate a single question
+     * @param question The question to validate
+     * @param i The position of the question, used in error messages
+     * @throws Exception if validation fails
+     */
+    private void validateQuestion(Question question, int i) throws Exception {
+        if (question == null) {
+            throw new Exception("Question " + i + " is null");
+        }
+        if (question.getQuestionText() == null || question.getQuestionText().trim().isEmpty()) {
+            throw new Exception("Question " + i + " text is missing or empty");
+        }
+        if (question.getOptions() == null || question.getOptions().isEmpty()) {
+            throw new Exception("Question " + i + " options are missing or empty");
+        }
+        if (question.getOptions().size() != 4) {
+            throw new Exception("Question " + i + " must have exactly 4 options");
+        }
+        if (question.getCorrectAnswerIndex() == null || 
+            question.getCorrectAnswerIndex() < 0 || 
+            question.getCorrectAnswerIndex() > 3) {
+            throw new Exception("Question " + i + " has invalid correct answer index");
         }
     }
 
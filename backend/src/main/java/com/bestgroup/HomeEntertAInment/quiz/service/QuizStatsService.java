@@ -0,0 +1,359 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuestionStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizAttemptStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Question;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.model.QuizStatCounter;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizStatCounterRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining aggregate quiz statistics incrementally
+ * Counters are updated in memory on every write (quiz saved/deleted, attempt submitted)
+ * and periodically flushed to the quiz_stat_counters summary table, so reading the
+ * statistics never scans quizzes or attempts
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class QuizStatsService {
+
+    static final String TOTAL_QUIZZES = "quizzes:total";
+    static final String TOTAL_ATTEMPTS = "attempts:total";
+    static final String SCORE_SUM = "attempts:scoreSum";
+    static final String ANSWERS_TOTAL = "answers:total";
+    static final String ANSWERS_CORRECT = "answers:correct";
+    static final String AGE_GROUP_PREFIX = "ageGroup:";
+    static final String DIFFICULTY_PREFIX = "difficulty:";
+    static final String TOPIC_PREFIX = "topic:";
+    static final String QUIZ_PREFIX = "quiz:";
+    static final String QUESTION_PREFIX = "question:";
+
+    /**
+     * How long the counter keys of a deleted quiz stay ignored, covering attempts still in flight
+     */
+    private static final long DELETED_KEY_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final QuizStatCounterRepository statCounterRepository;
+    private final QuizRepository quizRepository;
+
+    /**
+     * All counters by key; LongAdder keeps concurrent increments contention-free
+     */
+    private final Map<String, StatCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Counters of the ageGroup/difficulty/topic dimensions, indexed by prefix so the
+     * aggregate view never iterates the (unbounded) per-quiz and per-question counters
+     */
+    private final Map<String, Map<String, StatCounter>> dimensions = Map.of(
+            AGE_GROUP_PREFIX, new ConcurrentHashMap<>(),
+            DIFFICULTY_PREFIX, new ConcurrentHashMap<>(),
+            TOPIC_PREFIX, new ConcurrentHashMap<>());
+
+    /**
+     * Counter keys of deleted quizzes -> System.nanoTime() of the deletion
+     * Increments of these keys are dropped and flush skips them, so no row is written back after the delete
+     */
+    private final Map<String, Long> deletedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Held by flush and by deletes, so a flush never writes a counter row after its delete
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Load persisted counters, seeding them from existing quizzes on first run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounters() {
+        List<QuizStatCounter> persisted = statCounterRepository.findAll();
+        for (QuizStatCounter counter : persisted) {
+            counter(counter.getStatKey()).total.add(counter.getStatValue());
+        }
+
+        if (persisted.isEmpty()) {
+            seedFromExistingQuizzes();
+        }
+
+        log.info("Loaded {} quiz statistics counters", counters.size());
+    }
+
+    /**
+     * Record a newly stored quiz
+     * @param quiz The saved quiz
+     */
+    public void recordQuizCreated(Quiz quiz) {
+        adjustQuizCounters(quiz, 1);
+    }
+
+    /**
+     * Record a deleted quiz and drop its per-quiz and per-question counters
+     * @param quiz The deleted quiz
+     */
+    public void recordQuizDeleted(Quiz quiz) {
+        adjustQuizCounters(quiz, -1);
+
+        List<String> removedKeys = new ArrayList<>();
+        removedKeys.add(quizKey(quiz.getId(), "attempts"));
+        removedKeys.add(quizKey(quiz.getId(), "scoreSum"));
+        for (Question question : quiz.getQuestions()) {
+            removedKeys.add(questionKey(question.getId(), "answered"));
+            removedKeys.add(questionKey(question.getId(), "correct"));
+        }
+        flushLock.lock();
+        try {
+            long now = System.nanoTime();
+            for (String key : removedKeys) {
+                deletedKeys.put(key, now);
+                counters.remove(key);
+            }
+            statCounterRepository.deleteByStatKeyIn(removedKeys);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Record a scored quiz attempt
+     * @param quiz The quiz that was attempted
+     * @param correctness Whether each question was answered correctly, in quiz order
+     * @param scorePercent The attempt score as a percentage (0-100)
+     */
+    public void recordAttempt(Quiz quiz, List<Boolean> correctness, int scorePercent) {
+        long correctCount = correctness.stream().filter(Boolean::booleanValue).count();
+
+        increment(TOTAL_ATTEMPTS, 1);
+        increment(SCORE_SUM, scorePercent);
+        increment(ANSWERS_TOTAL, correctness.size());
+        increment(ANSWERS_CORRECT, correctCount);
+        increment(quizKey(quiz.getId(), "attempts"), 1);
+        increment(quizKey(quiz.getId(), "scoreSum"), scorePercent);
+
+        for (int i = 0; i < correctness.size(); i++) {
+            UUID questionId = quiz.getQuestions().get(i).getId();
+            increment(questionKey(questionId, "answered"), 1);
+            if (correctness.get(i)) {
+                increment(questionKey(questionId, "correct"), 1);
+            }
+        }
+    }
+
+    /**
+     * Get the aggregate statistics over all quizzes
+     * Cost depends only on the number of distinct age groups, difficulties and topics
+     * @return Aggregate quiz statistics
+     */
+    public QuizStatsDto getStats() {
+        long attempts = value(TOTAL_ATTEMPTS);
+        long answers = value(ANSWERS_TOTAL);
+
+        return QuizStatsDto.builder()
+                .totalQuizzes(value(TOTAL_QUIZZES))
+                .quizzesByAgeGroup(valuesWithPrefix(AGE_GROUP_PREFIX))
+                .quizzesByDifficulty(valuesWithPrefix(DIFFICULTY_PREFIX))
+                .quizzesByTopic(valuesWithPrefix(TOPIC_PREFIX))
+                .totalAttempts(attempts)
+                .averageScore(ratio(value(SCORE_SUM), attempts))
+                .correctnessRate(ratio(value(ANSWERS_CORRECT), answers))
+                .build();
+    }
+
+    /**
+     * Get the statistics of a single quiz
+     * @param quiz The quiz, with its questions loaded
+     * @return Attempt totals and per-question correctness rates
+     */
+    public QuizAttemptStatsDto getQuizStats(Quiz quiz) {
+        long attempts = value(quizKey(quiz.getId(), "attempts"));
+
+        List<QuestionStatsDto> questions = quiz.getQuestions().stream()
+                .map(question -> {
+                    long answered = value(questionKey(question.getId(), "answered"));
+                    long correct = value(questionKey(question.getId(), "correct"));
+                    return QuestionStatsDto.builder()
+                            .questionId(question.getId().toString())
+                            .answered(answered)
+                            .correct(correct)
+                            .correctnessRate(ratio(correct, answered))
+                            .build();
+                })
+                .toList();
+
+        return QuizAttemptStatsDto.builder()
+                .quizId(quiz.getId().toString())
+                .attempts(attempts)
+                .averageScore(ratio(value(quizKey(quiz.getId(), "scoreSum")), attempts))
+                .questions(questions)
+                .build();
+    }
+
+    /**
+     * Flush pending counter deltas to the summary table
+     * Deltas that fail to flush are kept and retried on the next run
+     */
+    @Scheduled(fixedDelayString = "${app.quiz.stats.flush-interval-ms:30000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushCounters();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushCounters() {
+        int flushed = 0;
+        for (Map.Entry<String, StatCounter> entry : counters.entrySet()) {
+            // Re-created by an attempt that raced with the quiz's deletion
+            if (deletedKeys.containsKey(entry.getKey())) {
+                counters.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            long delta = entry.getValue().pending.sumThenReset();
+            if (delta == 0) {
+                continue;
+            }
+            try {
+                if (statCounterRepository.incrementBy(entry.getKey(), delta) == 0) {
+                    statCounterRepository.save(QuizStatCounter.builder()
+                            .statKey(entry.getKey())
+                            .statValue(delta)
+                            .build());
+                }
+                flushed++;
+            } catch (Exception e) {
+                entry.getValue().pending.add(delta);
+                log.warn("Failed to flush quiz statistics counter {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed {} quiz statistics counters", flushed);
+        }
+        long now = System.nanoTime();
+        deletedKeys.values().removeIf(deletedAt -> now - deletedAt > DELETED_KEY_RETENTION_NANOS);
+    }
+
+    /**
+     * Flush remaining deltas on shutdown
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Seed quiz counters from the quizzes table when no counters have been persisted yet
+     */
+    private void seedFromExistingQuizzes() {
+        long total = quizRepository.count();
+        if (total == 0) {
+            return;
+        }
+
+        increment(TOTAL_QUIZZES, total);
+        quizRepository.countGroupedByAgeGroup()
+                .forEach(row -> increment(AGE_GROUP_PREFIX + normalize((String) row[0]), (Long) row[1]));
+        quizRepository.countGroupedByDifficulty()
+                .forEach(row -> increment(DIFFICULTY_PREFIX + normalize((String) row[0]), (Long) row[1]));
+        quizRepository.countGroupedByTopic()
+                .forEach(row -> increment(TOPIC_PREFIX + normalize((String) row[0]), (Long) row[1]));
+
+        log.info("Seeded quiz statistics from {} existing quizzes", total);
+    }
+
+    private void adjustQuizCounters(Quiz quiz, long delta) {
+        increment(TOTAL_QUIZZES, delta);
+        increment(AGE_GROUP_PREFIX + normalize(quiz.getAgeGroup()), delta);
+        increment(DIFFICULTY_PREFIX + normalize(quiz.getDifficulty()), delta);
+        if (quiz.getTopics() != null) {
+            quiz.getTopics().stream()
+                    .map(this::normalize)
+                    .distinct()
+                    .forEach(topic -> increment(TOPIC_PREFIX + topic, delta));
+        }
+    }
+
+    private void increment(String key, long delta) {
+        if (deletedKeys.containsKey(key)) {
+            return;
+        }
+        StatCounter counter = counter(key);
+        counter.total.add(delta);
+        counter.pending.add(delta);
+    }
+
+    private StatCounter counter(String key) {
+        return counters.computeIfAbsent(key, k -> {
+            StatCounter counter = new StatCounter();
+            dimensions.forEach((prefix, values) -> {
+                if (k.startsWith(prefix)) {
+                    values.put(k.substring(prefix.length()), counter);
+                }
+            });
+            return counter;
+        });
+    }
+
+    private long value(String key) {
+        StatCounter counter = counters.get(key);
+        return counter != null ? counter.total.sum() : 0;
+    }
+
+    private Map<String, Long> valuesWithPrefix(String prefix) {
+        Map<String, Long> values = new TreeMap<>();
+        dimensions.get(prefix).forEach((name, counter) -> {
+            long value = counter.total.sum();
+            if (value > 0) {
+                values.put(name, value);
+            }
+        });
+        return values;
+    }
+
+    private String normalize(String value) {
+        return value == null ? "unknown" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String quizKey(UUID quizId, String name) {
+        return QUIZ_PREFIX + quizId + ":" + name;
+    }
+
+    private static String questionKey(UUID questionId, String name) {
+        return QUESTION_PREFIX + questionId + ":" + name;
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0.0 : (double) numerator / denominator;
+    }
+
+    /**
+     * In-memory counter: the running total and the delta not yet flushed to the database
+     */
+    private static final class StatCounter {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder pending = new LongAdder();
+    }
+}
@@ -0,0 +1,56 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs submitted tasks one at a time, in submission order, on a shared executor
+ * Gives each quiz room (and each player's outbound messages) a single-threaded mailbox
+ * without dedicating a thread or taking a lock: submission is a lock-free queue offer
+ */
+@Slf4j
+final class SerialExecutor implements Executor {
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Serial task failed", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // A task may have been added after the last poll but before the flag was cleared
+            if (!tasks.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
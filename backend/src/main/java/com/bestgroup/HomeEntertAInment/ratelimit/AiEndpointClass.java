@@ -0,0 +1,24 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+/**
+ * Groups of endpoints that call Gemini, each with its own token bucket per user
+ */
+public enum AiEndpointClass {
+    MOVIES("movies"),
+    QUIZ("quiz"),
+    STORY("story"),
+    CHAT("chat");
+
+    private final String key;
+
+    AiEndpointClass(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in bucket keys and in app.rate-limit.&lt;key&gt;.* settings
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,82 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token buckets held in this instance's memory
+ * Each bucket is an immutable state swapped with compare-and-set, so concurrent requests never block
+ * each other. Limits apply per instance; use the postgres store to share them between instances.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Map<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public InMemoryRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    InMemoryRateLimiter(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, Limit limit, int cost) {
+        AtomicReference<Bucket> bucket = buckets.computeIfAbsent(key,
+                k -> new AtomicReference<>(new Bucket(limit.capacity(), nanoTime.getAsLong())));
+        while (true) {
+            Bucket current = bucket.get();
+            long now = nanoTime.getAsLong();
+            double tokens = current.tokensAt(now, limit);
+            if (tokens < cost) {
+                return Decision.rejected(limit.secondsUntil(tokens, cost));
+            }
+            if (bucket.compareAndSet(current, new Bucket(tokens - cost, now))) {
+                return Decision.ALLOWED;
+            }
+        }
+    }
+
+    /**
+     * Forget buckets idle for an hour; they would have refilled long ago
+     * A request racing with the removal may start from a full bucket, which is harmless
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:600000}")
+    public void removeIdleBuckets() {
+        long cutoff = nanoTime.getAsLong() - 3_600_000_000_000L;
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get().updatedAtNanos() < cutoff);
+        if (before != buckets.size()) {
+            log.debug("Removed {} idle rate limit buckets", before - buckets.size());
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Tokens in a bucket when it was last updated
+     */
+    private record Bucket(double tokens, long updatedAtNanos) {
+
+        double tokensAt(long now, Limit limit) {
+            double refilled = (now - updatedAtNanos) / 1e9 * limit.refillPerSecond();
+            return Math.min(limit.capacity(), tokens + refilled);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token buckets in the rate_limit_buckets table, shared by all instances
+ * Each request is one upsert that refills and takes tokens atomically on the bucket's row, using the
+ * database clock so instance clocks do not matter. If the database is unavailable, requests are let
+ * through rather than failing the AI endpoints.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "postgres")
+public class PostgresRateLimiter implements RateLimiter {
+
+    private final RateLimitBucketRepository bucketRepository;
+
+    @Override
+    public Decision tryAcquire(String key, Limit limit, int cost) {
+        try {
+            List<Double> left = bucketRepository.tryAcquire(key, limit.capacity(), limit.refillPerSecond(), cost);
+            if (!left.isEmpty()) {
+                return Decision.ALLOWED;
+            }
+            List<Double> tokens = bucketRepository.currentTokens(key, limit.capacity(), limit.refillPerSecond());
+            return Decision.rejected(limit.secondsUntil(tokens.isEmpty() ? 0 : tokens.get(0), cost));
+        } catch (RuntimeException e) {
+            log.warn("Rate limit check failed for {}, allowing the request: {}", key, e.getMessage());
+            return Decision.ALLOWED;
+        }
+    }
+
+    /**
+     * Delete buckets idle for a day; they would have refilled long ago
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:600000}")
+    public void removeIdleBuckets() {
+        try {
+            int removed = bucketRepository.deleteIdleSince(OffsetDateTime.now().minusDays(1));
+            if (removed > 0) {
+                log.debug("Removed {} idle rate limit buckets", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove idle rate limit buckets: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token bucket shared by all instances, used by {@link PostgresRateLimiter}
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitBucket {
+
+    /**
+     * User and endpoint class (e.g. "movies:user_2abc")
+     */
+    @Id
+    @Column(name = "bucket_key", nullable = false, length = 512)
+    private String bucketKey;
+
+    /**
+     * Tokens in the bucket at updatedAt
+     */
+    @Column(name = "tokens", nullable = false)
+    private Double tokens;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Refill the bucket and take the tokens in one atomic statement, creating the bucket full if needed
+     * @return The tokens left, or no row if the bucket did not hold enough (it is then left unchanged)
+     */
+    @Transactional
+    @Query(value = "INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, updated_at) "
+            + "VALUES (:bucketKey, :capacity - :cost, now()) "
+            + "ON CONFLICT (bucket_key) DO UPDATE SET "
+            + "tokens = LEAST(:capacity, b.tokens + EXTRACT(EPOCH FROM now() - b.updated_at) * :perSecond) - :cost, "
+            + "updated_at = now() "
+            + "WHERE LEAST(:capacity, b.tokens + EXTRACT(EPOCH FROM now() - b.updated_at) * :perSecond) >= :cost "
+            + "RETURNING tokens", nativeQuery = true)
+    List<Double> tryAcquire(@Param("bucketKey") String bucketKey, @Param("capacity") double capacity,
+                            @Param("perSecond") double perSecond, @Param("cost") double cost);
+
+    /**
+     * Tokens in the bucket now, after refilling
+     */
+    @Query(value = "SELECT LEAST(:capacity, tokens + EXTRACT(EPOCH FROM now() - updated_at) * :perSecond) "
+            + "FROM rate_limit_buckets WHERE bucket_key = :bucketKey", nativeQuery = true)
+    List<Double> currentTokens(@Param("bucketKey") String bucketKey, @Param("capacity") double capacity,
+                               @Param("perSecond") double perSecond);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RateLimitBucket b WHERE b.updatedAt < :cutoff")
+    int deleteIdleSince(@Param("cutoff") OffsetDateTime cutoff);
+}
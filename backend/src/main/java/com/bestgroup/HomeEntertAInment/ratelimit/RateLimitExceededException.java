@@ -0,0 +1,20 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a handler charges more tokens than the user's bucket holds
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Seconds until the request would be allowed
+     */
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super(RateLimitInterceptor.rejectionMessage(retryAfterSeconds));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
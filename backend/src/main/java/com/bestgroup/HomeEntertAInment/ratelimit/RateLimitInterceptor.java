@@ -0,0 +1,208 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throttles the endpoints that call Gemini, per user and endpoint class
+ * Requests are keyed by the Clerk user ID, or by client address for the few unauthenticated ones.
+ * Endpoints that make several Gemini calls cost more tokens. A rejected request gets
+ * 429 Too Many Requests with a Retry-After header and never reaches the controller. Endpoints whose
+ * cost depends on the request body have cost 0 here and are charged by their handler via {@link #acquire}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    /**
+     * Rate limited endpoints and their cost in tokens
+     */
+    static final List<Route> ROUTES = List.of(
+            new Route(HttpMethod.POST, "/api/movies/recommendations", AiEndpointClass.MOVIES, 1),
+            new Route(HttpMethod.POST, "/api/movies/recommendations/stream", AiEndpointClass.MOVIES, 1),
+            new Route(HttpMethod.POST, "/api/quiz/create", AiEndpointClass.QUIZ, 1),
+            new Route(HttpMethod.POST, "/api/story/generate", AiEndpointClass.STORY, 1),
+            // Story text plus one image per page
+            new Route(HttpMethod.POST, "/api/story/generate-illustrated", AiEndpointClass.STORY, 3),
+            new Route(HttpMethod.POST, "/api/story/image", AiEndpointClass.STORY, 1),
+            new Route(HttpMethod.POST, "/api/stories", AiEndpointClass.STORY, 1),
+            // One token per story, charged by StoryBatchService
+            new Route(HttpMethod.POST, "/api/stories/batch", AiEndpointClass.STORY, 0),
+            new Route(HttpMethod.POST, "/api/stories/{storyId}/chapters", AiEndpointClass.STORY, 1),
+            // A player's chat entry is answered by Gemini
+            new Route(HttpMethod.POST, "/api/sessions/{sessionId}/chatEntry", AiEndpointClass.CHAT, 1),
+            new Route(HttpMethod.GET, "/api/gemini/status", AiEndpointClass.CHAT, 1));
+
+    /**
+     * Path patterns of {@link #ROUTES}, for registering the interceptor
+     */
+    static final String[] PATH_PATTERNS = ROUTES.stream()
+            .map(route -> route.pattern().getPatternString())
+            .distinct()
+            .toArray(String[]::new);
+
+    private final ObjectProvider<RateLimiter> rateLimiterProvider;
+    private final ClerkUserExtractor clerkUserExtractor;
+    private final ObjectMapper objectMapper;
+
+    private RateLimiter rateLimiter;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.rate-limit.movies.capacity:10}")
+    private int moviesCapacity = 10;
+
+    @Value("${app.rate-limit.movies.refill-per-minute:5}")
+    private double moviesRefillPerMinute = 5;
+
+    @Value("${app.rate-limit.quiz.capacity:5}")
+    private int quizCapacity = 5;
+
+    @Value("${app.rate-limit.quiz.refill-per-minute:2}")
+    private double quizRefillPerMinute = 2;
+
+    @Value("${app.rate-limit.story.capacity:10}")
+    private int storyCapacity = 10;
+
+    @Value("${app.rate-limit.story.refill-per-minute:3}")
+    private double storyRefillPerMinute = 3;
+
+    @Value("${app.rate-limit.chat.capacity:30}")
+    private int chatCapacity = 30;
+
+    @Value("${app.rate-limit.chat.refill-per-minute:15}")
+    private double chatRefillPerMinute = 15;
+
+    private final Map<AiEndpointClass, RateLimiter.Limit> limits = new EnumMap<>(AiEndpointClass.class);
+
+    @PostConstruct
+    public void init() {
+        // Absent when app.rate-limit.store names no store, and in web slice tests
+        rateLimiter = rateLimiterProvider.getIfAvailable();
+        if (enabled && rateLimiter == null) {
+            log.warn("No rate limit store configured (app.rate-limit.store); AI endpoints are not rate limited");
+        }
+        limits.put(AiEndpointClass.MOVIES, new RateLimiter.Limit(moviesCapacity, moviesRefillPerMinute));
+        limits.put(AiEndpointClass.QUIZ, new RateLimiter.Limit(quizCapacity, quizRefillPerMinute));
+        limits.put(AiEndpointClass.STORY, new RateLimiter.Limit(storyCapacity, storyRefillPerMinute));
+        limits.put(AiEndpointClass.CHAT, new RateLimiter.Limit(chatCapacity, chatRefillPerMinute));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Streaming responses are dispatched again when they complete; only the original request counts
+        if (!enabled || rateLimiter == null || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        Route route = match(request);
+        if (route == null || route.cost() == 0) {
+            return true;
+        }
+        RateLimiter.Limit limit = limits.get(route.endpointClass());
+        String key = route.endpointClass().getKey() + ":" + client(request);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key, limit, Math.min(route.cost(), limit.capacity()));
+        if (decision.allowed()) {
+            return true;
+        }
+
+        log.info("Rate limited {} {} for {}, retry after {} s", request.getMethod(), request.getRequestURI(), key,
+                decision.retryAfterSeconds());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), rejectionBody(decision.retryAfterSeconds()));
+        return false;
+    }
+
+    /**
+     * Take tokens for a request whose cost is only known to its handler, e.g. one per story of a batch
+     * @param userId The Clerk user ID
+     * @param cost Tokens the request costs
+     * @throws IllegalArgumentException if the cost exceeds the bucket capacity, so it would never be allowed
+     * @throws RateLimitExceededException if the user's bucket does not hold enough tokens
+     */
+    public void acquire(AiEndpointClass endpointClass, String userId, int cost) {
+        if (!enabled || rateLimiter == null) {
+            return;
+        }
+        RateLimiter.Limit limit = limits.get(endpointClass);
+        if (cost > limit.capacity()) {
+            throw new IllegalArgumentException("A request may cost at most " + limit.capacity() + " "
+                    + endpointClass.getKey() + " tokens");
+        }
+        String key = endpointClass.getKey() + ":" + userId;
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key, limit, cost);
+        if (!decision.allowed()) {
+            log.info("Rate limited {} tokens for {}, retry after {} s", cost, key, decision.retryAfterSeconds());
+            throw new RateLimitExceededException(decision.retryAfterSeconds());
+        }
+    }
+
+    /**
+     * JSON body of a 429 response
+     */
+    public static Map<String, Object> rejectionBody(long retryAfterSeconds) {
+        return Map.of(
+                "message", rejectionMessage(retryAfterSeconds),
+                "retryAfterSeconds", retryAfterSeconds);
+    }
+
+    static String rejectionMessage(long retryAfterSeconds) {
+        return "Too many requests. Please try again in " + retryAfterSeconds + " seconds.";
+    }
+
+    private static Route match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : ROUTES) {
+            if (route.method().matches(request.getMethod()) && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = clerkUserExtractor.extractClerkUserId(authentication);
+        return userId != null ? userId : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * A rate limited endpoint
+     * @param cost Tokens one request takes; 0 if charged by the handler
+     */
+    record Route(HttpMethod method, PathPattern pattern, AiEndpointClass endpointClass, int cost) {
+
+        Route(HttpMethod method, String pattern, AiEndpointClass endpointClass, int cost) {
+            this(method, PathPatternParser.defaultInstance.parse(pattern), endpointClass, cost);
+        }
+    }
+}
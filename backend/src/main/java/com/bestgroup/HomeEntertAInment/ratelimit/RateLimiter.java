@@ -0,0 +1,51 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+/**
+ * Token buckets limiting how often each user may call the AI endpoints
+ * A bucket holds up to capacity tokens and refills continuously; a request takes as many tokens as
+ * it costs, or is rejected without taking any.
+ */
+public interface RateLimiter {
+
+    /**
+     * Take tokens from a bucket if it holds enough
+     * @param key Bucket key, one per user and endpoint class
+     * @param limit Capacity and refill rate of the bucket
+     * @param cost Tokens the request costs; at most the capacity
+     * @return Whether the request may proceed, and if not, when enough tokens will be back
+     */
+    Decision tryAcquire(String key, Limit limit, int cost);
+
+    /**
+     * Size and refill rate of a bucket
+     * @param capacity Most tokens the bucket holds, i.e. the largest burst
+     * @param refillPerMinute Tokens added per minute
+     */
+    record Limit(int capacity, double refillPerMinute) {
+
+        double refillPerSecond() {
+            return refillPerMinute / 60;
+        }
+
+        /**
+         * Whole seconds until a bucket holding the given tokens has enough for the cost, at least 1
+         */
+        long secondsUntil(double tokens, int cost) {
+            return Math.max(1, (long) Math.ceil((cost - tokens) / refillPerSecond()));
+        }
+    }
+
+    /**
+     * Outcome of {@link #tryAcquire}
+     * @param allowed Whether the tokens were taken
+     * @param retryAfterSeconds When rejected, seconds until the request would be allowed; 0 otherwise
+     */
+    record Decision(boolean allowed, long retryAfterSeconds) {
+
+        static final Decision ALLOWED = new Decision(true, 0);
+
+        static Decision rejected(long retryAfterSeconds) {
+            return new Decision(false, retryAfterSeconds);
+        }
+    }
+}
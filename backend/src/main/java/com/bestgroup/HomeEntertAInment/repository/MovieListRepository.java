@@ -1,6 +1,8 @@
 package com.bestgroup.HomeEntertAInment.repository;
 
+import com.bestgroup.HomeEntertAInment.dto.MovieListSummaryDto;
 import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,9 +15,20 @@ import java.util.Optional;
 public interface MovieListRepository extends JpaRepository<MovieList, Long> {
     List<MovieList> findByClerkUserIdOrderByCreatedAtDesc(String clerkUserId);
     
-    @Query("SELECT ml FROM MovieList ml LEFT JOIN FETCH ml.movies WHERE ml.id = :listId AND ml.clerkUserId = :clerkUserId")
+    @Query("SELECT ml FROM MovieList ml LEFT JOIN FETCH ml.movies i LEFT JOIN FETCH i.movie WHERE ml.id = :listId AND ml.clerkUserId = :clerkUserId")
     Optional<MovieList> findByIdAndClerkUserIdWithMovies(@Param("listId") Long listId, @Param("clerkUserId") String clerkUserId);
     
-    @Query("SELECT ml FROM MovieList ml LEFT JOIN FETCH ml.movies WHERE ml.clerkUserId = :clerkUserId ORDER BY ml.createdAt DESC")
-    List<MovieList> findByClerkUserIdWithMoviesOrderByCreatedAtDesc(@Param("clerkUserId") String clerkUserId);
+    /**
+     * List summaries with their movie counts, newest first, in one aggregate query that reads no movies
+     */
+    @Query("SELECT new com.bestgroup.HomeEntertAInment.dto.MovieListSummaryDto(ml.id, ml.listName, ml.description, CAST(COUNT(i.id) AS Integer), ml.createdAt) "
+            + "FROM MovieList ml LEFT JOIN ml.movies i WHERE ml.clerkUserId = :clerkUserId "
+            + "GROUP BY ml.id, ml.listName, ml.description, ml.createdAt ORDER BY ml.createdAt DESC, ml.id DESC")
+    List<MovieListSummaryDto> findSummariesByClerkUserId(@Param("clerkUserId") String clerkUserId, Pageable pageable);
+
+    @Query("SELECT DISTINCT ml FROM MovieList ml LEFT JOIN FETCH ml.movies i LEFT JOIN FETCH i.movie WHERE ml.clerkUserId = :clerkUserId")
+    List<MovieList> findByClerkUserIdWithMovies(@Param("clerkUserId") String clerkUserId);
+
+    @Query("SELECT DISTINCT ml FROM MovieList ml LEFT JOIN FETCH ml.movies i LEFT JOIN FETCH i.movie")
+    List<MovieList> findAllWithMovies();
 }
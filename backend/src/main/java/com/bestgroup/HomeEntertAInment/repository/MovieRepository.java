@@ -0,0 +1,24 @@
+package com.bestgroup.HomeEntertAInment.repository;
+
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MovieRepository extends JpaRepository<Movie, Long> {
+    List<Movie> findByMovieKeyIn(Collection<String> movieKeys);
+
+    /**
+     * Movies in a genre saved in any of a user's lists
+     * array_contains renders as genre_keys @> ARRAY[?] on Postgres, which the GIN index on genre_keys answers
+     * @param genreKey The genre normalized with {@link Movie#genreKey}
+     */
+    @Query("SELECT DISTINCT m FROM MovieListItem i JOIN i.movie m "
+            + "WHERE i.movieList.clerkUserId = :clerkUserId AND array_contains(m.genreKeys, :genreKey) ORDER BY m.title")
+    List<Movie> findSavedByClerkUserIdAndGenre(@Param("clerkUserId") String clerkUserId, @Param("genreKey") String genreKey);
+}
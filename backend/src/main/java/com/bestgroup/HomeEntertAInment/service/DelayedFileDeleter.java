@@ -0,0 +1,81 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes evicted cache files only after a delay
+ * A response sent with Tomcat sendfile opens the file by name after the handler has returned, so a
+ * file evicted in between would break the response. Evicted files therefore stay on disk, no longer
+ * indexed, until the delay has passed; once Tomcat has opened a file, deleting it is harmless.
+ */
+@Slf4j
+public final class DelayedFileDeleter {
+
+    private final long delayNanos;
+
+    /**
+     * File -> System.nanoTime() after which it may be deleted
+     */
+    private final Map<Path, Long> pending = new ConcurrentHashMap<>();
+
+    public DelayedFileDeleter(Duration delay) {
+        this.delayNanos = delay.toNanos();
+    }
+
+    /**
+     * Delete a file once the delay has passed
+     * @param file The evicted file
+     */
+    public void deleteLater(Path file) {
+        pending.put(file, System.nanoTime() + delayNanos);
+    }
+
+    /**
+     * Keep a file that was scheduled for deletion, because it was cached again
+     * @param file The file
+     */
+    public void cancel(Path file) {
+        pending.remove(file);
+    }
+
+    /**
+     * Delete the files whose delay has passed
+     * Callers must hold the lock they also hold while calling {@link #cancel}, so a file cached
+     * again is never deleted
+     * @return Number of files deleted
+     */
+    public int deleteDue() {
+        long now = System.nanoTime();
+        int deleted = 0;
+        Iterator<Map.Entry<Path, Long>> files = pending.entrySet().iterator();
+        while (files.hasNext()) {
+            Map.Entry<Path, Long> file = files.next();
+            if (now - file.getValue() < 0) {
+                continue;
+            }
+            files.remove();
+            try {
+                Files.deleteIfExists(file.getKey());
+                deleted++;
+            } catch (IOException e) {
+                log.warn("Failed to delete evicted file {}: {}", file.getKey(), e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Number of evicted files waiting to be deleted
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+}
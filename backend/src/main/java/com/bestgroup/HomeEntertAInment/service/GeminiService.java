@@ -1,9 +1,16 @@
 package com.bestgroup.HomeEntertAInment.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -18,14 +25,17 @@ import org.springframework.web.client.RestTemplate;
 
 import com.bestgroup.HomeEntertAInment.dto.GeminiResponseDto;
 import com.bestgroup.HomeEntertAInment.quiz.dto.QuizConfigurationDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service for interacting with Google's Gemini API
  * Handles API communication and response processing
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class GeminiService {
 
@@ -34,7 +44,46 @@ public class GeminiService {
 
     // Gemini API endpoint for content generation
     private static final String URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
+    // Streaming endpoint, answering with server-sent events carrying partial responses
+    private static final String STREAM_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:streamGenerateContent?alt=sse";
+    private static final int MAX_STREAM_RETRIES = 3;
+
+    /**
+     * Response schema for quiz generation; the questions array comes last so quiz metadata
+     * is streamed before the first question
+     */
+    private static final Map<String, Object> QUIZ_RESPONSE_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", Map.of(
+                    "title", Map.of("type", "STRING"),
+                    "description", Map.of("type", "STRING"),
+                    "ageGroup", Map.of("type", "STRING"),
+                    "topics", Map.of("type", "ARRAY", "items", Map.of("type", "STRING")),
+                    "difficulty", Map.of("type", "STRING"),
+                    "questionCount", Map.of("type", "INTEGER"),
+                    "questions", Map.of(
+                            "type", "ARRAY",
+                            "items", Map.of(
+                                    "type", "OBJECT",
+                                    "properties", Map.of(
+                                            "questionText", Map.of("type", "STRING"),
+                                            "options", Map.of("type", "ARRAY", "items", Map.of("type", "STRING"),
+                                                    "minItems", 4, "maxItems", 4),
+                                            "correctAnswerIndex", Map.of("type", "INTEGER"),
+                                            "explanation", Map.of("type", "STRING"),
+                                            "topic", Map.of("type", "STRING"),
+                                            "difficulty", Map.of("type", "STRING"),
+                                            "ageGroup", Map.of("type", "STRING")),
+                                    "required", List.of("questionText", "options", "correctAnswerIndex", "explanation",
+                                            "topic", "difficulty", "ageGroup"),
+                                    "propertyOrdering", List.of("questionText", "options", "correctAnswerIndex",
+                                            "explanation", "topic", "difficulty", "ageGroup")))),
+            "required", List.of("title", "description", "questions"),
+            "propertyOrdering", List.of("title", "description", "ageGroup", "topics", "difficulty",
+                    "questionCount", "questions"));
+
     private final RestTemplate restTemplate = new RestTemplate();
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Sends a test prompt to Gemini API to check connectivity and functionality
@@ -82,11 +131,27 @@ public class GeminiService {
 
     /**
      * Generates a quiz using the Gemini API based on the provided configuration
+     * The response is constrained to the quiz JSON schema and streamed, so the caller can
+     * parse questions while the rest of the quiz is still being generated
      * 
      * @param config The quiz configuration containing age group, topics, difficulty, and question count
-     * @return JSON string representation of the generated quiz that can be converted to Quiz model
+     * @param chunkConsumer Receives the quiz JSON text piece by piece, in order
+     * @throws org.springframework.web.client.RestClientException if the request fails
+     */
+    public void streamQuizPrompt(QuizConfigurationDto config, Consumer<String> chunkConsumer) {
+        Map<String, Object> generationConfig = Map.of(
+                "responseMimeType", "application/json",
+                "responseSchema", QUIZ_RESPONSE_SCHEMA);
+        streamContent(buildQuizPrompt(config), generationConfig, chunkConsumer);
+    }
+
+    /**
+     * Build the quiz generation prompt
+     * 
+     * @param config The quiz configuration
+     * @return The prompt text
      */
-    public String sendQuizPrompt(QuizConfigurationDto config) {
+    private String buildQuizPrompt(QuizConfigurationDto config) {
         // Build the prompt using configuration parameters
         StringBuilder promptBuilder = new StringBuilder();
         promptBuilder.append("Generate a quiz in JSON format with the following specifications:\n\n");
@@ -132,9 +197,80 @@ public class GeminiService {
         promptBuilder.append("- correctAnswerIndex should be 0, 1, 2, or 3 (zero-based)\n");
         promptBuilder.append("- Return ONLY the JSON object, no additional text or formatting");
         
-        String prompt = promptBuilder.toString();
-        
-        return sendGeminiRequest(prompt, "Error: Failed to generate quiz via Gemini API - ");
+        return promptBuilder.toString();
+    }
+
+    /**
+     * Stream generated text from the Gemini API, handing each partial text to the consumer as it arrives
+     * Requests rejected with 503 (model overloaded) are retried with exponential backoff
+     * 
+     * @param prompt The prompt to send to Gemini
+     * @param generationConfig Gemini generation config (e.g. JSON mode and response schema), may be empty
+     * @param chunkConsumer Receives the generated text piece by piece, in order
+     * @throws org.springframework.web.client.RestClientException if the request fails
+     */
+    public void streamContent(String prompt, Map<String, Object> generationConfig, Consumer<String> chunkConsumer) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("contents", List.of(Map.of("parts", List.of(Map.of("text", prompt)))));
+        if (!generationConfig.isEmpty()) {
+            body.put("generationConfig", generationConfig);
+        }
+        String fullUrl = STREAM_URL + "&key=" + apiKey;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                restTemplate.execute(fullUrl, HttpMethod.POST,
+                        request -> {
+                            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                            objectMapper.writeValue(request.getBody(), body);
+                        },
+                        response -> {
+                            readServerSentEvents(response.getBody(), chunkConsumer);
+                            return null;
+                        });
+                return;
+            } catch (HttpServerErrorException e) {
+                // The status is known before any event is read, so nothing has been streamed yet
+                if (e.getStatusCode() != HttpStatus.SERVICE_UNAVAILABLE || attempt >= MAX_STREAM_RETRIES) {
+                    throw e;
+                }
+                long waitTime = (long) Math.pow(2, attempt);
+                log.warn("Gemini API overloaded (503), retrying stream in {} seconds", waitTime);
+                try {
+                    TimeUnit.SECONDS.sleep(waitTime);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read Gemini server-sent events, passing on the text of each partial response
+     */
+    private void readServerSentEvents(InputStream body, Consumer<String> chunkConsumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            GeminiResponseDto event = objectMapper.readValue(line.substring(5).trim(), GeminiResponseDto.class);
+            if (event.candidates() == null) {
+                continue;
+            }
+            for (GeminiResponseDto.Candidate candidate : event.candidates()) {
+                if (candidate.content() == null || candidate.content().parts() == null) {
+                    continue;
+                }
+                for (GeminiResponseDto.Part part : candidate.content().parts()) {
+                    if (part.text() != null) {
+                        chunkConsumer.accept(part.text());
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -58,4 +58,12 @@ public class GeminiStoryService {
             return "Error: Failed to communicate with Gemini API - " + e.getMessage();
         }
     }
+
+    /**
+     * Whether a {@link #sendStoryPrompt} result is a failure rather than a story
+     * sendStoryPrompt does not throw; it returns an "Error: ..." message instead
+     */
+    public static boolean isFailure(String response) {
+        return response == null || response.isBlank() || response.startsWith("Error:");
+    }
 }
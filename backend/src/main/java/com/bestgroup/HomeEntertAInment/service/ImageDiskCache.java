@@ -0,0 +1,549 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded local disk cache of remote images, backing the /api/proxy/image endpoint
+ * Image bytes are stored content-addressed (file name = SHA-256 of the content), so the same
+ * image under several URLs is stored once and the hash doubles as a strong ETag. A small ref
+ * file per URL maps it to its content. Least recently used images are evicted once the cache
+ * exceeds its size limit, except pinned images such as story covers. Evicted image files are
+ * deleted after a delay, since a response being sent with sendfile may still need them.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ImageDiskCache {
+
+    private final ExecutorService aiTaskExecutor;
+
+    @Value("${app.image-cache.directory:${java.io.tmpdir}/home-entertainment-image-cache}")
+    private String directory;
+
+    /**
+     * Total size of cached images before least recently used ones are evicted
+     */
+    @Value("${app.image-cache.max-bytes:524288000}")
+    private long maxBytes;
+
+    /**
+     * Largest single image that will be downloaded
+     */
+    @Value("${app.image-cache.max-image-bytes:20971520}")
+    private long maxImageBytes;
+
+    /**
+     * Hosts images may be fetched from (subdomains included); anything else is rejected,
+     * so the proxy cannot be used to reach arbitrary or internal URLs
+     */
+    @Value("${app.image-cache.allowed-hosts:im.runware.ai,m.media-amazon.com,image.tmdb.org,img.omdbapi.com}")
+    private List<String> allowedHosts;
+
+    /**
+     * How long an evicted image stays on disk, so responses already handed to sendfile can finish
+     */
+    @Value("${app.image-cache.delete-delay-seconds:60}")
+    private long deleteDelaySeconds = 60;
+
+    /**
+     * Most bytes of pinned images; pins beyond it are dropped, so pins cannot fill the whole cache
+     */
+    @Value("${app.image-cache.max-pinned-bytes:262144000}")
+    private long maxPinnedBytes = 262_144_000;
+
+    /**
+     * Pinned images downloaded at the same time, so pinning every cover at startup does not
+     * fire one download per story at once
+     */
+    @Value("${app.image-cache.prefetch-concurrency:4}")
+    private int prefetchConcurrency = 4;
+
+    private final RestTemplate restTemplate = new RestTemplate(new NoRedirectRequestFactory());
+
+    private Path blobDirectory;
+    private Path refDirectory;
+    private DelayedFileDeleter evictedBlobs;
+    private Semaphore prefetchPermits;
+
+    /**
+     * URL (or derived image key) -> cached content; backed by one ref file per key
+     */
+    private final Map<String, ImageRef> refs = new ConcurrentHashMap<>();
+
+    /**
+     * Content hash -> size in bytes, in access order (eldest first); guarded by itself
+     */
+    private final LinkedHashMap<String, Long> blobs = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Pinned URL -> bytes counted against maxPinnedBytes, 0 until its prefetch has cached it
+     */
+    private final Map<String, Long> pinnedUrls = new ConcurrentHashMap<>();
+    private long pinnedBytes;
+    private boolean pinBudgetExceeded;
+    private final Map<String, CompletableFuture<Optional<CachedImage>>> downloads = new ConcurrentHashMap<>();
+
+    /**
+     * Load the cache index from disk; blob modification times approximate the LRU order
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(directory);
+        this.blobDirectory = Files.createDirectories(root.resolve("blobs"));
+        this.refDirectory = Files.createDirectories(root.resolve("refs"));
+        this.evictedBlobs = new DelayedFileDeleter(Duration.ofSeconds(deleteDelaySeconds));
+        this.prefetchPermits = new Semaphore(Math.max(1, prefetchConcurrency));
+
+        try (Stream<Path> files = Files.list(blobDirectory)) {
+            List<Path> sorted = files
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(ImageDiskCache::lastModified))
+                    .toList();
+            synchronized (blobs) {
+                for (Path blob : sorted) {
+                    long size = Files.size(blob);
+                    blobs.put(blob.getFileName().toString(), size);
+                    totalBytes += size;
+                }
+            }
+        }
+
+        try (Stream<Path> files = Files.list(refDirectory)) {
+            for (Path refFile : files.toList()) {
+                List<String> lines = Files.readAllLines(refFile, StandardCharsets.UTF_8);
+                if (lines.size() == 3 && blobs.containsKey(lines.get(0))) {
+                    refs.put(lines.get(2), new ImageRef(lines.get(0), lines.get(1)));
+                } else {
+                    Files.deleteIfExists(refFile);
+                }
+            }
+        }
+        log.info("Image cache at {} holds {} images ({} bytes) for {} URLs", root, blobs.size(), totalBytes, refs.size());
+    }
+
+    /**
+     * Whether the URL may be proxied: http(s) on one of the allowed hosts
+     * @param url The image URL
+     * @return true if the URL is allowed
+     */
+    public boolean isAllowed(String url) {
+        try {
+            URI uri = new URI(url);
+            String scheme = uri.getScheme();
+            String host = uri.getHost();
+            if (host == null || !("https".equalsIgnoreCase(scheme) || "http".equalsIgnoreCase(scheme))) {
+                return false;
+            }
+            String normalized = host.toLowerCase(Locale.ROOT);
+            return allowedHosts.stream()
+                    .map(allowed -> allowed.trim().toLowerCase(Locale.ROOT))
+                    .anyMatch(allowed -> normalized.equals(allowed) || normalized.endsWith("." + allowed));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get an image from the cache, downloading it on a miss
+     * Concurrent misses for the same URL share one download
+     * @param url The image URL; must be allowed
+     * @return The cached image, or empty if the download failed
+     * @throws IllegalArgumentException if the URL is not allowed
+     */
+    public Optional<CachedImage> get(String url) {
+        if (!isAllowed(url)) {
+            throw new IllegalArgumentException("Image URL not allowed: " + url);
+        }
+        Optional<CachedImage> cached = lookup(url);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        CompletableFuture<Optional<CachedImage>> download = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedImage>> existing = downloads.putIfAbsent(url, download);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            Optional<CachedImage> image = lookup(url).or(() -> download(url));
+            download.complete(image);
+            return image;
+        } finally {
+            downloads.remove(url, download);
+            // Never leave concurrent callers waiting, even if the download threw
+            download.complete(Optional.empty());
+        }
+    }
+
+    /**
+     * Keep an image in the cache regardless of LRU order, and prefetch it in the background
+     * URLs that are not allowed are ignored, and so are pins once pinned images reach max-pinned-bytes
+     * @param url The image URL
+     */
+    public void pin(String url) {
+        if (url == null || !isAllowed(url)) {
+            return;
+        }
+        if (pinnedUrls.putIfAbsent(url, 0L) == null) {
+            aiTaskExecutor.execute(() -> prefetch(url));
+        }
+    }
+
+    /**
+     * Stop keeping an image regardless of LRU order, e.g. once the story it is the cover of is deleted
+     * @param url The image URL
+     */
+    public void unpin(String url) {
+        if (url == null) {
+            return;
+        }
+        synchronized (blobs) {
+            Long counted = pinnedUrls.remove(url);
+            if (counted != null) {
+                pinnedBytes -= counted;
+            }
+        }
+    }
+
+    boolean isPinned(String url) {
+        return pinnedUrls.containsKey(url);
+    }
+
+    private void prefetch(String url) {
+        try {
+            prefetchPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            if (pinnedUrls.containsKey(url)) {
+                get(url).ifPresent(image -> countPinned(url, image.size()));
+            }
+        } finally {
+            prefetchPermits.release();
+        }
+    }
+
+    /**
+     * Count a prefetched pinned image against max-pinned-bytes, unpinning it if it does not fit
+     */
+    private void countPinned(String url, long size) {
+        synchronized (blobs) {
+            Long counted = pinnedUrls.get(url);
+            if (counted == null || counted != 0) {
+                return;
+            }
+            if (pinnedBytes + size > maxPinnedBytes) {
+                pinnedUrls.remove(url);
+                if (!pinBudgetExceeded) {
+                    pinBudgetExceeded = true;
+                    log.warn("Pinned images reached {} bytes (app.image-cache.max-pinned-bytes); further images are cached unpinned",
+                            maxPinnedBytes);
+                }
+                return;
+            }
+            pinnedUrls.put(url, size);
+            pinnedBytes += size;
+        }
+    }
+
+    /**
+     * Delete the files of evicted images once no response can still be sending them
+     */
+    @Scheduled(fixedDelayString = "${app.image-cache.sweep-interval-ms:30000}")
+    public void deleteEvicted() {
+        synchronized (blobs) {
+            evictedBlobs.deleteDue();
+        }
+    }
+
+    /**
+     * Get an image derived from a cached one (e.g. a thumbnail) by its key, without downloading
+     * @param key The key the image was stored under
+     * @return The cached image, or empty if it is not (or no longer) cached
+     */
+    public Optional<CachedImage> getStored(String key) {
+        return lookup(key);
+    }
+
+    /**
+     * Store a derived image under a key
+     * Derived images share the size limit and LRU order with downloaded ones
+     * @param key The key to store the image under; must not look like a URL
+     * @param content The image bytes
+     * @param contentType The image media type
+     * @return The cached image
+     * @throws IOException if the image cannot be written
+     */
+    public CachedImage store(String key, byte[] content, String contentType) throws IOException {
+        Path temp = Files.createTempFile(blobDirectory, "derived-", ".tmp");
+        try {
+            Files.write(temp, content);
+            return commit(key, temp, HexFormat.of().formatHex(sha256(content)), contentType);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Total size of the cached images
+     * @return Size in bytes
+     */
+    public long getTotalBytes() {
+        synchronized (blobs) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Total size of the pinned images, as counted against max-pinned-bytes
+     * @return Size in bytes
+     */
+    public long getPinnedBytes() {
+        synchronized (blobs) {
+            return pinnedBytes;
+        }
+    }
+
+    private Optional<CachedImage> lookup(String url) {
+        ImageRef ref = refs.get(url);
+        if (ref == null) {
+            return Optional.empty();
+        }
+        Long size;
+        synchronized (blobs) {
+            size = blobs.get(ref.contentHash());
+        }
+        if (size == null) {
+            refs.remove(url, ref);
+            return Optional.empty();
+        }
+        Path blob = blobDirectory.resolve(ref.contentHash());
+        try {
+            // Persist the access, so the LRU order survives a restart
+            Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Evicted concurrently
+            return Optional.empty();
+        }
+        return Optional.of(new CachedImage(blob, ref.contentHash(), ref.contentType(), size));
+    }
+
+    private Optional<CachedImage> download(String url) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(blobDirectory, "download-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            Path target = temp;
+            String contentType = restTemplate.execute(URI.create(url), HttpMethod.GET, null, response -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    throw new IOException("Upstream returned " + response.getStatusCode());
+                }
+                MediaType type = response.getHeaders().getContentType();
+                if (type == null || !"image".equals(type.getType())) {
+                    throw new IOException("Upstream did not return an image: " + type);
+                }
+                try (InputStream in = new DigestInputStream(response.getBody(), sha256);
+                     OutputStream out = Files.newOutputStream(target)) {
+                    byte[] buffer = new byte[64 * 1024];
+                    long copied = 0;
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        copied += read;
+                        if (copied > maxImageBytes) {
+                            throw new IOException("Image exceeds " + maxImageBytes + " bytes");
+                        }
+                        out.write(buffer, 0, read);
+                    }
+                }
+                return type.toString();
+            });
+
+            CachedImage image = commit(url, temp, HexFormat.of().formatHex(sha256.digest()), contentType);
+            log.debug("Cached image {} ({} bytes) as {}", url, image.size(), image.contentHash());
+            return Optional.of(image);
+        } catch (Exception e) {
+            log.warn("Failed to fetch image {}: {}", url, e.getMessage());
+            return Optional.empty();
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Move a fully written temp file into the blob store and point the key at it
+     * If the same content is already stored, the temp file is dropped instead
+     */
+    private CachedImage commit(String key, Path temp, String contentHash, String contentType) throws IOException {
+        Path blob = blobDirectory.resolve(contentHash);
+        long size = Files.size(temp);
+        synchronized (blobs) {
+            if (blobs.get(contentHash) != null) {
+                // Same image already cached under another key; the get() marked it as used
+                Files.delete(temp);
+            } else {
+                // The blob may have been evicted but not yet deleted; it is current again
+                evictedBlobs.cancel(blob);
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                blobs.put(contentHash, size);
+                totalBytes += size;
+            }
+            Files.write(refFile(key), List.of(contentHash, contentType, key), StandardCharsets.UTF_8);
+            refs.put(key, new ImageRef(contentHash, contentType));
+            evictIfNeeded();
+        }
+        return new CachedImage(blob, contentHash, contentType, size);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Evict least recently used, unpinned images until the cache fits its size limit
+     * Must be called holding the blobs lock
+     */
+    private void evictIfNeeded() {
+        if (totalBytes <= maxBytes) {
+            return;
+        }
+        Set<String> pinnedHashes = pinnedUrls.keySet().stream()
+                .map(refs::get)
+                .filter(ref -> ref != null)
+                .map(ImageRef::contentHash)
+                .collect(Collectors.toSet());
+
+        Iterator<Map.Entry<String, Long>> eldest = blobs.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            String contentHash = entry.getKey();
+            if (pinnedHashes.contains(contentHash)) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            evictedBlobs.deleteLater(blobDirectory.resolve(contentHash));
+            try {
+                for (Map.Entry<String, ImageRef> ref : refs.entrySet()) {
+                    if (ref.getValue().contentHash().equals(contentHash)) {
+                        refs.remove(ref.getKey(), ref.getValue());
+                        Files.deleteIfExists(refFile(ref.getKey()));
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to evict cached image {}: {}", contentHash, e.getMessage());
+            }
+        }
+        if (totalBytes > maxBytes) {
+            log.warn("Image cache holds {} bytes, over its {} byte limit, because of pinned images", totalBytes, maxBytes);
+        }
+    }
+
+    private Path refFile(String key) {
+        return refDirectory.resolve(HexFormat.of().formatHex(sha256(key.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private record ImageRef(String contentHash, String contentType) {
+    }
+
+    /**
+     * An image stored on local disk
+     * @param file The image file
+     * @param contentHash Hex SHA-256 of the image bytes
+     * @param contentType The image media type
+     * @param size The image size in bytes
+     */
+    public record CachedImage(Path file, String contentHash, String contentType, long size) {
+
+        /**
+         * Strong ETag derived from the content hash
+         * @return The quoted ETag
+         */
+        public String etag() {
+            return "\"" + contentHash + "\"";
+        }
+    }
+
+    /**
+     * Request factory that does not follow redirects, which could lead off the allowed hosts
+     */
+    private static final class NoRedirectRequestFactory extends SimpleClientHttpRequestFactory {
+
+        private NoRedirectRequestFactory() {
+            setConnectTimeout(10_000);
+            setReadTimeout(30_000);
+        }
+
+        @Override
+        protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+            super.prepareConnection(connection, httpMethod);
+            connection.setInstanceFollowRedirects(false);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces downscaled thumbnails of proxied images (story covers, movie posters)
+ * Thumbnails are rendered with Java2D on a small bounded worker pool, since resizing is
+ * CPU-bound, and stored in the image disk cache keyed by source content hash and width,
+ * so each thumbnail is rendered once per distinct source image.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImageThumbnailService {
+
+    private static final String JPEG = "image/jpeg";
+    private static final String PNG = "image/png";
+
+    private final ImageDiskCache imageDiskCache;
+
+    /**
+     * Widths thumbnails are rendered at; requests are rounded up to the nearest one
+     */
+    @Value("${app.image-cache.thumbnails.widths:96,192,320}")
+    private List<Integer> widths;
+
+    /**
+     * Output format: jpeg (smaller) or png (keeps transparency)
+     */
+    @Value("${app.image-cache.thumbnails.format:jpeg}")
+    private String format;
+
+    @Value("${app.image-cache.thumbnails.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    /**
+     * Number of threads rendering thumbnails; defaults to one per core
+     */
+    @Value("${app.image-cache.thumbnails.workers:0}")
+    private int workers;
+
+    /**
+     * Thumbnails waiting to be rendered before new requests are rejected
+     */
+    @Value("${app.image-cache.thumbnails.queue-size:64}")
+    private int queueSize;
+
+    /**
+     * Largest source image (width x height) that is decoded; larger ones are served as they are,
+     * since a small compressed file can decode to gigabytes of pixels
+     */
+    @Value("${app.image-cache.thumbnails.max-source-pixels:25000000}")
+    private long maxSourcePixels = 25_000_000;
+
+    private ThreadPoolExecutor resizeExecutor;
+    private final Map<String, CompletableFuture<Optional<ImageDiskCache.CachedImage>>> renders = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.resizeExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resizeExecutor.shutdownNow();
+    }
+
+    /**
+     * Round a requested width up to the nearest configured thumbnail width
+     * @param requestedWidth The requested width in pixels
+     * @return The thumbnail width, or the largest configured width for larger requests
+     */
+    public int thumbnailWidth(int requestedWidth) {
+        return widths.stream()
+                .sorted()
+                .filter(width -> width >= requestedWidth)
+                .findFirst()
+                .orElseGet(() -> widths.stream().max(Integer::compare).orElseThrow());
+    }
+
+    /**
+     * Get a thumbnail of a remote image, rendering it on a miss
+     * Sources that are already narrow enough, too large to decode safely, or that ImageIO cannot decode
+     * are returned as they are
+     * @param url The remote image URL; must be allowed by the image cache
+     * @param requestedWidth The requested width in pixels
+     * @return The thumbnail, or empty if the source image could not be fetched
+     * @throws IllegalArgumentException if the URL is not allowed
+     * @throws RejectedExecutionException if too many thumbnails are already waiting to be rendered
+     */
+    public Optional<ImageDiskCache.CachedImage> getThumbnail(String url, int requestedWidth) {
+        Optional<ImageDiskCache.CachedImage> source = imageDiskCache.get(url);
+        if (source.isEmpty()) {
+            return Optional.empty();
+        }
+        int width = thumbnailWidth(requestedWidth);
+        String key = "thumbnail:" + source.get().contentHash() + ":" + width + ":" + format;
+
+        Optional<ImageDiskCache.CachedImage> cached = imageDiskCache.getStored(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        CompletableFuture<Optional<ImageDiskCache.CachedImage>> render = renders.computeIfAbsent(key,
+                k -> CompletableFuture.supplyAsync(() -> render(source.get(), key, width), resizeExecutor));
+        // Registered outside computeIfAbsent: on a render that is already done it runs at once,
+        // and removing the key inside its own compute would fail
+        render.whenComplete((result, error) -> renders.remove(key, render));
+        return render.join();
+    }
+
+    private Optional<ImageDiskCache.CachedImage> render(ImageDiskCache.CachedImage source, String key, int width) {
+        try {
+            BufferedImage original = decode(source, width);
+            if (original == null) {
+                return Optional.of(source);
+            }
+            int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+            boolean png = "png".equalsIgnoreCase(format);
+            BufferedImage thumbnail = scale(original, width, height, png);
+
+            byte[] bytes = png ? writePng(thumbnail) : writeJpeg(thumbnail);
+            ImageDiskCache.CachedImage stored = imageDiskCache.store(key, bytes, png ? PNG : JPEG);
+            log.debug("Rendered {}px thumbnail of {}: {} -> {} bytes", width, source.contentHash(), source.size(), bytes.length);
+            return Optional.of(stored);
+        } catch (IOException e) {
+            log.warn("Failed to render thumbnail of {}: {}", source.contentHash(), e.getMessage());
+            return Optional.of(source);
+        }
+    }
+
+    /**
+     * Decode a source image, reading its dimensions from the header first
+     * @return The image, or null if it cannot be decoded, is no wider than the thumbnail, or has too many pixels
+     */
+    private BufferedImage decode(ImageDiskCache.CachedImage source, int width) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.file().toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxSourcePixels) {
+                    log.warn("Not rendering thumbnail of {}: {}x{} exceeds {} pixels",
+                            source.contentHash(), sourceWidth, sourceHeight, maxSourcePixels);
+                    return null;
+                }
+                return sourceWidth <= width ? null : reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscale by repeated halving before the final bilinear step, which keeps quality
+     * close to bicubic filtering at a fraction of the cost
+     */
+    private static BufferedImage scale(BufferedImage original, int width, int height, boolean keepAlpha) {
+        int type = keepAlpha && original.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = original;
+        int currentWidth = original.getWidth();
+        int currentHeight = original.getHeight();
+        do {
+            currentWidth = Math.max(currentWidth / 2, width);
+            currentHeight = Math.max(currentHeight / 2, height);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (type == BufferedImage.TYPE_INT_RGB) {
+                    // JPEG has no alpha channel; flatten transparency onto white
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
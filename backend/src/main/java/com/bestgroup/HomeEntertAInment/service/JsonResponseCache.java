@@ -0,0 +1,142 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of serialized JSON responses for content that rarely changes (quizzes, stories)
+ * Entries hold the response bytes together with a strong ETag derived from their content hash,
+ * so a repeat read costs neither a database query nor serialization, and a client holding the
+ * current ETag gets a 304 Not Modified. Writers evict the entry whenever the content changes.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class JsonResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.http-cache.max-entries:1000}")
+    private int maxEntries;
+
+    /**
+     * Least recently used entries are dropped once maxEntries is reached
+     */
+    private Map<String, CachedJson> entries;
+
+    /**
+     * Bumped on every eviction, so a load racing with an eviction does not store stale content
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedJson> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Get the cached response for a key, loading and serializing it on a miss
+     * @param key Cache key, e.g. "quiz:{id}"
+     * @param ownerId User the content belongs to, checked on every hit; null for public content
+     * @param loader Loads the value (enforcing access rules); empty if not found
+     * @return The cached response, or empty if the loader found nothing
+     */
+    public <T> Optional<CachedJson> get(String key, String ownerId, Supplier<Optional<T>> loader) {
+        return get(key, ownerId, loader, value -> false);
+    }
+
+    /**
+     * Get the cached response for a key, loading and serializing it on a miss
+     * @param key Cache key, e.g. "quiz:{id}"
+     * @param ownerId User the content belongs to, checked on every hit; null for content without an owner check
+     * @param loader Loads the value (enforcing access rules); empty if not found
+     * @param shared Whether the loaded value may be stored by shared caches (see {@link CachedJson#shared()})
+     * @return The cached response, or empty if the loader found nothing
+     */
+    public <T> Optional<CachedJson> get(String key, String ownerId, Supplier<Optional<T>> loader, Predicate<T> shared) {
+        CachedJson cached = entries.get(key);
+        if (cached != null && Objects.equals(cached.ownerId(), ownerId)) {
+            return Optional.of(cached);
+        }
+
+        long evictionsBeforeLoad = evictions.get();
+        Optional<T> value = loader.get();
+        if (value.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CachedJson loaded = serialize(value.get(), ownerId, shared.test(value.get()));
+        if (evictions.get() == evictionsBeforeLoad) {
+            entries.put(key, loaded);
+        }
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Drop the cached response for a key; call after any change to the underlying content
+     * @param key Cache key
+     */
+    public void evict(String key) {
+        evictions.incrementAndGet();
+        entries.remove(key);
+    }
+
+    private CachedJson serialize(Object value, String ownerId, boolean shared) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"";
+            return new CachedJson(body, etag, ownerId, shared);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    /**
+     * Serialized JSON response with its strong ETag
+     * @param shared Whether the content is public, so proxies and other shared caches may store it
+     */
+    public record CachedJson(byte[] body, String etag, String ownerId, boolean shared) {
+
+        /**
+         * Build the response; Spring answers 304 Not Modified when the request's If-None-Match matches
+         * @param cacheControl Cache-Control directives for the response
+         * @return The response entity
+         */
+        public ResponseEntity<byte[]> toResponse(CacheControl cacheControl) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .body(body);
+        }
+    }
+}
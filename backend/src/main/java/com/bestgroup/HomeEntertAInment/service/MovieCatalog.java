@@ -0,0 +1,189 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates and corrects AI movie recommendations against a local movie catalog
+ * The catalog is imported from IMDb-style dataset dumps dropped in a directory into a memory-mapped
+ * {@link MovieCatalogIndex}. An up-to-date index opens at startup in milliseconds; when the dumps are
+ * newer than the index, it is rebuilt in the background and recommendations pass through unchanged
+ * until it is ready. Without a configured directory the catalog is disabled.
+ */
+@Service
+@Slf4j
+public class MovieCatalog {
+
+    /**
+     * Directory holding the dataset dumps; empty disables the catalog
+     */
+    @Value("${app.movie-catalog.directory:}")
+    private String directory;
+
+    @Value("${app.movie-catalog.basics-file:title.basics.tsv.gz}")
+    private String basicsFile;
+
+    @Value("${app.movie-catalog.ratings-file:title.ratings.tsv.gz}")
+    private String ratingsFile;
+
+    @Value("${app.movie-catalog.index-file:${java.io.tmpdir}/home-entertainment-movie-catalog.idx}")
+    private String indexFile;
+
+    private volatile MovieCatalogIndex index;
+
+    /**
+     * Open the index, or import the dumps in the background if the index is missing or older than them
+     */
+    @PostConstruct
+    public void init() {
+        if (directory == null || directory.isBlank()) {
+            log.info("Movie catalog disabled (app.movie-catalog.directory not set)");
+            return;
+        }
+        Path basics = Paths.get(directory, basicsFile);
+        Path ratings = Paths.get(directory, ratingsFile);
+        Path indexPath = Paths.get(indexFile);
+        if (!Files.exists(basics)) {
+            log.warn("Movie catalog disabled: {} not found", basics);
+            return;
+        }
+        Path ratingsOrNull = Files.exists(ratings) ? ratings : null;
+
+        try {
+            if (isUpToDate(indexPath, basics, ratingsOrNull)) {
+                index = MovieCatalogIndex.open(indexPath);
+                log.info("Opened movie catalog with {} movies", index.size());
+                return;
+            }
+        } catch (IOException e) {
+            log.warn("Movie catalog index unreadable, rebuilding it: {}", e.getMessage());
+        }
+        Thread.ofVirtual().name("movie-catalog-import").start(() -> rebuild(basics, ratingsOrNull, indexPath));
+    }
+
+    /**
+     * Whether the catalog is loaded
+     */
+    public boolean isAvailable() {
+        return index != null;
+    }
+
+    /**
+     * Find a movie by IMDb ID
+     * @param imdbId The IMDb ID
+     * @return The movie, or empty if unknown or the catalog is not loaded
+     */
+    public Optional<MovieCatalogIndex.CatalogMovie> findByImdbId(String imdbId) {
+        MovieCatalogIndex current = index;
+        return current == null ? Optional.empty() : current.findByImdbId(imdbId);
+    }
+
+    /**
+     * Whether the catalog knows the IMDb ID as this title, so the ID can be trusted as the movie's identity
+     * @return False if the ID is unknown, belongs to another title, or the catalog is not loaded
+     */
+    public boolean confirmsImdbId(String imdbId, String title) {
+        MovieCatalogIndex current = index;
+        if (current == null || title == null) {
+            return false;
+        }
+        String normalized = MovieCatalogIndex.normalizeTitle(title);
+        return current.findByImdbId(imdbId).filter(candidate -> hasTitle(candidate, normalized)).isPresent();
+    }
+
+    /**
+     * Validate recommended movies against the catalog, correcting them in place
+     * A movie is matched by IMDb ID when the catalog title agrees, otherwise by title and year
+     * (allowing the year to be off by one). A match replaces the IMDb ID, year, runtime and rating
+     * with the catalog values and fills in missing genres; unmatched movies are left as they are.
+     * @param movies The recommended movies
+     * @return The number of movies matched in the catalog
+     */
+    public int verify(List<MovieResponseDto.MovieDto> movies) {
+        MovieCatalogIndex current = index;
+        if (current == null || movies == null) {
+            return 0;
+        }
+        int matched = 0;
+        for (MovieResponseDto.MovieDto movie : movies) {
+            Optional<MovieCatalogIndex.CatalogMovie> match = match(current, movie);
+            if (match.isEmpty()) {
+                log.debug("Movie not in catalog: {} ({}, {})", movie.getTitle(), movie.getYear(), movie.getImdbId());
+                continue;
+            }
+            MovieCatalogIndex.CatalogMovie catalogMovie = match.get();
+            if (!catalogMovie.imdbId().equals(movie.getImdbId())) {
+                log.debug("Corrected IMDb ID of {} from {} to {}", movie.getTitle(), movie.getImdbId(), catalogMovie.imdbId());
+            }
+            movie.setImdbId(catalogMovie.imdbId());
+            if (catalogMovie.year() != null) {
+                movie.setYear(catalogMovie.year());
+            }
+            if (catalogMovie.runtimeMinutes() != null) {
+                movie.setDuration(catalogMovie.runtimeMinutes());
+            }
+            if (catalogMovie.rating() != null) {
+                movie.setRating(catalogMovie.rating());
+            }
+            if ((movie.getGenres() == null || movie.getGenres().isEmpty()) && !catalogMovie.genres().isEmpty()) {
+                movie.setGenres(catalogMovie.genres());
+            }
+            matched++;
+        }
+        return matched;
+    }
+
+    private static Optional<MovieCatalogIndex.CatalogMovie> match(MovieCatalogIndex index, MovieResponseDto.MovieDto movie) {
+        if (movie.getTitle() == null) {
+            return Optional.empty();
+        }
+        String title = MovieCatalogIndex.normalizeTitle(movie.getTitle());
+        Optional<MovieCatalogIndex.CatalogMovie> byId = index.findByImdbId(movie.getImdbId())
+                .filter(candidate -> hasTitle(candidate, title));
+        if (byId.isPresent() || movie.getYear() == null) {
+            return byId;
+        }
+        int year = movie.getYear();
+        return index.findByTitle(movie.getTitle(), year)
+                .or(() -> index.findByTitle(movie.getTitle(), year - 1))
+                .or(() -> index.findByTitle(movie.getTitle(), year + 1));
+    }
+
+    private static boolean hasTitle(MovieCatalogIndex.CatalogMovie candidate, String normalizedTitle) {
+        return MovieCatalogIndex.normalizeTitle(candidate.title()).equals(normalizedTitle)
+                || (candidate.originalTitle() != null
+                    && MovieCatalogIndex.normalizeTitle(candidate.originalTitle()).equals(normalizedTitle));
+    }
+
+    private void rebuild(Path basics, Path ratings, Path indexPath) {
+        try {
+            long start = System.nanoTime();
+            int movies = MovieCatalogIndex.build(basics, ratings, indexPath);
+            index = MovieCatalogIndex.open(indexPath);
+            log.info("Imported movie catalog with {} movies in {} ms", movies, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to import movie catalog from {}: {}", basics, e.getMessage(), e);
+        }
+    }
+
+    private static boolean isUpToDate(Path indexPath, Path basics, Path ratings) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        long indexModified = Files.getLastModifiedTime(indexPath).toMillis();
+        return Files.getLastModifiedTime(basics).toMillis() <= indexModified
+                && (ratings == null || Files.getLastModifiedTime(ratings).toMillis() <= indexModified);
+    }
+}
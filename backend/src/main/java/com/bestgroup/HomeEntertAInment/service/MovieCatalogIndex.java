@@ -0,0 +1,433 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Read-only movie catalog built from offline IMDb-style dataset dumps (title.basics and title.ratings TSV files)
+ * The dumps are imported once into a compact binary file that is memory-mapped, so opening it takes
+ * milliseconds and lookups are binary searches over the mapped file without allocating per entry:
+ * <ul>
+ *   <li>movie records (fixed size) sorted by the numeric part of the IMDb ID</li>
+ *   <li>title keys (hash of the normalized title and year) sorted by key, pointing at movie records</li>
+ *   <li>a string pool with the titles and genres of every movie</li>
+ * </ul>
+ * Only movies and TV movies are imported; adult titles are skipped.
+ */
+public final class MovieCatalogIndex {
+
+    private static final int MAGIC = 0x4D4F5649; // "MOVI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * int id, short year, short runtime, short rating x 10, short unused, int votes, int string offset
+     */
+    private static final int RECORD_BYTES = 20;
+
+    /**
+     * long title key, int record number
+     */
+    private static final int TITLE_KEY_BYTES = 12;
+
+    private static final String NULL_FIELD = "\\N";
+    private static final List<String> IMPORTED_TYPES = List.of("movie", "tvMovie");
+
+    private final ByteBuffer buffer;
+    private final int movieCount;
+    private final int titleKeyCount;
+    private final int titleKeysStart;
+    private final int stringsStart;
+
+    private MovieCatalogIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a movie catalog index, or written by another version");
+        }
+        this.buffer = buffer;
+        this.movieCount = buffer.getInt(8);
+        this.titleKeyCount = buffer.getInt(12);
+        this.titleKeysStart = HEADER_BYTES + movieCount * RECORD_BYTES;
+        this.stringsStart = titleKeysStart + titleKeyCount * TITLE_KEY_BYTES;
+    }
+
+    /**
+     * Memory-map an index file written by {@link #build}
+     * @param indexFile The index file
+     * @return The opened index
+     * @throws IOException if the file cannot be read or is not an index of this version
+     */
+    public static MovieCatalogIndex open(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Movie catalog index too large: " + channel.size() + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            return new MovieCatalogIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Import dataset dumps into an index file, replacing it atomically
+     * @param basicsFile title.basics TSV, optionally gzipped (.gz)
+     * @param ratingsFile title.ratings TSV, optionally gzipped; may be null
+     * @param indexFile The index file to write
+     * @return The number of imported movies
+     * @throws IOException if a dump cannot be read or the index cannot be written
+     */
+    public static int build(Path basicsFile, Path ratingsFile, Path indexFile) throws IOException {
+        List<Row> rows = readBasics(basicsFile);
+        rows.sort(Comparator.comparingInt(row -> row.id));
+        int[] ids = rows.stream().mapToInt(row -> row.id).toArray();
+        if (ratingsFile != null) {
+            readRatings(ratingsFile, ids, rows);
+        }
+
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        DataOutputStream stringsOut = new DataOutputStream(strings);
+        int[] stringOffsets = new int[rows.size()];
+        List<TitleKey> titleKeys = new ArrayList<>(rows.size() * 2);
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            stringOffsets[i] = stringsOut.size();
+            String original = row.originalTitle.equals(row.title) ? "" : row.originalTitle;
+            writeString(stringsOut, row.title);
+            writeString(stringsOut, original);
+            writeString(stringsOut, row.genres);
+
+            String normalized = normalizeTitle(row.title);
+            titleKeys.add(new TitleKey(titleKey(normalized, row.year), i, row.votes));
+            if (!original.isEmpty()) {
+                String normalizedOriginal = normalizeTitle(original);
+                if (!normalizedOriginal.equals(normalized)) {
+                    titleKeys.add(new TitleKey(titleKey(normalizedOriginal, row.year), i, row.votes));
+                }
+            }
+        }
+        // Most voted first among equal keys, so a title lookup prefers the well-known movie
+        titleKeys.sort(Comparator.comparingLong(TitleKey::key).thenComparing(Comparator.comparingInt(TitleKey::votes).reversed()));
+
+        Path temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), "movie-catalog-", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(rows.size());
+                out.writeInt(titleKeys.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    Row row = rows.get(i);
+                    out.writeInt(row.id);
+                    out.writeShort(row.year);
+                    out.writeShort(row.runtime);
+                    out.writeShort(row.rating);
+                    out.writeShort(0);
+                    out.writeInt(row.votes);
+                    out.writeInt(stringOffsets[i]);
+                }
+                for (TitleKey titleKey : titleKeys) {
+                    out.writeLong(titleKey.key());
+                    out.writeInt(titleKey.record());
+                }
+                strings.writeTo(out);
+            }
+            Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return rows.size();
+    }
+
+    /**
+     * Number of movies in the index
+     */
+    public int size() {
+        return movieCount;
+    }
+
+    /**
+     * Find a movie by IMDb ID
+     * @param imdbId The IMDb ID, e.g. tt0111161
+     * @return The movie, or empty if the ID is malformed or unknown
+     */
+    public Optional<CatalogMovie> findByImdbId(String imdbId) {
+        int id = parseImdbId(imdbId);
+        if (id < 0) {
+            return Optional.empty();
+        }
+        int low = 0;
+        int high = movieCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = buffer.getInt(recordPosition(mid));
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return Optional.of(readMovie(mid));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find a movie by title and release year
+     * Titles are compared normalized (case, accents, punctuation and a leading article are ignored);
+     * among movies with the same title and year the most voted one wins.
+     * @param title The primary or original title
+     * @param year The release year
+     * @return The movie, or empty if no movie of that title was released that year
+     */
+    public Optional<CatalogMovie> findByTitle(String title, int year) {
+        if (title == null) {
+            return Optional.empty();
+        }
+        String normalized = normalizeTitle(title);
+        long key = titleKey(normalized, year);
+
+        // Lower bound of the key
+        int low = 0;
+        int high = titleKeyCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(titleKeyPosition(mid)) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < titleKeyCount && buffer.getLong(titleKeyPosition(i)) == key; i++) {
+            int record = buffer.getInt(titleKeyPosition(i) + 8);
+            CatalogMovie movie = readMovie(record);
+            // Guard against hash collisions
+            if (normalizeTitle(movie.title()).equals(normalized)
+                    || (movie.originalTitle() != null && normalizeTitle(movie.originalTitle()).equals(normalized))) {
+                return Optional.of(movie);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Normalize a title for matching: lower case, accents and punctuation removed, leading article dropped
+     */
+    public static String normalizeTitle(String title) {
+        String folded = Normalizer.normalize(title, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .replace("&", " and ")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .strip();
+        if (folded.startsWith("the ")) {
+            return folded.substring(4);
+        }
+        if (folded.startsWith("a ")) {
+            return folded.substring(2);
+        }
+        return folded;
+    }
+
+    /**
+     * Numeric part of an IMDb title ID
+     * @return The number, or -1 if the ID is malformed
+     */
+    static int parseImdbId(String imdbId) {
+        if (imdbId == null) {
+            return -1;
+        }
+        String trimmed = imdbId.strip();
+        if (trimmed.length() < 3 || trimmed.length() > 12 || !trimmed.startsWith("tt")) {
+            return -1;
+        }
+        try {
+            long id = Long.parseLong(trimmed.substring(2));
+            return id >= 0 && id <= Integer.MAX_VALUE ? (int) id : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long titleKey(String normalizedTitle, int year) {
+        // 64-bit FNV-1a over the title, mixed with the year
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizedTitle.length(); i++) {
+            hash ^= normalizedTitle.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash ^ (year * 0x9E3779B97F4A7C15L);
+    }
+
+    private int recordPosition(int record) {
+        return HEADER_BYTES + record * RECORD_BYTES;
+    }
+
+    private int titleKeyPosition(int entry) {
+        return titleKeysStart + entry * TITLE_KEY_BYTES;
+    }
+
+    private CatalogMovie readMovie(int record) {
+        int position = recordPosition(record);
+        int id = buffer.getInt(position);
+        short year = buffer.getShort(position + 4);
+        short runtime = buffer.getShort(position + 6);
+        short rating = buffer.getShort(position + 8);
+        int votes = buffer.getInt(position + 12);
+        int stringPosition = stringsStart + buffer.getInt(position + 16);
+
+        String[] strings = new String[3];
+        for (int i = 0; i < strings.length; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(stringPosition));
+            byte[] bytes = new byte[length];
+            buffer.get(stringPosition + 2, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            stringPosition += 2 + length;
+        }
+        return new CatalogMovie(
+                "tt%07d".formatted(id),
+                strings[0],
+                strings[1].isEmpty() ? null : strings[1],
+                year > 0 ? Integer.valueOf(year) : null,
+                runtime > 0 ? Integer.valueOf(runtime) : null,
+                strings[2].isEmpty() ? List.of() : Arrays.asList(strings[2].split(",")),
+                rating > 0 ? rating / 10.0 : null,
+                votes);
+    }
+
+    private static List<Row> readBasics(Path basicsFile) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = openTsv(basicsFile)) {
+            reader.readLine(); // Header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // tconst, titleType, primaryTitle, originalTitle, isAdult, startYear, endYear, runtimeMinutes, genres
+                String[] fields = line.split("\t", -1);
+                if (fields.length < 9 || !IMPORTED_TYPES.contains(fields[1]) || "1".equals(fields[4])) {
+                    continue;
+                }
+                int id = parseImdbId(fields[0]);
+                if (id < 0) {
+                    continue;
+                }
+                rows.add(new Row(id, truncate(fields[2]), truncate(fields[3]),
+                        (short) parseShort(fields[5]), (short) parseShort(fields[7]),
+                        NULL_FIELD.equals(fields[8]) ? "" : fields[8]));
+            }
+        }
+        return rows;
+    }
+
+    private static void readRatings(Path ratingsFile, int[] ids, List<Row> rows) throws IOException {
+        try (BufferedReader reader = openTsv(ratingsFile)) {
+            reader.readLine(); // Header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // tconst, averageRating, numVotes
+                String[] fields = line.split("\t", -1);
+                if (fields.length < 3) {
+                    continue;
+                }
+                int record = Arrays.binarySearch(ids, parseImdbId(fields[0]));
+                if (record < 0) {
+                    continue;
+                }
+                try {
+                    Row row = rows.get(record);
+                    row.rating = (short) Math.round(Double.parseDouble(fields[1]) * 10);
+                    row.votes = Integer.parseInt(fields[2]);
+                } catch (NumberFormatException e) {
+                    // Unrated
+                }
+            }
+        }
+    }
+
+    private static BufferedReader openTsv(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static int parseShort(String field) {
+        if (NULL_FIELD.equals(field)) {
+            return 0;
+        }
+        try {
+            int value = Integer.parseInt(field);
+            return value > 0 && value <= Short.MAX_VALUE ? value : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Keep strings within the unsigned 16-bit length prefix of the string pool
+     */
+    private static String truncate(String value) {
+        return value.length() > 1000 ? value.substring(0, 1000) : value;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * A movie from the catalog
+     * @param imdbId The IMDb ID
+     * @param title The primary title
+     * @param originalTitle The original title, or null if it is the primary title
+     * @param year The release year, or null if unknown
+     * @param runtimeMinutes The runtime in minutes, or null if unknown
+     * @param genres Up to three genres
+     * @param rating The average IMDb rating, or null if unrated
+     * @param votes The number of IMDb votes
+     */
+    public record CatalogMovie(String imdbId, String title, String originalTitle, Integer year, Integer runtimeMinutes,
+                               List<String> genres, Double rating, int votes) {
+    }
+
+    private static final class Row {
+        private final int id;
+        private final String title;
+        private final String originalTitle;
+        private final short year;
+        private final short runtime;
+        private final String genres;
+        private short rating;
+        private int votes;
+
+        private Row(int id, String title, String originalTitle, short year, short runtime, String genres) {
+            this.id = id;
+            this.title = title;
+            this.originalTitle = originalTitle;
+            this.year = year;
+            this.runtime = runtime;
+            this.genres = genres;
+        }
+    }
+
+    private record TitleKey(long key, int record, int votes) {
+    }
+}
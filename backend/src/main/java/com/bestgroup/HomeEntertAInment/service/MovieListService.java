@@ -1,117 +1,252 @@
 package com.bestgroup.HomeEntertAInment.service;
 
+import com.bestgroup.HomeEntertAInment.dto.MovieListSummaryDto;
 import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import com.bestgroup.HomeEntertAInment.entity.Movie;
 import com.bestgroup.HomeEntertAInment.entity.MovieList;
 import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
 import com.bestgroup.HomeEntertAInment.repository.MovieListRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.bestgroup.HomeEntertAInment.repository.MovieRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+/**
+ * Saves and loads users' movie lists
+ * Movie metadata is stored once in the shared movies table; list items only reference it. A movie is
+ * identified by its IMDb ID only when the catalog confirms the ID belongs to that title, as IDs made
+ * up by Gemini would otherwise merge different movies into one row; otherwise by title and year.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MovieListService {
 
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+
     private final MovieListRepository movieListRepository;
-    private final ObjectMapper objectMapper;
+    private final MovieRepository movieRepository;
+    private final MovieRecommender movieRecommender;
+    private final SavedMovieSearch savedMovieSearch;
+    private final MovieCatalog movieCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    public MovieListService(MovieListRepository movieListRepository,
+                            MovieRepository movieRepository,
+                            MovieRecommender movieRecommender,
+                            SavedMovieSearch savedMovieSearch,
+                            MovieCatalog movieCatalog,
+                            PlatformTransactionManager transactionManager) {
+        this.movieListRepository = movieListRepository;
+        this.movieRepository = movieRepository;
+        this.movieRecommender = movieRecommender;
+        this.savedMovieSearch = savedMovieSearch;
+        this.movieCatalog = movieCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Save a movie list in one transaction
+     * Movies already known are looked up with one query and referenced; new movies, the list and its
+     * items are inserted in JDBC batches on commit. If another list inserted one of the same new movies
+     * at the same time, the save is retried once and then references that movie.
+     */
+    public MovieList saveMovieList(String clerkUserId, String listName, String description, String searchCriteria, MovieResponseDto movieResponse) {
+        List<MovieResponseDto.MovieDto> movies = movieResponse.getMovies() != null ? movieResponse.getMovies() : List.of();
+        MovieList movieList;
+        try {
+            movieList = transactionTemplate.execute(status -> insertMovieList(clerkUserId, listName, description, searchCriteria, movies));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Movie inserted concurrently, retrying save of list '{}': {}", listName, e.getMessage());
+            movieList = transactionTemplate.execute(status -> insertMovieList(clerkUserId, listName, description, searchCriteria, movies));
+        }
+        movieRecommender.addList(movieList);
+        savedMovieSearch.invalidate(clerkUserId);
+
+        log.info("Saved movie list '{}' with {} movies for user {}", listName, movies.size(), clerkUserId);
+        return movieList;
+    }
+
+    private MovieList insertMovieList(String clerkUserId, String listName, String description, String searchCriteria,
+                                      List<MovieResponseDto.MovieDto> movies) {
+        // The title key is looked up too, for movies whose IMDb ID key turns out to hold another title
+        List<String> keys = movies.stream().map(this::key).toList();
+        Set<String> lookup = new HashSet<>();
+        for (int i = 0; i < movies.size(); i++) {
+            if (keys.get(i) != null) {
+                lookup.add(keys.get(i));
+                lookup.add(titleKey(movies.get(i), keys.get(i)));
+            }
+        }
+        Map<String, Movie> known = new HashMap<>();
+        if (!lookup.isEmpty()) {
+            movieRepository.findByMovieKeyIn(lookup).forEach(movie -> known.put(movie.getMovieKey(), movie));
+        }
+
+        Map<String, MovieResponseDto.MovieDto> byKey = new LinkedHashMap<>();
+        List<String> resolved = new ArrayList<>(movies.size());
+        for (int i = 0; i < movies.size(); i++) {
+            MovieResponseDto.MovieDto movie = movies.get(i);
+            String key = keys.get(i);
+            Movie existing = key == null ? null : known.get(key);
+            if (existing != null && !sameTitle(existing, movie)) {
+                // Rows keyed on an IMDb ID before IDs were checked may hold another movie
+                log.warn("Movie key {} is saved as '{}', keeping '{}' apart", key, existing.getTitle(), movie.getTitle());
+                key = titleKey(movie, key);
+            }
+            resolved.add(key);
+            if (key != null) {
+                byKey.putIfAbsent(key, movie);
+            }
+        }
+
+        List<Movie> created = new ArrayList<>();
+        byKey.forEach((key, movie) -> {
+            if (!known.containsKey(key)) {
+                Movie newMovie = createMovie(key, movie);
+                known.put(key, newMovie);
+                created.add(newMovie);
+            }
+        });
+        movieRepository.saveAll(created);
 
-    @Transactional
-    public MovieList saveMovieList(String clerkUserId, String listName, String description, String searchCriteria, MovieResponseDto movieResponse) throws JsonProcessingException {
         MovieList movieList = MovieList.builder()
                 .clerkUserId(clerkUserId)
                 .listName(listName)
                 .description(description)
                 .searchCriteria(searchCriteria)
+                .movies(new ArrayList<>())
                 .build();
+        for (int i = 0; i < movies.size(); i++) {
+            String key = resolved.get(i);
+            if (key == null) {
+                continue;
+            }
+            movieList.getMovies().add(MovieListItem.builder()
+                    .movieList(movieList)
+                    .movie(known.get(key))
+                    .position(movieList.getMovies().size())
+                    .recommendationReason(movies.get(i).getRecommendationReason())
+                    .build());
+        }
+        // Items are cascaded from the list, so the list and its items are written in one save
+        return movieListRepository.save(movieList);
+    }
 
-        movieList = movieListRepository.save(movieList);
+    /**
+     * The movie's key: its IMDb ID when the catalog confirms it, otherwise its title and year
+     */
+    private String key(MovieResponseDto.MovieDto movie) {
+        boolean hasTitle = movie.getTitle() != null && !movie.getTitle().isBlank();
+        if (hasTitle && !movieCatalog.confirmsImdbId(movie.getImdbId(), movie.getTitle())) {
+            return Movie.key(null, movie.getTitle(), movie.getYear());
+        }
+        return Movie.key(movie.getImdbId(), movie.getTitle(), movie.getYear());
+    }
 
-        if (movieResponse.getMovies() != null) {
-            final MovieList finalMovieList = movieList;
-            List<MovieListItem> movieItems = movieResponse.getMovies().stream()
-                    .map(movie -> createMovieListItem(finalMovieList, movie))
-                    .collect(Collectors.toList());
+    /**
+     * The movie's title and year key, or the given key for movies without a title
+     */
+    private static String titleKey(MovieResponseDto.MovieDto movie, String key) {
+        String titleKey = Movie.key(null, movie.getTitle(), movie.getYear());
+        return titleKey != null ? titleKey : key;
+    }
 
-            movieList.setMovies(movieItems);
-            movieList = movieListRepository.save(movieList);
-        }
-        
-        log.info("Saved movie list '{}' with {} movies for user {}", listName, movieResponse.getMovies() != null ? movieResponse.getMovies().size() : 0, clerkUserId);
-        return movieList;
+    private static boolean sameTitle(Movie existing, MovieResponseDto.MovieDto movie) {
+        return movie.getTitle() == null || existing.getTitle() == null
+                || MovieCatalogIndex.normalizeTitle(existing.getTitle()).equals(MovieCatalogIndex.normalizeTitle(movie.getTitle()));
     }
 
-    private MovieListItem createMovieListItem(MovieList movieList, MovieResponseDto.MovieDto movie) {
-        try {
-            return MovieListItem.builder()
-                    .movieList(movieList)
-                    .title(movie.getTitle())
-                    .year(movie.getYear())
-                    .imdbId(movie.getImdbId())
-                    .rating(movie.getRating())
-                    .ageRating(movie.getAgeRating())
-                    .duration(movie.getDuration())
-                    .director(movie.getDirector())
-                    .genres(movie.getGenres() != null ? objectMapper.writeValueAsString(movie.getGenres()) : null)
-                    .cast(movie.getCast() != null ? objectMapper.writeValueAsString(movie.getCast()) : null)
-                    .description(movie.getDescription())
-                    .recommendationReason(movie.getRecommendationReason())
-                    .build();
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing genres/cast for movie {}: {}", movie.getTitle(), e.getMessage());
-            throw new RuntimeException("Failed to serialize movie data", e);
-        }
+    private static Movie createMovie(String key, MovieResponseDto.MovieDto movie) {
+        return Movie.builder()
+                .movieKey(key)
+                .title(movie.getTitle() != null ? movie.getTitle() : movie.getImdbId())
+                .year(movie.getYear())
+                .imdbId(movie.getImdbId())
+                .rating(movie.getRating())
+                .ageRating(movie.getAgeRating())
+                .duration(movie.getDuration())
+                .director(movie.getDirector())
+                .genres(movie.getGenres() != null ? List.copyOf(movie.getGenres()) : null)
+                .cast(movie.getCast() != null ? List.copyOf(movie.getCast()) : null)
+                .description(movie.getDescription())
+                .build();
+    }
+
+    /**
+     * Get all of a user's list summaries, newest first
+     */
+    public List<MovieListSummaryDto> getMovieListSummaries(String clerkUserId) {
+        return movieListRepository.findSummariesByClerkUserId(clerkUserId, Pageable.unpaged());
     }
 
-    public List<MovieList> getMovieListsByUserId(String clerkUserId) {
-        return movieListRepository.findByClerkUserIdWithMoviesOrderByCreatedAtDesc(clerkUserId);
+    /**
+     * Get a page of a user's list summaries, newest first
+     * @param page Page number, from 0
+     * @param size Page size, capped at {@link #MAX_SUMMARY_PAGE_SIZE}
+     */
+    public List<MovieListSummaryDto> getMovieListSummaries(String clerkUserId, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        return movieListRepository.findSummariesByClerkUserId(clerkUserId, PageRequest.of(Math.max(page, 0), pageSize));
     }
 
     public Optional<MovieList> getMovieListByIdAndUserId(Long listId, String clerkUserId) {
         return movieListRepository.findByIdAndClerkUserIdWithMovies(listId, clerkUserId);
     }
 
-    @Transactional
     public void deleteMovieList(Long listId, String clerkUserId) {
-        Optional<MovieList> movieList = getMovieListByIdAndUserId(listId, clerkUserId);
-        if (movieList.isPresent()) {
-            movieListRepository.delete(movieList.get());
-            log.info("Deleted movie list {} for user {}", listId, clerkUserId);
-        } else {
+        MovieList deleted = transactionTemplate.execute(status -> {
+            Optional<MovieList> movieList = getMovieListByIdAndUserId(listId, clerkUserId);
+            movieList.ifPresent(movieListRepository::delete);
+            return movieList.orElse(null);
+        });
+        if (deleted == null) {
             throw new RuntimeException("Movie list not found or access denied");
         }
+        // After the commit, so a search cannot rebuild the index from the list being deleted
+        movieRecommender.removeList(deleted);
+        savedMovieSearch.invalidate(clerkUserId);
+        log.info("Deleted movie list {} for user {}", listId, clerkUserId);
     }
 
-    private MovieResponseDto.MovieDto convertToMovieDto(MovieListItem item) {
-        try {
-            return MovieResponseDto.MovieDto.builder()
-                    .title(item.getTitle())
-                    .year(item.getYear())
-                    .imdbId(item.getImdbId())
-                    .rating(item.getRating())
-                    .ageRating(item.getAgeRating())
-                    .duration(item.getDuration())
-                    .director(item.getDirector())
-                    .genres(item.getGenres() != null ? 
-                            objectMapper.readValue(item.getGenres(), objectMapper.getTypeFactory().constructCollectionType(List.class, String.class)) : null)
-                    .cast(item.getCast() != null ? 
-                            objectMapper.readValue(item.getCast(), objectMapper.getTypeFactory().constructCollectionType(List.class, String.class)) : null)
-                    .description(item.getDescription())
-                    .recommendationReason(item.getRecommendationReason())
-                    .build();
-        } catch (JsonProcessingException e) {
-            log.error("Error parsing JSON for movie item {}: {}", item.getTitle(), e.getMessage());
-            return MovieResponseDto.MovieDto.builder()
-                    .title(item.getTitle())
-                    .description("Error loading details.")
-                    .build();
+    /**
+     * Get the distinct movies in genre across all of a user's lists, by title
+     * Answered from the GIN index on movies.genre_keys on Postgres
+     * @param genre The genre, matched ignoring case and surrounding whitespace (e.g. "comedy")
+     */
+    public List<MovieResponseDto.MovieDto> getSavedMoviesByGenre(String clerkUserId, String genre) {
+        if (genre == null || genre.isBlank()) {
+            return List.of();
         }
+        return movieRepository.findSavedByClerkUserIdAndGenre(clerkUserId, Movie.genreKey(genre)).stream()
+                .map(MovieListService::toMovieDto)
+                .toList();
+    }
+
+    static MovieResponseDto.MovieDto toMovieDto(Movie movie) {
+        return MovieResponseDto.MovieDto.builder()
+                .title(movie.getTitle())
+                .year(movie.getYear())
+                .imdbId(movie.getImdbId())
+                .rating(movie.getRating())
+                .ageRating(movie.getAgeRating())
+                .duration(movie.getDuration())
+                .director(movie.getDirector())
+                .genres(movie.getGenres())
+                .cast(movie.getCast())
+                .description(movie.getDescription())
+                .build();
     }
 }
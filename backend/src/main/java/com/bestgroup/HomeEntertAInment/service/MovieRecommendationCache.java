@@ -0,0 +1,350 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieRecommendationCacheStatsDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieRequestDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of Gemini movie recommendations that also answers requests close to a cached one
+ * Each request is reduced to a preference vector: a genre bitset, decade, age rating, duration bucket
+ * and mood synonym class ("fun", "funny" and "Light and Fun" are the same mood). A request is served
+ * the cached recommendations of the most similar earlier request when the weighted similarity reaches
+ * the threshold. Age rating (unless configured otherwise) and the free-text description must match
+ * exactly, since a near miss there gives visibly wrong recommendations.
+ */
+@Service
+@Slf4j
+public class MovieRecommendationCache {
+
+    private static final double GENRE_WEIGHT = 0.45;
+    private static final double MOOD_WEIGHT = 0.25;
+    private static final double DECADE_WEIGHT = 0.1;
+    private static final double DURATION_WEIGHT = 0.1;
+    private static final double AGE_RATING_WEIGHT = 0.1;
+
+    /**
+     * Genres beyond this many distinct ones all share one bit
+     */
+    private static final int MAX_GENRE_BITS = 256;
+
+    /**
+     * The genres offered by the movie form, so they always get the same bits
+     */
+    private static final List<String> KNOWN_GENRES = List.of("action", "adventure", "animation", "biography", "comedy",
+            "crime", "documentary", "drama", "family", "fantasy", "film-noir", "history", "horror", "music", "musical",
+            "mystery", "romance", "sci-fi", "sport", "thriller", "war", "western");
+
+    private static final Map<String, String> GENRE_SYNONYMS = Map.of(
+            "science fiction", "sci-fi",
+            "scifi", "sci-fi",
+            "sci fi", "sci-fi",
+            "noir", "film-noir",
+            "film noir", "film-noir",
+            "romantic", "romance",
+            "biopic", "biography",
+            "sports", "sport",
+            "animated", "animation");
+
+    /**
+     * Mood word -> mood class; the first word of a mood found here decides its class
+     */
+    private static final Map<String, String> MOOD_CLASSES = moodClasses(Map.of(
+            "light", List.of("light", "fun", "funny", "lighthearted", "light-hearted", "cheerful", "happy", "feel-good",
+                    "silly", "comedy", "comedic", "hilarious", "humorous", "playful", "upbeat"),
+            "dark", List.of("dark", "serious", "gritty", "bleak", "grim", "heavy"),
+            "inspiring", List.of("inspiring", "inspirational", "uplifting", "motivational", "hopeful", "heartwarming"),
+            "relaxing", List.of("relaxing", "relaxed", "calm", "chill", "cozy", "cosy", "soothing", "easygoing"),
+            "intense", List.of("intense", "thrilling", "exciting", "gripping", "suspenseful", "tense", "action-packed",
+                    "adrenaline"),
+            "romantic", List.of("romantic", "romance", "love", "sweet"),
+            "mysterious", List.of("mysterious", "mystery", "eerie", "puzzling", "enigmatic"),
+            "adventurous", List.of("adventurous", "adventure", "epic"),
+            "thoughtful", List.of("thought-provoking", "thoughtful", "philosophical", "cerebral", "mind-bending",
+                    "deep", "intellectual"),
+            "scary", List.of("scary", "spooky", "creepy", "frightening", "terrifying", "horror")));
+
+    @Value("${app.movies.cache.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Smallest similarity (0-1) between a request and a cached one to serve the cached recommendations;
+     * 1 only serves identical preferences
+     */
+    @Value("${app.movies.cache.similarity-threshold:0.85}")
+    private double similarityThreshold = 0.85;
+
+    /**
+     * Whether the age rating must match exactly; otherwise it only lowers the similarity
+     */
+    @Value("${app.movies.cache.strict-age-rating:true}")
+    private boolean strictAgeRating = true;
+
+    @Value("${app.movies.cache.max-entries:500}")
+    private int maxEntries = 500;
+
+    @Value("${app.movies.cache.ttl-minutes:360}")
+    private long ttlMinutes = 360;
+
+    /**
+     * Genre -> bit; genres outside {@link #KNOWN_GENRES} get the next free bit
+     */
+    private final Map<String, Integer> genreBits = new ConcurrentHashMap<>();
+    private final AtomicInteger nextGenreBit = new AtomicInteger(KNOWN_GENRES.size());
+
+    /**
+     * Preferences -> recommendations, least recently used first; guarded by itself
+     */
+    private final LinkedHashMap<PreferenceVector, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder exactHits = new LongAdder();
+    private final LongAdder similarHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final DoubleAdder similarHitSimilarity = new DoubleAdder();
+
+    public MovieRecommendationCache() {
+        for (int bit = 0; bit < KNOWN_GENRES.size(); bit++) {
+            genreBits.put(KNOWN_GENRES.get(bit), bit);
+        }
+    }
+
+    /**
+     * Find cached recommendations for a request or one close enough to it
+     * @param request The movie preferences
+     * @return The recommendations, or empty on a miss
+     */
+    public Optional<List<MovieResponseDto.MovieDto>> get(MovieRequestDto request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        PreferenceVector vector = vector(request);
+        long now = System.nanoTime();
+        Entry best = null;
+        double bestSimilarity = 0;
+        synchronized (entries) {
+            Entry exact = entries.get(vector);
+            if (exact != null && !exact.isExpired(now, ttlMinutes)) {
+                exactHits.increment();
+                return Optional.of(exact.movies());
+            }
+            Iterator<Map.Entry<PreferenceVector, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<PreferenceVector, Entry> candidate = iterator.next();
+                if (candidate.getValue().isExpired(now, ttlMinutes)) {
+                    iterator.remove();
+                    continue;
+                }
+                double similarity = similarity(vector, candidate.getKey());
+                if (similarity > bestSimilarity) {
+                    bestSimilarity = similarity;
+                    best = candidate.getValue();
+                }
+            }
+            if (best != null && bestSimilarity >= similarityThreshold) {
+                // Refresh its place in the LRU order
+                entries.get(best.vector());
+            }
+        }
+        if (best == null || bestSimilarity < similarityThreshold) {
+            misses.increment();
+            return Optional.empty();
+        }
+        similarHits.increment();
+        similarHitSimilarity.add(bestSimilarity);
+        log.debug("Served movie recommendations for {} from similar request {} ({})", vector, best.vector(), bestSimilarity);
+        return Optional.of(best.movies());
+    }
+
+    /**
+     * Cache the recommendations Gemini made for a request
+     * @param request The movie preferences
+     * @param movies The recommendations
+     */
+    public void put(MovieRequestDto request, List<MovieResponseDto.MovieDto> movies) {
+        if (!enabled || movies == null || movies.isEmpty()) {
+            return;
+        }
+        PreferenceVector vector = vector(request);
+        synchronized (entries) {
+            entries.put(vector, new Entry(vector, List.copyOf(movies), System.nanoTime()));
+            while (entries.size() > maxEntries) {
+                Iterator<PreferenceVector> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Hit rates of the cache
+     */
+    public MovieRecommendationCacheStatsDto getStats() {
+        long exact = exactHits.sum();
+        long similar = similarHits.sum();
+        long missCount = misses.sum();
+        long total = exact + similar + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new MovieRecommendationCacheStatsDto(
+                exact,
+                similar,
+                missCount,
+                total == 0 ? 0 : (double) (exact + similar) / total,
+                similar == 0 ? 0 : similarHitSimilarity.sum() / similar,
+                similarityThreshold,
+                size);
+    }
+
+    PreferenceVector vector(MovieRequestDto request) {
+        BitSet genres = new BitSet();
+        if (request.getGenres() != null) {
+            for (String genre : request.getGenres()) {
+                if (genre != null && !genre.isBlank()) {
+                    String name = normalize(genre);
+                    name = GENRE_SYNONYMS.getOrDefault(name, name);
+                    genres.set(genreBit(name));
+                }
+            }
+        }
+        return new PreferenceVector(
+                genres,
+                decade(request.getDecade()),
+                blankToNull(request.getAgeRating()),
+                durationBucket(request.getDuration()),
+                moodClass(request.getMood()),
+                blankToNull(request.getCustomDescription()));
+    }
+
+    private int genreBit(String genre) {
+        Integer bit = genreBits.get(genre);
+        if (bit != null) {
+            return bit;
+        }
+        if (genreBits.size() >= MAX_GENRE_BITS) {
+            return MAX_GENRE_BITS;
+        }
+        return genreBits.computeIfAbsent(genre, unknown -> nextGenreBit.getAndIncrement());
+    }
+
+    double similarity(PreferenceVector a, PreferenceVector b) {
+        if (!Objects.equals(a.description(), b.description())
+                || (strictAgeRating && !Objects.equals(a.ageRating(), b.ageRating()))) {
+            return 0;
+        }
+        return GENRE_WEIGHT * genreSimilarity(a.genres(), b.genres())
+                + MOOD_WEIGHT * (Objects.equals(a.mood(), b.mood()) ? 1 : 0)
+                + DECADE_WEIGHT * ordinalSimilarity(a.decade(), b.decade(), 10)
+                + DURATION_WEIGHT * ordinalSimilarity(a.durationBucket(), b.durationBucket(), 1)
+                + AGE_RATING_WEIGHT * (Objects.equals(a.ageRating(), b.ageRating()) ? 1 : 0);
+    }
+
+    /**
+     * Dice coefficient of the genre sets: two shared genres out of two and three are 0.8
+     */
+    private static double genreSimilarity(BitSet a, BitSet b) {
+        int total = a.cardinality() + b.cardinality();
+        if (total == 0) {
+            return 1;
+        }
+        BitSet shared = (BitSet) a.clone();
+        shared.and(b);
+        return 2.0 * shared.cardinality() / total;
+    }
+
+    /**
+     * 1 for the same value, 0.5 for neighbours or when only one side has a preference, else 0
+     */
+    private static double ordinalSimilarity(Integer a, Integer b, int step) {
+        if (Objects.equals(a, b)) {
+            return 1;
+        }
+        if (a == null || b == null || Math.abs(a - b) == step) {
+            return 0.5;
+        }
+        return 0;
+    }
+
+    static String moodClass(String mood) {
+        if (mood == null || mood.isBlank()) {
+            return null;
+        }
+        String normalized = normalize(mood);
+        for (String word : normalized.split("[^a-z-]+")) {
+            String moodClass = MOOD_CLASSES.get(word);
+            if (moodClass != null) {
+                return moodClass;
+            }
+        }
+        return normalized;
+    }
+
+    private static Integer decade(String decade) {
+        if (decade == null) {
+            return null;
+        }
+        String digits = decade.replaceAll("\\D", "");
+        if (digits.length() == 2) {
+            // "90s"
+            digits = (digits.compareTo("30") < 0 ? "20" : "19") + digits;
+        }
+        return digits.length() == 4 ? Integer.parseInt(digits) / 10 * 10 : null;
+    }
+
+    /**
+     * Same buckets as the recommender: up to 95, up to 135, longer
+     */
+    private static Integer durationBucket(Integer duration) {
+        if (duration == null || duration <= 0) {
+            return null;
+        }
+        return duration <= 95 ? 0 : duration <= 135 ? 1 : 2;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : normalize(value).replaceAll("\\s+", " ");
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> moodClasses(Map<String, List<String>> classes) {
+        Map<String, String> byWord = new HashMap<>();
+        classes.forEach((moodClass, words) -> words.forEach(word -> byWord.put(word, moodClass)));
+        return Map.copyOf(byWord);
+    }
+
+    /**
+     * A request reduced to what the similarity compares
+     */
+    record PreferenceVector(BitSet genres, Integer decade, String ageRating, Integer durationBucket, String mood,
+                            String description) {
+    }
+
+    private record Entry(PreferenceVector vector, List<MovieResponseDto.MovieDto> movies, long createdAtNanos) {
+
+        boolean isExpired(long now, long ttlMinutes) {
+            return now - createdAtNanos > ttlMinutes * 60_000_000_000L;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieRecommenderStatsDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieRequestDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
+import com.bestgroup.HomeEntertAInment.repository.MovieListRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process movie recommender learned from saved movie lists
+ * Every saved list says "these movies were a good match for these preferences". Each movie gets a
+ * feature vector (genre, mood, age rating, decade and duration features of the searches it was saved
+ * for, plus its own genres), and movies saved in the same list count as co-occurring. A request is
+ * answered locally when enough well-supported movies are close to it by cosine similarity; otherwise
+ * the caller falls back to Gemini. Requests with a free-text description always fall back, and
+ * requests with an age rating are only answered with movies of exactly that rating.
+ * The model is built from all lists at startup and updated as lists are saved and deleted.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MovieRecommender {
+
+    private final MovieListRepository movieListRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.movies.recommender.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Smallest cosine similarity between request and movie for a local recommendation
+     */
+    @Value("${app.movies.recommender.min-similarity:0.6}")
+    private double minSimilarity;
+
+    /**
+     * Smallest number of saved lists a movie must appear in to be recommended locally
+     */
+    @Value("${app.movies.recommender.min-support:2}")
+    private int minSupport;
+
+    @Value("${app.movies.recommender.count:5}")
+    private int count;
+
+    /**
+     * Weight of co-occurrence with already chosen movies relative to similarity
+     */
+    @Value("${app.movies.recommender.co-occurrence-weight:0.2}")
+    private double coOccurrenceWeight;
+
+    /**
+     * Movie key ({@link Movie#key}) -> learned movie; guarded by this
+     */
+    private final Map<String, LearnedMovie> movies = new HashMap<>();
+    private long listCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder localNanos = new LongAdder();
+    private final LongAdder geminiCalls = new LongAdder();
+    private final LongAdder geminiNanos = new LongAdder();
+
+    /**
+     * Learn from all saved lists
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<MovieList> lists;
+        try {
+            lists = movieListRepository.findAllWithMovies();
+        } catch (RuntimeException e) {
+            // Recommendations still work through Gemini, and the model fills up as lists are saved
+            log.warn("Failed to load saved movie lists for the recommender: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            movies.clear();
+            listCount = 0;
+            lists.forEach(this::learn);
+        }
+        log.info("Built movie recommender from {} lists with {} movies", lists.size(), movies.size());
+    }
+
+    /**
+     * Learn from a newly saved list
+     * @param movieList The list, with its movies
+     */
+    public void addList(MovieList movieList) {
+        if (enabled) {
+            learn(movieList);
+        }
+    }
+
+    /**
+     * Forget a deleted list
+     * @param movieList The list, with its movies, as it was learned
+     */
+    public void removeList(MovieList movieList) {
+        if (enabled) {
+            unlearn(movieList);
+        }
+    }
+
+    /**
+     * Recommend movies for a request from the saved lists
+     * @param request The movie preferences
+     * @return The recommendations, or empty if the recommender is not confident and Gemini should be asked
+     */
+    public Optional<List<MovieResponseDto.MovieDto>> recommend(MovieRequestDto request) {
+        long start = System.nanoTime();
+        Optional<List<MovieResponseDto.MovieDto>> result = enabled ? findConfident(request) : Optional.empty();
+        if (result.isPresent()) {
+            hits.increment();
+            localNanos.add(System.nanoTime() - start);
+        } else {
+            misses.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Record how long a Gemini fallback took, for comparison with local recommendations
+     * @param nanos Duration in nanoseconds
+     */
+    public void recordGeminiLatency(long nanos) {
+        geminiCalls.increment();
+        geminiNanos.add(nanos);
+    }
+
+    /**
+     * Hit rate and latency of the recommender
+     */
+    public MovieRecommenderStatsDto getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long geminiCount = geminiCalls.sum();
+        int movieCount;
+        long lists;
+        synchronized (this) {
+            movieCount = movies.size();
+            lists = listCount;
+        }
+        return new MovieRecommenderStatsDto(
+                hitCount,
+                missCount,
+                hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount),
+                hitCount == 0 ? 0 : localNanos.sum() / 1e6 / hitCount,
+                geminiCount == 0 ? 0 : geminiNanos.sum() / 1e6 / geminiCount,
+                lists,
+                movieCount);
+    }
+
+    private synchronized void learn(MovieList movieList) {
+        if (movieList.getMovies() == null || movieList.getMovies().isEmpty()) {
+            return;
+        }
+        Map<String, Double> criteria = parseCriteria(movieList.getSearchCriteria());
+        List<LearnedMovie> listed = new ArrayList<>();
+        for (MovieListItem listItem : movieList.getMovies()) {
+            Movie item = listItem.getMovie();
+            if (item == null) {
+                continue;
+            }
+            String key = item.getMovieKey();
+            LearnedMovie movie = movies.computeIfAbsent(key, k -> new LearnedMovie(key));
+            if (movie.support == 0) {
+                // The movie's own genres, counted once
+                orEmpty(item.getGenres()).forEach(genre -> movie.addFeature("genre:" + normalize(genre), 1));
+            }
+            criteria.forEach(movie::addFeature);
+            movie.support++;
+            movie.latest = item;
+            listed.add(movie);
+        }
+        for (LearnedMovie movie : listed) {
+            for (LearnedMovie other : listed) {
+                if (movie != other) {
+                    movie.coOccurrences.merge(other.key, 1, Integer::sum);
+                }
+            }
+        }
+        listCount++;
+    }
+
+    /**
+     * Reverse {@link #learn} for one list; movies left in no list are dropped
+     */
+    private synchronized void unlearn(MovieList movieList) {
+        if (movieList.getMovies() == null || movieList.getMovies().isEmpty()) {
+            return;
+        }
+        Map<String, Double> criteria = parseCriteria(movieList.getSearchCriteria());
+        List<LearnedMovie> listed = new ArrayList<>();
+        for (MovieListItem listItem : movieList.getMovies()) {
+            Movie item = listItem.getMovie();
+            LearnedMovie movie = item == null ? null : movies.get(item.getMovieKey());
+            if (movie == null) {
+                continue;
+            }
+            criteria.forEach((feature, weight) -> movie.addFeature(feature, -weight));
+            movie.support--;
+            listed.add(movie);
+        }
+        for (LearnedMovie movie : listed) {
+            for (LearnedMovie other : listed) {
+                if (movie != other) {
+                    movie.coOccurrences.computeIfPresent(other.key, (key, together) -> together > 1 ? together - 1 : null);
+                }
+            }
+        }
+        listed.stream().filter(movie -> movie.support <= 0).forEach(movie -> movies.remove(movie.key));
+        listCount = Math.max(listCount - 1, 0);
+    }
+
+    private synchronized Optional<List<MovieResponseDto.MovieDto>> findConfident(MovieRequestDto request) {
+        if (request.getCustomDescription() != null && !request.getCustomDescription().isBlank()) {
+            return Optional.empty();
+        }
+        Map<String, Double> query = features(request.getGenres(), request.getMood(), request.getAgeRating(),
+                request.getDecade(), request.getDuration());
+        if (query.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // The age rating is a hard limit, not just one feature among others
+        String ageRating = request.getAgeRating() == null || request.getAgeRating().isBlank()
+                ? null : normalize(request.getAgeRating());
+        Map<LearnedMovie, Double> candidates = new LinkedHashMap<>();
+        for (LearnedMovie movie : movies.values()) {
+            if (movie.support < minSupport) {
+                continue;
+            }
+            if (ageRating != null && (movie.latest.getAgeRating() == null
+                    || !normalize(movie.latest.getAgeRating()).equals(ageRating))) {
+                continue;
+            }
+            double similarity = movie.cosine(query);
+            if (similarity >= minSimilarity) {
+                candidates.put(movie, similarity);
+            }
+        }
+        if (candidates.size() < count) {
+            return Optional.empty();
+        }
+
+        // Greedy pick: similarity, plus a bonus for movies saved together with the ones already picked
+        List<LearnedMovie> picked = new ArrayList<>(count);
+        while (picked.size() < count) {
+            LearnedMovie best = candidates.entrySet().stream()
+                    .max(Comparator.comparingDouble(entry -> entry.getValue() + coOccurrenceWeight * entry.getKey().coOccurrence(picked)))
+                    .orElseThrow()
+                    .getKey();
+            picked.add(best);
+            candidates.remove(best);
+        }
+        return Optional.of(picked.stream().map(movie -> toDto(movie, query)).toList());
+    }
+
+    private MovieResponseDto.MovieDto toDto(LearnedMovie movie, Map<String, Double> query) {
+        Movie item = movie.latest;
+        List<String> matched = query.keySet().stream()
+                .filter(movie.features::containsKey)
+                .map(feature -> feature.substring(feature.indexOf(':') + 1))
+                .toList();
+        return MovieResponseDto.MovieDto.builder()
+                .title(item.getTitle())
+                .year(item.getYear())
+                .imdbId(item.getImdbId())
+                .genres(orEmpty(item.getGenres()))
+                .description(item.getDescription())
+                .duration(item.getDuration())
+                .ageRating(item.getAgeRating())
+                .director(item.getDirector())
+                .cast(orEmpty(item.getCast()))
+                .rating(item.getRating())
+                .recommendationReason("Saved by " + movie.support + " people looking for "
+                        + (matched.isEmpty() ? "something similar" : String.join(", ", matched)))
+                .build();
+    }
+
+    /**
+     * Features of the search a list was saved for; the search is read from a "request" object in the
+     * criteria JSON, or from the criteria object itself
+     */
+    private Map<String, Double> parseCriteria(String searchCriteria) {
+        if (searchCriteria == null || searchCriteria.isBlank()) {
+            return Map.of();
+        }
+        try {
+            JsonNode root = objectMapper.readTree(searchCriteria);
+            JsonNode search = root.has("request") ? root.get("request") : root;
+            List<String> genres = new ArrayList<>();
+            search.path("genres").forEach(genre -> genres.add(genre.asText()));
+            return features(genres, text(search, "mood"), text(search, "ageRating"), text(search, "decade"),
+                    search.path("duration").isNumber() ? search.path("duration").asInt() : null);
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    private static Map<String, Double> features(List<String> genres, String mood, String ageRating, String decade, Integer duration) {
+        Map<String, Double> features = new HashMap<>();
+        if (genres != null) {
+            genres.forEach(genre -> features.put("genre:" + normalize(genre), 1.0));
+        }
+        if (mood != null && !mood.isBlank()) {
+            features.put("mood:" + normalize(mood), 1.0);
+        }
+        if (ageRating != null && !ageRating.isBlank()) {
+            features.put("age:" + normalize(ageRating), 1.0);
+        }
+        if (decade != null && !decade.isBlank()) {
+            features.put("decade:" + normalize(decade), 1.0);
+        }
+        if (duration != null && duration > 0) {
+            features.put("duration:" + (duration <= 95 ? "short" : duration <= 135 ? "medium" : "long"), 1.0);
+        }
+        return features;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> orEmpty(List<String> values) {
+        return values == null ? List.of() : values;
+    }
+
+    /**
+     * What the recommender knows about one movie
+     */
+    private static final class LearnedMovie {
+        private final String key;
+        private final Map<String, Double> features = new HashMap<>();
+        private final Map<String, Integer> coOccurrences = new HashMap<>();
+        private double squaredNorm;
+        private int support;
+        private Movie latest;
+
+        private LearnedMovie(String key) {
+            this.key = key;
+        }
+
+        void addFeature(String feature, double weight) {
+            double previous = features.getOrDefault(feature, 0.0);
+            double updated = previous + weight;
+            if (updated <= 0) {
+                // Unlearned completely
+                features.remove(feature);
+                updated = 0;
+            } else {
+                features.put(feature, updated);
+            }
+            squaredNorm += updated * updated - previous * previous;
+        }
+
+        double cosine(Map<String, Double> query) {
+            double dot = 0;
+            double querySquaredNorm = 0;
+            for (Map.Entry<String, Double> entry : query.entrySet()) {
+                dot += entry.getValue() * features.getOrDefault(entry.getKey(), 0.0);
+                querySquaredNorm += entry.getValue() * entry.getValue();
+            }
+            return dot == 0 ? 0 : dot / Math.sqrt(squaredNorm * querySquaredNorm);
+        }
+
+        /**
+         * Share of this movie's lists that also contained one of the given movies
+         */
+        double coOccurrence(List<LearnedMovie> others) {
+            int together = 0;
+            for (LearnedMovie other : others) {
+                together = Math.max(together, coOccurrences.getOrDefault(other.key, 0));
+            }
+            return (double) together / support;
+        }
+    }
+}
@@ -6,18 +6,26 @@ import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 /**
  * Service for movie recommendations using Gemini API
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MovieService {
@@ -29,16 +37,130 @@ public class MovieService {
     private static final String URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent";
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MovieCatalog movieCatalog;
+    private final MovieRecommender movieRecommender;
+    private final MovieRecommendationCache movieCache;
+    private final GeminiService geminiService;
+    private final ExecutorService aiTaskExecutor;
+
+    @Value("${app.movies.stream.sse-timeout-ms:120000}")
+    private long sseTimeoutMs;
 
     /**
      * Generate movie recommendations based on user preferences
+     * Answered from saved lists by the local recommender when it is confident, then from the cached
+     * recommendations of an identical or similar earlier request, otherwise by Gemini
      *
      * @param request The movie request containing user preferences
      * @return MovieResponseDto containing top 5 movie recommendations
      */
     public MovieResponseDto generateMovieRecommendations(MovieRequestDto request) {
+        Optional<List<MovieResponseDto.MovieDto>> local = movieRecommender.recommend(request);
+        if (local.isPresent()) {
+            return MovieResponseDto.builder().movies(local.get()).build();
+        }
+        Optional<List<MovieResponseDto.MovieDto>> cached = movieCache.get(request);
+        if (cached.isPresent()) {
+            return MovieResponseDto.builder().movies(cached.get()).build();
+        }
+        long start = System.nanoTime();
         String prompt = buildMoviePrompt(request);
-        return sendGeminiRequest(prompt, "I apologize, but I'm having trouble generating movie recommendations right now. Please try again later.");
+        Optional<MovieResponseDto> response = sendGeminiRequest(prompt);
+        movieRecommender.recordGeminiLatency(System.nanoTime() - start);
+        response.ifPresent(movies -> movieCache.put(request, movies.getMovies()));
+        return response.orElseGet(() -> createErrorResponse("I apologize, but I'm having trouble generating movie recommendations right now. Please try again later."));
+    }
+
+    /**
+     * Stream movie recommendations as server-sent events
+     * Sends a "movie" event as soon as each movie has been generated, then a "complete" event with the
+     * number of movies, or an "error" event if no movie could be generated
+     *
+     * @param request The movie request containing user preferences
+     * @return The event stream
+     */
+    public SseEmitter streamMovieRecommendations(MovieRequestDto request) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        aiTaskExecutor.execute(() -> {
+            try {
+                int count = streamMovies(request, movie -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("movie").data(movie));
+                    } catch (IOException e) {
+                        // Client went away; stop generating
+                        throw new IllegalStateException("Client disconnected", e);
+                    }
+                });
+                if (count == 0) {
+                    emitter.send(SseEmitter.event().name("error")
+                            .data(Map.of("message", "I apologize, but I'm having trouble generating movie recommendations right now. Please try again later.")));
+                } else {
+                    emitter.send(SseEmitter.event().name("complete").data(Map.of("count", count)));
+                }
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Movie recommendation stream ended early: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Generate movie recommendations, handing each movie to the consumer as soon as Gemini has written it
+     * The streamed JSON is parsed incrementally, so the first movie arrives after roughly a fifth of the
+     * full generation time; movies completed before a failure are kept. Confident local recommendations
+     * and cached recommendations of a similar request are handed over at once without asking Gemini
+     *
+     * @param request The movie request containing user preferences
+     * @param movieConsumer Receives each movie, checked against the local catalog
+     * @return The number of movies handed to the consumer
+     */
+    int streamMovies(MovieRequestDto request, Consumer<MovieResponseDto.MovieDto> movieConsumer) {
+        Optional<List<MovieResponseDto.MovieDto>> local = movieRecommender.recommend(request);
+        if (local.isPresent()) {
+            local.get().forEach(movieConsumer);
+            return local.get().size();
+        }
+        Optional<List<MovieResponseDto.MovieDto>> cached = movieCache.get(request);
+        if (cached.isPresent()) {
+            cached.get().forEach(movieConsumer);
+            return cached.get().size();
+        }
+        long start = System.nanoTime();
+        List<MovieResponseDto.MovieDto> streamed = new ArrayList<>();
+        StreamingJsonParser parser = new StreamingJsonParser(objectMapper, "movies", node -> {
+            MovieResponseDto.MovieDto movie;
+            try {
+                movie = objectMapper.treeToValue(node, MovieResponseDto.MovieDto.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping malformed movie recommendation: {}", e.getMessage());
+                return;
+            }
+            if (movie.getTitle() == null || movie.getTitle().isBlank()) {
+                return;
+            }
+            movieCatalog.verify(List.of(movie));
+            movieConsumer.accept(movie);
+            streamed.add(movie);
+        });
+        boolean complete = true;
+        try {
+            geminiService.streamContent(buildMoviePrompt(request), Map.of("responseMimeType", "application/json"), parser::feed);
+        } catch (Exception e) {
+            complete = false;
+            log.warn("Movie recommendation stream failed after {} movies: {}", streamed.size(), e.getMessage());
+        }
+        if (parser.isMalformed()) {
+            complete = false;
+            log.warn("Movie recommendation stream had malformed JSON after {} movies", streamed.size());
+        }
+        movieRecommender.recordGeminiLatency(System.nanoTime() - start);
+        if (complete) {
+            // A partial answer is not cached, so the next similar request gets a full one
+            movieCache.put(request, streamed);
+        }
+        return streamed.size();
     }
 
     /**
@@ -109,8 +231,10 @@ public class MovieService {
 
     /**
      * Send request to Gemini API and parse the response
+     *
+     * @return The recommendations, or empty if Gemini failed or its response could not be parsed
      */
-    private MovieResponseDto sendGeminiRequest(String prompt, String errorMessage) {
+    private Optional<MovieResponseDto> sendGeminiRequest(String prompt) {
         // Prepare the request body according to Gemini API specification
         Map<String, Object> body = Map.of(
                 "contents", List.of(
@@ -143,17 +267,19 @@ public class MovieService {
             String cleanedJson = cleanJsonResponse(resultText);
             System.out.println("Cleaned JSON response: " + cleanedJson);
 
-            // Parse the JSON response
-            return objectMapper.readValue(cleanedJson, MovieResponseDto.class);
+            // Parse the JSON response and check the movies against the local catalog
+            MovieResponseDto movies = objectMapper.readValue(cleanedJson, MovieResponseDto.class);
+            movieCatalog.verify(movies.getMovies());
+            return Optional.of(movies);
 
         } catch (JsonProcessingException e) {
             System.err.println("Failed to parse Gemini response as JSON: " + e.getMessage());
             System.err.println("Raw response: " + resultText);
-            return createErrorResponse(errorMessage);
+            return Optional.empty();
         } catch (Exception e) {
             System.err.println("Failed to communicate with Gemini API: " + e.getMessage());
             e.printStackTrace();
-            return createErrorResponse(errorMessage);
+            return Optional.empty();
         }
     }
 
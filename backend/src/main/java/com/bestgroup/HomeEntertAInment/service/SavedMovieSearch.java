@@ -0,0 +1,322 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import com.bestgroup.HomeEntertAInment.dto.SavedMovieSearchResponseDto;
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
+import com.bestgroup.HomeEntertAInment.repository.MovieListRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Faceted search over all the movies a user has saved, across their lists
+ * Each user's movies are loaded with one query into an in-memory index on their first search and
+ * kept until they save or delete a list. A search is then a single pass over the index that filters
+ * the movies and counts the facet values at the same time.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SavedMovieSearch {
+
+    public static final String GENRE = "genre";
+    public static final String DECADE = "decade";
+    public static final String AGE_RATING = "ageRating";
+    public static final String DURATION = "duration";
+    public static final String DIRECTOR = "director";
+
+    /**
+     * Facet names, in the order their values are stored in {@link IndexedMovie#facetKeys}
+     */
+    static final List<String> FACETS = List.of(GENRE, DECADE, AGE_RATING, DURATION, DIRECTOR);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MovieListRepository movieListRepository;
+
+    /**
+     * Number of users whose index is kept; beyond it an arbitrary index is dropped
+     */
+    @Value("${app.movies.search.max-cached-users:1000}")
+    private int maxCachedUsers = 1000;
+
+    /**
+     * Clerk user ID -> that user's saved movies, most recently saved first
+     * Built outside the map, so a slow query never blocks other users' entries; concurrent first
+     * searches of one user wait on the same future
+     */
+    private final Map<String, CompletableFuture<List<IndexedMovie>>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Search a user's saved movies
+     * @param query Words that must all appear in the title, director or cast; null or blank for all movies
+     * @param filters Facet name -> accepted values (matched ignoring case); a movie must match every facet given
+     * @param page Zero-based page number
+     * @param size Page size (capped at 100)
+     */
+    public SavedMovieSearchResponseDto search(String clerkUserId, String query, Map<String, List<String>> filters,
+                                              int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        List<String> terms = tokenize(query);
+        List<Set<String>> wanted = FACETS.stream()
+                .map(facet -> filters.getOrDefault(facet, List.of()).stream()
+                        .filter(value -> value != null && !value.isBlank())
+                        .map(SavedMovieSearch::normalize)
+                        .collect(Collectors.toSet()))
+                .toList();
+
+        // Counted by normalized value, shown with the spelling of the most recently saved movie
+        List<Map<String, Long>> counts = FACETS.stream().<Map<String, Long>>map(facet -> new HashMap<>()).toList();
+        List<Map<String, String>> labels = FACETS.stream().<Map<String, String>>map(facet -> new HashMap<>()).toList();
+        List<IndexedMovie> matches = new ArrayList<>();
+        for (IndexedMovie movie : index(clerkUserId)) {
+            if (!movie.containsAll(terms)) {
+                continue;
+            }
+            // A movie failing exactly one facet filter still counts towards that facet's values
+            int failedFacet = -1;
+            boolean excluded = false;
+            for (int facet = 0; facet < FACETS.size() && !excluded; facet++) {
+                if (!wanted.get(facet).isEmpty() && !movie.matches(facet, wanted.get(facet))) {
+                    excluded = failedFacet >= 0;
+                    failedFacet = facet;
+                }
+            }
+            if (excluded) {
+                continue;
+            }
+            if (failedFacet >= 0) {
+                movie.count(failedFacet, counts.get(failedFacet), labels.get(failedFacet));
+                continue;
+            }
+            matches.add(movie);
+            for (int facet = 0; facet < FACETS.size(); facet++) {
+                movie.count(facet, counts.get(facet), labels.get(facet));
+            }
+        }
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (int facet = 0; facet < FACETS.size(); facet++) {
+            facets.put(FACETS.get(facet), sortByCount(counts.get(facet), labels.get(facet)));
+        }
+        List<SavedMovieSearchResponseDto.SavedMovieDto> items = matches.stream()
+                .skip((long) pageNumber * pageSize)
+                .limit(pageSize)
+                .map(IndexedMovie::toDto)
+                .toList();
+        return SavedMovieSearchResponseDto.builder()
+                .items(items)
+                .facets(facets)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalResults(matches.size())
+                .build();
+    }
+
+    /**
+     * Drop a user's index after their lists changed; call once the change is committed
+     */
+    public void invalidate(String clerkUserId) {
+        indexes.remove(clerkUserId);
+    }
+
+    private List<IndexedMovie> index(String clerkUserId) {
+        CompletableFuture<List<IndexedMovie>> index = indexes.get(clerkUserId);
+        if (index == null) {
+            if (indexes.size() >= maxCachedUsers) {
+                Iterator<String> users = indexes.keySet().iterator();
+                if (users.hasNext()) {
+                    indexes.remove(users.next());
+                }
+            }
+            CompletableFuture<List<IndexedMovie>> building = new CompletableFuture<>();
+            index = indexes.putIfAbsent(clerkUserId, building);
+            if (index == null) {
+                // A concurrent invalidate removes the future while it is built, so a stale index is never kept
+                try {
+                    building.complete(build(clerkUserId));
+                } catch (RuntimeException e) {
+                    indexes.remove(clerkUserId, building);
+                    building.completeExceptionally(e);
+                    throw e;
+                }
+                return building.join();
+            }
+        }
+        try {
+            return index.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private List<IndexedMovie> build(String clerkUserId) {
+        long start = System.nanoTime();
+        List<MovieList> lists = new ArrayList<>(movieListRepository.findByClerkUserIdWithMovies(clerkUserId));
+        lists.sort(Comparator.comparing(MovieList::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(MovieList::getId, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        Map<Long, IndexedMovie> movies = new LinkedHashMap<>();
+        for (MovieList list : lists) {
+            for (MovieListItem item : list.getMovies()) {
+                Movie movie = item.getMovie();
+                if (movie == null) {
+                    continue;
+                }
+                IndexedMovie indexed = movies.computeIfAbsent(movie.getId(), id -> IndexedMovie.of(item));
+                if (!indexed.listIds.contains(list.getId())) {
+                    indexed.listIds.add(list.getId());
+                    indexed.listNames.add(list.getListName());
+                }
+            }
+        }
+        log.debug("Indexed {} saved movies of user {} in {} ms", movies.size(), clerkUserId,
+                (System.nanoTime() - start) / 1_000_000);
+        return List.copyOf(movies.values());
+    }
+
+    static String decade(Integer year) {
+        return year == null ? null : (year / 10 * 10) + "s";
+    }
+
+    static String durationBucket(Integer minutes) {
+        if (minutes == null) {
+            return null;
+        }
+        if (minutes < 90) {
+            return "under-90";
+        }
+        return minutes <= 120 ? "90-120" : "over-120";
+    }
+
+    private static List<String> tokenize(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(normalize(query).split("\\s+")).toList();
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param counts Normalized value -> count
+     * @param labels Normalized value -> value as displayed
+     * @return Displayed value -> count, most frequent first
+     */
+    private static Map<String, Long> sortByCount(Map<String, Long> counts, Map<String, String> labels) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toMap(count -> labels.get(count.getKey()), Map.Entry::getValue, Long::sum, LinkedHashMap::new));
+    }
+
+    /**
+     * A saved movie with its facet values and search text precomputed
+     */
+    private static final class IndexedMovie {
+        private final MovieResponseDto.MovieDto movie;
+        private final List<Long> listIds = new ArrayList<>();
+        private final List<String> listNames = new ArrayList<>();
+        private final String text;
+        /**
+         * Per facet: values as displayed
+         */
+        private final String[][] facetValues;
+        /**
+         * Per facet: normalized values, for matching filters
+         */
+        private final String[][] facetKeys;
+
+        private IndexedMovie(MovieResponseDto.MovieDto movie, String text, String[][] facetValues) {
+            this.movie = movie;
+            this.text = text;
+            this.facetValues = facetValues;
+            this.facetKeys = new String[facetValues.length][];
+            for (int facet = 0; facet < facetValues.length; facet++) {
+                facetKeys[facet] = Arrays.stream(facetValues[facet]).map(SavedMovieSearch::normalize).toArray(String[]::new);
+            }
+        }
+
+        static IndexedMovie of(MovieListItem item) {
+            Movie movie = item.getMovie();
+            MovieResponseDto.MovieDto dto = MovieListService.toMovieDto(movie);
+            dto.setRecommendationReason(item.getRecommendationReason());
+            List<String> genres = movie.getGenres() == null ? List.of() : movie.getGenres();
+            String text = normalize(String.join(" ", movie.getTitle(),
+                    movie.getDirector() == null ? "" : movie.getDirector(),
+                    movie.getCast() == null ? "" : String.join(" ", movie.getCast())));
+            // Genres differing only in case are one facet value, spelled as first listed
+            Map<String, String> genresByKey = new LinkedHashMap<>();
+            genres.stream()
+                    .filter(genre -> genre != null && !genre.isBlank())
+                    .forEach(genre -> genresByKey.putIfAbsent(normalize(genre), genre.strip()));
+            String[][] values = {
+                    genresByKey.values().toArray(String[]::new),
+                    single(decade(movie.getYear())),
+                    single(movie.getAgeRating()),
+                    single(durationBucket(movie.getDuration())),
+                    single(movie.getDirector())
+            };
+            return new IndexedMovie(dto, text, values);
+        }
+
+        private static String[] single(String value) {
+            return value == null || value.isBlank() ? new String[0] : new String[] {value.strip()};
+        }
+
+        boolean containsAll(List<String> terms) {
+            for (String term : terms) {
+                if (!text.contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean matches(int facet, Set<String> wanted) {
+            for (String key : facetKeys[facet]) {
+                if (wanted.contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void count(int facet, Map<String, Long> counts, Map<String, String> labels) {
+            for (int value = 0; value < facetKeys[facet].length; value++) {
+                counts.merge(facetKeys[facet][value], 1L, Long::sum);
+                labels.putIfAbsent(facetKeys[facet][value], facetValues[facet][value]);
+            }
+        }
+
+        SavedMovieSearchResponseDto.SavedMovieDto toDto() {
+            return SavedMovieSearchResponseDto.SavedMovieDto.builder()
+                    .movie(movie)
+                    .listIds(List.copyOf(listIds))
+                    .listNames(List.copyOf(listNames))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental parser for JSON generated by Gemini, fed with text chunks as they arrive
+ * Each element of the tracked array is handed to the consumer as soon as it is complete,
+ * so everything before a syntax error is salvaged instead of discarding the whole document.
+ * Supports a root object holding the tracked array in a field (other fields are collected
+ * into {@link #getHeader()}), or a root array whose elements are tracked directly.
+ * Text before the first '{' or '[' (such as a markdown fence) and after the root value is ignored.
+ * Not thread-safe; use one instance per response.
+ */
+@Slf4j
+public class StreamingJsonParser {
+
+    private final ObjectMapper objectMapper;
+    private final String arrayField;
+    private final Consumer<JsonNode> elementConsumer;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final ObjectNode header;
+
+    private boolean started;
+    private boolean complete;
+    private boolean malformed;
+    private boolean rootIsArray;
+    private boolean inTrackedArray;
+    private int depth;
+    private String currentField;
+    private int elementCount;
+
+    private TokenBuffer capture;
+    private int captureDepth;
+    private boolean captureIsElement;
+    private String captureField;
+
+    /**
+     * @param objectMapper Mapper used to build the element trees
+     * @param arrayField Field of the root object holding the tracked array, or null for a root array
+     * @param elementConsumer Receives each completed array element
+     */
+    public StreamingJsonParser(ObjectMapper objectMapper, String arrayField, Consumer<JsonNode> elementConsumer) {
+        this.objectMapper = objectMapper;
+        this.arrayField = arrayField;
+        this.elementConsumer = elementConsumer;
+        this.header = objectMapper.createObjectNode();
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feed the next chunk of text
+     * Chunks after the root value has closed, or after a syntax error, are ignored
+     * @param chunk The next piece of the JSON text
+     */
+    public void feed(String chunk) {
+        if (complete || malformed || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int start = indexOfJsonStart(chunk);
+            if (start < 0) {
+                return;
+            }
+            chunk = chunk.substring(start);
+            started = true;
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!complete && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE) {
+                if (token == null) {
+                    complete = true;
+                } else {
+                    handle(token);
+                }
+            }
+        } catch (IOException e) {
+            malformed = true;
+            log.warn("Stopped parsing malformed JSON after {} complete elements: {}", elementCount, e.getMessage());
+        }
+    }
+
+    /**
+     * @return Whether the root value was closed
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return Whether parsing stopped at a syntax error
+     */
+    public boolean isMalformed() {
+        return malformed;
+    }
+
+    /**
+     * @return Fields of the root object other than the tracked array, as parsed so far
+     */
+    public ObjectNode getHeader() {
+        return header;
+    }
+
+    /**
+     * @return Number of completed elements handed to the consumer
+     */
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (capture != null) {
+            capture.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                captureDepth++;
+            } else if (token.isStructEnd()) {
+                captureDepth--;
+            }
+            if (captureDepth == 0) {
+                completeCapture();
+            }
+            return;
+        }
+
+        int elementDepth = rootIsArray ? 1 : 2;
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (depth == 0) {
+                    rootIsArray = token == JsonToken.START_ARRAY;
+                    inTrackedArray = rootIsArray && arrayField == null;
+                    depth = 1;
+                } else if (inTrackedArray && depth == elementDepth) {
+                    startCapture(true, null);
+                } else if (depth == 1 && !rootIsArray && token == JsonToken.START_ARRAY
+                        && arrayField != null && arrayField.equals(currentField)) {
+                    inTrackedArray = true;
+                    depth = 2;
+                } else {
+                    startCapture(false, depth == 1 && !rootIsArray ? currentField : null);
+                }
+            }
+            case END_OBJECT, END_ARRAY -> {
+                if (inTrackedArray && depth == elementDepth) {
+                    inTrackedArray = false;
+                }
+                depth--;
+                if (depth == 0) {
+                    complete = true;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    currentField = parser.currentName();
+                }
+            }
+            default -> {
+                if (inTrackedArray && depth == elementDepth) {
+                    startCapture(true, null);
+                } else if (depth == 1 && !rootIsArray) {
+                    startCapture(false, currentField);
+                }
+            }
+        }
+    }
+
+    private void startCapture(boolean isElement, String field) throws IOException {
+        capture = new TokenBuffer(objectMapper, false);
+        captureIsElement = isElement;
+        captureField = field;
+        capture.copyCurrentEvent(parser);
+        captureDepth = parser.currentToken().isStructStart() ? 1 : 0;
+        if (captureDepth == 0) {
+            completeCapture();
+        }
+    }
+
+    private void completeCapture() throws IOException {
+        JsonNode node;
+        try (JsonParser captured = capture.asParser(objectMapper)) {
+            node = objectMapper.readTree(captured);
+        }
+        capture = null;
+
+        if (captureIsElement) {
+            elementCount++;
+            elementConsumer.accept(node);
+        } else if (captureField != null) {
+            header.set(captureField, node);
+        }
+    }
+
+    private static int indexOfJsonStart(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http;
+
+import com.bestgroup.HomeEntertAInment.ratelimit.RateLimitExceededException;
+import com.bestgroup.HomeEntertAInment.ratelimit.RateLimitInterceptor;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryBatchRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryBatchStatusDto;
+import com.bestgroup.HomeEntertAInment.storybuilder.service.StoryBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controller for generating several stories in one job
+ * A batch is started with POST; its progress is polled with GET or followed as server-sent events
+ */
+@Slf4j
+@CrossOrigin
+@RestController
+@RequestMapping("/api/stories/batch")
+@RequiredArgsConstructor
+public class StoryBatchController {
+
+    private final StoryBatchService storyBatchService;
+
+    @PostMapping
+    @Operation(summary = "Generate a batch of stories", description = "Start generating several stories for the authenticated user, "
+        + "e.g. a week of bedtime stories. The stories are saved once the whole batch is done.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Batch started"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or too many stories"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "429", description = "Too few story tokens left for the batch; see Retry-After"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<?> createBatch(@Valid @RequestBody StoryBatchRequest request, Authentication authentication) {
+        try {
+            StoryBatchStatusDto status = storyBatchService.submit(request.stories(), authentication);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/stories/batch/" + status.jobId()))
+                .body(status);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid story batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(RateLimitInterceptor.rejectionBody(e.getRetryAfterSeconds()));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get batch progress", description = "Get the progress of a batch started by the authenticated user.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch status retrieved"),
+        @ApiResponse(responseCode = "404", description = "Batch not found or expired")
+    })
+    public ResponseEntity<StoryBatchStatusDto> getBatch(@PathVariable UUID jobId, Authentication authentication) {
+        return storyBatchService.getStatus(jobId, authentication)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow batch progress", description = "Stream the progress of a batch as server-sent events: "
+        + "a \"progress\" event per generated or failed story and a final \"complete\" event.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "404", description = "Batch not found or expired")
+    })
+    public ResponseEntity<SseEmitter> followBatch(@PathVariable UUID jobId, Authentication authentication) {
+        return storyBatchService.subscribe(jobId, authentication)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,87 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http;
+
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.ContinueStoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryChapterDto;
+import com.bestgroup.HomeEntertAInment.storybuilder.service.StoryChapterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller for continuing saved stories chapter by chapter
+ */
+@Slf4j
+@CrossOrigin
+@RestController
+@RequestMapping("/api/stories/{storyId}/chapters")
+@RequiredArgsConstructor
+public class StoryChapterController {
+
+    private final StoryChapterService storyChapterService;
+
+    @PostMapping
+    @Operation(summary = "Continue a story", description = "Write the next chapter of one of the authenticated user's stories, "
+        + "optionally steered by what the reader would like to happen next.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Chapter written"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "404", description = "Story not found"),
+        @ApiResponse(responseCode = "409", description = "Another chapter of the story is being written"),
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "502", description = "The chapter could not be generated")
+    })
+    public ResponseEntity<StoryChapterDto> continueStory(@PathVariable UUID storyId,
+                                                         @Valid @RequestBody(required = false) ContinueStoryRequest request,
+                                                         Authentication authentication) {
+        try {
+            String direction = request != null ? request.direction() : null;
+            return storyChapterService.continueStory(storyId, direction, authentication)
+                .map(chapter -> ResponseEntity.status(HttpStatus.CREATED).body(chapter))
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            log.warn("Chapter conflict for story {}: {}", storyId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (StoryChapterService.ChapterGenerationException e) {
+            log.warn("Chapter generation failed for story {}: {}", storyId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        } catch (Exception e) {
+            log.error("Error writing chapter for story {}: {}", storyId, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the chapters of a story", description = "Retrieve the chapters of one of the authenticated user's stories in reading order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chapters retrieved"),
+        @ApiResponse(responseCode = "404", description = "Story not found")
+    })
+    public ResponseEntity<List<StoryChapterDto>> getChapters(@PathVariable UUID storyId, Authentication authentication) {
+        return storyChapterService.getChapters(storyId, authentication)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{chapterNumber}")
+    @Operation(summary = "Get a chapter of a story", description = "Retrieve one chapter of one of the authenticated user's stories.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chapter retrieved"),
+        @ApiResponse(responseCode = "404", description = "Story or chapter not found")
+    })
+    public ResponseEntity<StoryChapterDto> getChapter(@PathVariable UUID storyId, @PathVariable int chapterNumber,
+                                                      Authentication authentication) {
+        return storyChapterService.getChapter(storyId, chapterNumber, authentication)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,13 +1,26 @@
 package com.bestgroup.HomeEntertAInment.storybuilder.http;
 
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.controller.FileResponses;
+import com.bestgroup.HomeEntertAInment.service.JsonResponseCache;
 import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.*;
+import com.bestgroup.HomeEntertAInment.storybuilder.service.IllustratedStoryService;
 import com.bestgroup.HomeEntertAInment.storybuilder.service.StoryService;
 import com.bestgroup.HomeEntertAInment.storybuilder.service.PdfConversionService;
+import com.bestgroup.HomeEntertAInment.storybuilder.service.StoryPdfCache;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -24,7 +37,10 @@ import java.util.UUID;
 public class StoryController {
 
     private final StoryService storyService;
+    private final IllustratedStoryService illustratedStoryService;
     private final PdfConversionService pdfConversionService;
+    private final JsonResponseCache jsonResponseCache;
+    private final ClerkUserExtractor clerkUserExtractor;
 
     @PostMapping("/story/generate")
     @Operation(summary = "Generate a new story", description = "Generate a story based on the input provided.")
@@ -49,6 +65,30 @@ public class StoryController {
         }
     }
 
+    @PostMapping("/story/generate-illustrated")
+    @Operation(summary = "Generate a story with illustrations",
+        description = "Generate a story together with a cover image and one illustration per section. "
+            + "Images are generated concurrently with the text, so this is faster than calling /story/generate and /story/image in turn.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Story generated successfully; failed images have a null URL"),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<IllustratedStoryResponse> generateIllustratedStory(
+        @RequestBody StoryRequest storyRequest,
+        Authentication authentication) {
+        try {
+            IllustratedStoryResponse response = illustratedStoryService.generateIllustratedStory(storyRequest, authentication);
+            log.info("Illustrated story generated with {} section illustrations", response.illustrations().size());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid input for illustrated story generation: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            log.error("Error generating illustrated story: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
 
     @PostMapping("/story/image")
     @Operation(summary = "Generate a new story", description = "Generate a story based on the input provided.")
@@ -89,18 +129,47 @@ public class StoryController {
         }
     }
 
+    @GetMapping("/stories/summaries")
+    @Operation(summary = "List the current user's stories", description = "Retrieve one page of the authenticated user's "
+        + "stories, newest first, with title, themes, cover, creation time and word count but without the story content. "
+        + "Pass the returned nextCursor as cursor to get the next page.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stories retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StorySummaryPageDto> getStorySummaries(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(storyService.getStorySummaries(authentication, cursor, size));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid story list request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error retrieving story summaries: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/stories/{id}")
-    @Operation(summary = "Get a specific story by ID", description = "Retrieve a specific story by ID for the authenticated user.")
+    @Operation(summary = "Get a specific story by ID", description = "Retrieve a specific story by ID for the authenticated user. "
+        + "Responses carry a strong ETag; a matching If-None-Match is answered with 304 Not Modified.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Story retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Story retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = StoryDto.class))),
+        @ApiResponse(responseCode = "304", description = "Story not modified"),
         @ApiResponse(responseCode = "404", description = "Story not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<StoryDto> getStory(@PathVariable UUID id, Authentication authentication) {
+    public ResponseEntity<byte[]> getStory(@PathVariable UUID id, Authentication authentication) {
         try {
-            Optional<StoryDto> story = storyService.getStoryById(id, authentication);
-            return story.map(ResponseEntity::ok)
+            String userId = clerkUserExtractor.extractClerkUserId(authentication);
+            return jsonResponseCache.get(storyCacheKey(id), userId, () -> storyService.getStoryById(id, authentication))
+                .map(story -> story.toResponse(CacheControl.noCache().cachePrivate()))
                 .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             log.error("Error retrieving story: {}", e.getMessage(), e);
@@ -153,6 +222,7 @@ public class StoryController {
             );
 
             Optional<StoryDto> story = storyService.updateStory(requestWithId, authentication);
+            jsonResponseCache.evict(storyCacheKey(id));
             return story.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
@@ -175,6 +245,7 @@ public class StoryController {
     public ResponseEntity<Void> deleteStory(@PathVariable UUID id, Authentication authentication) {
         try {
             boolean deleted = storyService.deleteStory(id, authentication);
+            jsonResponseCache.evict(storyCacheKey(id));
             return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
         } catch (Exception e) {
             log.error("Error deleting story: {}", e.getMessage(), e);
@@ -183,14 +254,20 @@ public class StoryController {
     }
 
     @PostMapping("/story/convert-to-pdf")
-    @Operation(summary = "Convert story markdown to PDF", description = "Convert story markdown content to PDF format.")
+    @Operation(summary = "Convert story markdown to PDF", description = "Convert story markdown content to PDF format. "
+        + "With the local renderer (default) the PDF is returned in the response body, served from disk when the same "
+        + "content was exported before; with the ConvertAPI renderer "
+        + "a JSON response with the URL of the converted file is returned.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "PDF conversion successful"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ConvertApiResponse> convertStoryToPdf(@RequestBody MarkdownToPdfRequest request, Authentication authentication) {
+    public ResponseEntity<?> convertStoryToPdf(@RequestBody MarkdownToPdfRequest request,
+                                               Authentication authentication,
+                                               HttpServletRequest httpRequest,
+                                               HttpServletResponse response) {
         try {
             log.info("Received request to convert story markdown content to PDF");
 
@@ -198,6 +275,20 @@ public class StoryController {
                 return ResponseEntity.badRequest().build();
             }
 
+            if (pdfConversionService.isLocalRendering()) {
+                StoryPdfCache.CachedPdf pdf = pdfConversionService.exportMarkdownToPdf(
+                    request.getMarkdownContent(),
+                    request.getCoverImageUrl()
+                );
+                // Written straight from disk to the response; returning null tells Spring the response is complete
+                response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+                response.setContentLengthLong(pdf.size());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("story.pdf").build().toString());
+                FileResponses.transfer(pdf.file(), 0, pdf.size() - 1, httpRequest, response);
+                return null;
+            }
+
             ConvertApiResponse result = pdfConversionService.convertMarkdownToPdf(
                 request.getMarkdownContent(), 
                 request.getCoverImageUrl()
@@ -210,10 +301,19 @@ public class StoryController {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Unexpected error during story markdown to PDF conversion: {}", e.getMessage());
+            if (response.isCommitted()) {
+                // Part of the PDF was already sent; the client sees a truncated download
+                return null;
+            }
+            response.reset();
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    private static String storyCacheKey(UUID id) {
+        return "story:" + id;
+    }
+
 //    @PostMapping("/save-image")
 //    public ResponseEntity<String> saveImage(@RequestBody String imageUrl) {
 //        try {
@@ -0,0 +1,12 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request to write the next chapter of a story
+ */
+public record ContinueStoryRequest(
+    @Size(max = 500)
+    String direction // Optional wish for what happens next
+) {
+}
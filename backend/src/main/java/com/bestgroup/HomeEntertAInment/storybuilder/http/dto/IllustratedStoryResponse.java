@@ -0,0 +1,17 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record IllustratedStoryResponse(
+    UUID storyId,
+    String story,
+    String coverImageUrl,
+    List<SectionIllustration> illustrations
+) {
+    /**
+     * Illustration of one "##" section of the story; imageUrl is null if generation failed
+     */
+    public record SectionIllustration(String title, String imageUrl) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request to generate several stories at once, e.g. a week of bedtime stories
+ */
+public record StoryBatchRequest(
+    @NotEmpty
+    List<@Valid CreateStoryRequest> stories
+) {
+}
@@ -0,0 +1,24 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a batch story generation job
+ * storyIds is filled in once the job has completed and the stories are saved.
+ */
+public record StoryBatchStatusDto(
+    UUID jobId,
+    Status status,
+    int total,
+    int generated,
+    int failed,
+    List<UUID> storyIds
+) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
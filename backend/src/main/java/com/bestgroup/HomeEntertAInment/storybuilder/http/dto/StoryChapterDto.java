@@ -0,0 +1,13 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record StoryChapterDto(
+    UUID id,
+    UUID storyId,
+    int chapterNumber,
+    String content,
+    LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Story list entry; the content is fetched separately with GET /api/stories/{id}
+ */
+public record StorySummaryDto(
+    UUID id,
+    String title,
+    List<String> themes,
+    String coverImageUrl,
+    LocalDateTime createdAt,
+    Integer wordCount
+) {
+}
@@ -0,0 +1,13 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.http.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's story list, newest first
+ * Pass nextCursor as the cursor parameter to get the following page; it is null on the last page.
+ */
+public record StorySummaryPageDto(
+    List<StorySummaryDto> stories,
+    String nextCursor
+) {
+}
@@ -56,10 +56,69 @@ public class Story {
     @Column(name = "cover_image_url")
     private String coverImageUrl;
 
+    /**
+     * Title and word count derived from the story content, stored so story lists need not load it
+     */
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "word_count")
+    private Integer wordCount;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        updateSummary();
+    }
+
+    @PreUpdate
+    protected void updateSummary() {
+        title = parseTitle(generatedStory);
+        wordCount = countWords(generatedStory);
+    }
+
+    /**
+     * Parse the title from the first markdown heading line ("# Title")
+     * @param markdown The story markdown
+     * @return The title, or null if the story has no main heading
+     */
+    public static String parseTitle(String markdown) {
+        if (markdown == null) {
+            return null;
+        }
+        return markdown.lines()
+                .map(String::strip)
+                .filter(line -> line.startsWith("# "))
+                .map(line -> line.substring(2).strip())
+                .filter(line -> !line.isEmpty())
+                .map(line -> line.length() > 255 ? line.substring(0, 255) : line)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Count the words of a story: whitespace separated tokens with at least one letter or digit,
+     * so markdown markers such as "#" or "-" are not counted
+     * @param text The story text
+     * @return The word count, 0 for an empty story
+     */
+    public static int countWords(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int words = 0;
+        boolean counted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                counted = false;
+            } else if (!counted && Character.isLetterOrDigit(c)) {
+                words++;
+                counted = true;
+            }
+        }
+        return words;
     }
 }
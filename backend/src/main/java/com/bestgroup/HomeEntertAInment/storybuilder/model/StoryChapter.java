@@ -0,0 +1,49 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A chapter continuing a saved story
+ * Chapters are separate rows, so adding one never rewrites the story or earlier chapters
+ */
+@Entity
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "story_chapters",
+    uniqueConstraints = @UniqueConstraint(name = "uk_story_chapters_story_number", columnNames = {"story_id", "chapter_number"}))
+public class StoryChapter {
+    @Id
+    @GeneratedValue()
+    private UUID id;
+
+    @Column(name = "story_id", nullable = false)
+    private UUID storyId;
+
+    /**
+     * 1 for the first chapter after the original story
+     */
+    @Column(name = "chapter_number", nullable = false)
+    private int chapterNumber;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StoryChapterRepository extends JpaRepository<StoryChapter, UUID> {
+
+    /**
+     * Find the chapters of a story in reading order
+     */
+    List<StoryChapter> findByStoryIdOrderByChapterNumber(UUID storyId);
+
+    /**
+     * Find one chapter of a story
+     */
+    Optional<StoryChapter> findByStoryIdAndChapterNumber(UUID storyId, int chapterNumber);
+
+    /**
+     * Delete all chapters of a story
+     */
+    @Modifying
+    @Query("DELETE FROM StoryChapter c WHERE c.storyId = :storyId")
+    int deleteByStoryId(@Param("storyId") UUID storyId);
+}
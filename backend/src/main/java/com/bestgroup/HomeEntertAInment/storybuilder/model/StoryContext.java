@@ -0,0 +1,59 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compact context for continuing a story: a running summary, a character sheet and the end of the latest text
+ * The character sheet is extracted once from the original story; the summary and passage are replaced
+ * with each chapter, so the prompt for the next chapter stays the same size however long the story gets.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "story_contexts")
+public class StoryContext {
+    @Id
+    @Column(name = "story_id")
+    private UUID storyId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String summary;
+
+    @Column(name = "character_sheet", columnDefinition = "TEXT", nullable = false)
+    private String characterSheet;
+
+    /**
+     * The last paragraphs of the original story or of the latest chapter
+     */
+    @Column(name = "last_passage", columnDefinition = "TEXT", nullable = false)
+    private String lastPassage;
+
+    /**
+     * Number of chapters written so far
+     */
+    @Column(name = "chapter_count", nullable = false)
+    private int chapterCount;
+
+    @Version
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
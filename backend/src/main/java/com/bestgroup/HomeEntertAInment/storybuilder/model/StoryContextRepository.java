@@ -0,0 +1,8 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface StoryContextRepository extends JpaRepository<StoryContext, UUID> {
+}
@@ -0,0 +1,61 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A pre-generated story for one combination of story parameters without custom text
+ */
+@Entity
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "story_library_variants")
+public class StoryLibraryVariant {
+    @Id
+    @GeneratedValue()
+    private UUID id;
+
+    /**
+     * Character as first requested; matched case-insensitively
+     */
+    @Column(nullable = false, length = 50)
+    private String character;
+
+    /**
+     * Theme names, sorted and comma-separated
+     */
+    @Column(nullable = false)
+    private String themes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "age_group", nullable = false)
+    private AgeGroup ageGroup;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "story_length", nullable = false)
+    private StoryLength storyLength;
+
+    @Enumerated(EnumType.STRING)
+    private Twist twist;
+
+    @Column(name = "generated_story", columnDefinition = "TEXT", nullable = false)
+    private String generatedStory;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
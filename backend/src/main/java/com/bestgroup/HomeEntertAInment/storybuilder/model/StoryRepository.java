@@ -1,11 +1,14 @@
 package com.bestgroup.HomeEntertAInment.storybuilder.model;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,4 +36,43 @@ public interface StoryRepository extends JpaRepository<Story, UUID> {
      * Check if a story exists for a specific user
      */
     boolean existsByIdAndUserId(UUID id, String userId);
+
+    /**
+     * Check if any story uses an image as its cover
+     */
+    boolean existsByCoverImageUrl(String coverImageUrl);
+
+    /**
+     * Find every distinct cover image URL, used to pin covers in the image cache
+     */
+    @Query("SELECT DISTINCT s.coverImageUrl FROM Story s WHERE s.coverImageUrl IS NOT NULL")
+    List<String> findDistinctCoverImageUrls();
+
+    /**
+     * Find the newest story summaries of a user, without loading story content
+     */
+    @Query("SELECT new com.bestgroup.HomeEntertAInment.storybuilder.model.StorySummary("
+        + "s.id, s.title, s.coverImageUrl, s.createdAt, s.wordCount) "
+        + "FROM Story s WHERE s.userId = :userId "
+        + "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StorySummary> findSummariesByUserId(@Param("userId") String userId, Limit limit);
+
+    /**
+     * Find the story summaries of a user that come after the given one in newest-first order (keyset pagination)
+     */
+    @Query("SELECT new com.bestgroup.HomeEntertAInment.storybuilder.model.StorySummary("
+        + "s.id, s.title, s.coverImageUrl, s.createdAt, s.wordCount) "
+        + "FROM Story s WHERE s.userId = :userId "
+        + "AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id)) "
+        + "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StorySummary> findSummariesByUserIdAfter(@Param("userId") String userId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") UUID id,
+                                                  Limit limit);
+
+    /**
+     * Find the themes of several stories at once, as (story ID, theme) pairs
+     */
+    @Query("SELECT s.id, t FROM Story s JOIN s.theme t WHERE s.id IN :ids")
+    List<Object[]> findThemesByStoryIds(@Param("ids") Collection<UUID> ids);
 }
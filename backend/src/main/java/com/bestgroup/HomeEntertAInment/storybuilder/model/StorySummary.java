@@ -0,0 +1,16 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Story list row read without the story content
+ */
+public record StorySummary(
+    UUID id,
+    String title,
+    String coverImageUrl,
+    LocalDateTime createdAt,
+    Integer wordCount
+) {
+}
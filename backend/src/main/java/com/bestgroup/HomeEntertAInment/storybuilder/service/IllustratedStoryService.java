@@ -0,0 +1,194 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.service.GeminiService;
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.IllustratedStoryResponse;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.Story;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a story together with its illustrations
+ * The cover image is requested from the story parameters while the text is still being
+ * generated, and each "##" section is illustrated as soon as its heading has streamed in,
+ * so the total time is close to the slowest single call rather than the sum of all calls.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IllustratedStoryService {
+
+    private static final int IMAGE_SIZE = 512;
+
+    private final GeminiService geminiService;
+    private final ImageService imageService;
+    private final StoryLibraryService storyLibraryService;
+    private final StoryRepository storyRepository;
+    private final ClerkUserExtractor clerkUserExtractor;
+    private final ImageDiskCache imageDiskCache;
+    private final ExecutorService aiTaskExecutor;
+
+    /**
+     * Maximum number of sections illustrated per story
+     */
+    @Value("${app.story.pipeline.max-section-illustrations:4}")
+    private int maxSectionIllustrations;
+
+    /**
+     * How long to wait for all outstanding images together once the text is complete
+     */
+    @Value("${app.story.pipeline.image-timeout-seconds:60}")
+    private long imageTimeoutSeconds;
+
+    public IllustratedStoryResponse generateIllustratedStory(StoryRequest request, Authentication authentication) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+
+        CompletableFuture<String> cover = generateImageAsync(coverPrompt(request));
+
+        List<String> sectionTitles = new ArrayList<>();
+        List<CompletableFuture<String>> sectionImages = new ArrayList<>();
+        SectionScanner scanner = new SectionScanner(title -> {
+            if (sectionTitles.size() < maxSectionIllustrations) {
+                sectionTitles.add(title);
+                sectionImages.add(generateImageAsync(sectionPrompt(request, title)));
+            }
+        });
+
+        String generatedStory = storyLibraryService.serve(request, userId).orElse(null);
+        if (generatedStory != null) {
+            scanner.accept(generatedStory);
+        } else {
+            geminiService.streamContent(StoryService.buildStoryPrompt(request), Map.of(), scanner);
+            generatedStory = stripCodeFences(scanner.text());
+            storyLibraryService.offer(request, userId, generatedStory);
+        }
+        scanner.finish();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(imageTimeoutSeconds);
+        String coverImageUrl = await(cover, deadline);
+        List<IllustratedStoryResponse.SectionIllustration> illustrations = new ArrayList<>(sectionTitles.size());
+        for (int i = 0; i < sectionTitles.size(); i++) {
+            illustrations.add(new IllustratedStoryResponse.SectionIllustration(sectionTitles.get(i),
+                await(sectionImages.get(i), deadline)));
+        }
+
+        Story story = storyRepository.save(Story.builder()
+            .character(request.character())
+            .ageGroup(request.ageGroup())
+            .storyLength(request.storyLength())
+            .theme(request.theme())
+            .twist(request.twist())
+            .custom(request.custom())
+            .generatedStory(generatedStory)
+            .userId(userId)
+            .coverImageUrl(coverImageUrl)
+            .build());
+        imageDiskCache.pin(coverImageUrl);
+
+        return new IllustratedStoryResponse(story.getId(), generatedStory, coverImageUrl, illustrations);
+    }
+
+    private CompletableFuture<String> generateImageAsync(String prompt) {
+        return CompletableFuture.supplyAsync(() -> imageService.generateImage(prompt, IMAGE_SIZE, IMAGE_SIZE, 1), aiTaskExecutor);
+    }
+
+    /**
+     * Wait for an image; all images run concurrently and share one deadline, so waiting in
+     * order never takes longer than the image timeout in total
+     * @param deadline System.nanoTime() by which every image must be done
+     * @return The image URL, or null if generation failed or timed out
+     */
+    private String await(CompletableFuture<String> image, long deadline) {
+        try {
+            String url = image.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            return url == null || url.startsWith("Error:") ? null : url;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("Story illustration failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String coverPrompt(StoryRequest request) {
+        return "Children's book cover illustration of %s in a %s story, colorful and friendly, no text"
+            .formatted(request.character(), themes(request));
+    }
+
+    private static String sectionPrompt(StoryRequest request, String sectionTitle) {
+        return "Children's book illustration of %s for the scene \"%s\" in a %s story, colorful and friendly, no text"
+            .formatted(request.character(), sectionTitle, themes(request));
+    }
+
+    private static String themes(StoryRequest request) {
+        return request.theme().stream()
+            .map(theme -> theme.name().toLowerCase().replace('_', ' '))
+            .collect(Collectors.joining(" and "));
+    }
+
+    private static String stripCodeFences(String text) {
+        return text.replaceAll("```markdown", "")
+            .replaceAll("```md", "")
+            .replaceAll("```", "");
+    }
+
+    /**
+     * Accumulates streamed Markdown and reports each "##" heading once its line is complete
+     */
+    static final class SectionScanner implements Consumer<String> {
+        private final StringBuilder text = new StringBuilder();
+        private final Consumer<String> onSection;
+        private int scanned;
+
+        SectionScanner(Consumer<String> onSection) {
+            this.onSection = onSection;
+        }
+
+        @Override
+        public void accept(String chunk) {
+            text.append(chunk);
+            int newline;
+            while ((newline = text.indexOf("\n", scanned)) >= 0) {
+                scanLine(text.substring(scanned, newline));
+                scanned = newline + 1;
+            }
+        }
+
+        /**
+         * Scan the last line, which has no trailing newline
+         */
+        void finish() {
+            if (scanned < text.length()) {
+                scanLine(text.substring(scanned));
+                scanned = text.length();
+            }
+        }
+
+        String text() {
+            return text.toString();
+        }
+
+        private void scanLine(String line) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("## ")) {
+                onSection.accept(trimmed.substring(3).trim());
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bestgroup.HomeEntertAInment.storybuilder.service;
 
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
 import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.ConvertApiResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,23 +9,66 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.util.Optional;
+
 /**
- * Service for converting story markdown content to PDF using ConvertAPI
- * Handles PDF generation for stories via ConvertAPI's REST endpoint
+ * Service for converting story markdown content to PDF
+ * PDFs are rendered in-process by default and cached on disk by content; ConvertAPI's REST endpoint
+ * is kept as a fallback, selected with app.story.pdf.renderer=convertapi
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PdfConversionService {
 
+    private final StoryPdfRenderer storyPdfRenderer;
+    private final StoryPdfCache storyPdfCache;
+
     @Value("${CONVERT_MD_TO_PDF_API_TOKEN:}")
     private String convertApiToken;
 
+    /**
+     * PDF renderer: local (in-process) or convertapi
+     */
+    @Value("${app.story.pdf.renderer:local}")
+    private String renderer;
+
     // ConvertAPI endpoint for markdown to PDF conversion
     private static final String MARKDOWN_TO_PDF_URL = "https://v2.convertapi.com/convert/md/to/pdf";
 
     private final RestTemplate restTemplate = new RestTemplate();
 
+    /**
+     * Whether PDFs are rendered in-process and served from disk, rather than converted by ConvertAPI
+     * @return true if {@link #exportMarkdownToPdf} should be used
+     */
+    public boolean isLocalRendering() {
+        return !"convertapi".equalsIgnoreCase(renderer);
+    }
+
+    /**
+     * Renders markdown content to PDF in-process, reusing an earlier export of the same content
+     *
+     * @param markdownContent The markdown content to convert
+     * @param coverImageUrl   Optional cover image URL to include
+     * @return The PDF on local disk
+     * @throws IOException if the PDF cannot be rendered or written
+     */
+    public StoryPdfCache.CachedPdf exportMarkdownToPdf(String markdownContent, String coverImageUrl) throws IOException {
+        if (markdownContent == null || markdownContent.trim().isEmpty()) {
+            throw new IllegalArgumentException("Markdown content cannot be null or empty");
+        }
+        // The key names only a cover that is actually embedded, so a PDF rendered without a cover
+        // that failed to download is never served later for the same story with its cover
+        Optional<ImageDiskCache.CachedImage> cover = storyPdfRenderer.resolveCover(coverImageUrl);
+        String key = StoryPdfCache.key(markdownContent, cover.isPresent() ? coverImageUrl : null, StoryPdfRenderer.VERSION);
+        return storyPdfCache.getOrRender(key, out -> {
+            log.info("Rendering story markdown content to PDF in-process");
+            storyPdfRenderer.renderWithCover(markdownContent, cover.orElse(null), out);
+        });
+    }
+
     /**
      * Converts markdown content to PDF using ConvertAPI
      *
@@ -0,0 +1,120 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryBatchStatusDto;
+
+import lombok.Getter;
+
+/**
+ * State of one batch story generation job, shared by its generation tasks and its SSE subscribers
+ */
+class StoryBatchJob {
+
+    @Getter
+    private final UUID id = UUID.randomUUID();
+    @Getter
+    private final String userId;
+    private final int total;
+
+    private int generated;
+    private int failed;
+    private StoryBatchStatusDto.Status status = StoryBatchStatusDto.Status.RUNNING;
+    private List<UUID> storyIds = List.of();
+    @Getter
+    private volatile Instant finishedAt;
+
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    StoryBatchJob(String userId, int total) {
+        this.userId = userId;
+        this.total = total;
+    }
+
+    synchronized StoryBatchStatusDto toDto() {
+        return new StoryBatchStatusDto(id, status, total, generated, failed, storyIds);
+    }
+
+    void storyGenerated() {
+        synchronized (this) {
+            generated++;
+        }
+        publish("progress");
+    }
+
+    void storyFailed() {
+        synchronized (this) {
+            failed++;
+        }
+        publish("progress");
+    }
+
+    void complete(List<UUID> savedStoryIds) {
+        synchronized (this) {
+            status = StoryBatchStatusDto.Status.COMPLETED;
+            storyIds = List.copyOf(savedStoryIds);
+        }
+        finish();
+    }
+
+    void fail() {
+        synchronized (this) {
+            status = StoryBatchStatusDto.Status.FAILED;
+        }
+        finish();
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    /**
+     * Send the current status to a new subscriber and keep it updated until the job finishes
+     */
+    void subscribe(SseEmitter emitter) {
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        if (!send(emitter, isFinished() ? "complete" : "progress")) {
+            return;
+        }
+        if (isFinished()) {
+            subscribers.remove(emitter);
+            emitter.complete();
+        }
+    }
+
+    private void finish() {
+        finishedAt = Instant.now();
+        publish("complete");
+        for (SseEmitter emitter : subscribers) {
+            subscribers.remove(emitter);
+            emitter.complete();
+        }
+    }
+
+    private void publish(String eventName) {
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, eventName);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, String eventName) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(toDto()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter's error callback removes it
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
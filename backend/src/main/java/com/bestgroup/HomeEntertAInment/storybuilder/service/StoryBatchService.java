@@ -0,0 +1,187 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.ratelimit.AiEndpointClass;
+import com.bestgroup.HomeEntertAInment.ratelimit.RateLimitExceededException;
+import com.bestgroup.HomeEntertAInment.ratelimit.RateLimitInterceptor;
+import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.CreateStoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryBatchStatusDto;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.Story;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates several stories for a user in one job, e.g. a week of bedtime stories
+ * Stories are generated concurrently, but each user has a fixed number of Gemini calls in flight
+ * across all of their jobs. Generated stories are saved together in one batched insert once the
+ * job is done; progress is available as job status or as server-sent events. Each story costs one
+ * story rate limit token, taken for the whole batch before any story is generated.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StoryBatchService {
+
+    private final StoryService storyService;
+    private final GeminiStoryService geminiService;
+    private final StoryRepository storyRepository;
+    private final ClerkUserExtractor clerkUserExtractor;
+    private final ImageDiskCache imageDiskCache;
+    private final ExecutorService aiTaskExecutor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    /**
+     * Largest number of stories in one batch
+     */
+    @Value("${app.story.batch.max-stories:14}")
+    private int maxStories;
+
+    /**
+     * Stories generated at the same time for one user, across all of their jobs
+     */
+    @Value("${app.story.batch.max-concurrent-per-user:2}")
+    private int maxConcurrentPerUser;
+
+    /**
+     * How long finished jobs stay queryable
+     */
+    @Value("${app.story.batch.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Value("${app.story.batch.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    private final Map<UUID, StoryBatchJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> userPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Start generating a batch of stories for the current user
+     * @param requests The stories to generate
+     * @return The initial job status
+     * @throws IllegalArgumentException if the batch is empty or too large
+     * @throws RateLimitExceededException if the user has too few story tokens left for the batch
+     */
+    public StoryBatchStatusDto submit(List<CreateStoryRequest> requests, Authentication authentication) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+        if (requests == null || requests.isEmpty() || requests.size() > maxStories) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + maxStories + " stories");
+        }
+        rateLimitInterceptor.acquire(AiEndpointClass.STORY, userId, requests.size());
+
+        StoryBatchJob job = new StoryBatchJob(userId, requests.size());
+        jobs.put(job.getId(), job);
+        Semaphore permits = userPermits.computeIfAbsent(userId, id -> new Semaphore(Math.max(maxConcurrentPerUser, 1)));
+        log.info("Starting story batch {} of {} stories for user {}", job.getId(), requests.size(), userId);
+
+        List<CompletableFuture<Story>> generations = requests.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> generate(job, permits, request), aiTaskExecutor))
+                .toList();
+        CompletableFuture.allOf(generations.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> save(job, generations.stream()
+                        .map(generation -> generation.getNow(null))
+                        .filter(Objects::nonNull)
+                        .toList()));
+        return job.toDto();
+    }
+
+    /**
+     * Get the status of one of the current user's jobs
+     * @param jobId The job ID
+     * @return The job status, or empty if there is no such job for this user
+     */
+    public Optional<StoryBatchStatusDto> getStatus(UUID jobId, Authentication authentication) {
+        return findJob(jobId, authentication).map(StoryBatchJob::toDto);
+    }
+
+    /**
+     * Subscribe to progress events of one of the current user's jobs
+     * Sends a "progress" event after every generated or failed story and a final "complete" event
+     * @param jobId The job ID
+     * @return The event stream, or empty if there is no such job for this user
+     */
+    public Optional<SseEmitter> subscribe(UUID jobId, Authentication authentication) {
+        return findJob(jobId, authentication).map(job -> {
+            SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+            job.subscribe(emitter);
+            return emitter;
+        });
+    }
+
+    /**
+     * Forget finished jobs past their retention time
+     */
+    @Scheduled(fixedDelayString = "${app.story.batch.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private Optional<StoryBatchJob> findJob(UUID jobId, Authentication authentication) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    private Story generate(StoryBatchJob job, Semaphore permits, CreateStoryRequest request) {
+        try {
+            permits.acquire();
+            try {
+                String generatedStory = geminiService.sendStoryPrompt(StoryService.buildCreateStoryPrompt(request));
+                if (GeminiStoryService.isFailure(generatedStory)) {
+                    throw new IllegalStateException("Gemini returned no story: " + generatedStory);
+                }
+                Story story = storyService.buildCreatedStory(request, job.getUserId(), generatedStory);
+                job.storyGenerated();
+                return story;
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Story generation in batch {} failed: {}", job.getId(), e.getMessage());
+        }
+        job.storyFailed();
+        return null;
+    }
+
+    private void save(StoryBatchJob job, List<Story> stories) {
+        try {
+            // One transaction; Hibernate groups the inserts into JDBC batches (hibernate.jdbc.batch_size)
+            List<Story> saved = storyRepository.saveAll(stories);
+            List<UUID> storyIds = new ArrayList<>(saved.size());
+            for (Story story : saved) {
+                storyIds.add(story.getId());
+                imageDiskCache.pin(story.getCoverImageUrl());
+            }
+            job.complete(storyIds);
+            log.info("Story batch {} saved {} of {} stories", job.getId(), saved.size(), job.toDto().total());
+        } catch (Exception e) {
+            log.error("Failed to save story batch {}: {}", job.getId(), e.getMessage(), e);
+            job.fail();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryChapterDto;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.Story;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryChapter;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryChapterRepository;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryContext;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryContextRepository;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Continues saved stories chapter by chapter
+ * Each chapter is written from the story's compact context (running summary, character sheet and the
+ * end of the previous text) instead of the whole story so far, so every chapter costs about the same
+ * prompt size. The context is built with one extra Gemini call before the first chapter and then
+ * updated from each chapter's response.
+ */
+@Service
+@Slf4j
+public class StoryChapterService {
+
+    static final String SUMMARY_MARKER = "---SUMMARY---";
+    private static final int LAST_PASSAGE_CHARS = 1500;
+
+    private final GeminiStoryService geminiService;
+    private final StoryRepository storyRepository;
+    private final StoryChapterRepository storyChapterRepository;
+    private final StoryContextRepository storyContextRepository;
+    private final ClerkUserExtractor clerkUserExtractor;
+    private final TransactionTemplate transactionTemplate;
+
+    public StoryChapterService(GeminiStoryService geminiService,
+                               StoryRepository storyRepository,
+                               StoryChapterRepository storyChapterRepository,
+                               StoryContextRepository storyContextRepository,
+                               ClerkUserExtractor clerkUserExtractor,
+                               PlatformTransactionManager transactionManager) {
+        this.geminiService = geminiService;
+        this.storyRepository = storyRepository;
+        this.storyChapterRepository = storyChapterRepository;
+        this.storyContextRepository = storyContextRepository;
+        this.clerkUserExtractor = clerkUserExtractor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Write the next chapter of one of the current user's stories
+     * @param storyId The story ID
+     * @param direction Optional wish for what happens next
+     * @return The new chapter, or empty if the story does not exist for this user
+     * @throws IllegalStateException if another chapter of the same story was written at the same time
+     * @throws ChapterGenerationException if Gemini did not write the chapter; nothing is saved
+     */
+    public Optional<StoryChapterDto> continueStory(UUID storyId, String direction, Authentication authentication) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+        Optional<StoryContext> context = storyContextRepository.findById(storyId);
+        if (context.isPresent()) {
+            if (!storyRepository.existsByIdAndUserId(storyId, userId)) {
+                return Optional.empty();
+            }
+        } else {
+            // First chapter: the only time the full story text is read
+            context = storyRepository.findByIdAndUserId(storyId, userId).map(this::extractContext);
+            if (context.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+
+        StoryContext current = context.get();
+        int chapterNumber = current.getChapterCount() + 1;
+        String response = geminiService.sendStoryPrompt(buildChapterPrompt(current, chapterNumber, direction));
+        if (GeminiStoryService.isFailure(response)) {
+            throw new ChapterGenerationException("Gemini did not write chapter " + chapterNumber + ": " + response);
+        }
+        ChapterResponse chapter = ChapterResponse.parse(response, current.getSummary());
+
+        current.setChapterCount(chapterNumber);
+        current.setSummary(chapter.summary());
+        current.setLastPassage(lastPassage(chapter.content()));
+        try {
+            StoryChapter saved = transactionTemplate.execute(status -> {
+                storyContextRepository.save(current);
+                return storyChapterRepository.save(StoryChapter.builder()
+                        .storyId(storyId)
+                        .chapterNumber(chapterNumber)
+                        .content(chapter.content())
+                        .build());
+            });
+            log.info("Wrote chapter {} of story {}", chapterNumber, storyId);
+            return Optional.of(toDto(saved));
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            throw new IllegalStateException("Another chapter of this story is being written", e);
+        }
+    }
+
+    /**
+     * Get the chapters of one of the current user's stories, in reading order
+     * @param storyId The story ID
+     * @return The chapters, or empty if the story does not exist for this user
+     */
+    public Optional<List<StoryChapterDto>> getChapters(UUID storyId, Authentication authentication) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+        if (!storyRepository.existsByIdAndUserId(storyId, userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(storyChapterRepository.findByStoryIdOrderByChapterNumber(storyId).stream()
+                .map(StoryChapterService::toDto)
+                .toList());
+    }
+
+    /**
+     * Get one chapter of one of the current user's stories
+     * @param storyId The story ID
+     * @param chapterNumber The chapter number, starting at 1
+     * @return The chapter, or empty if the story or chapter does not exist for this user
+     */
+    public Optional<StoryChapterDto> getChapter(UUID storyId, int chapterNumber, Authentication authentication) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+        if (!storyRepository.existsByIdAndUserId(storyId, userId)) {
+            return Optional.empty();
+        }
+        return storyChapterRepository.findByStoryIdAndChapterNumber(storyId, chapterNumber)
+                .map(StoryChapterService::toDto);
+    }
+
+    /**
+     * Delete the chapters and context of a story; called when the story is deleted
+     * @param storyId The story ID
+     */
+    public void deleteChapters(UUID storyId) {
+        storyChapterRepository.deleteByStoryId(storyId);
+        if (storyContextRepository.existsById(storyId)) {
+            storyContextRepository.deleteById(storyId);
+        }
+    }
+
+    /**
+     * Build the context of a story that has no chapters yet, reading the full story this one time
+     */
+    private StoryContext extractContext(Story story) {
+        String response = geminiService.sendStoryPrompt(buildContextPrompt(story.getGeneratedStory()));
+        if (GeminiStoryService.isFailure(response)) {
+            // Never keep the error message as the story's summary
+            throw new ChapterGenerationException("Gemini did not read the story: " + response);
+        }
+        StoryNotes notes = StoryNotes.parse(response);
+        return StoryContext.builder()
+                .storyId(story.getId())
+                .summary(notes.summary())
+                .characterSheet(notes.characters())
+                .lastPassage(lastPassage(story.getGeneratedStory()))
+                .chapterCount(0)
+                .build();
+    }
+
+    static String buildContextPrompt(String story) {
+        return """
+            You are preparing notes for continuing a children's story.
+            Read the story below and reply in exactly this format, without any other text:
+            ## Summary
+            <what has happened so far, in at most 150 words>
+            ## Characters
+            <one line per character: name - role, appearance, personality>
+
+            Story:
+            %s
+            """.formatted(story);
+    }
+
+    static String buildChapterPrompt(StoryContext context, int chapterNumber, String direction) {
+        String wish = direction == null || direction.isBlank()
+                ? "Let the story continue naturally."
+                : "The reader would like this to happen next (do not quote it): " + direction.strip();
+        return """
+            You are continuing a children's story in Markdown format.
+
+            Characters:
+            %s
+
+            The story so far:
+            %s
+
+            The story currently ends with:
+            %s
+
+            Requirements:
+            - Write chapter %d, starting with a chapter title (##).
+            - Write 300-500 words in the same tone, suitable for children, with the same characters.
+            - %s
+            - After the chapter, write a line containing only %s, followed by an updated summary of the
+              whole story including this chapter, in at most 150 words.
+            """.formatted(context.getCharacterSheet(), context.getSummary(), context.getLastPassage(),
+                chapterNumber, wish, SUMMARY_MARKER);
+    }
+
+    /**
+     * The end of a text, starting at a paragraph boundary where possible
+     */
+    static String lastPassage(String text) {
+        if (text == null || text.length() <= LAST_PASSAGE_CHARS) {
+            return text == null ? "" : text.strip();
+        }
+        String tail = text.substring(text.length() - LAST_PASSAGE_CHARS);
+        int paragraph = tail.indexOf("\n\n");
+        return (paragraph >= 0 && paragraph < tail.length() / 2 ? tail.substring(paragraph) : tail).strip();
+    }
+
+    private static StoryChapterDto toDto(StoryChapter chapter) {
+        return new StoryChapterDto(chapter.getId(), chapter.getStoryId(), chapter.getChapterNumber(),
+                chapter.getContent(), chapter.getCreatedAt());
+    }
+
+    /**
+     * Thrown when Gemini fails to write a chapter or the notes it is based on
+     */
+    public static class ChapterGenerationException extends RuntimeException {
+
+        public ChapterGenerationException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Summary and character sheet parsed from the context extraction response
+     */
+    record StoryNotes(String summary, String characters) {
+
+        static StoryNotes parse(String response) {
+            String text = response == null ? "" : response.strip();
+            int summary = text.indexOf("## Summary");
+            int characters = text.indexOf("## Characters");
+            if (summary < 0 || characters < summary) {
+                // Unexpected format; keep the whole response as the summary
+                return new StoryNotes(text, "");
+            }
+            return new StoryNotes(
+                    text.substring(summary + "## Summary".length(), characters).strip(),
+                    text.substring(characters + "## Characters".length()).strip());
+        }
+    }
+
+    /**
+     * Chapter text and updated summary parsed from the chapter response
+     */
+    record ChapterResponse(String content, String summary) {
+
+        static ChapterResponse parse(String response, String previousSummary) {
+            String text = response == null ? "" : response.strip();
+            int marker = text.lastIndexOf(SUMMARY_MARKER);
+            if (marker < 0) {
+                // No updated summary; the old one is kept, and the chapter's own text still moves into lastPassage
+                return new ChapterResponse(text, previousSummary);
+            }
+            String summary = text.substring(marker + SUMMARY_MARKER.length()).strip();
+            return new ChapterResponse(text.substring(0, marker).strip(), summary.isEmpty() ? previousSummary : summary);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.*;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Library of pre-generated stories for requests without custom text
+ * Such requests are fully described by a character and a few enums, so popular combinations
+ * repeat often. Each combination keeps a few variants that are served instantly, each user
+ * getting the ones they have not had yet; missing variants of popular combinations are
+ * generated in the background.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StoryLibraryService {
+
+    private final GeminiStoryService geminiService;
+    private final StoryLibraryVariantRepository variantRepository;
+    private final ExecutorService aiTaskExecutor;
+
+    @Value("${app.story.library.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Number of distinct stories kept per parameter combination
+     */
+    @Value("${app.story.library.variants-per-key:3}")
+    private int variantsPerKey;
+
+    /**
+     * Most distinct stories kept per combination; stories generated for users who had
+     * every variant are added up to this many
+     */
+    @Value("${app.story.library.max-variants-per-key:10}")
+    private int maxVariantsPerKey;
+
+    /**
+     * Requests for a combination before its variants are generated in the background
+     */
+    @Value("${app.story.library.popular-threshold:3}")
+    private int popularThreshold;
+
+    /**
+     * Maximum number of stories generated by one background refill run
+     */
+    @Value("${app.story.library.refill-batch-size:4}")
+    private int refillBatchSize;
+
+    /**
+     * Maximum number of parameter combinations tracked
+     */
+    @Value("${app.story.library.max-keys:10000}")
+    private int maxKeys;
+
+    /**
+     * Maximum number of remembered (user, combination) pairs with the variants already served
+     */
+    @Value("${app.story.library.max-rotations:10000}")
+    private int maxRotations;
+
+    private final Map<LibraryKey, Shelf> shelves = new ConcurrentHashMap<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * "userId|combination" -> indexes of the variants that user has had; guarded by itself
+     */
+    private Map<String, BitSet> served;
+
+    @PostConstruct
+    public void init() {
+        int capacity = maxRotations;
+        this.served = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Load the persisted library
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<StoryLibraryVariant> variants = variantRepository.findAll();
+        for (StoryLibraryVariant variant : variants) {
+            StoryRequest request = new StoryRequest(variant.getCharacter(), parseThemes(variant.getThemes()),
+                variant.getAgeGroup(), variant.getStoryLength(), variant.getTwist(), null);
+            shelves.computeIfAbsent(LibraryKey.of(request), key -> new Shelf(request))
+                .variants.add(variant.getGeneratedStory());
+        }
+        log.info("Loaded {} library stories for {} story combinations", variants.size(), shelves.size());
+    }
+
+    /**
+     * Serve a pre-generated story, recording demand for the request's combination
+     * @param request The story request
+     * @param userId The requesting user, who is never served the same variant twice
+     * @return A library story, or empty if the request has custom text or the user has had every variant
+     */
+    public Optional<String> serve(StoryRequest request, String userId) {
+        if (!enabled || !isLibraryRequest(request)) {
+            return Optional.empty();
+        }
+        LibraryKey key = LibraryKey.of(request);
+        Shelf shelf = shelf(key, request);
+        if (shelf == null) {
+            return Optional.empty();
+        }
+        shelf.demand.increment();
+
+        List<String> variants = shelf.variants;
+        int variant = nextUnserved(userId + "|" + key, variants.size());
+        return variant < 0 ? Optional.empty() : Optional.of(variants.get(variant));
+    }
+
+    /**
+     * Offer a freshly generated story to the library, so the next request for the same
+     * combination does not need Gemini
+     * @param request The story request the story was generated for
+     * @param userId The user who received the story; it is never served to them again
+     * @param generatedStory The generated story
+     */
+    public void offer(StoryRequest request, String userId, String generatedStory) {
+        if (!enabled || !isLibraryRequest(request)) {
+            return;
+        }
+        LibraryKey key = LibraryKey.of(request);
+        Shelf shelf = shelf(key, request);
+        if (shelf == null) {
+            return;
+        }
+        int variant = addVariant(shelf, generatedStory, maxVariantsPerKey);
+        if (variant >= 0) {
+            markServed(userId + "|" + key, variant);
+        }
+    }
+
+    /**
+     * Generate missing variants of the most requested combinations
+     * Runs in the background on the AI executor; at most one refill runs at a time
+     */
+    @Scheduled(fixedDelayString = "${app.story.library.refill-interval-ms:300000}")
+    public void refill() {
+        if (!enabled || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<Shelf> work = new ArrayList<>();
+        shelves.values().stream()
+            .filter(shelf -> shelf.demand.sum() >= popularThreshold && shelf.variants.size() < variantsPerKey)
+            .sorted(Comparator.comparingLong((Shelf shelf) -> shelf.demand.sum()).reversed())
+            .forEach(shelf -> {
+                for (int i = shelf.variants.size(); i < variantsPerKey && work.size() < refillBatchSize; i++) {
+                    work.add(shelf);
+                }
+            });
+        if (work.isEmpty()) {
+            refilling.set(false);
+            return;
+        }
+
+        CompletableFuture<?>[] tasks = work.stream()
+            .map(shelf -> CompletableFuture.runAsync(() -> addVariant(shelf,
+                geminiService.sendStoryPrompt(StoryService.buildStoryPrompt(shelf.template)), variantsPerKey), aiTaskExecutor))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).whenComplete((result, error) -> {
+            refilling.set(false);
+            if (error != null) {
+                log.warn("Story library refill failed: {}", error.getMessage());
+            } else {
+                log.info("Story library refill generated {} stories", tasks.length);
+            }
+        });
+    }
+
+    /**
+     * Whether a request is fully described by its parameters, so a shared story fits it
+     */
+    static boolean isLibraryRequest(StoryRequest request) {
+        return (request.custom() == null || request.custom().isBlank())
+            && request.character() != null && !request.character().isBlank()
+            && request.theme() != null && !request.theme().isEmpty()
+            && request.ageGroup() != null
+            && request.storyLength() != null;
+    }
+
+    private Shelf shelf(LibraryKey key, StoryRequest request) {
+        Shelf shelf = shelves.get(key);
+        if (shelf == null && shelves.size() < maxKeys) {
+            shelf = shelves.computeIfAbsent(key, k -> new Shelf(request));
+        }
+        return shelf;
+    }
+
+    /**
+     * Add a story to a combination's variants
+     * @param limit Number of variants the combination may hold, including this one
+     * @return Index of the new variant, or -1 if the story was not added
+     */
+    private int addVariant(Shelf shelf, String generatedStory, int limit) {
+        if (generatedStory == null || generatedStory.isBlank() || generatedStory.startsWith("Error:")) {
+            return -1;
+        }
+        int variant;
+        synchronized (shelf) {
+            if (shelf.variants.size() >= limit || shelf.variants.contains(generatedStory)) {
+                return -1;
+            }
+            variant = shelf.variants.size();
+            shelf.variants.add(generatedStory);
+        }
+
+        StoryRequest template = shelf.template;
+        try {
+            variantRepository.save(StoryLibraryVariant.builder()
+                .character(template.character().trim())
+                .themes(LibraryKey.of(template).themes().stream().map(Enum::name).collect(Collectors.joining(",")))
+                .ageGroup(template.ageGroup())
+                .storyLength(template.storyLength())
+                .twist(template.twist())
+                .generatedStory(generatedStory)
+                .build());
+        } catch (Exception e) {
+            // The variant is still served from memory; it is only lost on restart
+            log.warn("Failed to persist library story: {}", e.getMessage());
+        }
+        return variant;
+    }
+
+    /**
+     * Pick the first variant a user has not had and remember it as served
+     * @param servedKey "userId|combination"
+     * @param variantCount Number of variants of the combination
+     * @return Index of the variant, or -1 if the user has had all of them
+     */
+    private int nextUnserved(String servedKey, int variantCount) {
+        synchronized (served) {
+            BitSet seen = served.computeIfAbsent(servedKey, k -> new BitSet());
+            int variant = seen.nextClearBit(0);
+            if (variant >= variantCount) {
+                return -1;
+            }
+            seen.set(variant);
+            return variant;
+        }
+    }
+
+    private void markServed(String servedKey, int variant) {
+        synchronized (served) {
+            served.computeIfAbsent(servedKey, k -> new BitSet()).set(variant);
+        }
+    }
+
+    private static List<Theme> parseThemes(String themes) {
+        return Arrays.stream(themes.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .map(Theme::valueOf)
+            .toList();
+    }
+
+    /**
+     * Parameters identifying one library combination; character case, whitespace and
+     * theme order do not matter
+     */
+    record LibraryKey(String character, List<Theme> themes, AgeGroup ageGroup, StoryLength storyLength, Twist twist) {
+
+        static LibraryKey of(StoryRequest request) {
+            String character = request.character().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            List<Theme> themes = request.theme().stream().distinct().sorted().toList();
+            return new LibraryKey(character, themes, request.ageGroup(), request.storyLength(), request.twist());
+        }
+    }
+
+    /**
+     * Variants and demand of one combination
+     */
+    private static final class Shelf {
+        private final StoryRequest template;
+        private final List<String> variants = new CopyOnWriteArrayList<>();
+        private final LongAdder demand = new LongAdder();
+
+        private Shelf(StoryRequest template) {
+            this.template = template;
+        }
+    }
+}
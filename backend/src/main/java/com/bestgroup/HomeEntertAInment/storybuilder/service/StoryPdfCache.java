@@ -0,0 +1,261 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bestgroup.HomeEntertAInment.service.DelayedFileDeleter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded local disk cache of exported story PDFs
+ * PDFs are keyed by a hash of everything that determines their bytes (markdown, cover image URL and
+ * renderer version), so re-exporting an unchanged story is served from disk without rendering.
+ * Least recently used PDFs are evicted once the cache exceeds its size limit; their files are deleted
+ * after a delay, since a response being sent with sendfile may still need them.
+ */
+@Component
+@Slf4j
+public class StoryPdfCache {
+
+    private static final String PDF_SUFFIX = ".pdf";
+
+    @Value("${app.story.pdf.cache.directory:${java.io.tmpdir}/home-entertainment-pdf-cache}")
+    private String directory;
+
+    /**
+     * Total size of cached PDFs before least recently used ones are evicted
+     */
+    @Value("${app.story.pdf.cache.max-bytes:209715200}")
+    private long maxBytes;
+
+    /**
+     * How long an evicted PDF stays on disk, so responses already handed to sendfile can finish
+     */
+    @Value("${app.story.pdf.cache.delete-delay-seconds:60}")
+    private long deleteDelaySeconds = 60;
+
+    private Path pdfDirectory;
+    private DelayedFileDeleter evictedPdfs;
+
+    /**
+     * Key -> size in bytes, in access order (eldest first); guarded by itself
+     */
+    private final LinkedHashMap<String, Long> pdfs = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<CachedPdf>> renders = new ConcurrentHashMap<>();
+
+    /**
+     * Load the cache index from disk; file modification times approximate the LRU order
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        this.pdfDirectory = Files.createDirectories(Paths.get(directory));
+        this.evictedPdfs = new DelayedFileDeleter(Duration.ofSeconds(deleteDelaySeconds));
+        try (Stream<Path> files = Files.list(pdfDirectory)) {
+            List<Path> sorted = files
+                    .filter(file -> file.getFileName().toString().endsWith(PDF_SUFFIX))
+                    .sorted(Comparator.comparing(StoryPdfCache::lastModified))
+                    .toList();
+            synchronized (pdfs) {
+                for (Path pdf : sorted) {
+                    String name = pdf.getFileName().toString();
+                    long size = Files.size(pdf);
+                    pdfs.put(name.substring(0, name.length() - PDF_SUFFIX.length()), size);
+                    totalBytes += size;
+                }
+            }
+        }
+        log.info("PDF cache at {} holds {} PDFs ({} bytes)", pdfDirectory, pdfs.size(), totalBytes);
+    }
+
+    /**
+     * Cache key of an export
+     * @param markdownContent The story markdown
+     * @param coverImageUrl The cover image URL, may be null
+     * @param rendererVersion Version of the renderer output; bumping it invalidates earlier exports
+     * @return Hex SHA-256 over all inputs
+     */
+    public static String key(String markdownContent, String coverImageUrl, String rendererVersion) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            // NUL separators keep the fields from running into each other
+            sha256.update(rendererVersion.getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) 0);
+            sha256.update((coverImageUrl == null ? "" : coverImageUrl.trim()).getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) 0);
+            sha256.update(markdownContent.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get a cached PDF, rendering and caching it on a miss
+     * Concurrent misses for the same key share one render
+     * @param key The cache key, from {@link #key}
+     * @param renderer Writes the PDF; only called on a miss
+     * @return The cached PDF
+     * @throws IOException if the PDF cannot be rendered or written
+     */
+    public CachedPdf getOrRender(String key, PdfWriter renderer) throws IOException {
+        Optional<CachedPdf> cached = lookup(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<CachedPdf> render = new CompletableFuture<>();
+        CompletableFuture<CachedPdf> existing = renders.putIfAbsent(key, render);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new IOException("Failed to render PDF", e.getCause());
+            }
+        }
+        try {
+            Optional<CachedPdf> raced = lookup(key);
+            CachedPdf pdf = raced.isPresent() ? raced.get() : render(key, renderer);
+            render.complete(pdf);
+            return pdf;
+        } catch (IOException | RuntimeException e) {
+            render.completeExceptionally(e);
+            throw e;
+        } finally {
+            renders.remove(key, render);
+        }
+    }
+
+    /**
+     * Delete the files of evicted PDFs once no response can still be sending them
+     */
+    @Scheduled(fixedDelayString = "${app.story.pdf.cache.sweep-interval-ms:30000}")
+    public void deleteEvicted() {
+        synchronized (pdfs) {
+            evictedPdfs.deleteDue();
+        }
+    }
+
+    /**
+     * Total size of the cached PDFs
+     * @return Size in bytes
+     */
+    public long getTotalBytes() {
+        synchronized (pdfs) {
+            return totalBytes;
+        }
+    }
+
+    private Optional<CachedPdf> lookup(String key) {
+        Long size;
+        synchronized (pdfs) {
+            size = pdfs.get(key);
+        }
+        if (size == null) {
+            return Optional.empty();
+        }
+        Path pdf = pdfFile(key);
+        try {
+            // Persist the access, so the LRU order survives a restart
+            Files.setLastModifiedTime(pdf, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Evicted concurrently
+            return Optional.empty();
+        }
+        return Optional.of(new CachedPdf(pdf, key, size));
+    }
+
+    private CachedPdf render(String key, PdfWriter renderer) throws IOException {
+        Path temp = Files.createTempFile(pdfDirectory, "render-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                renderer.write(out);
+            }
+            long size = Files.size(temp);
+            synchronized (pdfs) {
+                evictedPdfs.cancel(pdfFile(key));
+                Files.move(temp, pdfFile(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                pdfs.put(key, size);
+                totalBytes += size;
+                evictIfNeeded(key);
+            }
+            log.debug("Cached PDF {} ({} bytes)", key, size);
+            return new CachedPdf(pdfFile(key), key, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Evict least recently used PDFs until the cache fits its size limit, keeping the one just written
+     * Must be called holding the pdfs lock
+     */
+    private void evictIfNeeded(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = pdfs.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            evictedPdfs.deleteLater(pdfFile(entry.getKey()));
+        }
+    }
+
+    private Path pdfFile(String key) {
+        return pdfDirectory.resolve(key + PDF_SUFFIX);
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Writes a PDF to a stream
+     */
+    @FunctionalInterface
+    public interface PdfWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * A PDF stored on local disk
+     * @param file The PDF file
+     * @param key The cache key
+     * @param size The PDF size in bytes
+     */
+    public record CachedPdf(Path file, String key, long size) {
+    }
+}
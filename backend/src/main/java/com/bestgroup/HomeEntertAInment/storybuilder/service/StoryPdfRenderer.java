@@ -0,0 +1,117 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders story markdown to PDF in-process (markdown to XHTML with flexmark, XHTML to PDF with openhtmltopdf)
+ * The cover image is taken from the local image cache, so it is downloaded at most once and embedded
+ * from disk. Raw HTML in the markdown is escaped and no other resources are loaded while rendering,
+ * so story text cannot make the server fetch files or URLs.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StoryPdfRenderer {
+
+    /**
+     * Version of the rendered output, part of the PDF cache key; bump it whenever the layout changes
+     */
+    public static final String VERSION = "1";
+
+    private static final String STYLESHEET = """
+            @page { size: A4; margin: 2cm; }
+            body { font-family: serif; font-size: 12pt; line-height: 1.5; color: #222; }
+            h1, h2, h3 { font-family: sans-serif; color: #333; }
+            h1 { font-size: 22pt; text-align: center; }
+            h2 { font-size: 16pt; margin-top: 1.2em; }
+            .cover { text-align: center; margin-bottom: 1cm; }
+            .cover img { max-width: 100%; max-height: 14cm; }
+            """;
+
+    private final ImageDiskCache imageDiskCache;
+
+    private final MutableDataSet markdownOptions = new MutableDataSet()
+            .set(HtmlRenderer.ESCAPE_HTML, true);
+    private final Parser parser = Parser.builder(markdownOptions).build();
+    private final HtmlRenderer htmlRenderer = HtmlRenderer.builder(markdownOptions).build();
+
+    /**
+     * Render a story to PDF
+     * @param markdownContent The story markdown
+     * @param coverImageUrl Optional cover image URL; skipped if it is not an allowed image host or cannot be fetched
+     * @param out The stream the PDF is written to; not closed
+     * @throws IOException if the PDF cannot be written
+     */
+    public void render(String markdownContent, String coverImageUrl, OutputStream out) throws IOException {
+        renderWithCover(markdownContent, resolveCover(coverImageUrl).orElse(null), out);
+    }
+
+    /**
+     * Render a story to PDF with a cover already taken from the image cache
+     * @param markdownContent The story markdown
+     * @param cover The cover image, or null for none
+     * @param out The stream the PDF is written to; not closed
+     * @throws IOException if the PDF cannot be written
+     */
+    public void renderWithCover(String markdownContent, ImageDiskCache.CachedImage cover, OutputStream out) throws IOException {
+        String coverUri = cover == null ? null : cover.file().toUri().toString();
+        String html = toXhtml(markdownContent, coverUri);
+
+        PdfRendererBuilder builder = new PdfRendererBuilder();
+        builder.useFastMode();
+        builder.withHtmlContent(html, null);
+        // Only the cached cover file may be loaded; any other image or link in the story is ignored
+        builder.useUriResolver((baseUri, uri) -> uri != null && uri.equals(coverUri) ? uri : null);
+        builder.toStream(out);
+        builder.run();
+    }
+
+    /**
+     * Convert story markdown to a standalone XHTML document, as openhtmltopdf requires well-formed XML
+     */
+    String toXhtml(String markdownContent, String coverUri) {
+        String body = htmlRenderer.render(parser.parse(markdownContent));
+        StringBuilder html = new StringBuilder(body.length() + 512)
+                .append("<!DOCTYPE html>\n<html xmlns=\"http://www.w3.org/1999/xhtml\"><head>")
+                .append("<meta charset=\"UTF-8\" /><title>Story</title><style>")
+                .append(STYLESHEET)
+                .append("</style></head><body>");
+        if (coverUri != null) {
+            html.append("<div class=\"cover\"><img src=\"").append(escapeAttribute(coverUri)).append("\" alt=\"Cover\" /></div>");
+        }
+        return html.append(body).append("</body></html>").toString();
+    }
+
+    /**
+     * Get a cover image from the local image cache, downloading it if needed
+     * @param coverImageUrl The cover image URL, may be null
+     * @return The cover, or empty if there is none, its host is not allowed or it cannot be fetched
+     */
+    public Optional<ImageDiskCache.CachedImage> resolveCover(String coverImageUrl) {
+        if (coverImageUrl == null || coverImageUrl.isBlank() || !imageDiskCache.isAllowed(coverImageUrl)) {
+            return Optional.empty();
+        }
+        Optional<ImageDiskCache.CachedImage> cover = imageDiskCache.get(coverImageUrl);
+        if (cover.isEmpty()) {
+            log.warn("Cover image could not be fetched, rendering PDF without it");
+        }
+        return cover;
+    }
+
+    private static String escapeAttribute(String value) {
+        return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;");
+    }
+}
@@ -2,13 +2,19 @@ package com.bestgroup.HomeEntertAInment.storybuilder.service;
 
 import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
 import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
 import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.*;
 import com.bestgroup.HomeEntertAInment.storybuilder.model.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -16,15 +22,55 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StoryService {
 
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+
     private final GeminiStoryService geminiService;
     private final ImageService imageService;
     private final StoryRepository storyRepository;
     private final ClerkUserExtractor clerkUserExtractor;
+    private final StoryLibraryService storyLibraryService;
+    private final ImageDiskCache imageDiskCache;
+    private final StoryChapterService storyChapterService;
+
+    /**
+     * Pin every story cover in the image cache, so covers stay served locally
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void pinCoverImages() {
+        storyRepository.findDistinctCoverImageUrls().forEach(imageDiskCache::pin);
+    }
 
     public StoryResponse generateStory(StoryRequest request, Authentication authentication) {
         // Extract user ID from Clerk authentication
         String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
 
+        // Requests without custom text are usually answered from the pre-generated library
+        String generatedStory = storyLibraryService.serve(request, userId).orElse(null);
+        if (generatedStory == null) {
+            generatedStory = geminiService.sendStoryPrompt(buildStoryPrompt(request));
+            storyLibraryService.offer(request, userId, generatedStory);
+        }
+
+        Story story = Story.builder()
+            .character(request.character())
+            .ageGroup(request.ageGroup())
+            .storyLength(request.storyLength())
+            .theme(request.theme())
+            .twist(request.twist())
+            .custom(request.custom())
+            .generatedStory(generatedStory)
+            .userId(userId)
+            .build();
+
+        storyRepository.save(story);
+
+        return new StoryResponse(generatedStory);
+    }
+
+    /**
+     * Build the Gemini prompt for a story request
+     */
+    static String buildStoryPrompt(StoryRequest request) {
         String themes = request.theme().stream()
             .map(Enum::name)
             .collect(Collectors.joining(", "));
@@ -58,7 +104,6 @@ public class StoryService {
             request.storyLength()
         ));
 
-
         if (request.twist() != null) {
             promptBuilder.append("Twist: ").append(request.twist()).append("\n");
         }
@@ -67,22 +112,7 @@ public class StoryService {
             promptBuilder.append("Extra details: ").append(request.custom()).append("\n");
         }
 
-        String generatedStory = geminiService.sendStoryPrompt(promptBuilder.toString());
-
-        Story story = Story.builder()
-            .character(request.character())
-            .ageGroup(request.ageGroup())
-            .storyLength(request.storyLength())
-            .theme(request.theme())
-            .twist(request.twist())
-            .custom(request.custom())
-            .generatedStory(generatedStory)
-            .userId(userId)
-            .build();
-
-        storyRepository.save(story);
-
-        return new StoryResponse(generatedStory);
+        return promptBuilder.toString();
     }
 
     public ImageResponse generateImage(ImageRequest imageRequest) {
@@ -105,6 +135,55 @@ public class StoryService {
         return storyDtos;
     }
 
+    /**
+     * Get one page of the current user's story list, newest first, without story content
+     * Pages are addressed by a cursor (the last story's creation time and ID) rather than an offset,
+     * so every page costs the same index range scan however far into the list it is
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param size Page size (capped at 100)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public StorySummaryPageDto getStorySummaries(Authentication authentication, String cursor, int size) {
+        String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
+        int pageSize = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+
+        // One extra row tells whether there is a next page
+        Limit limit = Limit.of(pageSize + 1);
+        List<StorySummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = storyRepository.findSummariesByUserId(userId, limit);
+        } else {
+            SummaryCursor after = SummaryCursor.decode(cursor);
+            rows = storyRepository.findSummariesByUserIdAfter(userId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<StorySummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<UUID, List<String>> themes = new HashMap<>();
+        if (!page.isEmpty()) {
+            List<UUID> ids = page.stream().map(StorySummary::id).toList();
+            for (Object[] row : storyRepository.findThemesByStoryIds(ids)) {
+                themes.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add(((Theme) row[1]).name());
+            }
+        }
+
+        List<StorySummaryDto> stories = page.stream()
+            .map(summary -> new StorySummaryDto(
+                summary.id(),
+                summary.title(),
+                themes.getOrDefault(summary.id(), List.of()),
+                summary.coverImageUrl(),
+                summary.createdAt(),
+                summary.wordCount()
+            ))
+            .toList();
+
+        StorySummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore ? new SummaryCursor(last.createdAt(), last.id()).encode() : null;
+        return new StorySummaryPageDto(stories, nextCursor);
+    }
+
     /**
      * Get a specific story by ID for the current user
      */
@@ -121,7 +200,18 @@ public class StoryService {
         String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
 
         // Generate the story content using Gemini
-        String promptBuilder = """
+        String generatedStory = geminiService.sendStoryPrompt(buildCreateStoryPrompt(request));
+
+        Story savedStory = storyRepository.save(buildCreatedStory(request, userId, generatedStory));
+        imageDiskCache.pin(savedStory.getCoverImageUrl());
+        return convertToDto(savedStory);
+    }
+
+    /**
+     * Build the Gemini prompt for a story created from the story list
+     */
+    static String buildCreateStoryPrompt(CreateStoryRequest request) {
+        return """
             You are an assistant that generates children's stories in Markdown format.
             
             Requirements:
@@ -146,13 +236,16 @@ public class StoryService {
             request.tone(),
             request.twist()
         );
+    }
 
-        String generatedStory = geminiService.sendStoryPrompt(promptBuilder);
-
+    /**
+     * Build the (unsaved) story entity for a created story
+     */
+    Story buildCreatedStory(CreateStoryRequest request, String userId, String generatedStory) {
         // Parse theme string back to enum list for storage
         List<Theme> themeList = parseThemeString(request.theme());
 
-        Story story = Story.builder()
+        return Story.builder()
             .character(request.hero())
             .ageGroup(AgeGroup.AGE_7_8) // Default age group
             .storyLength(StoryLength.MEDIUM) // Default story length
@@ -163,9 +256,6 @@ public class StoryService {
             .userId(userId)
             .coverImageUrl(request.coverImageUrl())
             .build();
-
-        Story savedStory = storyRepository.save(story);
-        return convertToDto(savedStory);
     }
 
     /**
@@ -192,6 +282,10 @@ public class StoryService {
                     .build();
 
                 Story savedStory = storyRepository.save(updatedStory);
+                imageDiskCache.pin(savedStory.getCoverImageUrl());
+                if (!Objects.equals(existingStory.getCoverImageUrl(), savedStory.getCoverImageUrl())) {
+                    releaseCover(existingStory.getCoverImageUrl());
+                }
                 return convertToDto(savedStory);
             });
     }
@@ -203,11 +297,23 @@ public class StoryService {
     public boolean deleteStory(UUID id, Authentication authentication) {
         String userId = clerkUserExtractor.extractClerkUserIdRequired(authentication);
 
-        if (storyRepository.existsByIdAndUserId(id, userId)) {
-            storyRepository.deleteByIdAndUserId(id, userId);
-            return true;
+        Optional<Story> story = storyRepository.findByIdAndUserId(id, userId);
+        if (story.isEmpty()) {
+            return false;
+        }
+        storyChapterService.deleteChapters(id);
+        storyRepository.deleteByIdAndUserId(id, userId);
+        releaseCover(story.get().getCoverImageUrl());
+        return true;
+    }
+
+    /**
+     * Let the image cache evict a cover once no story uses it anymore
+     */
+    private void releaseCover(String coverImageUrl) {
+        if (coverImageUrl != null && !storyRepository.existsByCoverImageUrl(coverImageUrl)) {
+            imageDiskCache.unpin(coverImageUrl);
         }
-        return false;
     }
 
     /**
@@ -233,10 +339,32 @@ public class StoryService {
         );
     }
 
+    /**
+     * Position in a user's story list: the creation time and ID of the last story on a page
+     */
+    record SummaryCursor(LocalDateTime createdAt, UUID id) {
+
+        String encode() {
+            String value = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SummaryCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                return new SummaryCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+
     /**
      * Maps story length enum to word count target for AI prompt
      */
-    private String getWordCountTarget(StoryLength storyLength) {
+    private static String getWordCountTarget(StoryLength storyLength) {
         return switch (storyLength) {
             case SHORT -> "approximately 500 words";
             case MEDIUM -> "approximately 1000 words";
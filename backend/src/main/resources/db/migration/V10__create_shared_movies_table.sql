@@ -0,0 +1,71 @@
+-- Movie metadata shared by all lists, instead of a full copy per list item
+-- Sequences allocate 50 ids per call (Hibernate pooled optimizer), so inserts can be JDBC-batched
+CREATE SEQUENCE IF NOT EXISTS movies_seq INCREMENT BY 50;
+
+CREATE TABLE movies (
+    id BIGINT PRIMARY KEY,
+    movie_key VARCHAR(512) NOT NULL UNIQUE, -- Movie.key: lower-case IMDb ID, or lower-case title|year
+    title VARCHAR(255) NOT NULL,
+    year INTEGER,
+    imdb_id VARCHAR(255),
+    rating DECIMAL(3,1),
+    age_rating VARCHAR(255),
+    duration INTEGER,
+    director VARCHAR(255),
+    genres TEXT, -- JSON string
+    movie_cast TEXT, -- JSON string
+    description TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill from the list items, keeping the most recently saved metadata of each movie
+ALTER TABLE movie_list_items ADD COLUMN movie_key VARCHAR(512);
+UPDATE movie_list_items
+SET movie_key = CASE
+    WHEN coalesce(trim(imdb_id), '') <> '' THEN lower(trim(imdb_id))
+    ELSE lower(regexp_replace(trim(title), '\s+', ' ', 'g')) || '|' || coalesce(year::text, '')
+END;
+
+INSERT INTO movies (id, movie_key, title, year, imdb_id, rating, age_rating, duration, director, genres, movie_cast, description, created_at)
+SELECT row_number() OVER (ORDER BY latest.id), latest.movie_key, latest.title, latest.year, latest.imdb_id, latest.rating,
+       latest.age_rating, latest.duration, latest.director, latest.genres, latest.movie_cast, latest.description, latest.created_at
+FROM (SELECT DISTINCT ON (movie_key) *
+      FROM movie_list_items
+      ORDER BY movie_key, id DESC) AS latest;
+
+SELECT setval('movies_seq', (SELECT coalesce(max(id), 0) FROM movies) + 50, false);
+
+-- List items reference the shared movie and keep only what belongs to the list
+ALTER TABLE movie_list_items ADD COLUMN movie_id BIGINT REFERENCES movies(id);
+ALTER TABLE movie_list_items ADD COLUMN position INTEGER;
+
+UPDATE movie_list_items AS item
+SET movie_id = movie.id
+FROM movies AS movie
+WHERE movie.movie_key = item.movie_key;
+
+UPDATE movie_list_items AS item
+SET position = ordered.position
+FROM (SELECT id, row_number() OVER (PARTITION BY movie_list_id ORDER BY id) - 1 AS position
+      FROM movie_list_items) AS ordered
+WHERE ordered.id = item.id;
+
+ALTER TABLE movie_list_items ALTER COLUMN movie_id SET NOT NULL;
+ALTER TABLE movie_list_items
+    DROP COLUMN movie_key,
+    DROP COLUMN title,
+    DROP COLUMN year,
+    DROP COLUMN imdb_id,
+    DROP COLUMN rating,
+    DROP COLUMN age_rating,
+    DROP COLUMN duration,
+    DROP COLUMN director,
+    DROP COLUMN genres,
+    DROP COLUMN movie_cast,
+    DROP COLUMN description;
+
+CREATE SEQUENCE IF NOT EXISTS movie_list_items_seq INCREMENT BY 50;
+SELECT setval('movie_list_items_seq', (SELECT coalesce(max(id), 0) FROM movie_list_items) + 50, false);
+ALTER TABLE movie_list_items ALTER COLUMN id DROP DEFAULT;
+
+CREATE INDEX idx_movie_list_items_movie_id ON movie_list_items(movie_id);
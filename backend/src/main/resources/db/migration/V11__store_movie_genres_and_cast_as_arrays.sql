@@ -0,0 +1,19 @@
+-- Genres and cast as native arrays instead of JSON strings, so they are read without parsing
+-- and genres can be searched through a GIN index (genres @> ARRAY['Comedy'])
+-- VARCHAR[] matches the element type Hibernate binds, so @> compares without casts
+ALTER TABLE movies ADD COLUMN genres_array VARCHAR(255)[];
+ALTER TABLE movies ADD COLUMN cast_array VARCHAR(255)[];
+
+UPDATE movies
+SET genres_array = ARRAY(SELECT jsonb_array_elements_text(genres::jsonb))
+WHERE left(trim(genres), 1) = '[';
+
+UPDATE movies
+SET cast_array = ARRAY(SELECT jsonb_array_elements_text(movie_cast::jsonb))
+WHERE left(trim(movie_cast), 1) = '[';
+
+ALTER TABLE movies DROP COLUMN genres, DROP COLUMN movie_cast;
+ALTER TABLE movies RENAME COLUMN genres_array TO genres;
+ALTER TABLE movies RENAME COLUMN cast_array TO movie_cast;
+
+CREATE INDEX idx_movies_genres ON movies USING GIN (genres);
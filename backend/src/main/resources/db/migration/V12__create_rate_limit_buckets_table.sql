@@ -0,0 +1,8 @@
+-- Token buckets for per-user AI endpoint rate limits, used when app.rate-limit.store is postgres
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(512) PRIMARY KEY, -- endpoint class and Clerk user ID, e.g. movies:user_2abc
+    tokens DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_updated_at ON rate_limit_buckets (updated_at);
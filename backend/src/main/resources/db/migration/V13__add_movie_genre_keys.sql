@@ -0,0 +1,14 @@
+-- Lower-cased, trimmed copy of genres, so genre lookups ignore case while genres keep their spelling
+-- Must match Movie.genreKey
+ALTER TABLE movies ADD COLUMN genre_keys VARCHAR(255)[];
+
+UPDATE movies
+SET genre_keys = ARRAY(
+    SELECT DISTINCT lower(trim(genre))
+    FROM unnest(genres) AS genre
+    WHERE genre IS NOT NULL AND trim(genre) <> ''
+)::VARCHAR(255)[]
+WHERE genres IS NOT NULL;
+
+DROP INDEX IF EXISTS idx_movies_genres;
+CREATE INDEX idx_movies_genre_keys ON movies USING GIN (genre_keys);
@@ -0,0 +1,6 @@
+-- Create quiz_stat_counters table (incrementally maintained quiz statistics)
+CREATE TABLE quiz_stat_counters (
+    stat_key VARCHAR(512) PRIMARY KEY,
+    stat_value BIGINT NOT NULL,
+    updated_at TIMESTAMP
+);
@@ -0,0 +1,11 @@
+-- Denormalized search text for quizzes (title, description and topics)
+ALTER TABLE quizzes ADD COLUMN IF NOT EXISTS search_text TEXT;
+
+UPDATE quizzes q
+SET search_text = trim(concat_ws(' ', q.title, q.description,
+    (SELECT string_agg(t.topic_name, ' ') FROM quiz_topics t WHERE t.quiz_id = q.id)))
+WHERE q.search_text IS NULL;
+
+-- GIN full-text index; the expression must match QuizRepository.searchPublicIds
+CREATE INDEX IF NOT EXISTS idx_quizzes_search_text
+    ON quizzes USING GIN (to_tsvector('simple', coalesce(search_text, '')));
@@ -0,0 +1,10 @@
+-- Create quiz_leaderboard_entries table (snapshot of the in-memory quiz leaderboards)
+CREATE TABLE quiz_leaderboard_entries (
+    quiz_id UUID NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    player_name VARCHAR(255) NOT NULL,
+    score INTEGER NOT NULL,
+    achieved_at TIMESTAMP NOT NULL,
+    -- quiz_id leads the key, so rebuilding or deleting one quiz's board uses the primary key index
+    PRIMARY KEY (quiz_id, user_id)
+);
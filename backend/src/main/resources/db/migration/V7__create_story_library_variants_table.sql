@@ -0,0 +1,11 @@
+-- Create story_library_variants table (pre-generated stories for common enum-only requests)
+CREATE TABLE story_library_variants (
+    id UUID PRIMARY KEY,
+    character VARCHAR(50) NOT NULL,
+    themes VARCHAR(255) NOT NULL,
+    age_group VARCHAR(32) NOT NULL,
+    story_length VARCHAR(32) NOT NULL,
+    twist VARCHAR(64),
+    generated_story TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
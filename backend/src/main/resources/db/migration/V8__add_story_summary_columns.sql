@@ -0,0 +1,14 @@
+-- Title and word count derived from the story content, so story lists need not read generated_story
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS title VARCHAR(255);
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS word_count INTEGER;
+
+-- Backfill; must match Story.parseTitle and Story.countWords
+UPDATE stories
+SET title = left(trim(substring(generated_story FROM '(?n)^\s*# +(.+)$')), 255),
+    word_count = (SELECT count(*) FROM regexp_split_to_table(coalesce(generated_story, ''), '\s+') AS word
+                  WHERE word ~ '[[:alnum:]]')
+WHERE word_count IS NULL;
+
+-- Keyset pagination of a user's stories, newest first (StoryRepository.findSummariesByUserIdAfter)
+CREATE INDEX IF NOT EXISTS idx_stories_user_created
+    ON stories (user_id, created_at DESC, id DESC);
@@ -0,0 +1,20 @@
+-- Chapters continuing a saved story, one row each
+CREATE TABLE story_chapters (
+    id UUID PRIMARY KEY,
+    story_id UUID NOT NULL REFERENCES stories(id) ON DELETE CASCADE,
+    chapter_number INTEGER NOT NULL,
+    content TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_story_chapters_story_number UNIQUE (story_id, chapter_number)
+);
+
+-- Compact context used to write the next chapter (running summary, character sheet, last passage)
+CREATE TABLE story_contexts (
+    story_id UUID PRIMARY KEY REFERENCES stories(id) ON DELETE CASCADE,
+    summary TEXT NOT NULL,
+    character_sheet TEXT NOT NULL,
+    last_passage TEXT NOT NULL,
+    chapter_count INTEGER NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,151 @@
+package com.bestgroup.HomeEntertAInment.controller;
+
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.bestgroup.HomeEntertAInment.service.ImageThumbnailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageProxyControllerTest {
+
+    private static final String URL = "https://im.runware.ai/image/cover.png";
+
+    @Mock
+    private ImageDiskCache imageDiskCache;
+
+    @Mock
+    private ImageThumbnailService imageThumbnailService;
+
+    @TempDir
+    Path directory;
+
+    private ImageProxyController controller;
+    private ImageDiskCache.CachedImage image;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        controller = new ImageProxyController(imageDiskCache, imageThumbnailService);
+        ReflectionTestUtils.setField(controller, "maxAgeSeconds", 60L);
+        Path file = Files.writeString(directory.resolve("blob"), "0123456789", StandardCharsets.US_ASCII);
+        image = new ImageDiskCache.CachedImage(file, "abc123", "image/png", 10);
+        lenient().when(imageDiskCache.isAllowed(URL)).thenReturn(true);
+        lenient().when(imageDiskCache.get(URL)).thenReturn(Optional.of(image));
+    }
+
+    @Test
+    void getImage_ShouldServeWholeImageWithEtag() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        controller.getImage(URL, new MockHttpServletRequest("GET", "/api/proxy/image"), response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("\"abc123\"", response.getHeader("ETag"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void getImage_ShouldServeRequestedRange() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/proxy/image");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        controller.getImage(URL, request, response);
+
+        // Assert
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void getImage_ShouldAnswerNotModifiedForMatchingEtag() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/proxy/image");
+        request.addHeader("If-None-Match", "\"abc123\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        controller.getImage(URL, request, response);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getImage_ShouldHandOffToSendfileWhenSupported() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/proxy/image");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        controller.getImage(URL, request, response);
+
+        // Assert
+        assertEquals(206, response.getStatus());
+        assertEquals(7L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getThumbnail_ShouldServeRenderedThumbnail() throws Exception {
+        // Arrange
+        ImageDiskCache.CachedImage thumbnail = new ImageDiskCache.CachedImage(image.file(), "thumb1", "image/jpeg", 10);
+        when(imageThumbnailService.getThumbnail(URL, 100)).thenReturn(Optional.of(thumbnail));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        controller.getThumbnail(URL, 100, new MockHttpServletRequest("GET", "/api/proxy/image/thumbnail"), response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("\"thumb1\"", response.getHeader("ETag"));
+        assertEquals("image/jpeg", response.getContentType());
+    }
+
+    @Test
+    void getThumbnail_ShouldRejectDisallowedUrl() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        controller.getThumbnail("http://localhost/internal.png", 100, new MockHttpServletRequest(), response);
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        verifyNoInteractions(imageThumbnailService);
+    }
+
+    @Test
+    void parseRange_ShouldFlagUnsatisfiableAndIgnoreMultipleRanges() {
+        // Act & Assert
+        assertFalse(ImageProxyController.ByteRange.parse("bytes=20-", 10).satisfiable());
+        assertNull(ImageProxyController.ByteRange.parse("bytes=0-1,4-5", 10));
+        assertNull(ImageProxyController.ByteRange.parse("bytes=5-2", 10));
+        assertEquals(9, ImageProxyController.ByteRange.parse("bytes=3-", 10).end());
+    }
+}
@@ -0,0 +1,117 @@
+package com.bestgroup.HomeEntertAInment.quiz.controller;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizLeaderboardService;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizSearchService;
+import com.bestgroup.HomeEntertAInment.quiz.service.QuizService;
+import com.bestgroup.HomeEntertAInment.service.JsonResponseCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(QuizController.class)
+@Import(JsonResponseCache.class)
+class QuizControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private QuizService quizService;
+
+    @MockBean
+    private QuizSearchService quizSearchService;
+
+    @MockBean
+    private QuizLeaderboardService quizLeaderboardService;
+
+    @MockBean
+    private ClerkUserExtractor clerkUserExtractor;
+
+    @Test
+    @WithMockUser
+    void getQuiz_ShouldServeCachedQuizAndHonorETag() throws Exception {
+        // Arrange
+        UUID quizId = UUID.randomUUID();
+        when(quizService.getQuizById(quizId)).thenReturn(Optional.of(createQuiz(quizId, false)));
+
+        // Act
+        MvcResult first = mockMvc.perform(get("/api/quiz/{quizId}", quizId))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        mockMvc.perform(get("/api/quiz/{quizId}", quizId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/quiz/{quizId}", quizId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+            .andExpect(jsonPath("$.title").value("Space Quiz"));
+
+        verify(quizService, times(1)).getQuizById(quizId);
+    }
+
+    @Test
+    @WithMockUser
+    void getQuiz_ShouldKeepPrivateQuizOutOfSharedCaches() throws Exception {
+        // Arrange
+        UUID quizId = UUID.randomUUID();
+        when(quizService.getQuizById(quizId)).thenReturn(Optional.of(createQuiz(quizId, true)));
+
+        // Act
+        MvcResult first = mockMvc.perform(get("/api/quiz/{quizId}", quizId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        mockMvc.perform(get("/api/quiz/{quizId}", quizId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    void getQuiz_ShouldReturnNotFound_WhenQuizDoesNotExist() throws Exception {
+        // Arrange
+        UUID quizId = UUID.randomUUID();
+        when(quizService.getQuizById(quizId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/quiz/{quizId}", quizId))
+            .andExpect(status().isNotFound());
+    }
+
+    private QuizResponseDto createQuiz(UUID quizId, boolean isPrivate) {
+        return QuizResponseDto.builder()
+            .id(quizId.toString())
+            .title("Space Quiz")
+            .questions(List.of())
+            .ageGroup("teen")
+            .topics(List.of("Space"))
+            .difficulty("easy")
+            .isPrivate(isPrivate)
+            .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryQuizSearchIndexTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @InjectMocks
+    private InMemoryQuizSearchIndex searchIndex;
+
+    private Quiz spaceQuiz;
+    private Quiz planetQuiz;
+    private Quiz historyQuiz;
+
+    @BeforeEach
+    void setUp() {
+        spaceQuiz = createQuiz("Space Explorers", "Journey through the solar system", List.of("Space"), 1);
+        planetQuiz = createQuiz("Planet Facts", "Fun facts about space rocks", List.of("Astronomy"), 2);
+        historyQuiz = createQuiz("Ancient Rome", "Emperors and gladiators", List.of("History"), 3);
+        searchIndex.index(spaceQuiz);
+        searchIndex.index(planetQuiz);
+        searchIndex.index(historyQuiz);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAcrossTitleDescriptionAndTopics() {
+        QuizSearchIndex.SearchHits hits = searchIndex.search(List.of("spa"), 0, 10);
+
+        assertEquals(2, hits.total());
+        assertTrue(hits.ids().containsAll(List.of(spaceQuiz.getId(), planetQuiz.getId())));
+    }
+
+    @Test
+    void search_ShouldRequireAllTerms() {
+        QuizSearchIndex.SearchHits hits = searchIndex.search(List.of("space", "astro"), 0, 10);
+
+        assertEquals(List.of(planetQuiz.getId()), hits.ids());
+    }
+
+    @Test
+    void search_ShouldRankExactMatchesFirstAndPaginate() {
+        QuizSearchIndex.SearchHits firstPage = searchIndex.search(List.of("space"), 0, 1);
+        QuizSearchIndex.SearchHits secondPage = searchIndex.search(List.of("space"), 1, 1);
+
+        assertEquals(2, firstPage.total());
+        assertEquals(1, firstPage.ids().size());
+        assertEquals(1, secondPage.ids().size());
+        assertNotEquals(firstPage.ids(), secondPage.ids());
+    }
+
+    @Test
+    void search_ShouldExcludePrivateQuizzes_AfterReindex() {
+        spaceQuiz.setIsPrivate(true);
+        searchIndex.index(spaceQuiz);
+
+        QuizSearchIndex.SearchHits hits = searchIndex.search(List.of("explorers"), 0, 10);
+
+        assertEquals(0, hits.total());
+    }
+
+    @Test
+    void remove_ShouldDropQuizFromResults() {
+        searchIndex.remove(historyQuiz.getId());
+
+        assertEquals(0, searchIndex.search(List.of("rome"), 0, 10).total());
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseAndSplitOnPunctuation() {
+        assertEquals(List.of("sci", "fi", "quiz", "2024"), QuizSearchIndex.tokenize("Sci-Fi Quiz (2024)!"));
+    }
+
+    private Quiz createQuiz(String title, String description, List<String> topics, int daysAgo) {
+        return Quiz.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .description(description)
+                .topics(topics)
+                .ageGroup("teen")
+                .difficulty("easy")
+                .questionCount(5)
+                .userId("test-user-123")
+                .createdAt(LocalDateTime.now().minusDays(daysAgo))
+                .build();
+    }
+}
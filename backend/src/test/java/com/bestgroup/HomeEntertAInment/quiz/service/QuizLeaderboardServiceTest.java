@@ -0,0 +1,117 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.LeaderboardPageDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.QuizLeaderboardEntry;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizLeaderboardEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizLeaderboardServiceTest {
+
+    @Mock
+    private QuizLeaderboardEntryRepository leaderboardRepository;
+
+    @InjectMocks
+    private QuizLeaderboardService leaderboardService;
+
+    @Test
+    void getQuizLeaderboard_ShouldRankBestScoresAndPaginate() {
+        // Arrange
+        UUID quizId = UUID.randomUUID();
+        leaderboardService.recordScore(quizId, "user-a", "Ada", 60);
+        leaderboardService.recordScore(quizId, "user-b", "Bo", 80);
+        leaderboardService.recordScore(quizId, "user-c", "Cy", 70);
+        leaderboardService.recordScore(quizId, "user-a", "Ada", 90);
+        leaderboardService.recordScore(quizId, "user-b", "Bo", 40);
+
+        // Act
+        LeaderboardPageDto first = leaderboardService.getQuizLeaderboard(quizId, 0, 2);
+        LeaderboardPageDto second = leaderboardService.getQuizLeaderboard(quizId, 1, 2);
+
+        // Assert
+        assertEquals(3, first.getTotalEntries());
+        assertEquals(List.of("Ada", "Bo"), first.getEntries().stream().map(e -> e.getPlayerName()).toList());
+        assertEquals(90, first.getEntries().get(0).getScore());
+        assertEquals(80, first.getEntries().get(1).getScore());
+        assertEquals(1, second.getEntries().size());
+        assertEquals("Cy", second.getEntries().get(0).getPlayerName());
+        assertEquals(3, second.getEntries().get(0).getRank());
+    }
+
+    @Test
+    void getGlobalLeaderboard_ShouldSumBestScoresAndDropDeletedQuizzes() {
+        // Arrange
+        UUID quizA = UUID.randomUUID();
+        UUID quizB = UUID.randomUUID();
+        leaderboardService.recordScore(quizA, "user-a", "Ada", 50);
+        leaderboardService.recordScore(quizA, "user-a", "Ada", 70);
+        leaderboardService.recordScore(quizB, "user-a", "Ada", 40);
+        leaderboardService.recordScore(quizA, "user-b", "Bo", 100);
+
+        // Act
+        LeaderboardPageDto before = leaderboardService.getGlobalLeaderboard(0, 10);
+        leaderboardService.removeQuiz(quizA);
+        LeaderboardPageDto after = leaderboardService.getGlobalLeaderboard(0, 10);
+
+        // Assert
+        assertEquals("Ada", before.getEntries().get(0).getPlayerName());
+        assertEquals(110, before.getEntries().get(0).getScore());
+        assertEquals(100, before.getEntries().get(1).getScore());
+        assertEquals(1, after.getTotalEntries());
+        assertEquals(40, after.getEntries().get(0).getScore());
+        verify(leaderboardRepository).deleteByQuizId(quizA);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshot_ShouldSaveOnlyChangedEntriesOnce() {
+        // Arrange
+        UUID quizId = UUID.randomUUID();
+        leaderboardService.recordScore(quizId, "user-a", "Ada", 60);
+        leaderboardService.recordScore(quizId, "user-a", "Ada", 80);
+        leaderboardService.recordScore(quizId, "user-a", "Ada", 20);
+
+        // Act
+        leaderboardService.snapshot();
+        leaderboardService.snapshot();
+
+        // Assert
+        ArgumentCaptor<List<QuizLeaderboardEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(leaderboardRepository, times(1)).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(80, saved.getValue().get(0).getScore());
+    }
+
+    @Test
+    void rebuild_ShouldRestoreQuizAndGlobalBoardsFromSnapshot() {
+        // Arrange
+        UUID quizA = UUID.randomUUID();
+        UUID quizB = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        when(leaderboardRepository.findAll()).thenReturn(List.of(
+                new QuizLeaderboardEntry(quizA, "user-a", "Ada", 70, now),
+                new QuizLeaderboardEntry(quizB, "user-a", "Ada", 30, now),
+                new QuizLeaderboardEntry(quizA, "user-b", "Bo", 90, now)));
+
+        // Act
+        leaderboardService.rebuild();
+
+        // Assert
+        assertEquals("Bo", leaderboardService.getQuizLeaderboard(quizA, 0, 10).getEntries().get(0).getPlayerName());
+        assertEquals(100, leaderboardService.getGlobalLeaderboard(0, 10).getEntries().get(0).getScore());
+        verify(leaderboardRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,358 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomClientMessageDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizRoomDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Question;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Load-test harness for live quiz rooms
+ * Plays complete games in hundreds of concurrent rooms against in-memory WebSocket sessions
+ * whose clients answer as soon as a question arrives, and checks every client received
+ * every question and the final leaderboard.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuizRoomLoadTest {
+
+    private static final int ROOMS = 300;
+    private static final int PLAYERS_PER_ROOM = 20;
+    private static final int QUESTIONS = 5;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private QuizRoomService quizRoomService;
+
+    @BeforeEach
+    void setUp() {
+        quizRoomService = new QuizRoomService(quizRepository, quizStatsService, objectMapper);
+        ReflectionTestUtils.setField(quizRoomService, "questionDurationMs", 2000L);
+        ReflectionTestUtils.setField(quizRoomService, "resultPauseMs", 10L);
+        ReflectionTestUtils.setField(quizRoomService, "maxPlayers", PLAYERS_PER_ROOM);
+        ReflectionTestUtils.setField(quizRoomService, "idleTimeoutMinutes", 30L);
+        ReflectionTestUtils.setField(quizRoomService, "outboundBufferLimit", 64);
+        quizRoomService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        quizRoomService.shutdown();
+    }
+
+    @Test
+    void hundredsOfConcurrentRooms_ShouldDeliverEveryQuestionAndFinish() throws Exception {
+        // Arrange
+        Quiz quiz = createQuiz();
+        when(quizRepository.findByIdWithQuestions(quiz.getId())).thenReturn(Optional.of(quiz));
+        CountDownLatch finished = new CountDownLatch(ROOMS * (PLAYERS_PER_ROOM + 1));
+        List<FakeSession> allSessions = new CopyOnWriteArrayList<>();
+
+        // Act
+        long startedAt = System.nanoTime();
+        for (int r = 0; r < ROOMS; r++) {
+            QuizRoomDto room = quizRoomService.createRoom(quiz.getId()).orElseThrow();
+            String code = room.getRoomCode();
+
+            FakeSession host = new FakeSession(code, finished, false);
+            allSessions.add(host);
+            send(code, host, new QuizRoomClientMessageDto("join", null, room.getHostToken(), null, null));
+            for (int p = 0; p < PLAYERS_PER_ROOM; p++) {
+                FakeSession player = new FakeSession(code, finished, true);
+                allSessions.add(player);
+                send(code, player, new QuizRoomClientMessageDto("join", "Player " + p, null, null, null));
+            }
+            host.awaitPlayers(PLAYERS_PER_ROOM);
+            send(code, host, new QuizRoomClientMessageDto("start", null, null, null, null));
+        }
+        boolean completed = finished.await(60, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // Assert
+        assertTrue(completed, "All rooms should finish; still waiting on " + finished.getCount() + " clients");
+        for (FakeSession session : allSessions) {
+            assertEquals(QUESTIONS, session.questions.get(), "Every client receives every question");
+            assertEquals(QUESTIONS, session.results.get(), "Every client receives every result");
+        }
+        // Players answer immediately, so rooms advance on answers rather than waiting out the timers
+        assertTrue(elapsedMs < ROOMS * 2000L, "Rooms run concurrently (took " + elapsedMs + " ms)");
+        verify(quizStatsService, times(ROOMS * PLAYERS_PER_ROOM)).recordAttempt(eq(quiz), anyList(), anyInt());
+    }
+
+    @Test
+    void answers_ShouldBeScoredWithServerSideTiming() throws Exception {
+        // Arrange
+        Quiz quiz = createQuiz();
+        when(quizRepository.findByIdWithQuestions(quiz.getId())).thenReturn(Optional.of(quiz));
+        QuizRoomDto room = quizRoomService.createRoom(quiz.getId()).orElseThrow();
+        CountDownLatch finished = new CountDownLatch(2);
+        FakeSession host = new FakeSession(room.getRoomCode(), finished, false);
+        FakeSession player = new FakeSession(room.getRoomCode(), finished, true);
+
+        // Act
+        send(room.getRoomCode(), host, new QuizRoomClientMessageDto("join", null, room.getHostToken(), null, null));
+        send(room.getRoomCode(), player, new QuizRoomClientMessageDto("join", "Alice", null, null, null));
+        host.awaitPlayers(1);
+        send(room.getRoomCode(), host, new QuizRoomClientMessageDto("start", null, null, null, null));
+
+        // Assert
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+        JsonNode leaderboard = player.lastFinished.get("leaderboard");
+        assertEquals("Alice", leaderboard.get(0).get("name").asText());
+        assertEquals(QUESTIONS, leaderboard.get(0).get("correctAnswers").asInt());
+        long score = leaderboard.get(0).get("score").asLong();
+        assertTrue(score > QUESTIONS * 500L && score <= QUESTIONS * 1000L, "Fast correct answers earn speed points: " + score);
+    }
+
+    @Test
+    void join_ShouldRejectPlayers_AfterQuizStarted() throws Exception {
+        // Arrange
+        Quiz quiz = createQuiz();
+        when(quizRepository.findByIdWithQuestions(quiz.getId())).thenReturn(Optional.of(quiz));
+        ReflectionTestUtils.setField(quizRoomService, "questionDurationMs", 60000L);
+        QuizRoomDto room = quizRoomService.createRoom(quiz.getId()).orElseThrow();
+        CountDownLatch unused = new CountDownLatch(1);
+        FakeSession host = new FakeSession(room.getRoomCode(), unused, false);
+        FakeSession player = new FakeSession(room.getRoomCode(), unused, false);
+        FakeSession latecomer = new FakeSession(room.getRoomCode(), unused, false);
+        send(room.getRoomCode(), host, new QuizRoomClientMessageDto("join", null, room.getHostToken(), null, null));
+        send(room.getRoomCode(), player, new QuizRoomClientMessageDto("join", "Alice", null, null, null));
+        host.awaitPlayers(1);
+        send(room.getRoomCode(), host, new QuizRoomClientMessageDto("start", null, null, null, null));
+        host.awaitQuestion();
+
+        // Act
+        send(room.getRoomCode(), latecomer, new QuizRoomClientMessageDto("join", "Bob", null, null, null));
+
+        // Assert
+        JsonNode error = latecomer.awaitError();
+        assertEquals("Quiz has already started", error.get("message").asText());
+    }
+
+    private void send(String roomCode, FakeSession session, QuizRoomClientMessageDto message) {
+        quizRoomService.handleMessage(roomCode, session, message, System.nanoTime());
+    }
+
+    private Quiz createQuiz() {
+        Quiz quiz = Quiz.builder()
+                .id(UUID.randomUUID())
+                .title("Load Test Quiz")
+                .ageGroup("adult")
+                .difficulty("easy")
+                .topics(List.of("Science"))
+                .questionCount(QUESTIONS)
+                .build();
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(Question.builder()
+                    .id(UUID.randomUUID())
+                    .questionText("Question " + i)
+                    .options(List.of("A", "B", "C", "D"))
+                    .correctAnswerIndex(i % 4)
+                    .explanation("Because")
+                    .quiz(quiz)
+                    .build());
+        }
+        quiz.setQuestions(questions);
+        return quiz;
+    }
+
+    /**
+     * In-memory WebSocket session acting as a client
+     * Players answer each question correctly the moment it arrives
+     */
+    private class FakeSession implements WebSocketSession {
+
+        private final String id = UUID.randomUUID().toString();
+        private final String roomCode;
+        private final CountDownLatch finished;
+        private final boolean answers;
+        private final AtomicInteger questions = new AtomicInteger();
+        private final AtomicInteger results = new AtomicInteger();
+        private final AtomicInteger players = new AtomicInteger();
+        private final CountDownLatch questionReceived = new CountDownLatch(1);
+        private final CountDownLatch errorReceived = new CountDownLatch(1);
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private volatile JsonNode lastFinished;
+        private volatile JsonNode lastError;
+        private volatile boolean open = true;
+
+        private FakeSession(String roomCode, CountDownLatch finished, boolean answers) {
+            this.roomCode = roomCode;
+            this.finished = finished;
+            this.answers = answers;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws java.io.IOException {
+            JsonNode node = objectMapper.readTree(((TextMessage) message).getPayload());
+            switch (node.get("type").asText()) {
+                case "players" -> players.set(node.get("players").size());
+                case "question" -> {
+                    questions.incrementAndGet();
+                    questionReceived.countDown();
+                    if (answers) {
+                        int questionIndex = node.get("questionIndex").asInt();
+                        // Simulate client think time off the sending thread
+                        Thread.ofVirtual().start(() -> {
+                            sleepQuietly(ThreadLocalRandom.current().nextInt(5));
+                            send(roomCode, this, new QuizRoomClientMessageDto("answer", null, null, questionIndex, questionIndex % 4));
+                        });
+                    }
+                }
+                case "result" -> results.incrementAndGet();
+                case "finished" -> {
+                    lastFinished = node;
+                    finished.countDown();
+                }
+                case "error" -> {
+                    lastError = node;
+                    errorReceived.countDown();
+                }
+                default -> {
+                }
+            }
+        }
+
+        void awaitPlayers(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (players.get() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(count, players.get());
+        }
+
+        void awaitQuestion() throws InterruptedException {
+            assertTrue(questionReceived.await(10, TimeUnit.SECONDS));
+        }
+
+        JsonNode awaitError() throws InterruptedException {
+            assertTrue(errorReceived.await(10, TimeUnit.SECONDS));
+            return lastError;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("ws://localhost/ws/quiz-rooms/" + roomCode);
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return 0;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return 0;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
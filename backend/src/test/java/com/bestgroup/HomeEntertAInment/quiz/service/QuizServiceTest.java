@@ -0,0 +1,249 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizConfigurationDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizResponseDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+import com.bestgroup.HomeEntertAInment.service.GeminiService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizServiceTest {
+
+    @Mock
+    private GeminiService geminiService;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizStatsService quizStatsService;
+
+    @Mock
+    private QuizSearchIndex quizSearchIndex;
+
+    @Mock
+    private QuizLeaderboardService quizLeaderboardService;
+
+    private ExecutorService executor;
+    private QuizService quizService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        quizService = new QuizService(geminiService, quizRepository, quizStatsService, quizSearchIndex, quizLeaderboardService, executor);
+        ReflectionTestUtils.setField(quizService, "shardSize", 10);
+        ReflectionTestUtils.setField(quizService, "shardRetries", 1);
+        ReflectionTestUtils.setField(quizService, "maxConcurrentRequests", 4);
+        quizService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void planShards_ShouldBalanceQuestionsAndDistributeTopics() {
+        // Arrange
+        QuizConfigurationDto config = createConfig(25, List.of("Science", "History", "Sports", "Music"));
+
+        // Act
+        List<QuizConfigurationDto> shards = quizService.planShards(config);
+
+        // Assert
+        assertEquals(3, shards.size());
+        assertEquals(List.of(9, 8, 8), shards.stream().map(QuizConfigurationDto::getQuestionCount).toList());
+        assertEquals(List.of("Science", "Music"), shards.get(0).getTopics());
+        assertEquals(List.of("History"), shards.get(1).getTopics());
+        assertEquals(List.of("Sports"), shards.get(2).getTopics());
+    }
+
+    @Test
+    void planShards_ShouldKeepSmallQuizInSingleShard() {
+        // Arrange
+        QuizConfigurationDto config = createConfig(10, List.of("Science"));
+
+        // Act
+        List<QuizConfigurationDto> shards = quizService.planShards(config);
+
+        // Assert
+        assertEquals(List.of(config), shards);
+    }
+
+    @Test
+    void generateQuiz_ShouldMergeShardsAndReplaceDuplicates() {
+        // Arrange
+        List<QuizConfigurationDto> requests = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            QuizConfigurationDto request = invocation.getArgument(0);
+            requests.add(request);
+            String sharedQuestion = request.getQuestionCount() == 10 ? "Shared question?" : null;
+            stream(invocation.getArgument(1), quizJson(request.getTopics().get(0), request.getQuestionCount(), sharedQuestion));
+            return null;
+        }).when(geminiService).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        QuizResponseDto response = quizService.generateQuiz(createConfig(20, List.of("Science", "History")));
+
+        // Assert
+        assertEquals(3, requests.size());
+        assertEquals(1, requests.get(2).getQuestionCount());
+        assertEquals(List.of("Science", "History"), requests.get(2).getTopics());
+        assertEquals(20, response.getQuestions().size());
+        assertEquals(1, response.getQuestions().stream().filter(q -> q.getQuestionText().equals("Shared question?")).count());
+        assertEquals("Science quiz", response.getTitle());
+    }
+
+    @Test
+    void generateQuiz_ShouldRequestTheQuestionsOfAShardThatFailed() {
+        // Arrange
+        AtomicInteger historyAttempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            QuizConfigurationDto request = invocation.getArgument(0);
+            String topic = request.getTopics().get(0);
+            // The History shard fails on both of its attempts, then the top-up succeeds
+            if (topic.equals("History") && historyAttempts.getAndIncrement() < 2) {
+                throw new RestClientException("Service unavailable");
+            }
+            stream(invocation.getArgument(1), quizJson(topic, request.getQuestionCount(), null));
+            return null;
+        }).when(geminiService).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        QuizResponseDto response = quizService.generateQuiz(createConfig(20, List.of("Science", "History")));
+
+        // Assert
+        verify(geminiService, times(4)).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        assertEquals(20, response.getQuestions().size());
+        assertEquals(10, response.getQuestions().stream().filter(q -> q.getQuestionText().startsWith("History")).count());
+    }
+
+    @Test
+    void generateQuiz_ShouldKeepFewerQuestionsWhenAFailedShardCannotBeReplaced() {
+        // Arrange
+        doAnswer(invocation -> {
+            QuizConfigurationDto request = invocation.getArgument(0);
+            String topic = request.getTopics().get(0);
+            if (topic.equals("History")) {
+                throw new RestClientException("Service unavailable");
+            }
+            stream(invocation.getArgument(1), quizJson(topic, request.getQuestionCount(), null));
+            return null;
+        }).when(geminiService).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        QuizResponseDto response = quizService.generateQuiz(createConfig(20, List.of("Science", "History")));
+
+        // Assert
+        verify(geminiService, times(5)).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        assertEquals(10, response.getQuestions().size());
+        verify(quizRepository).save(argThat(quiz -> quiz.getQuestionCount() == 10));
+    }
+
+    @Test
+    void generateQuiz_ShouldKeepValidQuestionsAndRequestOnlyMissingOnes() {
+        // Arrange
+        List<Integer> requestedCounts = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            QuizConfigurationDto request = invocation.getArgument(0);
+            requestedCounts.add(request.getQuestionCount());
+            String json = quizJson("Science", request.getQuestionCount(), null);
+            if (requestedCounts.size() == 1) {
+                // First response: one question with 3 options, then the JSON breaks off mid-question
+                json = json.replaceFirst("\\[\"A\", \"B\", \"C\", \"D\"]", "[\"A\", \"B\", \"C\"]");
+                json = json.substring(0, json.indexOf("Science question 7"));
+            }
+            stream(invocation.getArgument(1), json);
+            return null;
+        }).when(geminiService).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        QuizResponseDto response = quizService.generateQuiz(createConfig(10, List.of("Science")));
+
+        // Assert
+        assertEquals(List.of(10, 4), requestedCounts);
+        assertEquals(10, response.getQuestions().size());
+        assertEquals("Science quiz", response.getTitle());
+    }
+
+    @Test
+    void generateQuiz_ShouldRetryOnlyTheFailedShard() {
+        // Arrange
+        AtomicInteger historyAttempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            QuizConfigurationDto shard = invocation.getArgument(0);
+            String topic = shard.getTopics().get(0);
+            if (topic.equals("History") && historyAttempts.getAndIncrement() == 0) {
+                throw new RestClientException("Connection reset");
+            }
+            stream(invocation.getArgument(1), quizJson(topic, shard.getQuestionCount(), null));
+            return null;
+        }).when(geminiService).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        QuizResponseDto response = quizService.generateQuiz(createConfig(20, List.of("Science", "History")));
+
+        // Assert
+        verify(geminiService, times(3)).streamQuizPrompt(any(QuizConfigurationDto.class), any());
+        assertEquals(20, response.getQuestions().size());
+    }
+
+    private void stream(Consumer<String> consumer, String json) {
+        // Feed in small chunks, the way Gemini streams partial responses
+        for (int i = 0; i < json.length(); i += 7) {
+            consumer.accept(json.substring(i, Math.min(i + 7, json.length())));
+        }
+    }
+
+    private QuizConfigurationDto createConfig(int questionCount, List<String> topics) {
+        return new QuizConfigurationDto("teen", topics, "easy", questionCount, "test-user-123", false);
+    }
+
+    private Quiz assignIds(Quiz quiz) {
+        quiz.setId(UUID.randomUUID());
+        quiz.getQuestions().forEach(question -> question.setId(UUID.randomUUID()));
+        return quiz;
+    }
+
+    private String quizJson(String topic, int questionCount, String sharedQuestion) {
+        String questions = IntStream.range(0, questionCount)
+                .mapToObj(i -> {
+                    String text = i == 0 && sharedQuestion != null ? sharedQuestion : topic + " question " + i + " of " + questionCount + "?";
+                    return """
+                            {"questionText": "%s", "options": ["A", "B", "C", "D"], "correctAnswerIndex": 1, "explanation": "Because"}
+                            """.formatted(text);
+                })
+                .collect(Collectors.joining(","));
+        return """
+                {"title": "%s quiz", "description": "About %s", "ageGroup": "teen", "topics": ["%s"],
+                 "difficulty": "easy", "questionCount": %d, "questions": [%s]}
+                """.formatted(topic, topic, topic, questionCount, questions);
+    }
+}
@@ -0,0 +1,219 @@
+package com.bestgroup.HomeEntertAInment.quiz.service;
+
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizAttemptStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.dto.QuizStatsDto;
+import com.bestgroup.HomeEntertAInment.quiz.model.Question;
+import com.bestgroup.HomeEntertAInment.quiz.model.Quiz;
+import com.bestgroup.HomeEntertAInment.quiz.model.QuizStatCounter;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizRepository;
+import com.bestgroup.HomeEntertAInment.quiz.repository.QuizStatCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizStatsServiceTest {
+
+    @Mock
+    private QuizStatCounterRepository statCounterRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @InjectMocks
+    private QuizStatsService quizStatsService;
+
+    @Test
+    void getStats_ShouldReflectCreatedQuizzesAndAttempts() {
+        // Arrange
+        Quiz science = createQuiz("teen", "easy", List.of("Science", "Space"));
+        Quiz history = createQuiz("adult", "easy", List.of("History"));
+
+        // Act
+        quizStatsService.recordQuizCreated(science);
+        quizStatsService.recordQuizCreated(history);
+        quizStatsService.recordAttempt(science, List.of(true, false), 50);
+        quizStatsService.recordAttempt(science, List.of(true, true), 100);
+        QuizStatsDto stats = quizStatsService.getStats();
+
+        // Assert
+        assertEquals(2, stats.getTotalQuizzes());
+        assertEquals(1L, stats.getQuizzesByAgeGroup().get("teen"));
+        assertEquals(2L, stats.getQuizzesByDifficulty().get("easy"));
+        assertEquals(1L, stats.getQuizzesByTopic().get("space"));
+        assertEquals(2, stats.getTotalAttempts());
+        assertEquals(75.0, stats.getAverageScore());
+        assertEquals(0.75, stats.getCorrectnessRate());
+    }
+
+    @Test
+    void getQuizStats_ShouldReturnPerQuestionCorrectnessRate() {
+        // Arrange
+        Quiz quiz = createQuiz("teen", "medium", List.of("Science"));
+        quizStatsService.recordAttempt(quiz, List.of(true, false), 50);
+        quizStatsService.recordAttempt(quiz, List.of(true, true), 100);
+
+        // Act
+        QuizAttemptStatsDto stats = quizStatsService.getQuizStats(quiz);
+
+        // Assert
+        assertEquals(2, stats.getAttempts());
+        assertEquals(1.0, stats.getQuestions().get(0).getCorrectnessRate());
+        assertEquals(0.5, stats.getQuestions().get(1).getCorrectnessRate());
+    }
+
+    @Test
+    void recordQuizDeleted_ShouldDecrementCountersAndDropQuestionCounters() {
+        // Arrange
+        Quiz quiz = createQuiz("teen", "hard", List.of("Science"));
+        quizStatsService.recordQuizCreated(quiz);
+        quizStatsService.recordAttempt(quiz, List.of(true, true), 100);
+
+        // Act
+        quizStatsService.recordQuizDeleted(quiz);
+
+        // Assert
+        QuizStatsDto stats = quizStatsService.getStats();
+        assertEquals(0, stats.getTotalQuizzes());
+        assertFalse(stats.getQuizzesByDifficulty().containsKey("hard"));
+        assertEquals(0, quizStatsService.getQuizStats(quiz).getAttempts());
+        verify(statCounterRepository).deleteByStatKeyIn(anyCollection());
+    }
+
+    @Test
+    void flush_ShouldWritePendingDeltasOnce() {
+        // Arrange
+        Quiz quiz = createQuiz("teen", "easy", List.of("Science"));
+        quizStatsService.recordQuizCreated(quiz);
+        when(statCounterRepository.incrementBy(anyString(), anyLong())).thenReturn(0);
+
+        // Act
+        quizStatsService.flush();
+        quizStatsService.flush();
+
+        // Assert
+        verify(statCounterRepository).incrementBy(QuizStatsService.TOTAL_QUIZZES, 1);
+        verify(statCounterRepository, times(4)).save(any(QuizStatCounter.class));
+    }
+
+    @Test
+    void flush_ShouldKeepDeltaWhenDatabaseWriteFails() {
+        // Arrange
+        Quiz quiz = createQuiz("teen", "easy", List.of("Science"));
+        quizStatsService.recordQuizCreated(quiz);
+        when(statCounterRepository.incrementBy(anyString(), anyLong()))
+                .thenThrow(new RuntimeException("Database down"))
+                .thenReturn(1);
+
+        // Act
+        quizStatsService.flush();
+        quizStatsService.flush();
+
+        // Assert
+        verify(statCounterRepository, times(5)).incrementBy(anyString(), eq(1L));
+        assertEquals(1, quizStatsService.getStats().getTotalQuizzes());
+    }
+
+    @Test
+    void recordQuizDeleted_ShouldWaitForRunningFlushBeforeDeletingRows() throws Exception {
+        // Arrange
+        Quiz quiz = createQuiz("teen", "easy", List.of("Science"));
+        quizStatsService.recordAttempt(quiz, List.of(true, false), 50);
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(statCounterRepository.incrementBy(anyString(), anyLong())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<?> flush = executor.submit(quizStatsService::flush);
+            assertTrue(flushing.await(5, TimeUnit.SECONDS));
+            Future<?> delete = executor.submit(() -> quizStatsService.recordQuizDeleted(quiz));
+            Thread.sleep(100);
+            verify(statCounterRepository, never()).deleteByStatKeyIn(anyCollection());
+            release.countDown();
+            flush.get(5, TimeUnit.SECONDS);
+            delete.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            InOrder order = inOrder(statCounterRepository);
+            order.verify(statCounterRepository, atLeastOnce()).incrementBy(anyString(), anyLong());
+            order.verify(statCounterRepository).deleteByStatKeyIn(anyCollection());
+            order.verifyNoMoreInteractions();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void flush_ShouldNotWriteCountersOfDeletedQuiz_WhenAttemptRacedWithDelete() {
+        // Arrange
+        Quiz quiz = createQuiz("teen", "easy", List.of("Science"));
+        quizStatsService.recordQuizDeleted(quiz);
+
+        // Act
+        quizStatsService.recordAttempt(quiz, List.of(true, true), 100);
+        quizStatsService.flush();
+
+        // Assert
+        assertEquals(0, quizStatsService.getQuizStats(quiz).getAttempts());
+        verify(statCounterRepository, never()).incrementBy(startsWith(QuizStatsService.QUIZ_PREFIX), anyLong());
+        verify(statCounterRepository, never()).incrementBy(startsWith(QuizStatsService.QUESTION_PREFIX), anyLong());
+        verify(statCounterRepository).incrementBy(QuizStatsService.TOTAL_ATTEMPTS, 1);
+    }
+
+    @Test
+    void loadCounters_ShouldSeedFromExistingQuizzes_WhenNoCountersPersisted() {
+        // Arrange
+        when(statCounterRepository.findAll()).thenReturn(List.of());
+        when(quizRepository.count()).thenReturn(3L);
+        when(quizRepository.countGroupedByAgeGroup()).thenReturn(List.<Object[]>of(new Object[]{"teen", 3L}));
+        when(quizRepository.countGroupedByDifficulty()).thenReturn(List.<Object[]>of(new Object[]{"Easy", 3L}));
+        when(quizRepository.countGroupedByTopic()).thenReturn(List.<Object[]>of(new Object[]{"Science", 2L}));
+
+        // Act
+        quizStatsService.loadCounters();
+
+        // Assert
+        QuizStatsDto stats = quizStatsService.getStats();
+        assertEquals(3, stats.getTotalQuizzes());
+        assertEquals(3L, stats.getQuizzesByDifficulty().get("easy"));
+        assertEquals(2L, stats.getQuizzesByTopic().get("science"));
+    }
+
+    private Quiz createQuiz(String ageGroup, String difficulty, List<String> topics) {
+        Quiz quiz = Quiz.builder()
+                .id(UUID.randomUUID())
+                .title("Test Quiz")
+                .ageGroup(ageGroup)
+                .difficulty(difficulty)
+                .topics(topics)
+                .questionCount(2)
+                .userId("test-user-123")
+                .build();
+        quiz.setQuestions(List.of(
+                Question.builder().id(UUID.randomUUID()).correctAnswerIndex(0).quiz(quiz).build(),
+                Question.builder().id(UUID.randomUUID()).correctAnswerIndex(1).quiz(quiz).build()));
+        return quiz;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimiterTest {
+
+    private static final RateLimiter.Limit LIMIT = new RateLimiter.Limit(3, 6); // one token every 10 s
+
+    private final AtomicLong now = new AtomicLong();
+
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new InMemoryRateLimiter(now::get);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity_ThenRefillOverTime() {
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("movies:user", LIMIT, 1).allowed());
+        }
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire("movies:user", LIMIT, 1);
+        assertFalse(rejected.allowed());
+        assertEquals(10, rejected.retryAfterSeconds());
+
+        now.addAndGet(4_000_000_000L);
+        assertEquals(6, rateLimiter.tryAcquire("movies:user", LIMIT, 1).retryAfterSeconds());
+
+        now.addAndGet(6_000_000_000L);
+        assertTrue(rateLimiter.tryAcquire("movies:user", LIMIT, 1).allowed());
+        assertTrue(rateLimiter.tryAcquire("movies:other-user", LIMIT, 1).allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectWithoutTakingTokens_WhenCostExceedsWhatIsLeft() {
+        // Arrange
+        assertTrue(rateLimiter.tryAcquire("story:user", LIMIT, 2).allowed());
+
+        // Act
+        RateLimiter.Decision expensive = rateLimiter.tryAcquire("story:user", LIMIT, 3);
+        RateLimiter.Decision cheap = rateLimiter.tryAcquire("story:user", LIMIT, 1);
+
+        // Assert
+        assertFalse(expensive.allowed());
+        assertEquals(20, expensive.retryAfterSeconds());
+        assertTrue(cheap.allowed());
+    }
+
+    @Test
+    void tryAcquire_ShouldNeverAllowMoreThanCapacity_UnderConcurrency() throws Exception {
+        // Arrange
+        RateLimiter.Limit limit = new RateLimiter.Limit(50, 0.001);
+        AtomicInteger allowed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    if (rateLimiter.tryAcquire("chat:user", limit, 1).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Assert
+        assertEquals(50, allowed.get());
+    }
+
+    @Test
+    void removeIdleBuckets_ShouldForgetBucketsIdleForAnHour() {
+        // Arrange
+        rateLimiter.tryAcquire("quiz:idle", LIMIT, 1);
+        now.addAndGet(3_000_000_000_000L);
+        rateLimiter.tryAcquire("quiz:active", LIMIT, 1);
+        now.addAndGet(1_000_000_000_000L);
+
+        // Act
+        rateLimiter.removeIdleBuckets();
+
+        // Assert
+        assertEquals(1, rateLimiter.size());
+    }
+}
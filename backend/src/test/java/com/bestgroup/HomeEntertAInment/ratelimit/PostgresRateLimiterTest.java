@@ -0,0 +1,85 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresRateLimiterTest {
+
+    private static final RateLimiter.Limit LIMIT = new RateLimiter.Limit(10, 30);
+
+    @Mock
+    private RateLimitBucketRepository bucketRepository;
+
+    private PostgresRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new PostgresRateLimiter(bucketRepository);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllow_WhenUpsertReturnsTokensLeft() {
+        // Arrange
+        when(bucketRepository.tryAcquire("story:user_1", 10, 0.5, 3)).thenReturn(List.of(7.0));
+
+        // Act
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("story:user_1", LIMIT, 3);
+
+        // Assert
+        assertTrue(decision.allowed());
+        verify(bucketRepository, never()).currentTokens(anyString(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void tryAcquire_ShouldReject_WithSecondsUntilEnoughTokens() {
+        // Arrange
+        when(bucketRepository.tryAcquire("story:user_1", 10, 0.5, 3)).thenReturn(List.of());
+        when(bucketRepository.currentTokens("story:user_1", 10, 0.5)).thenReturn(List.of(1.0));
+
+        // Act
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("story:user_1", LIMIT, 3);
+
+        // Assert
+        assertFalse(decision.allowed());
+        assertEquals(4, decision.retryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_ShouldAllow_WhenDatabaseIsUnavailable() {
+        // Arrange
+        when(bucketRepository.tryAcquire(anyString(), anyDouble(), anyDouble(), anyDouble()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act
+        RateLimiter.Decision decision = rateLimiter.tryAcquire("story:user_1", LIMIT, 3);
+
+        // Assert
+        assertTrue(decision.allowed());
+    }
+
+    @Test
+    void removeIdleBuckets_ShouldDeleteBucketsIdleForADay() {
+        // Arrange
+        when(bucketRepository.deleteIdleSince(any(OffsetDateTime.class))).thenReturn(2);
+        OffsetDateTime dayAgo = OffsetDateTime.now().minusDays(1);
+
+        // Act
+        rateLimiter.removeIdleBuckets();
+
+        // Assert
+        verify(bucketRepository).deleteIdleSince(argThat(cutoff -> !cutoff.isBefore(dayAgo)
+            && cutoff.isBefore(dayAgo.plusMinutes(1))));
+    }
+}
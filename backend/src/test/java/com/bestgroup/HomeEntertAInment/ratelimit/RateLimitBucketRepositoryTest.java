@@ -0,0 +1,78 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the upsert against Postgres, as H2 has no INSERT ... ON CONFLICT DO UPDATE ... RETURNING
+ * Set TEST_POSTGRES_URL (and TEST_POSTGRES_USERNAME, TEST_POSTGRES_PASSWORD) to run it
+ */
+@DataJpaTest(properties = {
+    "spring.datasource.url=${TEST_POSTGRES_URL}",
+    "spring.datasource.username=${TEST_POSTGRES_USERNAME:postgres}",
+    "spring.datasource.password=${TEST_POSTGRES_PASSWORD:postgres}",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class RateLimitBucketRepositoryTest {
+
+    @Autowired
+    private RateLimitBucketRepository bucketRepository;
+
+    @Test
+    void tryAcquire_ShouldCreateFullBucket_ThenTakeTokensUntilTooFewAreLeft() {
+        // Act
+        List<Double> first = bucketRepository.tryAcquire("story:user_1", 5, 0, 2);
+        List<Double> second = bucketRepository.tryAcquire("story:user_1", 5, 0, 2);
+        List<Double> rejected = bucketRepository.tryAcquire("story:user_1", 5, 0, 2);
+
+        // Assert
+        assertEquals(List.of(3.0), first);
+        assertEquals(List.of(1.0), second);
+        assertEquals(List.of(), rejected);
+        assertEquals(List.of(1.0), bucketRepository.currentTokens("story:user_1", 5, 0));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillIdleBucketUpToCapacity() {
+        // Arrange
+        bucketRepository.saveAndFlush(RateLimitBucket.builder()
+            .bucketKey("chat:user_1")
+            .tokens(0.0)
+            .updatedAt(OffsetDateTime.now().minusHours(1))
+            .build());
+
+        // Act
+        List<Double> left = bucketRepository.tryAcquire("chat:user_1", 5, 1, 1);
+
+        // Assert
+        assertEquals(List.of(4.0), left);
+    }
+
+    @Test
+    void deleteIdleSince_ShouldDeleteOnlyIdleBuckets() {
+        // Arrange
+        bucketRepository.saveAndFlush(RateLimitBucket.builder()
+            .bucketKey("quiz:idle").tokens(5.0).updatedAt(OffsetDateTime.now().minusDays(2)).build());
+        bucketRepository.tryAcquire("quiz:active", 5, 0, 1);
+
+        // Act
+        int removed = bucketRepository.deleteIdleSince(OffsetDateTime.now().minusDays(1));
+
+        // Assert
+        assertEquals(1, removed);
+        assertEquals(List.of(4.0), bucketRepository.currentTokens("quiz:active", 5, 0));
+    }
+}
@@ -0,0 +1,231 @@
+package com.bestgroup.HomeEntertAInment.ratelimit;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.DispatcherType;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+    /**
+     * Handlers that call Gemini or the image service, as Controller#method; each must be rate limited
+     */
+    private static final Set<String> AI_HANDLERS = Set.of(
+        "MovieController#getMovieRecommendations",
+        "MovieController#streamMovieRecommendations",
+        "QuizController#createQuiz",
+        "StoryController#generateStory",
+        "StoryController#generateIllustratedStory",
+        "StoryController#generateImage",
+        "StoryController#createStory",
+        "StoryBatchController#createBatch",
+        "StoryChapterController#continueStory",
+        "ChatController#createChatEntry",
+        "GeminiController#status");
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private ClerkUserExtractor clerkUserExtractor;
+
+    @Mock
+    private Authentication authentication;
+
+    @Mock
+    private ObjectProvider<RateLimiter> rateLimiterProvider;
+
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        when(rateLimiterProvider.getIfAvailable()).thenReturn(rateLimiter);
+        interceptor = new RateLimitInterceptor(rateLimiterProvider, clerkUserExtractor, new ObjectMapper());
+        interceptor.init();
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void preHandle_ShouldReject_With429AndRetryAfter() throws Exception {
+        // Arrange
+        when(clerkUserExtractor.extractClerkUserId(authentication)).thenReturn("user_1");
+        when(rateLimiter.tryAcquire(eq("movies:user_1"), any(), eq(1))).thenReturn(RateLimiter.Decision.rejected(12));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("POST", "/api/movies/recommendations"), response, null);
+
+        // Assert
+        assertFalse(proceed);
+        assertEquals(429, response.getStatus());
+        assertEquals("12", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"retryAfterSeconds\":12"));
+    }
+
+    @Test
+    void preHandle_ShouldChargeRouteCost_PerUserAndEndpointClass() throws Exception {
+        // Arrange
+        when(clerkUserExtractor.extractClerkUserId(authentication)).thenReturn("user_1");
+        when(rateLimiter.tryAcquire(anyString(), any(), anyInt())).thenReturn(RateLimiter.Decision.ALLOWED);
+
+        // Act
+        boolean illustrated = interceptor.preHandle(new MockHttpServletRequest("POST", "/api/story/generate-illustrated"),
+            new MockHttpServletResponse(), null);
+        boolean chapter = interceptor.preHandle(new MockHttpServletRequest("POST", "/api/stories/6f1c/chapters"),
+            new MockHttpServletResponse(), null);
+
+        // Assert
+        assertTrue(illustrated);
+        assertTrue(chapter);
+        verify(rateLimiter).tryAcquire(eq("story:user_1"), eq(new RateLimiter.Limit(10, 3)), eq(3));
+        verify(rateLimiter).tryAcquire(eq("story:user_1"), eq(new RateLimiter.Limit(10, 3)), eq(1));
+    }
+
+    @Test
+    void preHandle_ShouldIgnoreOtherRequests_AndAsyncRedispatch() throws Exception {
+        // Arrange
+        MockHttpServletRequest chapters = new MockHttpServletRequest("GET", "/api/stories/6f1c/chapters");
+        MockHttpServletRequest redispatch = new MockHttpServletRequest("POST", "/api/movies/recommendations/stream");
+        redispatch.setDispatcherType(DispatcherType.ASYNC);
+
+        // Act & Assert
+        assertTrue(interceptor.preHandle(chapters, new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(redispatch, new MockHttpServletResponse(), null));
+        verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    void preHandle_ShouldKeyAnonymousRequestsByAddress() throws Exception {
+        // Arrange
+        SecurityContextHolder.clearContext();
+        when(rateLimiter.tryAcquire(anyString(), any(), anyInt())).thenReturn(RateLimiter.Decision.ALLOWED);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/gemini/status");
+        request.setRemoteAddr("203.0.113.7");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // Assert
+        verify(rateLimiter).tryAcquire(eq("chat:ip:203.0.113.7"), any(), eq(1));
+    }
+
+    @Test
+    void routes_ShouldCoverExactlyTheHandlersThatCallGemini() throws Exception {
+        // Arrange
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        Set<String> limited = new TreeSet<>();
+        Set<RateLimitInterceptor.Route> matched = new HashSet<>();
+
+        // Act
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.bestgroup.HomeEntertAInment")) {
+            Class<?> controller = Class.forName(candidate.getBeanClassName());
+            RequestMapping base = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+            String prefix = base == null || base.path().length == 0 ? "" : base.path()[0];
+            for (Method handler : controller.getDeclaredMethods()) {
+                RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(handler, RequestMapping.class);
+                if (mapping == null) {
+                    continue;
+                }
+                PathContainer path = PathContainer.parsePath(prefix + (mapping.path().length == 0 ? "" : mapping.path()[0]));
+                for (RateLimitInterceptor.Route route : RateLimitInterceptor.ROUTES) {
+                    boolean sameMethod = Arrays.stream(mapping.method())
+                        .anyMatch(method -> route.method().matches(method.name()));
+                    if (sameMethod && route.pattern().matches(path)) {
+                        limited.add(controller.getSimpleName() + "#" + handler.getName());
+                        matched.add(route);
+                    }
+                }
+            }
+        }
+
+        // Assert
+        assertEquals(new TreeSet<>(AI_HANDLERS), limited);
+        assertEquals(Set.copyOf(RateLimitInterceptor.ROUTES), matched, "Every route must match a handler");
+    }
+
+    @Test
+    void preHandle_ShouldLeaveStoryBatchToBeChargedPerStory() throws Exception {
+        // Act
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("POST", "/api/stories/batch"),
+            new MockHttpServletResponse(), null);
+
+        // Assert
+        assertTrue(proceed);
+        verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    void acquire_ShouldChargeCost_AndThrowWithRetryAfterWhenRejected() {
+        // Arrange
+        when(rateLimiter.tryAcquire("story:user_1", new RateLimiter.Limit(10, 3), 7))
+            .thenReturn(RateLimiter.Decision.ALLOWED, RateLimiter.Decision.rejected(80));
+
+        // Act
+        interceptor.acquire(AiEndpointClass.STORY, "user_1", 7);
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class,
+            () -> interceptor.acquire(AiEndpointClass.STORY, "user_1", 7));
+
+        // Assert
+        assertEquals(80, rejected.getRetryAfterSeconds());
+        verify(rateLimiter, times(2)).tryAcquire("story:user_1", new RateLimiter.Limit(10, 3), 7);
+    }
+
+    @Test
+    void acquire_ShouldRejectCostAboveCapacity() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> interceptor.acquire(AiEndpointClass.STORY, "user_1", 11));
+        verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    void preHandle_ShouldLimitChatEntriesAndCreatedStories() throws Exception {
+        // Arrange
+        when(clerkUserExtractor.extractClerkUserId(authentication)).thenReturn("user_1");
+        when(rateLimiter.tryAcquire(anyString(), any(), anyInt())).thenReturn(RateLimiter.Decision.ALLOWED);
+
+        // Act
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/api/sessions/42/chatEntry"), new MockHttpServletResponse(), null);
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/api/sessions/42/chatbot"), new MockHttpServletResponse(), null);
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/api/stories"), new MockHttpServletResponse(), null);
+
+        // Assert
+        verify(rateLimiter).tryAcquire(eq("chat:user_1"), any(), eq(1));
+        verify(rateLimiter).tryAcquire(eq("story:user_1"), any(), eq(1));
+        verifyNoMoreInteractions(rateLimiter);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bestgroup.HomeEntertAInment.repository;
+
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MovieRepositoryTest {
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Movie up = movie("up|2009", "Up", List.of("Animation", " Comedy "));
+        Movie airplane = movie("airplane!|1980", "Airplane!", List.of("comedy"));
+        Movie alien = movie("alien|1979", "Alien", List.of("Horror", "Sci-Fi"));
+        Movie other = movie("hot fuzz|2007", "Hot Fuzz", List.of("COMEDY"));
+        saveList(TEST_USER_ID, up, airplane, alien);
+        saveList("other-user", other);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void save_ShouldStoreNormalizedGenreKeysAndKeepGenres() {
+        // Act
+        Movie up = movieRepository.findByMovieKeyIn(List.of("up|2009")).get(0);
+
+        // Assert
+        assertEquals(List.of("Animation", " Comedy "), up.getGenres());
+        assertEquals(List.of("animation", "comedy"), up.getGenreKeys());
+    }
+
+    @Test
+    void findSavedByClerkUserIdAndGenre_ShouldMatchGenreIgnoringCase() {
+        // Act
+        List<Movie> comedies = movieRepository.findSavedByClerkUserIdAndGenre(TEST_USER_ID, Movie.genreKey("Comedy"));
+
+        // Assert
+        assertEquals(List.of("Airplane!", "Up"), comedies.stream().map(Movie::getTitle).toList());
+    }
+
+    @Test
+    void findSavedByClerkUserIdAndGenre_ShouldReturnNothing_WhenUserSavedNoMovieInGenre() {
+        // Act
+        List<Movie> westerns = movieRepository.findSavedByClerkUserIdAndGenre(TEST_USER_ID, Movie.genreKey("Western"));
+
+        // Assert
+        assertTrue(westerns.isEmpty());
+    }
+
+    private Movie movie(String movieKey, String title, List<String> genres) {
+        return entityManager.persist(Movie.builder().movieKey(movieKey).title(title).genres(genres).build());
+    }
+
+    private void saveList(String clerkUserId, Movie... movies) {
+        MovieList list = MovieList.builder()
+            .clerkUserId(clerkUserId)
+            .listName("Favourites")
+            .movies(new ArrayList<>())
+            .build();
+        for (Movie movie : movies) {
+            list.getMovies().add(MovieListItem.builder()
+                .movieList(list)
+                .movie(movie)
+                .position(list.getMovies().size())
+                .build());
+        }
+        entityManager.persist(list);
+    }
+}
@@ -0,0 +1,257 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDiskCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    private HttpServer server;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private ExecutorService executor;
+    private ExecutorService serverExecutor;
+    private ImageDiskCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            hits.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            if (path.startsWith("/slow-")) {
+                int running = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(running, Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+            }
+            // Every image is 100 bytes; /same-* paths all return identical content
+            byte[] body = new byte[100];
+            java.util.Arrays.fill(body, (byte) (path.startsWith("/same-") ? 1 : path.hashCode()));
+            exchange.getResponseHeaders().add("Content-Type", path.endsWith(".txt") ? "text/plain" : "image/png");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        cache = newCache(250);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_ShouldDownloadOnceAndServeFromDisk() throws IOException {
+        // Act
+        ImageDiskCache.CachedImage first = cache.get(url("/cover.png")).orElseThrow();
+        ImageDiskCache.CachedImage second = cache.get(url("/cover.png")).orElseThrow();
+
+        // Assert
+        assertEquals(1, hits.get("/cover.png").get());
+        assertEquals(first.etag(), second.etag());
+        assertEquals("image/png", second.contentType());
+        assertEquals(100, Files.size(second.file()));
+    }
+
+    @Test
+    void get_ShouldStoreIdenticalContentOnce() {
+        // Act
+        ImageDiskCache.CachedImage a = cache.get(url("/same-a.png")).orElseThrow();
+        ImageDiskCache.CachedImage b = cache.get(url("/same-b.png")).orElseThrow();
+
+        // Assert
+        assertEquals(a.file(), b.file());
+        assertEquals(100, cache.getTotalBytes());
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedButKeepPinnedImages() {
+        // Arrange
+        cache.pin(url("/pinned.png"));
+        cache.get(url("/pinned.png")).orElseThrow();
+        cache.get(url("/old.png")).orElseThrow();
+
+        // Act
+        cache.get(url("/new.png")).orElseThrow();
+        cache.get(url("/old.png")).orElseThrow();
+
+        // Assert
+        assertTrue(cache.getTotalBytes() <= 250);
+        assertEquals(2, hits.get("/old.png").get());
+        cache.get(url("/pinned.png")).orElseThrow();
+        assertEquals(1, hits.get("/pinned.png").get());
+    }
+
+    @Test
+    void get_ShouldDeleteEvictedImagesOnlyAfterTheDelay() throws IOException {
+        // Arrange
+        ImageDiskCache.CachedImage old = cache.get(url("/old.png")).orElseThrow();
+        cache.get(url("/middle.png")).orElseThrow();
+
+        // Act
+        cache.get(url("/new.png")).orElseThrow();
+        cache.deleteEvicted();
+
+        // Assert
+        assertTrue(Files.exists(old.file()), "a response handed to sendfile may still be reading it");
+        assertTrue(cache.getTotalBytes() <= 250);
+
+        ImageDiskCache immediate = newCache(250, 0);
+        immediate.get(url("/another.png")).orElseThrow();
+        immediate.deleteEvicted();
+        assertFalse(Files.exists(old.file()));
+    }
+
+    @Test
+    void get_ShouldKeepEvictedImageThatIsCachedAgain() throws IOException {
+        // Arrange
+        cache = newCache(250, 0);
+        ImageDiskCache.CachedImage old = cache.get(url("/old.png")).orElseThrow();
+        cache.get(url("/middle.png")).orElseThrow();
+        cache.get(url("/new.png")).orElseThrow();
+
+        // Act
+        cache.get(url("/old.png")).orElseThrow();
+        cache.deleteEvicted();
+
+        // Assert
+        assertEquals(2, hits.get("/old.png").get());
+        assertTrue(Files.exists(old.file()));
+    }
+
+    @Test
+    void unpin_ShouldLetTheImageBeEvicted() {
+        // Arrange
+        cache.pin(url("/pinned.png"));
+        cache.get(url("/pinned.png")).orElseThrow();
+        cache.unpin(url("/pinned.png"));
+
+        // Act
+        cache.get(url("/a.png")).orElseThrow();
+        cache.get(url("/b.png")).orElseThrow();
+        cache.get(url("/pinned.png")).orElseThrow();
+
+        // Assert
+        assertEquals(2, hits.get("/pinned.png").get());
+    }
+
+    @Test
+    void pin_ShouldPrefetchOnlyAFewImagesAtATime() throws Exception {
+        // Arrange
+        cache = newCache(10_000);
+        ReflectionTestUtils.setField(cache, "prefetchPermits", new Semaphore(2));
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            cache.pin(url("/slow-" + i + ".png"));
+        }
+        awaitCondition(() -> cache.getTotalBytes() == 800);
+
+        // Assert
+        assertEquals(8, hits.keySet().stream().filter(path -> path.startsWith("/slow-")).count());
+        assertTrue(maxInFlight.get() <= 2, "at most 2 prefetches at once, saw " + maxInFlight.get());
+    }
+
+    @Test
+    void pin_ShouldNotPinImagesBeyondThePinnedBudget() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(cache, "maxPinnedBytes", 150L);
+        cache.pin(url("/first.png"));
+        awaitCondition(() -> cache.getPinnedBytes() == 100);
+
+        // Act
+        cache.pin(url("/second.png"));
+        awaitCondition(() -> !cache.isPinned(url("/second.png")));
+
+        // Assert
+        assertTrue(cache.isPinned(url("/first.png")));
+        assertEquals(100, cache.getPinnedBytes());
+        assertEquals(200, cache.getTotalBytes());
+    }
+
+    @Test
+    void get_ShouldRejectDisallowedHostsAndNonImages() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cache.get("http://169.254.169.254/latest/meta-data"));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("file:///etc/passwd"));
+        assertTrue(cache.get(url("/page.txt")).isEmpty());
+    }
+
+    @Test
+    void init_ShouldReloadIndexFromDisk() throws IOException {
+        // Arrange
+        cache.get(url("/cover.png")).orElseThrow();
+
+        // Act
+        ImageDiskCache reloaded = newCache(250);
+        ImageDiskCache.CachedImage image = reloaded.get(url("/cover.png")).orElseThrow();
+
+        // Assert
+        assertEquals(1, hits.get("/cover.png").get());
+        assertEquals(100, image.size());
+    }
+
+    private ImageDiskCache newCache(long maxBytes) throws IOException {
+        return newCache(maxBytes, 60);
+    }
+
+    private ImageDiskCache newCache(long maxBytes, long deleteDelaySeconds) throws IOException {
+        ImageDiskCache imageDiskCache = new ImageDiskCache(executor);
+        ReflectionTestUtils.setField(imageDiskCache, "deleteDelaySeconds", deleteDelaySeconds);
+        ReflectionTestUtils.setField(imageDiskCache, "directory", cacheDirectory.toString());
+        ReflectionTestUtils.setField(imageDiskCache, "maxBytes", maxBytes);
+        ReflectionTestUtils.setField(imageDiskCache, "maxImageBytes", 1000L);
+        ReflectionTestUtils.setField(imageDiskCache, "allowedHosts", List.of("localhost"));
+        imageDiskCache.init();
+        return imageDiskCache;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 s");
+            Thread.sleep(10);
+        }
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,170 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageThumbnailServiceTest {
+
+    private static final String URL = "https://im.runware.ai/image/cover.png";
+
+    @Mock
+    private ImageDiskCache imageDiskCache;
+
+    @TempDir
+    Path directory;
+
+    private ImageThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailService = new ImageThumbnailService(imageDiskCache);
+        ReflectionTestUtils.setField(thumbnailService, "widths", List.of(96, 192, 320));
+        ReflectionTestUtils.setField(thumbnailService, "format", "jpeg");
+        ReflectionTestUtils.setField(thumbnailService, "jpegQuality", 0.8f);
+        ReflectionTestUtils.setField(thumbnailService, "workers", 2);
+        ReflectionTestUtils.setField(thumbnailService, "queueSize", 8);
+        thumbnailService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    @Test
+    void thumbnailWidth_ShouldRoundUpToConfiguredWidths() {
+        // Act & Assert
+        assertEquals(96, thumbnailService.thumbnailWidth(10));
+        assertEquals(192, thumbnailService.thumbnailWidth(100));
+        assertEquals(320, thumbnailService.thumbnailWidth(2000));
+    }
+
+    @Test
+    void getThumbnail_ShouldRenderScaledJpegAndStoreItBySourceHashAndWidth() throws Exception {
+        // Arrange
+        ImageDiskCache.CachedImage source = writeSource(512, 256);
+        when(imageDiskCache.get(URL)).thenReturn(Optional.of(source));
+        when(imageDiskCache.getStored(anyString())).thenReturn(Optional.empty());
+        when(imageDiskCache.store(anyString(), any(byte[].class), anyString()))
+            .thenAnswer(invocation -> new ImageDiskCache.CachedImage(source.file(), "thumb", invocation.getArgument(2),
+                invocation.getArgument(1, byte[].class).length));
+
+        // Act
+        ImageDiskCache.CachedImage thumbnail = thumbnailService.getThumbnail(URL, 150).orElseThrow();
+
+        // Assert
+        ArgumentCaptor<byte[]> bytes = ArgumentCaptor.forClass(byte[].class);
+        verify(imageDiskCache).store(eq("thumbnail:src123:192:jpeg"), bytes.capture(), eq("image/jpeg"));
+        BufferedImage rendered = ImageIO.read(new ByteArrayInputStream(bytes.getValue()));
+        assertEquals(192, rendered.getWidth());
+        assertEquals(96, rendered.getHeight());
+        assertEquals("image/jpeg", thumbnail.contentType());
+    }
+
+    @Test
+    void getThumbnail_ShouldServeStoredThumbnailWithoutRendering() throws Exception {
+        // Arrange
+        ImageDiskCache.CachedImage source = writeSource(512, 512);
+        ImageDiskCache.CachedImage stored = new ImageDiskCache.CachedImage(source.file(), "thumb", "image/jpeg", 10);
+        when(imageDiskCache.get(URL)).thenReturn(Optional.of(source));
+        when(imageDiskCache.getStored("thumbnail:src123:96:jpeg")).thenReturn(Optional.of(stored));
+
+        // Act
+        Optional<ImageDiskCache.CachedImage> thumbnail = thumbnailService.getThumbnail(URL, 96);
+
+        // Assert
+        assertEquals(Optional.of(stored), thumbnail);
+        verify(imageDiskCache, never()).store(anyString(), any(), anyString());
+    }
+
+    @Test
+    void getThumbnail_ShouldReturnSourceWhenAlreadyNarrowEnough() throws Exception {
+        // Arrange
+        ImageDiskCache.CachedImage source = writeSource(64, 64);
+        when(imageDiskCache.get(URL)).thenReturn(Optional.of(source));
+        when(imageDiskCache.getStored(anyString())).thenReturn(Optional.empty());
+
+        // Act
+        Optional<ImageDiskCache.CachedImage> thumbnail = thumbnailService.getThumbnail(URL, 96);
+
+        // Assert
+        assertEquals(Optional.of(source), thumbnail);
+        verify(imageDiskCache, never()).store(anyString(), any(), anyString());
+    }
+
+    @Test
+    void getThumbnail_ShouldNotDecodeSourcesOverThePixelLimit() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(thumbnailService, "maxSourcePixels", 100_000L);
+        ImageDiskCache.CachedImage source = writeSource(512, 512);
+        when(imageDiskCache.get(URL)).thenReturn(Optional.of(source));
+        when(imageDiskCache.getStored(anyString())).thenReturn(Optional.empty());
+
+        // Act
+        Optional<ImageDiskCache.CachedImage> thumbnail = thumbnailService.getThumbnail(URL, 96);
+
+        // Assert
+        assertEquals(Optional.of(source), thumbnail);
+        verify(imageDiskCache, never()).store(anyString(), any(), anyString());
+    }
+
+    @Test
+    void getThumbnail_ShouldHandleRenderThatCompletesImmediately() throws Exception {
+        // Arrange
+        thumbnailService.shutdown();
+        ThreadPoolExecutor sameThread = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        ReflectionTestUtils.setField(thumbnailService, "resizeExecutor", sameThread);
+        ImageDiskCache.CachedImage source = writeSource(64, 64);
+        when(imageDiskCache.get(URL)).thenReturn(Optional.of(source));
+        when(imageDiskCache.getStored(anyString())).thenReturn(Optional.empty());
+
+        // Act
+        Optional<ImageDiskCache.CachedImage> first = thumbnailService.getThumbnail(URL, 96);
+        Optional<ImageDiskCache.CachedImage> second = thumbnailService.getThumbnail(URL, 96);
+
+        // Assert
+        assertEquals(Optional.of(source), first);
+        assertEquals(Optional.of(source), second);
+    }
+
+    private ImageDiskCache.CachedImage writeSource(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(0, 0, width, height);
+        graphics.dispose();
+        Path file = directory.resolve("source.png");
+        ImageIO.write(image, "png", file.toFile());
+        return new ImageDiskCache.CachedImage(file, "src123", "image/png", Files.size(file));
+    }
+}
@@ -0,0 +1,176 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieCatalogTest {
+
+    private static final String BASICS = """
+        tconst\ttitleType\tprimaryTitle\toriginalTitle\tisAdult\tstartYear\tendYear\truntimeMinutes\tgenres
+        tt0111161\tmovie\tThe Shawshank Redemption\tThe Shawshank Redemption\t0\t1994\t\\N\t142\tDrama
+        tt0211915\tmovie\tAmélie\tLe fabuleux destin d'Amélie Poulain\t0\t2001\t\\N\t122\tComedy,Romance
+        tt0903747\ttvSeries\tBreaking Bad\tBreaking Bad\t0\t2008\t2013\t49\tCrime,Drama,Thriller
+        tt1000001\tmovie\tThe Twin\tThe Twin\t0\t2022\t\\N\t109\tHorror
+        tt1000002\tmovie\tThe Twin\tThe Twin\t0\t2022\t\\N\t\\N\t\\N
+        """;
+
+    private static final String RATINGS = """
+        tconst\taverageRating\tnumVotes
+        tt0111161\t9.3\t2900000
+        tt0211915\t8.3\t800000
+        tt1000001\t5.2\t20000
+        tt1000002\t6.1\t300
+        """;
+
+    @TempDir
+    Path directory;
+
+    private Path indexFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve("title.basics.tsv.gz")))) {
+            out.write(BASICS.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.writeString(directory.resolve("title.ratings.tsv"), RATINGS);
+        indexFile = directory.resolve("catalog.idx");
+    }
+
+    @Test
+    void build_ShouldImportMoviesAndSkipSeries() throws IOException {
+        // Act
+        int imported = MovieCatalogIndex.build(directory.resolve("title.basics.tsv.gz"),
+            directory.resolve("title.ratings.tsv"), indexFile);
+        MovieCatalogIndex index = MovieCatalogIndex.open(indexFile);
+
+        // Assert
+        assertEquals(4, imported);
+        assertEquals(4, index.size());
+        assertTrue(index.findByImdbId("tt0903747").isEmpty());
+        MovieCatalogIndex.CatalogMovie movie = index.findByImdbId("tt0211915").orElseThrow();
+        assertEquals("Amélie", movie.title());
+        assertEquals(2001, movie.year());
+        assertEquals(122, movie.runtimeMinutes());
+        assertEquals(List.of("Comedy", "Romance"), movie.genres());
+        assertEquals(8.3, movie.rating());
+        assertEquals(800000, movie.votes());
+        assertTrue(index.findByImdbId("tt9999999").isEmpty());
+        assertTrue(index.findByImdbId("nm0000001").isEmpty());
+    }
+
+    @Test
+    void findByTitle_ShouldMatchNormalizedAndOriginalTitles_PreferringMostVoted() throws IOException {
+        // Arrange
+        MovieCatalogIndex.build(directory.resolve("title.basics.tsv.gz"), directory.resolve("title.ratings.tsv"), indexFile);
+        MovieCatalogIndex index = MovieCatalogIndex.open(indexFile);
+
+        // Act & Assert
+        assertEquals("tt0111161", index.findByTitle("shawshank redemption", 1994).orElseThrow().imdbId());
+        assertEquals("tt0211915", index.findByTitle("Amelie", 2001).orElseThrow().imdbId());
+        assertEquals("tt0211915", index.findByTitle("Le Fabuleux Destin d'Amélie Poulain", 2001).orElseThrow().imdbId());
+        assertEquals("tt1000001", index.findByTitle("The Twin", 2022).orElseThrow().imdbId());
+        assertTrue(index.findByTitle("The Shawshank Redemption", 1995).isEmpty());
+        assertTrue(index.findByTitle("Unknown Movie", 1994).isEmpty());
+    }
+
+    @Test
+    void verify_ShouldCorrectHallucinatedIdAndFacts_WhenTitleAndYearMatch() throws IOException {
+        // Arrange
+        MovieCatalog catalog = openCatalog();
+        MovieResponseDto.MovieDto movie = MovieResponseDto.MovieDto.builder()
+            .title("The Shawshank Redemption")
+            .year(1995)
+            .imdbId("tt0211915")
+            .duration(120)
+            .rating(8.0)
+            .genres(List.of("Drama"))
+            .build();
+
+        // Act
+        int matched = catalog.verify(List.of(movie));
+
+        // Assert
+        assertEquals(1, matched);
+        assertEquals("tt0111161", movie.getImdbId());
+        assertEquals(1994, movie.getYear());
+        assertEquals(142, movie.getDuration());
+        assertEquals(9.3, movie.getRating());
+        assertEquals(List.of("Drama"), movie.getGenres());
+    }
+
+    @Test
+    void verify_ShouldLeaveMovieUnchanged_WhenNotInCatalog() throws IOException {
+        // Arrange
+        MovieCatalog catalog = openCatalog();
+        MovieResponseDto.MovieDto movie = MovieResponseDto.MovieDto.builder()
+            .title("A Movie Nobody Made")
+            .year(2020)
+            .imdbId("tt0111161")
+            .duration(90)
+            .build();
+
+        // Act
+        int matched = catalog.verify(List.of(movie));
+
+        // Assert
+        assertEquals(0, matched);
+        assertEquals("tt0111161", movie.getImdbId());
+        assertEquals(90, movie.getDuration());
+    }
+
+    @Test
+    void confirmsImdbId_ShouldOnlyConfirmIdOfTheSameTitle() throws IOException {
+        // Arrange
+        MovieCatalog catalog = openCatalog();
+
+        // Act & Assert
+        assertTrue(catalog.confirmsImdbId("tt0111161", "Shawshank Redemption"));
+        assertTrue(catalog.confirmsImdbId("tt0211915", "Le Fabuleux Destin d'Amélie Poulain"));
+        assertFalse(catalog.confirmsImdbId("tt0111161", "Amélie"));
+        assertFalse(catalog.confirmsImdbId("tt1234567", "The Shawshank Redemption"));
+        assertFalse(catalog.confirmsImdbId(null, "The Shawshank Redemption"));
+    }
+
+    @Test
+    void verify_ShouldDoNothing_WhenCatalogDisabled() {
+        // Arrange
+        MovieCatalog catalog = new MovieCatalog();
+        ReflectionTestUtils.setField(catalog, "directory", "");
+        catalog.init();
+        MovieResponseDto.MovieDto movie = MovieResponseDto.MovieDto.builder().title("Amélie").year(2001).build();
+
+        // Act
+        int matched = catalog.verify(List.of(movie));
+
+        // Assert
+        assertFalse(catalog.isAvailable());
+        assertEquals(0, matched);
+        assertEquals(Optional.empty(), catalog.findByImdbId("tt0211915"));
+    }
+
+    private MovieCatalog openCatalog() throws IOException {
+        MovieCatalogIndex.build(directory.resolve("title.basics.tsv.gz"), directory.resolve("title.ratings.tsv"), indexFile);
+        MovieCatalog catalog = new MovieCatalog();
+        ReflectionTestUtils.setField(catalog, "directory", directory.toString());
+        ReflectionTestUtils.setField(catalog, "basicsFile", "title.basics.tsv.gz");
+        ReflectionTestUtils.setField(catalog, "ratingsFile", "title.ratings.tsv");
+        ReflectionTestUtils.setField(catalog, "indexFile", indexFile.toString());
+        catalog.init();
+        assertTrue(catalog.isAvailable());
+        return catalog;
+    }
+}
@@ -0,0 +1,231 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieListSummaryDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
+import com.bestgroup.HomeEntertAInment.repository.MovieListRepository;
+import com.bestgroup.HomeEntertAInment.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieListServiceTest {
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @Mock
+    private MovieListRepository movieListRepository;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private MovieRecommender movieRecommender;
+
+    @Mock
+    private SavedMovieSearch savedMovieSearch;
+
+    @Mock
+    private MovieCatalog movieCatalog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MovieListService movieListService;
+
+    @BeforeEach
+    void setUp() {
+        movieListService = new MovieListService(movieListRepository, movieRepository, movieRecommender,
+            savedMovieSearch, movieCatalog, transactionManager);
+    }
+
+    @Test
+    void saveMovieList_ShouldReferenceKnownMoviesAndInsertOnlyNewOnes() {
+        // Arrange
+        Movie known = Movie.builder().id(7L).movieKey("tt0111161").title("The Shawshank Redemption").build();
+        when(movieCatalog.confirmsImdbId(any(), any())).thenAnswer(invocation -> "TT0111161".equals(invocation.getArgument(0)));
+        when(movieRepository.findByMovieKeyIn(anyCollection())).thenReturn(List.of(known));
+        when(movieListRepository.save(any(MovieList.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MovieResponseDto response = MovieResponseDto.builder().movies(List.of(
+            MovieResponseDto.MovieDto.builder().title("The Shawshank Redemption").imdbId("TT0111161").recommendationReason("Hope").build(),
+            MovieResponseDto.MovieDto.builder().title("Paddington  2").year(2017).genres(List.of("Comedy")).build(),
+            MovieResponseDto.MovieDto.builder().title("Paddington 2").year(2017).build(),
+            MovieResponseDto.MovieDto.builder().build()
+        )).build();
+
+        // Act
+        MovieList saved = movieListService.saveMovieList(TEST_USER_ID, "Favourites", null, null, response);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Movie>> created = ArgumentCaptor.forClass(List.class);
+        verify(movieRepository).saveAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        assertEquals("paddington 2|2017", created.getValue().get(0).getMovieKey());
+        assertEquals(List.of("Comedy"), created.getValue().get(0).getGenres());
+
+        List<MovieListItem> items = saved.getMovies();
+        assertEquals(3, items.size());
+        assertSame(known, items.get(0).getMovie());
+        assertEquals("Hope", items.get(0).getRecommendationReason());
+        assertSame(items.get(1).getMovie(), items.get(2).getMovie());
+        assertEquals(List.of(0, 1, 2), items.stream().map(MovieListItem::getPosition).toList());
+        verify(movieListRepository, times(1)).save(any(MovieList.class));
+        verify(movieRecommender).addList(saved);
+        verify(savedMovieSearch).invalidate(TEST_USER_ID);
+    }
+
+    @Test
+    void saveMovieList_ShouldKeepMoviesApart_WhenTheyShareAnUnconfirmedImdbId() {
+        // Arrange
+        when(movieRepository.findByMovieKeyIn(anyCollection())).thenReturn(List.of());
+        when(movieListRepository.save(any(MovieList.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MovieResponseDto response = MovieResponseDto.builder().movies(List.of(
+            MovieResponseDto.MovieDto.builder().title("Inception").year(2010).imdbId("tt1234567").build(),
+            MovieResponseDto.MovieDto.builder().title("Up").year(2009).imdbId("tt1234567").build()
+        )).build();
+
+        // Act
+        MovieList saved = movieListService.saveMovieList(TEST_USER_ID, "Favourites", null, null, response);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Movie>> created = ArgumentCaptor.forClass(List.class);
+        verify(movieRepository).saveAll(created.capture());
+        assertEquals(List.of("inception|2010", "up|2009"), created.getValue().stream().map(Movie::getMovieKey).toList());
+        assertNotSame(saved.getMovies().get(0).getMovie(), saved.getMovies().get(1).getMovie());
+    }
+
+    @Test
+    void saveMovieList_ShouldNotReuseRowSavedUnderSameImdbIdWithAnotherTitle() {
+        // Arrange
+        Movie inception = Movie.builder().id(7L).movieKey("tt1234567").title("Inception").build();
+        when(movieCatalog.confirmsImdbId("tt1234567", "Up")).thenReturn(true);
+        when(movieRepository.findByMovieKeyIn(anyCollection())).thenReturn(List.of(inception));
+        when(movieListRepository.save(any(MovieList.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        MovieResponseDto response = MovieResponseDto.builder().movies(List.of(
+            MovieResponseDto.MovieDto.builder().title("Up").year(2009).imdbId("tt1234567").build()
+        )).build();
+
+        // Act
+        MovieList saved = movieListService.saveMovieList(TEST_USER_ID, "Pixar", null, null, response);
+
+        // Assert
+        verify(movieRepository).findByMovieKeyIn(argThat(keys -> keys.containsAll(List.of("tt1234567", "up|2009"))));
+        Movie up = saved.getMovies().get(0).getMovie();
+        assertNotSame(inception, up);
+        assertEquals("up|2009", up.getMovieKey());
+        assertEquals("Up", up.getTitle());
+    }
+
+    @Test
+    void saveMovieList_ShouldRetryOnce_WhenMovieInsertedConcurrently() {
+        // Arrange
+        when(movieRepository.findByMovieKeyIn(anyCollection())).thenReturn(List.of());
+        when(movieListRepository.save(any(MovieList.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate key movie_key"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        MovieResponseDto response = MovieResponseDto.builder().movies(List.of(
+            MovieResponseDto.MovieDto.builder().title("Up").year(2009).build()
+        )).build();
+
+        // Act
+        MovieList saved = movieListService.saveMovieList(TEST_USER_ID, "Pixar", null, null, response);
+
+        // Assert
+        assertEquals(1, saved.getMovies().size());
+        verify(movieListRepository, times(2)).save(any(MovieList.class));
+        verify(movieRepository, times(2)).findByMovieKeyIn(anyCollection());
+    }
+
+    @Test
+    void deleteMovieList_ShouldRemoveListFromRecommender() {
+        // Arrange
+        MovieList movieList = MovieList.builder().id(3L).clerkUserId(TEST_USER_ID).listName("Favourites").build();
+        when(movieListRepository.findByIdAndClerkUserIdWithMovies(3L, TEST_USER_ID)).thenReturn(Optional.of(movieList));
+
+        // Act
+        movieListService.deleteMovieList(3L, TEST_USER_ID);
+
+        // Assert
+        verify(movieListRepository).delete(movieList);
+        verify(movieRecommender).removeList(movieList);
+        verify(savedMovieSearch).invalidate(TEST_USER_ID);
+    }
+
+    @Test
+    void deleteMovieList_ShouldThrowAndLeaveRecommender_WhenListNotFound() {
+        // Arrange
+        when(movieListRepository.findByIdAndClerkUserIdWithMovies(3L, "other-user")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> movieListService.deleteMovieList(3L, "other-user"));
+        verify(movieRecommender, never()).removeList(any());
+    }
+
+    @Test
+    void getMovieListSummaries_ShouldQueryCappedPage() {
+        // Arrange
+        MovieListSummaryDto summary = new MovieListSummaryDto(1L, "Favourites", null, 3, LocalDateTime.now());
+        when(movieListRepository.findSummariesByClerkUserId(eq(TEST_USER_ID), any(Pageable.class)))
+            .thenReturn(List.of(summary));
+
+        // Act
+        List<MovieListSummaryDto> result = movieListService.getMovieListSummaries(TEST_USER_ID, 2, 500);
+
+        // Assert
+        assertEquals(List.of(summary), result);
+        verify(movieListRepository).findSummariesByClerkUserId(TEST_USER_ID, PageRequest.of(2, 100));
+        verify(movieListRepository, never()).findAllWithMovies();
+    }
+
+    @Test
+    void getMovieListSummaries_ShouldQueryAllListsWhenNoPageIsGiven() {
+        // Arrange
+        List<MovieListSummaryDto> summaries = java.util.stream.LongStream.rangeClosed(1, 120)
+            .mapToObj(id -> new MovieListSummaryDto(id, "List " + id, null, 1, LocalDateTime.now()))
+            .toList();
+        when(movieListRepository.findSummariesByClerkUserId(TEST_USER_ID, Pageable.unpaged())).thenReturn(summaries);
+
+        // Act
+        List<MovieListSummaryDto> result = movieListService.getMovieListSummaries(TEST_USER_ID);
+
+        // Assert
+        assertEquals(120, result.size());
+        verify(movieListRepository).findSummariesByClerkUserId(TEST_USER_ID, Pageable.unpaged());
+    }
+
+    @Test
+    void getSavedMoviesByGenre_ShouldQueryNormalizedGenreAndReturnArraysWithoutParsing() {
+        // Arrange
+        Movie movie = Movie.builder().movieKey("tt0111161").title("The Shawshank Redemption")
+            .genres(List.of("Drama")).cast(List.of("Tim Robbins", "Morgan Freeman")).build();
+        when(movieRepository.findSavedByClerkUserIdAndGenre(TEST_USER_ID, "drama")).thenReturn(List.of(movie));
+
+        // Act
+        List<MovieResponseDto.MovieDto> result = movieListService.getSavedMoviesByGenre(TEST_USER_ID, " Drama ");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(List.of("Drama"), result.get(0).getGenres());
+        assertEquals(List.of("Tim Robbins", "Morgan Freeman"), result.get(0).getCast());
+    }
+}
@@ -0,0 +1,96 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieRecommendationCacheStatsDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieRequestDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieRecommendationCacheTest {
+
+    private static final List<MovieResponseDto.MovieDto> MOVIES = List.of(
+        MovieResponseDto.MovieDto.builder().title("Paddington 2").build(),
+        MovieResponseDto.MovieDto.builder().title("Up").build());
+
+    private MovieRecommendationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new MovieRecommendationCache();
+    }
+
+    @Test
+    void get_ShouldServeSimilarRequest_WithOverlappingGenresAndSynonymMood() {
+        // Arrange
+        cache.put(MovieRequestDto.builder().genres(List.of("Comedy", "Family")).mood("fun").ageRating("PG").build(), MOVIES);
+
+        // Act
+        var similar = cache.get(MovieRequestDto.builder().genres(List.of("Family", "comedy", "Animation")).mood("Funny")
+            .ageRating("pg").build());
+        var differentMood = cache.get(MovieRequestDto.builder().genres(List.of("Comedy", "Family")).mood("Dark and Serious")
+            .ageRating("PG").build());
+        var differentAgeRating = cache.get(MovieRequestDto.builder().genres(List.of("Comedy", "Family")).mood("fun")
+            .ageRating("R").build());
+
+        // Assert
+        assertEquals(MOVIES, similar.orElseThrow());
+        assertTrue(differentMood.isEmpty());
+        assertTrue(differentAgeRating.isEmpty());
+        MovieRecommendationCacheStatsDto stats = cache.getStats();
+        assertEquals(0, stats.exactHits());
+        assertEquals(1, stats.similarHits());
+        assertEquals(2, stats.misses());
+        assertTrue(stats.averageSimilarity() >= 0.85);
+    }
+
+    @Test
+    void get_ShouldOnlyServeIdenticalPreferences_WhenThresholdIsOne() {
+        // Arrange
+        ReflectionTestUtils.setField(cache, "similarityThreshold", 1.0);
+        cache.put(MovieRequestDto.builder().genres(List.of("Comedy", "Family")).mood("Light and Fun").build(), MOVIES);
+
+        // Act & Assert
+        assertTrue(cache.get(MovieRequestDto.builder().genres(List.of("Comedy", "Family", "Animation")).mood("fun").build()).isEmpty());
+        assertEquals(MOVIES, cache.get(MovieRequestDto.builder().genres(List.of("family", "Comedy")).mood("happy").build()).orElseThrow());
+        assertEquals(1, cache.getStats().exactHits());
+    }
+
+    @Test
+    void get_ShouldRequireSameDescription_AndEvictLeastRecentlyUsed() {
+        // Arrange
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        MovieRequestDto described = MovieRequestDto.builder().genres(List.of("Drama")).customDescription("Set in Paris").build();
+        MovieRequestDto western = MovieRequestDto.builder().genres(List.of("Western")).build();
+        MovieRequestDto horror = MovieRequestDto.builder().genres(List.of("Horror")).build();
+        cache.put(described, MOVIES);
+        cache.put(western, MOVIES);
+
+        // Act
+        boolean otherDescription = cache.get(MovieRequestDto.builder().genres(List.of("Drama"))
+            .customDescription("Set in Rome").build()).isPresent();
+        boolean sameDescription = cache.get(MovieRequestDto.builder().genres(List.of("Drama"))
+            .customDescription("  set in  paris ").build()).isPresent();
+        cache.put(horror, MOVIES);
+
+        // Assert
+        assertFalse(otherDescription);
+        assertTrue(sameDescription);
+        assertTrue(cache.get(described).isPresent());
+        assertTrue(cache.get(western).isEmpty());
+        assertEquals(2, cache.getStats().entries());
+    }
+
+    @Test
+    void moodClass_ShouldGroupSynonyms() {
+        assertEquals("light", MovieRecommendationCache.moodClass("Light and Fun"));
+        assertEquals("light", MovieRecommendationCache.moodClass("funny"));
+        assertEquals("thoughtful", MovieRecommendationCache.moodClass("Thought-provoking"));
+        assertEquals("nostalgic", MovieRecommendationCache.moodClass(" Nostalgic "));
+        assertNull(MovieRecommendationCache.moodClass(" "));
+    }
+}
@@ -0,0 +1,182 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieRecommenderStatsDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieRequestDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
+import com.bestgroup.HomeEntertAInment.repository.MovieListRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieRecommenderTest {
+
+    private static final String COMEDY_CRITERIA = "{\"movieCount\":5,\"request\":{\"genres\":[\"Comedy\"],\"mood\":\"Happy\"}}";
+    private static final String HORROR_CRITERIA = "{\"movieCount\":5,\"request\":{\"genres\":[\"Horror\"],\"mood\":\"Scared\"}}";
+
+    @Mock
+    private MovieListRepository movieListRepository;
+
+    private MovieRecommender movieRecommender;
+
+    @BeforeEach
+    void setUp() {
+        movieRecommender = new MovieRecommender(movieListRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(movieRecommender, "enabled", true);
+        ReflectionTestUtils.setField(movieRecommender, "minSimilarity", 0.6);
+        ReflectionTestUtils.setField(movieRecommender, "minSupport", 2);
+        ReflectionTestUtils.setField(movieRecommender, "count", 5);
+        ReflectionTestUtils.setField(movieRecommender, "coOccurrenceWeight", 0.2);
+    }
+
+    @Test
+    void recommend_ShouldAnswerLocally_WhenEnoughListsMatch() {
+        // Arrange
+        when(movieListRepository.findAllWithMovies()).thenReturn(List.of(
+            list(COMEDY_CRITERIA, "Comedy", 1, 6),
+            list(COMEDY_CRITERIA, "Comedy", 1, 6),
+            list(HORROR_CRITERIA, "Horror", 100, 105),
+            list(HORROR_CRITERIA, "Horror", 100, 105)));
+        movieRecommender.rebuild();
+
+        // Act
+        Optional<List<MovieResponseDto.MovieDto>> result = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("comedy")).mood("happy").build());
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(5, result.get().size());
+        assertTrue(result.get().stream().allMatch(movie -> movie.getGenres().equals(List.of("Comedy"))));
+        assertTrue(result.get().get(0).getRecommendationReason().contains("happy"));
+    }
+
+    @Test
+    void recommend_ShouldFallBack_WhenMoviesLackSupportOrSimilarity() {
+        // Arrange
+        when(movieListRepository.findAllWithMovies()).thenReturn(List.of(list(COMEDY_CRITERIA, "Comedy", 1, 6)));
+        movieRecommender.rebuild();
+
+        // Act
+        Optional<List<MovieResponseDto.MovieDto>> unsupported = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").build());
+        movieRecommender.addList(list(COMEDY_CRITERIA, "Comedy", 1, 6));
+        Optional<List<MovieResponseDto.MovieDto>> dissimilar = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("Western")).mood("Tense").build());
+        Optional<List<MovieResponseDto.MovieDto>> freeText = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").customDescription("like Paddington").build());
+        Optional<List<MovieResponseDto.MovieDto>> supported = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").build());
+
+        // Assert
+        assertTrue(unsupported.isEmpty());
+        assertTrue(dissimilar.isEmpty());
+        assertTrue(freeText.isEmpty());
+        assertTrue(supported.isPresent());
+    }
+
+    @Test
+    void getStats_ShouldReportHitRateAndLatency() {
+        // Arrange
+        when(movieListRepository.findAllWithMovies()).thenReturn(List.of(
+            list(COMEDY_CRITERIA, "Comedy", 1, 6),
+            list(COMEDY_CRITERIA, "Comedy", 1, 6)));
+        movieRecommender.rebuild();
+        movieRecommender.recommend(MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").build());
+        movieRecommender.recommend(MovieRequestDto.builder().genres(List.of("Drama")).build());
+        movieRecommender.recordGeminiLatency(3_000_000_000L);
+
+        // Act
+        MovieRecommenderStatsDto stats = movieRecommender.getStats();
+
+        // Assert
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(3000.0, stats.averageGeminiMillis());
+        assertTrue(stats.averageLocalMillis() > 0);
+        assertEquals(2, stats.lists());
+        assertEquals(5, stats.movies());
+    }
+
+    @Test
+    void recommend_ShouldOnlyRecommendMoviesWithRequestedAgeRating() {
+        // Arrange
+        when(movieListRepository.findAllWithMovies()).thenReturn(List.of(
+            list(COMEDY_CRITERIA, "Comedy", 1, 6, "R"),
+            list(COMEDY_CRITERIA, "Comedy", 1, 6, "R"),
+            list(COMEDY_CRITERIA, "Comedy", 10, 15, "PG"),
+            list(COMEDY_CRITERIA, "Comedy", 10, 15, "PG")));
+        movieRecommender.rebuild();
+
+        // Act
+        Optional<List<MovieResponseDto.MovieDto>> family = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").ageRating("pg").build());
+        Optional<List<MovieResponseDto.MovieDto>> kids = movieRecommender.recommend(
+            MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").ageRating("G").build());
+
+        // Assert
+        assertTrue(family.isPresent());
+        assertTrue(family.get().stream().allMatch(movie -> movie.getAgeRating().equals("PG")));
+        assertTrue(kids.isEmpty());
+    }
+
+    @Test
+    void removeList_ShouldForgetDeletedList() {
+        // Arrange
+        MovieList deleted = list(COMEDY_CRITERIA, "Comedy", 1, 6);
+        when(movieListRepository.findAllWithMovies()).thenReturn(List.of(
+            list(COMEDY_CRITERIA, "Comedy", 1, 6),
+            deleted,
+            list(HORROR_CRITERIA, "Horror", 100, 105)));
+        movieRecommender.rebuild();
+        MovieRequestDto comedy = MovieRequestDto.builder().genres(List.of("Comedy")).mood("Happy").build();
+        assertTrue(movieRecommender.recommend(comedy).isPresent());
+
+        // Act
+        movieRecommender.removeList(deleted);
+        movieRecommender.removeList(list(HORROR_CRITERIA, "Horror", 100, 105));
+
+        // Assert
+        assertTrue(movieRecommender.recommend(comedy).isEmpty());
+        assertEquals(1, movieRecommender.getStats().lists());
+        assertEquals(5, movieRecommender.getStats().movies());
+        movieRecommender.addList(list(COMEDY_CRITERIA, "Comedy", 1, 6));
+        assertTrue(movieRecommender.recommend(comedy).isPresent());
+    }
+
+    private static MovieList list(String criteria, String genre, int firstId, int endId) {
+        return list(criteria, genre, firstId, endId, null);
+    }
+
+    private static MovieList list(String criteria, String genre, int firstId, int endId, String ageRating) {
+        MovieList movieList = MovieList.builder().searchCriteria(criteria).build();
+        movieList.setMovies(IntStream.range(firstId, endId)
+            .mapToObj(id -> MovieListItem.builder()
+                .movieList(movieList)
+                .movie(Movie.builder()
+                    .movieKey("tt%07d".formatted(id))
+                    .title(genre + " Movie " + id)
+                    .year(2000 + id % 20)
+                    .imdbId("tt%07d".formatted(id))
+                    .genres(List.of(genre))
+                    .ageRating(ageRating)
+                    .build())
+                .build())
+            .toList());
+        return movieList;
+    }
+}
@@ -0,0 +1,147 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.bestgroup.HomeEntertAInment.dto.MovieRequestDto;
+import com.bestgroup.HomeEntertAInment.dto.MovieResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieServiceTest {
+
+    @Mock
+    private MovieCatalog movieCatalog;
+
+    @Mock
+    private MovieRecommender movieRecommender;
+
+    @Mock
+    private MovieRecommendationCache movieCache;
+
+    @Mock
+    private GeminiService geminiService;
+
+    @Mock
+    private ExecutorService aiTaskExecutor;
+
+    private MovieService movieService;
+
+    @BeforeEach
+    void setUp() {
+        movieService = new MovieService(movieCatalog, movieRecommender, movieCache, geminiService, aiTaskExecutor);
+    }
+
+    @Test
+    void streamMovies_ShouldEmitEachMovie_AsSoonAsItsObjectCloses() {
+        // Arrange
+        List<String> received = new ArrayList<>();
+        List<Integer> receivedWhenSecondChunkFed = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<String> chunks = invocation.getArgument(2);
+            chunks.accept("{\"movies\": [{\"title\": \"Up\", \"year\": 2009, \"director\": [\"Pete Docter\"]},");
+            receivedWhenSecondChunkFed.add(received.size());
+            chunks.accept(" {\"title\": \"Coco\", \"ye");
+            chunks.accept("ar\": 2017}]}");
+            return null;
+        }).when(geminiService).streamContent(anyString(), anyMap(), any());
+
+        // Act
+        int count = movieService.streamMovies(MovieRequestDto.builder().mood("happy").build(),
+            movie -> received.add(movie.getTitle()));
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals(List.of("Up", "Coco"), received);
+        assertEquals(List.of(1), receivedWhenSecondChunkFed);
+        verify(movieCatalog, times(2)).verify(anyList());
+        verify(movieCache).put(any(MovieRequestDto.class), argThat(movies -> movies.size() == 2));
+    }
+
+    @Test
+    void streamMovies_ShouldKeepCompletedMovies_WhenStreamFails() {
+        // Arrange
+        List<MovieResponseDto.MovieDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<String> chunks = invocation.getArgument(2);
+            chunks.accept("```json\n{\"movies\": [{\"title\": \"Up\", \"year\": 2009}, {\"title\": \"Co");
+            throw new ResourceAccessException("Connection reset");
+        }).when(geminiService).streamContent(anyString(), anyMap(), any());
+
+        // Act
+        int count = movieService.streamMovies(MovieRequestDto.builder().build(), received::add);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals("Up", received.get(0).getTitle());
+        assertEquals(2009, received.get(0).getYear());
+        verify(movieCache, never()).put(any(), any());
+    }
+
+    @Test
+    void streamMovies_ShouldNotCallGemini_WhenRecommenderIsConfident() {
+        // Arrange
+        MovieRequestDto request = MovieRequestDto.builder().mood("happy").build();
+        when(movieRecommender.recommend(request)).thenReturn(Optional.of(List.of(
+            MovieResponseDto.MovieDto.builder().title("Up").build(),
+            MovieResponseDto.MovieDto.builder().title("Coco").build())));
+        List<MovieResponseDto.MovieDto> received = new ArrayList<>();
+
+        // Act
+        int count = movieService.streamMovies(request, received::add);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals(2, received.size());
+        verifyNoInteractions(geminiService);
+        verify(movieRecommender, never()).recordGeminiLatency(anyLong());
+    }
+
+    @Test
+    void streamMovies_ShouldServeCachedMovies_WithoutCallingGemini() {
+        // Arrange
+        MovieRequestDto request = MovieRequestDto.builder().genres(List.of("Comedy")).mood("funny").build();
+        when(movieCache.get(request)).thenReturn(Optional.of(List.of(
+            MovieResponseDto.MovieDto.builder().title("Paddington 2").build())));
+        List<MovieResponseDto.MovieDto> received = new ArrayList<>();
+
+        // Act
+        int count = movieService.streamMovies(request, received::add);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals("Paddington 2", received.get(0).getTitle());
+        verifyNoInteractions(geminiService);
+        verify(movieCache, never()).put(any(), any());
+    }
+
+    @Test
+    void streamMovies_ShouldSkipMoviesWithoutTitle() {
+        // Arrange
+        List<MovieResponseDto.MovieDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<String> chunks = invocation.getArgument(2);
+            chunks.accept("{\"movies\": [{\"year\": 2009}, {\"title\": \"Coco\", \"year\": 2017}]}");
+            return null;
+        }).when(geminiService).streamContent(anyString(), anyMap(), any());
+
+        // Act
+        int count = movieService.streamMovies(MovieRequestDto.builder().build(), received::add);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals("Coco", received.get(0).getTitle());
+    }
+}
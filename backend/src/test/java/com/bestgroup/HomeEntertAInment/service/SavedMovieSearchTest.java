@@ -0,0 +1,181 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.bestgroup.HomeEntertAInment.dto.SavedMovieSearchResponseDto;
+import com.bestgroup.HomeEntertAInment.entity.Movie;
+import com.bestgroup.HomeEntertAInment.entity.MovieList;
+import com.bestgroup.HomeEntertAInment.entity.MovieListItem;
+import com.bestgroup.HomeEntertAInment.repository.MovieListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SavedMovieSearchTest {
+
+    private static final String TEST_USER_ID = "test-user-123";
+    private static final String OTHER_USER_ID = "test-user-456";
+
+    @Mock
+    private MovieListRepository movieListRepository;
+
+    private SavedMovieSearch savedMovieSearch;
+
+    @BeforeEach
+    void setUp() {
+        savedMovieSearch = new SavedMovieSearch(movieListRepository);
+        Movie paddington = movie(1L, "Paddington 2", 2017, 103, "PG", "Paul King", "Comedy", "Family");
+        Movie up = movie(2L, "Up", 2009, 96, "PG", "Pete Docter", "Animation", "Family");
+        Movie alien = movie(3L, "Alien", 1979, 117, "R", "Ridley Scott", "Horror");
+        Movie heat = movie(4L, "Heat", 1995, 170, "R", "Michael Mann", "Crime");
+        lenient().when(movieListRepository.findByClerkUserIdWithMovies(TEST_USER_ID)).thenReturn(List.of(
+            list(10L, "Cosy", LocalDateTime.of(2024, 1, 1, 12, 0), paddington, up),
+            list(11L, "Weekend", LocalDateTime.of(2024, 2, 1, 12, 0), alien, heat, paddington)
+        ));
+    }
+
+    @Test
+    void search_ShouldReturnMostRecentlySavedFirst_WithListsAndFacetCounts() {
+        // Act
+        SavedMovieSearchResponseDto result = savedMovieSearch.search(TEST_USER_ID, null, Map.of(), 0, 2);
+
+        // Assert
+        assertEquals(4, result.getTotalResults());
+        assertEquals(List.of("Alien", "Heat"), result.getItems().stream().map(item -> item.getMovie().getTitle()).toList());
+        assertEquals(Map.of("Family", 2L, "Comedy", 1L, "Animation", 1L, "Horror", 1L, "Crime", 1L),
+            result.getFacets().get(SavedMovieSearch.GENRE));
+        assertEquals("Family", result.getFacets().get(SavedMovieSearch.GENRE).keySet().iterator().next());
+        assertEquals(Map.of("90-120", 3L, "over-120", 1L), result.getFacets().get(SavedMovieSearch.DURATION));
+
+        SavedMovieSearchResponseDto lastPage = savedMovieSearch.search(TEST_USER_ID, null, Map.of(), 1, 2);
+        SavedMovieSearchResponseDto.SavedMovieDto paddington = lastPage.getItems().get(0);
+        assertEquals("Paddington 2", paddington.getMovie().getTitle());
+        assertEquals(List.of(11L, 10L), paddington.getListIds());
+        assertEquals(List.of("Weekend", "Cosy"), paddington.getListNames());
+        verify(movieListRepository, times(1)).findByClerkUserIdWithMovies(TEST_USER_ID);
+    }
+
+    @Test
+    void search_ShouldCountEachFacetWithTheOtherFiltersOnly() {
+        // Act
+        SavedMovieSearchResponseDto result = savedMovieSearch.search(TEST_USER_ID, null, Map.of(
+            SavedMovieSearch.AGE_RATING, List.of("pg"),
+            SavedMovieSearch.DECADE, List.of("2010s")), 0, 20);
+
+        // Assert
+        assertEquals(List.of("Paddington 2"), result.getItems().stream().map(item -> item.getMovie().getTitle()).toList());
+        // Other decades stay selectable among PG movies, other age ratings among 2010s movies
+        assertEquals(Map.of("2010s", 1L, "2000s", 1L), result.getFacets().get(SavedMovieSearch.DECADE));
+        assertEquals(Map.of("PG", 1L), result.getFacets().get(SavedMovieSearch.AGE_RATING));
+        assertEquals(Map.of("Comedy", 1L, "Family", 1L), result.getFacets().get(SavedMovieSearch.GENRE));
+    }
+
+    @Test
+    void search_ShouldMatchAllQueryWords_AndRebuildAfterInvalidate() {
+        // Act
+        SavedMovieSearchResponseDto result = savedMovieSearch.search(TEST_USER_ID, "  ridley ALIEN ", Map.of(), 0, 20);
+        savedMovieSearch.invalidate(TEST_USER_ID);
+        savedMovieSearch.search(TEST_USER_ID, "heat", Map.of(), 0, 20);
+
+        // Assert
+        assertEquals(1, result.getTotalResults());
+        assertEquals("Alien", result.getItems().get(0).getMovie().getTitle());
+        verify(movieListRepository, times(2)).findByClerkUserIdWithMovies(TEST_USER_ID);
+    }
+
+    @Test
+    void search_ShouldCountFacetValuesDifferingOnlyInCaseTogether() {
+        // Arrange
+        Movie airplane = movie(5L, "Airplane!", 1980, 88, "pg", "Jim Abrahams", "comedy", " COMEDY");
+        Movie hotFuzz = movie(6L, "Hot Fuzz", 2007, 121, "R", "Edgar Wright", "COMEDY ", "Crime");
+        when(movieListRepository.findByClerkUserIdWithMovies(OTHER_USER_ID)).thenReturn(List.of(
+            list(12L, "Laughs", LocalDateTime.of(2024, 3, 1, 12, 0), airplane, hotFuzz)
+        ));
+
+        // Act
+        SavedMovieSearchResponseDto result = savedMovieSearch.search(OTHER_USER_ID, null, Map.of(
+            SavedMovieSearch.GENRE, List.of("Comedy")), 0, 20);
+
+        // Assert
+        assertEquals(2, result.getTotalResults());
+        assertEquals(Map.of("comedy", 2L, "Crime", 1L), result.getFacets().get(SavedMovieSearch.GENRE));
+        assertEquals(Map.of("pg", 1L, "R", 1L), result.getFacets().get(SavedMovieSearch.AGE_RATING));
+    }
+
+    @Test
+    void search_ShouldBuildIndexOutsideTheMap_SoOtherUsersAreNotBlocked() throws Exception {
+        // Arrange
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(movieListRepository.findByClerkUserIdWithMovies(OTHER_USER_ID)).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<SavedMovieSearchResponseDto> first = executor.submit(
+                () -> savedMovieSearch.search(OTHER_USER_ID, null, Map.of(), 0, 20));
+            assertTrue(querying.await(5, TimeUnit.SECONDS));
+            Future<SavedMovieSearchResponseDto> second = executor.submit(
+                () -> savedMovieSearch.search(OTHER_USER_ID, null, Map.of(), 0, 20));
+            SavedMovieSearchResponseDto unblocked = savedMovieSearch.search(TEST_USER_ID, null, Map.of(), 0, 20);
+            release.countDown();
+
+            // Assert
+            assertEquals(4, unblocked.getTotalResults());
+            assertEquals(0, first.get(5, TimeUnit.SECONDS).getTotalResults());
+            assertEquals(0, second.get(5, TimeUnit.SECONDS).getTotalResults());
+            verify(movieListRepository, times(1)).findByClerkUserIdWithMovies(OTHER_USER_ID);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void search_ShouldRetryBuild_WhenQueryFailed() {
+        // Arrange
+        when(movieListRepository.findByClerkUserIdWithMovies(OTHER_USER_ID))
+            .thenThrow(new IllegalStateException("connection reset"))
+            .thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> savedMovieSearch.search(OTHER_USER_ID, null, Map.of(), 0, 20));
+        assertEquals(0, savedMovieSearch.search(OTHER_USER_ID, null, Map.of(), 0, 20).getTotalResults());
+        verify(movieListRepository, times(2)).findByClerkUserIdWithMovies(OTHER_USER_ID);
+    }
+
+    private static Movie movie(Long id, String title, int year, int duration, String ageRating, String director,
+                               String... genres) {
+        return Movie.builder().id(id).movieKey(title.toLowerCase() + "|" + year).title(title).year(year)
+            .duration(duration).ageRating(ageRating).director(director).genres(List.of(genres)).build();
+    }
+
+    private static MovieList list(Long id, String name, LocalDateTime createdAt, Movie... movies) {
+        MovieList list = MovieList.builder().id(id).clerkUserId(TEST_USER_ID).listName(name).createdAt(createdAt)
+            .movies(new ArrayList<>()).build();
+        for (Movie movie : movies) {
+            list.getMovies().add(MovieListItem.builder().movieList(list).movie(movie)
+                .position(list.getMovies().size()).build());
+        }
+        return list;
+    }
+}
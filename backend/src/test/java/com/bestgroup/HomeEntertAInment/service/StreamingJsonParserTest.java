@@ -0,0 +1,72 @@
+package com.bestgroup.HomeEntertAInment.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void feed_ShouldEmitArrayElementsAndCollectHeaderAcrossChunks() {
+        // Arrange
+        List<JsonNode> elements = new ArrayList<>();
+        StreamingJsonParser parser = new StreamingJsonParser(objectMapper, "questions", elements::add);
+        String json = "```json\n{\"title\": \"Space\", \"topics\": [\"Stars\", \"Planets\"], "
+                + "\"questions\": [{\"questionText\": \"Q1\", \"options\": [\"A\", \"B\"]}, {\"questionText\": \"Q2\"}]}\n```";
+
+        // Act
+        for (int i = 0; i < json.length(); i += 3) {
+            parser.feed(json.substring(i, Math.min(i + 3, json.length())));
+        }
+
+        // Assert
+        assertTrue(parser.isComplete());
+        assertFalse(parser.isMalformed());
+        assertEquals("Space", parser.getHeader().get("title").asText());
+        assertEquals(2, parser.getHeader().get("topics").size());
+        assertEquals(2, elements.size());
+        assertEquals("B", elements.get(0).get("options").get(1).asText());
+        assertEquals("Q2", elements.get(1).get("questionText").asText());
+    }
+
+    @Test
+    void feed_ShouldKeepCompletedElements_WhenJsonIsMalformed() {
+        // Arrange
+        List<JsonNode> elements = new ArrayList<>();
+        StreamingJsonParser parser = new StreamingJsonParser(objectMapper, "questions", elements::add);
+
+        // Act
+        parser.feed("{\"title\": \"Space\", \"questions\": [{\"questionText\": \"Q1\"}, ");
+        parser.feed("{\"questionText\": \"Q2\" \"options\": []}, {\"questionText\": \"Q3\"}]}");
+
+        // Assert
+        assertTrue(parser.isMalformed());
+        assertFalse(parser.isComplete());
+        assertEquals(1, elements.size());
+        assertEquals("Q1", elements.get(0).get("questionText").asText());
+    }
+
+    @Test
+    void feed_ShouldEmitElementsOfRootArray_WhenNoArrayFieldGiven() {
+        // Arrange
+        List<JsonNode> elements = new ArrayList<>();
+        StreamingJsonParser parser = new StreamingJsonParser(objectMapper, null, elements::add);
+
+        // Act
+        parser.feed("[{\"title\": \"Heat\"}, {\"title\": \"Al");
+        int emittedBeforeEnd = elements.size();
+        parser.feed("ien\"}]");
+
+        // Assert
+        assertEquals(1, emittedBeforeEnd);
+        assertTrue(parser.isComplete());
+        assertEquals("Alien", elements.get(1).get("title").asText());
+    }
+}
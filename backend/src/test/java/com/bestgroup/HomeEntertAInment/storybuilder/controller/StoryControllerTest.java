@@ -1,8 +1,12 @@
 package com.bestgroup.HomeEntertAInment.storybuilder.controller;
 
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.service.JsonResponseCache;
 import com.bestgroup.HomeEntertAInment.storybuilder.http.StoryController;
 import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.*;
+import com.bestgroup.HomeEntertAInment.storybuilder.service.IllustratedStoryService;
 import com.bestgroup.HomeEntertAInment.storybuilder.service.PdfConversionService;
+import com.bestgroup.HomeEntertAInment.storybuilder.service.StoryPdfCache;
 import com.bestgroup.HomeEntertAInment.storybuilder.service.StoryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +14,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,10 +30,13 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(StoryController.class)
+@Import(JsonResponseCache.class)
 class StoryControllerTest {
 
     @Autowired
@@ -35,9 +45,15 @@ class StoryControllerTest {
     @MockBean
     private StoryService storyService;
 
+    @MockBean
+    private IllustratedStoryService illustratedStoryService;
+
     @MockBean
     private PdfConversionService pdfConversionService;
 
+    @MockBean
+    private ClerkUserExtractor clerkUserExtractor;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -202,6 +218,36 @@ class StoryControllerTest {
         verify(storyService).getStoriesForUser(any());
     }
 
+    @Test
+    @WithMockUser
+    void getStorySummaries_ShouldReturnPage() throws Exception {
+        // Arrange
+        StorySummaryDto summary = new StorySummaryDto(UUID.randomUUID(), "The Dragon", List.of("ADVENTURE"),
+            null, LocalDateTime.now(), 900);
+        when(storyService.getStorySummaries(any(), eq("abc"), eq(10)))
+            .thenReturn(new StorySummaryPageDto(List.of(summary), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/stories/summaries").param("cursor", "abc").param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stories[0].title").value("The Dragon"))
+            .andExpect(jsonPath("$.stories[0].themes[0]").value("ADVENTURE"))
+            .andExpect(jsonPath("$.stories[0].content").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser
+    void getStorySummaries_ShouldReturnBadRequest_WhenCursorInvalid() throws Exception {
+        // Arrange
+        when(storyService.getStorySummaries(any(), eq("bad"), anyInt()))
+            .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/stories/summaries").param("cursor", "bad"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void getStories_ShouldReturnInternalServerError_WhenServiceThrowsException() throws Exception {
@@ -232,6 +278,51 @@ class StoryControllerTest {
         verify(storyService).getStoryById(eq(storyId), any());
     }
 
+    @Test
+    @WithMockUser
+    void getStory_ShouldServeCachedStoryAndHonorETag() throws Exception {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        when(clerkUserExtractor.extractClerkUserId(any())).thenReturn("user-1");
+        when(storyService.getStoryById(eq(storyId), any()))
+            .thenReturn(Optional.of(storyDto));
+
+        // Act
+        MvcResult first = mockMvc.perform(get("/api/stories/{id}", storyId))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        mockMvc.perform(get("/api/stories/{id}", storyId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/stories/{id}", storyId))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(jsonPath("$.hero").value(storyDto.hero()));
+
+        verify(storyService, times(1)).getStoryById(eq(storyId), any());
+    }
+
+    @Test
+    @WithMockUser
+    void getStory_ShouldReloadStory_WhenRequestedByAnotherUser() throws Exception {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        when(clerkUserExtractor.extractClerkUserId(any())).thenReturn("user-1", "user-2");
+        when(storyService.getStoryById(eq(storyId), any()))
+            .thenReturn(Optional.of(storyDto), Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/stories/{id}", storyId))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/stories/{id}", storyId))
+            .andExpect(status().isNotFound());
+
+        verify(storyService, times(2)).getStoryById(eq(storyId), any());
+    }
+
     @Test
     @WithMockUser
     void getStory_ShouldReturnNotFound_WhenStoryNotFound() throws Exception {
@@ -508,4 +599,38 @@ class StoryControllerTest {
 
         verify(pdfConversionService).convertMarkdownToPdf(anyString(), anyString());
     }
+
+    @Test
+    @WithMockUser
+    void convertStoryToPdf_ShouldServeExportedPdf_WhenLocalRendering() throws Exception {
+        // Arrange
+        MarkdownToPdfRequest request = new MarkdownToPdfRequest(
+            "# Test Story\n\nContent here...",
+            "https://example.com/cover.jpg"
+        );
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("story", ".pdf");
+        java.nio.file.Files.writeString(file, "%PDF-1.4");
+
+        when(pdfConversionService.isLocalRendering()).thenReturn(true);
+        when(pdfConversionService.exportMarkdownToPdf(anyString(), anyString()))
+            .thenReturn(new StoryPdfCache.CachedPdf(file, "abc123", 8));
+
+        try {
+            // Act & Assert
+            mockMvc.perform(post("/api/story/convert-to-pdf")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"story.pdf\""))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(content().string("%PDF-1.4"));
+        } finally {
+            java.nio.file.Files.deleteIfExists(file);
+        }
+
+        verify(pdfConversionService).exportMarkdownToPdf("# Test Story\n\nContent here...", "https://example.com/cover.jpg");
+        verify(pdfConversionService, never()).convertMarkdownToPdf(anyString(), anyString());
+    }
 }
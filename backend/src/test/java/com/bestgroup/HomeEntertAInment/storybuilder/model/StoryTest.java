@@ -0,0 +1,41 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoryTest {
+
+    private static final String STORY_CONTENT = "# Test Story\n\n## Chapter 1\n\nOnce upon a time...";
+
+    @Test
+    void parseTitle_ShouldUseFirstMainHeading() {
+        // Act & Assert
+        assertEquals("Test Story", Story.parseTitle(STORY_CONTENT));
+        assertEquals("Late Title", Story.parseTitle("Intro text\n\n  # Late Title  \n\n# Second"));
+        assertNull(Story.parseTitle("## Only a section\n\nText"));
+        assertNull(Story.parseTitle(null));
+    }
+
+    @Test
+    void countWords_ShouldSkipMarkdownMarkers() {
+        // Act & Assert
+        assertEquals(8, Story.countWords(STORY_CONTENT));
+        assertEquals(3, Story.countWords("- one\n- two -- three"));
+        assertEquals(0, Story.countWords("  \n "));
+        assertEquals(0, Story.countWords(null));
+    }
+
+    @Test
+    void updateSummary_ShouldDeriveTitleAndWordCountFromContent() {
+        // Arrange
+        Story story = Story.builder().generatedStory(STORY_CONTENT).build();
+
+        // Act
+        story.updateSummary();
+
+        // Assert
+        assertEquals("Test Story", story.getTitle());
+        assertEquals(8, story.getWordCount());
+    }
+}
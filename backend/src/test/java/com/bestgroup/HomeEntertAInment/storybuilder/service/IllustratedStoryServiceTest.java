@@ -0,0 +1,150 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.service.GeminiService;
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.IllustratedStoryResponse;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IllustratedStoryServiceTest {
+
+    @Mock
+    private GeminiService geminiService;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private StoryLibraryService storyLibraryService;
+
+    @Mock
+    private StoryRepository storyRepository;
+
+    @Mock
+    private ClerkUserExtractor clerkUserExtractor;
+
+    @Mock
+    private ImageDiskCache imageDiskCache;
+
+    @Mock
+    private Authentication authentication;
+
+    private ExecutorService executor;
+    private IllustratedStoryService illustratedStoryService;
+
+    private final StoryRequest request = new StoryRequest(
+        "Dragon", List.of(Theme.FANTASY), AgeGroup.AGE_7_8, StoryLength.SHORT, null, null);
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        illustratedStoryService = new IllustratedStoryService(geminiService, imageService, storyLibraryService,
+            storyRepository, clerkUserExtractor, imageDiskCache, executor);
+        ReflectionTestUtils.setField(illustratedStoryService, "maxSectionIllustrations", 4);
+        ReflectionTestUtils.setField(illustratedStoryService, "imageTimeoutSeconds", 5L);
+        when(clerkUserExtractor.extractClerkUserIdRequired(authentication)).thenReturn("user-1");
+        when(storyRepository.save(any(Story.class))).thenAnswer(invocation -> {
+            Story story = invocation.getArgument(0);
+            ReflectionTestUtils.setField(story, "id", UUID.randomUUID());
+            return story;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generateIllustratedStory_ShouldRequestImagesWhileTextIsStreaming() {
+        // Arrange
+        when(storyLibraryService.serve(request, "user-1")).thenReturn(Optional.empty());
+        when(imageService.generateImage(anyString(), anyInt(), anyInt(), anyInt()))
+            .thenAnswer(invocation -> "https://img/" + Math.abs(invocation.getArgument(0, String.class).hashCode()));
+        doAnswer(invocation -> {
+            Consumer<String> chunks = invocation.getArgument(2);
+            chunks.accept("# The Dragon\n\n## The Ca");
+            chunks.accept("ve\nOnce upon a time...\n\n");
+            // The cover and the first section are already being illustrated before the text is complete
+            verify(imageService, timeout(2000)).generateImage(contains("cover"), eq(512), eq(512), eq(1));
+            verify(imageService, timeout(2000)).generateImage(contains("The Cave"), eq(512), eq(512), eq(1));
+            chunks.accept("## The Flight\nThe dragon flew home.");
+            return null;
+        }).when(geminiService).streamContent(anyString(), anyMap(), any(Consumer.class));
+
+        // Act
+        IllustratedStoryResponse response = illustratedStoryService.generateIllustratedStory(request, authentication);
+
+        // Assert
+        assertNotNull(response.storyId());
+        assertNotNull(response.coverImageUrl());
+        assertEquals(List.of("The Cave", "The Flight"),
+            response.illustrations().stream().map(IllustratedStoryResponse.SectionIllustration::title).toList());
+        assertTrue(response.illustrations().stream().allMatch(illustration -> illustration.imageUrl() != null));
+        assertTrue(response.story().startsWith("# The Dragon"));
+        verify(storyLibraryService).offer(eq(request), eq("user-1"), startsWith("# The Dragon"));
+    }
+
+    @Test
+    void generateIllustratedStory_ShouldUseLibraryStoryAndTolerateFailedImages() {
+        // Arrange
+        when(storyLibraryService.serve(request, "user-1"))
+            .thenReturn(Optional.of("# Library Story\n\n## Only Section\nText"));
+        when(imageService.generateImage(anyString(), anyInt(), anyInt(), anyInt()))
+            .thenReturn("Error: RUNWARE_API_KEY is not configured.");
+
+        // Act
+        IllustratedStoryResponse response = illustratedStoryService.generateIllustratedStory(request, authentication);
+
+        // Assert
+        assertNull(response.coverImageUrl());
+        assertEquals(1, response.illustrations().size());
+        assertNull(response.illustrations().get(0).imageUrl());
+        verifyNoInteractions(geminiService);
+    }
+
+    @Test
+    void generateIllustratedStory_ShouldWaitForAllImagesWithinOneTimeout() {
+        // Arrange
+        ReflectionTestUtils.setField(illustratedStoryService, "imageTimeoutSeconds", 1L);
+        when(storyLibraryService.serve(request, "user-1"))
+            .thenReturn(Optional.of("# Library Story\n\n## One\nText\n\n## Two\nText\n\n## Three\nText"));
+        when(imageService.generateImage(anyString(), anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return "https://img/slow";
+        });
+
+        // Act
+        long start = System.nanoTime();
+        IllustratedStoryResponse response = illustratedStoryService.generateIllustratedStory(request, authentication);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertNull(response.coverImageUrl());
+        assertEquals(3, response.illustrations().size());
+        assertTrue(response.illustrations().stream().allMatch(illustration -> illustration.imageUrl() == null));
+        assertTrue(elapsedMillis < 2500, "waited " + elapsedMillis + " ms for 4 images with a 1 s timeout");
+    }
+}
@@ -0,0 +1,83 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PdfConversionServiceTest {
+
+    private static final String COVER_URL = "https://im.runware.ai/image/cover.png";
+    private static final String MARKDOWN = "# The Dragon\n\nOnce upon a time...";
+
+    @Mock
+    private StoryPdfRenderer storyPdfRenderer;
+
+    @TempDir
+    Path directory;
+
+    private PdfConversionService pdfConversionService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StoryPdfCache storyPdfCache = new StoryPdfCache();
+        ReflectionTestUtils.setField(storyPdfCache, "directory", directory.resolve("pdfs").toString());
+        ReflectionTestUtils.setField(storyPdfCache, "maxBytes", 1000L);
+        storyPdfCache.init();
+        pdfConversionService = new PdfConversionService(storyPdfRenderer, storyPdfCache);
+    }
+
+    @Test
+    void exportMarkdownToPdf_ShouldNotReuseExportMissingACoverThatFailedToDownload() throws Exception {
+        // Arrange
+        ImageDiskCache.CachedImage cover = new ImageDiskCache.CachedImage(directory.resolve("cover.png"), "hash", "image/png", 10);
+        when(storyPdfRenderer.resolveCover(COVER_URL)).thenReturn(Optional.empty(), Optional.of(cover));
+        doAnswer(invocation -> {
+            ImageDiskCache.CachedImage embedded = invocation.getArgument(1);
+            invocation.getArgument(2, OutputStream.class).write((embedded == null ? "%PDF-plain" : "%PDF-cover").getBytes());
+            return null;
+        }).when(storyPdfRenderer).renderWithCover(eq(MARKDOWN), any(), any(OutputStream.class));
+
+        // Act
+        StoryPdfCache.CachedPdf withoutCover = pdfConversionService.exportMarkdownToPdf(MARKDOWN, COVER_URL);
+        StoryPdfCache.CachedPdf withCover = pdfConversionService.exportMarkdownToPdf(MARKDOWN, COVER_URL);
+
+        // Assert
+        assertNotEquals(withoutCover.key(), withCover.key());
+        assertEquals(StoryPdfCache.key(MARKDOWN, null, StoryPdfRenderer.VERSION), withoutCover.key());
+        verify(storyPdfRenderer).renderWithCover(eq(MARKDOWN), isNull(), any(OutputStream.class));
+        verify(storyPdfRenderer).renderWithCover(eq(MARKDOWN), eq(cover), any(OutputStream.class));
+    }
+
+    @Test
+    void exportMarkdownToPdf_ShouldServeRepeatedExportFromCache() throws Exception {
+        // Arrange
+        when(storyPdfRenderer.resolveCover(null)).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write("%PDF-plain".getBytes());
+            return null;
+        }).when(storyPdfRenderer).renderWithCover(eq(MARKDOWN), isNull(), any(OutputStream.class));
+
+        // Act
+        StoryPdfCache.CachedPdf first = pdfConversionService.exportMarkdownToPdf(MARKDOWN, null);
+        StoryPdfCache.CachedPdf second = pdfConversionService.exportMarkdownToPdf(MARKDOWN, null);
+
+        // Assert
+        assertEquals(first.file(), second.file());
+        verify(storyPdfRenderer, times(1)).renderWithCover(eq(MARKDOWN), isNull(), any(OutputStream.class));
+    }
+}
@@ -0,0 +1,199 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.ratelimit.AiEndpointClass;
+import com.bestgroup.HomeEntertAInment.ratelimit.RateLimitExceededException;
+import com.bestgroup.HomeEntertAInment.ratelimit.RateLimitInterceptor;
+import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.CreateStoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryBatchStatusDto;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.Story;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoryBatchServiceTest {
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @Mock
+    private StoryService storyService;
+
+    @Mock
+    private GeminiStoryService geminiService;
+
+    @Mock
+    private StoryRepository storyRepository;
+
+    @Mock
+    private ClerkUserExtractor clerkUserExtractor;
+
+    @Mock
+    private ImageDiskCache imageDiskCache;
+
+    @Mock
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Mock
+    private Authentication authentication;
+
+    private ExecutorService executor;
+    private StoryBatchService storyBatchService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        storyBatchService = new StoryBatchService(storyService, geminiService, storyRepository,
+            clerkUserExtractor, imageDiskCache, executor, rateLimitInterceptor);
+        ReflectionTestUtils.setField(storyBatchService, "maxStories", 7);
+        ReflectionTestUtils.setField(storyBatchService, "maxConcurrentPerUser", 2);
+        ReflectionTestUtils.setField(storyBatchService, "retentionMinutes", 30L);
+        ReflectionTestUtils.setField(storyBatchService, "sseTimeoutMs", 1000L);
+        when(clerkUserExtractor.extractClerkUserIdRequired(authentication)).thenReturn(TEST_USER_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_ShouldGenerateUnderPerUserLimitAndSaveAllAtOnce() throws Exception {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(geminiService.sendStoryPrompt(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return "# Night story";
+        });
+        when(storyService.buildCreatedStory(any(), eq(TEST_USER_ID), anyString()))
+            .thenAnswer(invocation -> Story.builder().userId(TEST_USER_ID).generatedStory(invocation.getArgument(2)).build());
+        when(storyRepository.saveAll(anyList())).thenAnswer(invocation -> savedCopies(invocation.getArgument(0)));
+
+        // Act
+        StoryBatchStatusDto started = storyBatchService.submit(requests(5), authentication);
+        StoryBatchStatusDto finished = awaitFinished(started.jobId());
+
+        // Assert
+        assertEquals(StoryBatchStatusDto.Status.COMPLETED, finished.status());
+        assertEquals(5, finished.generated());
+        assertEquals(5, finished.storyIds().size());
+        assertTrue(maxInFlight.get() <= 2, "At most 2 concurrent generations per user, was " + maxInFlight.get());
+        ArgumentCaptor<List<Story>> saved = ArgumentCaptor.forClass(List.class);
+        verify(storyRepository, times(1)).saveAll(saved.capture());
+        assertEquals(5, saved.getValue().size());
+    }
+
+    @Test
+    void submit_ShouldSaveSuccessfulStoriesAndCountFailures() throws Exception {
+        // Arrange
+        when(geminiService.sendStoryPrompt(anyString()))
+            .thenReturn("# Story")
+            .thenReturn("Error: Failed to communicate with Gemini API - 503 Service Unavailable")
+            .thenReturn("# Story")
+            .thenReturn(" ");
+        when(storyService.buildCreatedStory(any(), eq(TEST_USER_ID), anyString()))
+            .thenAnswer(invocation -> Story.builder().userId(TEST_USER_ID).build());
+        when(storyRepository.saveAll(anyList())).thenAnswer(invocation -> savedCopies(invocation.getArgument(0)));
+
+        // Act
+        StoryBatchStatusDto finished = awaitFinished(storyBatchService.submit(requests(4), authentication).jobId());
+
+        // Assert
+        assertEquals(StoryBatchStatusDto.Status.COMPLETED, finished.status());
+        assertEquals(2, finished.generated());
+        assertEquals(2, finished.failed());
+        assertEquals(2, finished.storyIds().size());
+        verify(storyService, times(2)).buildCreatedStory(any(), eq(TEST_USER_ID), eq("# Story"));
+    }
+
+    @Test
+    void submit_ShouldRejectOversizedBatch() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> storyBatchService.submit(requests(8), authentication));
+        verifyNoInteractions(geminiService);
+        verifyNoInteractions(rateLimitInterceptor);
+    }
+
+    @Test
+    void submit_ShouldChargeOneTokenPerStory_AndGenerateNothingWhenRejected() {
+        // Arrange
+        doThrow(new RateLimitExceededException(40))
+            .when(rateLimitInterceptor).acquire(AiEndpointClass.STORY, TEST_USER_ID, 5);
+
+        // Act
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class,
+            () -> storyBatchService.submit(requests(5), authentication));
+
+        // Assert
+        assertEquals(40, rejected.getRetryAfterSeconds());
+        verify(rateLimitInterceptor).acquire(AiEndpointClass.STORY, TEST_USER_ID, 5);
+        verifyNoInteractions(geminiService);
+        verifyNoInteractions(storyRepository);
+    }
+
+    @Test
+    void getStatus_ShouldHideOtherUsersJobs() throws Exception {
+        // Arrange
+        when(geminiService.sendStoryPrompt(anyString())).thenReturn("# Story");
+        when(storyService.buildCreatedStory(any(), anyString(), anyString()))
+            .thenAnswer(invocation -> Story.builder().userId(TEST_USER_ID).build());
+        when(storyRepository.saveAll(anyList())).thenAnswer(invocation -> savedCopies(invocation.getArgument(0)));
+        UUID jobId = storyBatchService.submit(requests(1), authentication).jobId();
+        awaitFinished(jobId);
+        Authentication otherUser = mock(Authentication.class);
+        when(clerkUserExtractor.extractClerkUserIdRequired(otherUser)).thenReturn("other-user");
+
+        // Act & Assert
+        assertTrue(storyBatchService.getStatus(jobId, otherUser).isEmpty());
+        assertTrue(storyBatchService.subscribe(jobId, otherUser).isEmpty());
+        assertTrue(storyBatchService.getStatus(jobId, authentication).isPresent());
+    }
+
+    private StoryBatchStatusDto awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            StoryBatchStatusDto status = storyBatchService.getStatus(jobId, authentication).orElseThrow();
+            if (status.status() != StoryBatchStatusDto.Status.RUNNING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Batch did not finish");
+    }
+
+    private static List<CreateStoryRequest> requests(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new CreateStoryRequest("Hero " + i, "ADVENTURE", "Friendly", "NONE", null, null))
+            .toList();
+    }
+
+    private static List<Story> savedCopies(List<Story> stories) {
+        return stories.stream()
+            .map(story -> Story.builder().id(UUID.randomUUID()).userId(story.getUserId()).build())
+            .toList();
+    }
+}
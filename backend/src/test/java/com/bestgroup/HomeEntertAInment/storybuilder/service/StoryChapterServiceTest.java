@@ -0,0 +1,214 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
+import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryChapterDto;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.Story;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryChapter;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryChapterRepository;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryContext;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryContextRepository;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.StoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoryChapterServiceTest {
+
+    private static final String TEST_USER_ID = "test-user-123";
+
+    @Mock
+    private GeminiStoryService geminiService;
+
+    @Mock
+    private StoryRepository storyRepository;
+
+    @Mock
+    private StoryChapterRepository storyChapterRepository;
+
+    @Mock
+    private StoryContextRepository storyContextRepository;
+
+    @Mock
+    private ClerkUserExtractor clerkUserExtractor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Authentication authentication;
+
+    private StoryChapterService storyChapterService;
+
+    @BeforeEach
+    void setUp() {
+        storyChapterService = new StoryChapterService(geminiService, storyRepository, storyChapterRepository,
+            storyContextRepository, clerkUserExtractor, transactionManager);
+        when(clerkUserExtractor.extractClerkUserIdRequired(authentication)).thenReturn(TEST_USER_ID);
+    }
+
+    @Test
+    void continueStory_ShouldExtractContextOnce_WhenFirstChapter() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        Story story = Story.builder()
+            .id(storyId)
+            .userId(TEST_USER_ID)
+            .generatedStory("# The Dragon\n\nOnce upon a time there was a dragon.")
+            .build();
+        when(storyContextRepository.findById(storyId)).thenReturn(Optional.empty());
+        when(storyRepository.findByIdAndUserId(storyId, TEST_USER_ID)).thenReturn(Optional.of(story));
+        when(geminiService.sendStoryPrompt(anyString()))
+            .thenReturn("## Summary\nA dragon lives alone.\n## Characters\nSpark - a small red dragon")
+            .thenReturn("## Chapter 2\n\nSpark finds a friend.\n" + StoryChapterService.SUMMARY_MARKER + "\nSpark is no longer alone.");
+        when(storyChapterRepository.save(any(StoryChapter.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Optional<StoryChapterDto> result = storyChapterService.continueStory(storyId, "a friend arrives", authentication);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1, result.get().chapterNumber());
+        assertEquals("## Chapter 2\n\nSpark finds a friend.", result.get().content());
+        ArgumentCaptor<StoryContext> context = ArgumentCaptor.forClass(StoryContext.class);
+        verify(storyContextRepository).save(context.capture());
+        assertEquals("Spark is no longer alone.", context.getValue().getSummary());
+        assertEquals("Spark - a small red dragon", context.getValue().getCharacterSheet());
+        assertEquals("## Chapter 2\n\nSpark finds a friend.", context.getValue().getLastPassage());
+        assertEquals(1, context.getValue().getChapterCount());
+        verify(geminiService, times(2)).sendStoryPrompt(anyString());
+    }
+
+    @Test
+    void continueStory_ShouldUseStoredContextWithoutReadingStory_WhenLaterChapter() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        StoryContext context = StoryContext.builder()
+            .storyId(storyId)
+            .summary("Spark has a friend.")
+            .characterSheet("Spark - a small red dragon")
+            .lastPassage("They flew home together.")
+            .chapterCount(1)
+            .version(0L)
+            .build();
+        when(storyContextRepository.findById(storyId)).thenReturn(Optional.of(context));
+        when(storyRepository.existsByIdAndUserId(storyId, TEST_USER_ID)).thenReturn(true);
+        when(geminiService.sendStoryPrompt(anyString())).thenReturn("## Chapter 3\n\nA storm comes.");
+        when(storyChapterRepository.save(any(StoryChapter.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Optional<StoryChapterDto> result = storyChapterService.continueStory(storyId, null, authentication);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().chapterNumber());
+        ArgumentCaptor<String> prompt = ArgumentCaptor.forClass(String.class);
+        verify(geminiService).sendStoryPrompt(prompt.capture());
+        assertTrue(prompt.getValue().contains("They flew home together."));
+        verify(storyRepository, never()).findByIdAndUserId(any(), any());
+        // No summary marker in the response, so the previous summary is kept
+        assertEquals("Spark has a friend.", context.getSummary());
+        assertEquals("## Chapter 3\n\nA storm comes.", context.getLastPassage());
+    }
+
+    @Test
+    void continueStory_ShouldReturnEmpty_WhenStoryBelongsToAnotherUser() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        when(storyContextRepository.findById(storyId)).thenReturn(Optional.empty());
+        when(storyRepository.findByIdAndUserId(storyId, TEST_USER_ID)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<StoryChapterDto> result = storyChapterService.continueStory(storyId, null, authentication);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(geminiService);
+        verify(storyChapterRepository, never()).save(any());
+    }
+
+    @Test
+    void continueStory_ShouldThrowIllegalState_WhenChapterWrittenConcurrently() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        StoryContext context = StoryContext.builder()
+            .storyId(storyId)
+            .summary("Summary")
+            .characterSheet("Characters")
+            .lastPassage("Passage")
+            .chapterCount(1)
+            .version(0L)
+            .build();
+        when(storyContextRepository.findById(storyId)).thenReturn(Optional.of(context));
+        when(storyRepository.existsByIdAndUserId(storyId, TEST_USER_ID)).thenReturn(true);
+        when(geminiService.sendStoryPrompt(anyString())).thenReturn("Chapter");
+        when(storyContextRepository.save(context))
+            .thenThrow(new ObjectOptimisticLockingFailureException(StoryContext.class, storyId));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> storyChapterService.continueStory(storyId, null, authentication));
+    }
+
+    @Test
+    void continueStory_ShouldNotCacheContext_WhenContextExtractionFails() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        Story story = Story.builder()
+            .id(storyId)
+            .userId(TEST_USER_ID)
+            .generatedStory("# The Dragon\n\nOnce upon a time there was a dragon.")
+            .build();
+        when(storyContextRepository.findById(storyId)).thenReturn(Optional.empty());
+        when(storyRepository.findByIdAndUserId(storyId, TEST_USER_ID)).thenReturn(Optional.of(story));
+        when(geminiService.sendStoryPrompt(anyString()))
+            .thenReturn("Error: Failed to communicate with Gemini API - 503 Service Unavailable");
+
+        // Act & Assert
+        assertThrows(StoryChapterService.ChapterGenerationException.class,
+            () -> storyChapterService.continueStory(storyId, null, authentication));
+        verify(geminiService, times(1)).sendStoryPrompt(anyString());
+        verify(storyContextRepository, never()).save(any());
+        verify(storyChapterRepository, never()).save(any());
+    }
+
+    @Test
+    void continueStory_ShouldNotSaveChapter_WhenChapterGenerationFails() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        StoryContext context = StoryContext.builder()
+            .storyId(storyId)
+            .summary("Spark has a friend.")
+            .characterSheet("Spark - a small red dragon")
+            .lastPassage("They flew home together.")
+            .chapterCount(1)
+            .version(0L)
+            .build();
+        when(storyContextRepository.findById(storyId)).thenReturn(Optional.of(context));
+        when(storyRepository.existsByIdAndUserId(storyId, TEST_USER_ID)).thenReturn(true);
+        when(geminiService.sendStoryPrompt(anyString()))
+            .thenReturn("Error: Failed to communicate with Gemini API - 503 Service Unavailable");
+
+        // Act & Assert
+        assertThrows(StoryChapterService.ChapterGenerationException.class,
+            () -> storyChapterService.continueStory(storyId, null, authentication));
+        assertEquals(1, context.getChapterCount());
+        assertEquals("Spark has a friend.", context.getSummary());
+        verify(storyContextRepository, never()).save(any());
+        verify(storyChapterRepository, never()).save(any());
+    }
+}
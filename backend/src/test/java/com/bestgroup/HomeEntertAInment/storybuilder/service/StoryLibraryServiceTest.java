@@ -0,0 +1,142 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.StoryRequest;
+import com.bestgroup.HomeEntertAInment.storybuilder.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoryLibraryServiceTest {
+
+    @Mock
+    private GeminiStoryService geminiService;
+
+    @Mock
+    private StoryLibraryVariantRepository variantRepository;
+
+    private ExecutorService executor;
+    private StoryLibraryService libraryService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        libraryService = new StoryLibraryService(geminiService, variantRepository, executor);
+        ReflectionTestUtils.setField(libraryService, "enabled", true);
+        ReflectionTestUtils.setField(libraryService, "variantsPerKey", 2);
+        ReflectionTestUtils.setField(libraryService, "maxVariantsPerKey", 3);
+        ReflectionTestUtils.setField(libraryService, "popularThreshold", 2);
+        ReflectionTestUtils.setField(libraryService, "refillBatchSize", 4);
+        ReflectionTestUtils.setField(libraryService, "maxKeys", 100);
+        ReflectionTestUtils.setField(libraryService, "maxRotations", 100);
+        libraryService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void serve_ShouldMatchEquivalentRequestsAndNeverRepeatAVariantForAUser() {
+        // Arrange
+        libraryService.offer(request("Dragon", List.of(Theme.FANTASY, Theme.ADVENTURE), null), "user-a", "# Story A");
+        libraryService.offer(request("Dragon", List.of(Theme.ADVENTURE, Theme.FANTASY), null), "user-b", "# Story B");
+        StoryRequest equivalent = request("  dragon ", List.of(Theme.ADVENTURE, Theme.FANTASY), null);
+
+        // Act
+        Optional<String> firstForA = libraryService.serve(equivalent, "user-a");
+        Optional<String> secondForA = libraryService.serve(equivalent, "user-a");
+        Optional<String> firstForC = libraryService.serve(equivalent, "user-c");
+        Optional<String> secondForC = libraryService.serve(equivalent, "user-c");
+        Optional<String> thirdForC = libraryService.serve(equivalent, "user-c");
+
+        // Assert
+        assertEquals(Optional.of("# Story B"), firstForA);
+        assertTrue(secondForA.isEmpty(), "user-a has had every variant, so a new story is generated");
+        assertEquals(Optional.of("# Story A"), firstForC);
+        assertEquals(Optional.of("# Story B"), secondForC);
+        assertTrue(thirdForC.isEmpty());
+        verify(variantRepository, times(2)).save(any(StoryLibraryVariant.class));
+    }
+
+    @Test
+    void offer_ShouldAddStoryGeneratedForUserWhoHadEveryVariant() {
+        // Arrange
+        StoryRequest dragon = request("Dragon", List.of(Theme.FANTASY), null);
+        libraryService.offer(dragon, "user-a", "# Story A");
+        libraryService.offer(dragon, "user-a", "# Story B");
+        assertTrue(libraryService.serve(dragon, "user-a").isEmpty());
+
+        // Act
+        libraryService.offer(dragon, "user-a", "# Story C");
+        libraryService.offer(dragon, "user-a", "# Story D");
+
+        // Assert
+        assertTrue(libraryService.serve(dragon, "user-a").isEmpty());
+        assertEquals(Optional.of("# Story A"), libraryService.serve(dragon, "user-b"));
+        assertEquals(Optional.of("# Story B"), libraryService.serve(dragon, "user-b"));
+        assertEquals(Optional.of("# Story C"), libraryService.serve(dragon, "user-b"));
+        assertTrue(libraryService.serve(dragon, "user-b").isEmpty(), "the library holds at most 3 variants");
+        verify(variantRepository, times(3)).save(any(StoryLibraryVariant.class));
+    }
+
+    @Test
+    void serve_ShouldSkipRequestsWithCustomText() {
+        // Arrange
+        libraryService.offer(request("Dragon", List.of(Theme.FANTASY), null), "user-a", "# Story A");
+
+        // Act
+        Optional<String> story = libraryService.serve(request("Dragon", List.of(Theme.FANTASY), "Set it on Mars"), "user-b");
+
+        // Assert
+        assertTrue(story.isEmpty());
+    }
+
+    @Test
+    void offer_ShouldNotStoreGeminiErrors() {
+        // Act
+        libraryService.offer(request("Dragon", List.of(Theme.FANTASY), null), "user-a", "Error: Failed to communicate with Gemini API");
+
+        // Assert
+        assertTrue(libraryService.serve(request("Dragon", List.of(Theme.FANTASY), null), "user-b").isEmpty());
+        verifyNoInteractions(variantRepository);
+    }
+
+    @Test
+    void refill_ShouldGenerateMissingVariantsForPopularCombinations() {
+        // Arrange
+        StoryRequest popular = request("Robot", List.of(Theme.SCI_FI), null);
+        StoryRequest rare = request("Whale", List.of(Theme.COMEDY), null);
+        libraryService.serve(popular, "user-a");
+        libraryService.serve(popular, "user-b");
+        libraryService.serve(rare, "user-a");
+        when(geminiService.sendStoryPrompt(anyString())).thenReturn("# Robot one", "# Robot two");
+
+        // Act
+        libraryService.refill();
+
+        // Assert
+        verify(geminiService, timeout(2000).times(2)).sendStoryPrompt(contains("Robot"));
+        verify(variantRepository, timeout(2000).times(2)).save(any(StoryLibraryVariant.class));
+        verify(geminiService, never()).sendStoryPrompt(contains("Whale"));
+    }
+
+    private static StoryRequest request(String character, List<Theme> themes, String custom) {
+        return new StoryRequest(character, themes, AgeGroup.AGE_5_6, StoryLength.SHORT, null, custom);
+    }
+}
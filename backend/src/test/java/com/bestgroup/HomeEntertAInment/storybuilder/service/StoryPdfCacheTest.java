@@ -0,0 +1,140 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoryPdfCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private StoryPdfCache storyPdfCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storyPdfCache = newCache(1000);
+    }
+
+    @Test
+    void key_ShouldDependOnContentCoverAndRendererVersion() {
+        // Act
+        String key = StoryPdfCache.key("# Story", "https://im.runware.ai/a.png", "1");
+
+        // Assert
+        assertEquals(key, StoryPdfCache.key("# Story", "https://im.runware.ai/a.png", "1"));
+        assertNotEquals(key, StoryPdfCache.key("# Story!", "https://im.runware.ai/a.png", "1"));
+        assertNotEquals(key, StoryPdfCache.key("# Story", "https://im.runware.ai/b.png", "1"));
+        assertNotEquals(key, StoryPdfCache.key("# Story", "https://im.runware.ai/a.png", "2"));
+        assertEquals(StoryPdfCache.key("# Story", null, "1"), StoryPdfCache.key("# Story", "", "1"));
+    }
+
+    @Test
+    void getOrRender_ShouldRenderOnceAndServeRepeatsFromDisk() throws Exception {
+        // Arrange
+        AtomicInteger renders = new AtomicInteger();
+        StoryPdfCache.PdfWriter writer = out -> {
+            renders.incrementAndGet();
+            out.write("%PDF-story".getBytes());
+        };
+
+        // Act
+        StoryPdfCache.CachedPdf first = storyPdfCache.getOrRender("key1", writer);
+        StoryPdfCache.CachedPdf second = storyPdfCache.getOrRender("key1", writer);
+
+        // Assert
+        assertEquals(1, renders.get());
+        assertEquals(first.file(), second.file());
+        assertEquals("%PDF-story", Files.readString(second.file()));
+        assertEquals(10, second.size());
+    }
+
+    @Test
+    void getOrRender_ShouldEvictLeastRecentlyUsedPdf() throws Exception {
+        // Arrange
+        storyPdfCache = newCache(25);
+        StoryPdfCache.PdfWriter tenBytes = out -> out.write(new byte[10]);
+        StoryPdfCache.CachedPdf a = storyPdfCache.getOrRender("a", tenBytes);
+        StoryPdfCache.CachedPdf b = storyPdfCache.getOrRender("b", tenBytes);
+        storyPdfCache.getOrRender("a", tenBytes);
+
+        // Act
+        storyPdfCache.getOrRender("c", tenBytes);
+
+        // Assert
+        assertTrue(Files.exists(a.file()));
+        assertTrue(Files.exists(b.file()), "a response handed to sendfile may still be reading it");
+        assertEquals(20, storyPdfCache.getTotalBytes());
+        assertThrows(IOException.class, () -> storyPdfCache.getOrRender("b", out -> {
+            throw new IOException("Evicted, so rendered again");
+        }));
+    }
+
+    @Test
+    void deleteEvicted_ShouldDeleteEvictedPdfsAfterTheDelay() throws Exception {
+        // Arrange
+        storyPdfCache = newCache(25, 0);
+        StoryPdfCache.PdfWriter tenBytes = out -> out.write(new byte[10]);
+        StoryPdfCache.CachedPdf a = storyPdfCache.getOrRender("a", tenBytes);
+        StoryPdfCache.CachedPdf b = storyPdfCache.getOrRender("b", tenBytes);
+        storyPdfCache.getOrRender("c", tenBytes);
+        storyPdfCache.getOrRender("a", tenBytes);
+
+        // Act
+        storyPdfCache.deleteEvicted();
+
+        // Assert
+        assertTrue(Files.exists(a.file()), "rendered again after its eviction");
+        assertFalse(Files.exists(b.file()));
+    }
+
+    @Test
+    void getOrRender_ShouldNotCacheFailedRender() throws Exception {
+        // Arrange
+        StoryPdfCache.PdfWriter failing = out -> {
+            out.write("%PDF-partial".getBytes());
+            throw new IOException("Renderer failed");
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> storyPdfCache.getOrRender("key1", failing));
+        assertEquals(0, storyPdfCache.getTotalBytes());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void init_ShouldReloadCachedPdfsFromDisk() throws Exception {
+        // Arrange
+        storyPdfCache.getOrRender("key1", out -> out.write(new byte[7]));
+
+        // Act
+        StoryPdfCache reloaded = newCache(1000);
+
+        // Assert
+        assertEquals(7, reloaded.getTotalBytes());
+        assertEquals(7, reloaded.getOrRender("key1", out -> fail("Should be served from disk")).size());
+    }
+
+    private StoryPdfCache newCache(long maxBytes) throws IOException {
+        return newCache(maxBytes, 60);
+    }
+
+    private StoryPdfCache newCache(long maxBytes, long deleteDelaySeconds) throws IOException {
+        StoryPdfCache cache = new StoryPdfCache();
+        ReflectionTestUtils.setField(cache, "deleteDelaySeconds", deleteDelaySeconds);
+        ReflectionTestUtils.setField(cache, "directory", directory.toString());
+        ReflectionTestUtils.setField(cache, "maxBytes", maxBytes);
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bestgroup.HomeEntertAInment.storybuilder.service;
+
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoryPdfRendererTest {
+
+    private static final String COVER_URL = "https://im.runware.ai/image/cover.png";
+
+    @Mock
+    private ImageDiskCache imageDiskCache;
+
+    @InjectMocks
+    private StoryPdfRenderer storyPdfRenderer;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void render_ShouldWritePdfWithoutCover() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        storyPdfRenderer.render("# The Dragon\n\nOnce upon a time...\n\n## Chapter 1\n\nThe end.", null, out);
+
+        // Assert
+        assertTrue(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF-"));
+        verifyNoInteractions(imageDiskCache);
+    }
+
+    @Test
+    void render_ShouldEmbedCachedCoverImage() throws Exception {
+        // Arrange
+        Path coverFile = directory.resolve("cover");
+        ImageIO.write(new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB), "png", coverFile.toFile());
+        when(imageDiskCache.isAllowed(COVER_URL)).thenReturn(true);
+        when(imageDiskCache.get(COVER_URL)).thenReturn(Optional.of(
+            new ImageDiskCache.CachedImage(coverFile, "abc", "image/png", Files.size(coverFile))));
+        ByteArrayOutputStream withCover = new ByteArrayOutputStream();
+        ByteArrayOutputStream withoutCover = new ByteArrayOutputStream();
+
+        // Act
+        storyPdfRenderer.render("# The Dragon\n\nOnce upon a time...", COVER_URL, withCover);
+        storyPdfRenderer.render("# The Dragon\n\nOnce upon a time...", null, withoutCover);
+
+        // Assert
+        verify(imageDiskCache, times(1)).get(COVER_URL);
+        String pdf = withCover.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.contains("/Subtype /Image"));
+        assertFalse(withoutCover.toString(StandardCharsets.ISO_8859_1).contains("/Subtype /Image"));
+    }
+
+    @Test
+    void render_ShouldSkipCoverFromDisallowedHost() throws Exception {
+        // Arrange
+        when(imageDiskCache.isAllowed(anyString())).thenReturn(false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        storyPdfRenderer.render("Once upon a time...", "http://localhost/internal.png", out);
+
+        // Assert
+        verify(imageDiskCache, never()).get(anyString());
+        assertTrue(out.size() > 0);
+    }
+
+    @Test
+    void toXhtml_ShouldEscapeRawHtmlAndKeepMarkup() {
+        // Act
+        String html = storyPdfRenderer.toXhtml("# Title\n\nA <img src=\"file:///etc/passwd\"> & more", null);
+
+        // Assert
+        assertTrue(html.contains("<h1>Title</h1>"));
+        assertTrue(html.contains("&lt;img"));
+        assertFalse(html.contains("<img"));
+    }
+}
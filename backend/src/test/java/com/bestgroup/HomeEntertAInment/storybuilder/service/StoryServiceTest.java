@@ -2,6 +2,7 @@ package com.bestgroup.HomeEntertAInment.storybuilder.service;
 
 import com.bestgroup.HomeEntertAInment.config.ClerkUserExtractor;
 import com.bestgroup.HomeEntertAInment.service.GeminiStoryService;
+import com.bestgroup.HomeEntertAInment.service.ImageDiskCache;
 import com.bestgroup.HomeEntertAInment.storybuilder.http.dto.*;
 import com.bestgroup.HomeEntertAInment.storybuilder.model.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 
 import java.time.LocalDateTime;
@@ -37,6 +39,15 @@ class StoryServiceTest {
     @Mock
     private ClerkUserExtractor clerkUserExtractor;
 
+    @Mock
+    private StoryLibraryService storyLibraryService;
+
+    @Mock
+    private ImageDiskCache imageDiskCache;
+
+    @Mock
+    private StoryChapterService storyChapterService;
+
     @Mock
     private Authentication authentication;
 
@@ -108,6 +119,31 @@ class StoryServiceTest {
         verify(geminiService).sendStoryPrompt(argThat(prompt -> !prompt.contains("Extra details:")));
     }
 
+    @Test
+    void generateStory_ShouldServeLibraryStoryWithoutCallingGemini() {
+        // Arrange
+        StoryRequest request = new StoryRequest(
+            "Princess",
+            List.of(Theme.ADVENTURE),
+            AgeGroup.AGE_5_6,
+            StoryLength.SHORT,
+            null,
+            null
+        );
+
+        when(storyLibraryService.serve(request, TEST_USER_ID)).thenReturn(Optional.of(TEST_STORY_CONTENT));
+        when(storyRepository.save(any(Story.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        StoryResponse response = storyService.generateStory(request, authentication);
+
+        // Assert
+        assertEquals(TEST_STORY_CONTENT, response.story());
+        verifyNoInteractions(geminiService);
+        verify(storyLibraryService, never()).offer(any(), any(), any());
+        verify(storyRepository).save(any(Story.class));
+    }
+
     @Test
     void getStoriesForUser_ShouldReturnUserStories() {
         // Arrange
@@ -126,6 +162,61 @@ class StoryServiceTest {
         verify(storyRepository).findByUserIdOrderByCreatedAtDesc(TEST_USER_ID);
     }
 
+    @Test
+    void getStorySummaries_ShouldReturnPageWithThemesAndNextCursor() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 12, 0);
+        StorySummary newest = new StorySummary(UUID.randomUUID(), "The Dragon", "https://example.com/a.jpg", now, 900);
+        StorySummary second = new StorySummary(UUID.randomUUID(), "The Castle", null, now.minusHours(1), 450);
+        StorySummary third = new StorySummary(UUID.randomUUID(), "The Sea", null, now.minusHours(2), 300);
+        when(storyRepository.findSummariesByUserId(TEST_USER_ID, Limit.of(3)))
+            .thenReturn(List.of(newest, second, third));
+        when(storyRepository.findThemesByStoryIds(List.of(newest.id(), second.id())))
+            .thenReturn(List.<Object[]>of(
+                new Object[] { newest.id(), Theme.ADVENTURE },
+                new Object[] { newest.id(), Theme.FANTASY }));
+
+        // Act
+        StorySummaryPageDto page = storyService.getStorySummaries(authentication, null, 2);
+
+        // Assert
+        assertEquals(2, page.stories().size());
+        assertEquals("The Dragon", page.stories().get(0).title());
+        assertEquals(List.of("ADVENTURE", "FANTASY"), page.stories().get(0).themes());
+        assertEquals(List.of(), page.stories().get(1).themes());
+        assertEquals(900, page.stories().get(0).wordCount());
+        assertNotNull(page.nextCursor());
+        verify(storyRepository, never()).findByUserIdOrderByCreatedAtDesc(anyString());
+    }
+
+    @Test
+    void getStorySummaries_ShouldContinueAfterCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 9, 1, 11, 0, 0, 123456000);
+        UUID lastId = UUID.randomUUID();
+        String cursor = new StoryService.SummaryCursor(createdAt, lastId).encode();
+        StorySummary older = new StorySummary(UUID.randomUUID(), "The Sea", null, createdAt.minusHours(1), 300);
+        when(storyRepository.findSummariesByUserIdAfter(TEST_USER_ID, createdAt, lastId, Limit.of(3)))
+            .thenReturn(List.of(older));
+        when(storyRepository.findThemesByStoryIds(List.of(older.id()))).thenReturn(List.of());
+
+        // Act
+        StorySummaryPageDto page = storyService.getStorySummaries(authentication, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.stories().size());
+        assertEquals("The Sea", page.stories().get(0).title());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getStorySummaries_ShouldRejectMalformedCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> storyService.getStorySummaries(authentication, "not-a-cursor", 20));
+        verifyNoInteractions(storyRepository);
+    }
+
     @Test
     void getStoryById_ShouldReturnStory_WhenFound() {
         // Arrange
@@ -262,23 +353,46 @@ class StoryServiceTest {
     void deleteStory_ShouldReturnTrue_WhenStoryExists() {
         // Arrange
         UUID storyId = UUID.randomUUID();
-        when(storyRepository.existsByIdAndUserId(storyId, TEST_USER_ID))
-            .thenReturn(true);
+        Story story = Story.builder().id(storyId).userId(TEST_USER_ID).coverImageUrl("https://im.runware.ai/cover.png").build();
+        when(storyRepository.findByIdAndUserId(storyId, TEST_USER_ID))
+            .thenReturn(Optional.of(story));
+        when(storyRepository.existsByCoverImageUrl("https://im.runware.ai/cover.png"))
+            .thenReturn(false);
 
         // Act
         boolean result = storyService.deleteStory(storyId, authentication);
 
         // Assert
         assertTrue(result);
+        verify(storyChapterService).deleteChapters(storyId);
         verify(storyRepository).deleteByIdAndUserId(storyId, TEST_USER_ID);
+        verify(imageDiskCache).unpin("https://im.runware.ai/cover.png");
+    }
+
+    @Test
+    void deleteStory_ShouldKeepCoverPinned_WhenAnotherStoryUsesIt() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        Story story = Story.builder().id(storyId).userId(TEST_USER_ID).coverImageUrl("https://im.runware.ai/cover.png").build();
+        when(storyRepository.findByIdAndUserId(storyId, TEST_USER_ID))
+            .thenReturn(Optional.of(story));
+        when(storyRepository.existsByCoverImageUrl("https://im.runware.ai/cover.png"))
+            .thenReturn(true);
+
+        // Act
+        boolean result = storyService.deleteStory(storyId, authentication);
+
+        // Assert
+        assertTrue(result);
+        verify(imageDiskCache, never()).unpin(anyString());
     }
 
     @Test
     void deleteStory_ShouldReturnFalse_WhenStoryDoesNotExist() {
         // Arrange
         UUID storyId = UUID.randomUUID();
-        when(storyRepository.existsByIdAndUserId(storyId, TEST_USER_ID))
-            .thenReturn(false);
+        when(storyRepository.findByIdAndUserId(storyId, TEST_USER_ID))
+            .thenReturn(Optional.empty());
 
         // Act
         boolean result = storyService.deleteStory(storyId, authentication);
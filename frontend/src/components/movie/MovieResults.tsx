@@ -77,10 +77,15 @@ export default function MovieResults({
               {/* Movie Poster */}
               {movie.posterUrl && (
                 <div className="flex-shrink-0 mx-auto sm:mx-0">
+                  {/* Thumbnails instead of full-size posters; shown at most 128px wide */}
                   <img
-                    src={`/api/proxy/image?url=${encodeURIComponent(
+                    src={`/api/proxy/image/thumbnail?url=${encodeURIComponent(
                       movie.posterUrl
-                    )}`}
+                    )}&width=192`}
+                    srcSet={`/api/proxy/image/thumbnail?url=${encodeURIComponent(
+                      movie.posterUrl
+                    )}&width=320 2x`}
+                    loading="lazy"
                     alt={`${movie.title} poster`}
                     className="w-24 h-36 sm:w-32 sm:h-48 object-cover rounded-lg shadow-lg"
                     onError={(e) => {
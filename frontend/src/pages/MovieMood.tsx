@@ -11,34 +11,33 @@ export default function MovieMood() {
   const [error, setError] = useState<string | null>(null);
   const [results, setResults] = useState<MovieResponse | null>(null);
   const [saveSuccess, setSaveSuccess] = useState<string | null>(null);
+  const [lastRequest, setLastRequest] = useState<MovieRequest | null>(null);
 
   const handleFormSubmit = async (payload: MovieRequest) => {
     setLoading(true);
     setError(null);
     setResults(null);
     setSaveSuccess(null);
+    setLastRequest(payload);
 
     try {
       if (!isSignedIn) {
         throw new Error("You must be signed in to get recommendations.");
       }
       const token = await getToken();
-      const response = await MovieService.getRecommendations(
+      // Show each movie as soon as it has been generated
+      const count = await MovieService.streamRecommendations(
         payload,
+        (movie) =>
+          setResults((previous) => ({
+            movies: [...(previous?.movies ?? []), movie],
+          })),
         token || undefined
       );
-      console.log("API Response:", response); // Debug logging
 
-      // Validate response structure
-      if (!response || typeof response !== "object") {
-        throw new Error("Invalid response format from server");
+      if (count === 0) {
+        throw new Error("No movies were recommended");
       }
-
-      if (!response.movies) {
-        throw new Error("No movies array in response");
-      }
-
-      setResults(response);
     } catch (err) {
       console.error("Movie recommendation error:", err); // Debug logging
       setError(
@@ -63,7 +62,8 @@ export default function MovieMood() {
       const response = await MovieService.saveMovieList(
         listName,
         description,
-        searchCriteria,
+        // Keep the preferences with the list, so saved lists can answer similar searches
+        JSON.stringify({ ...JSON.parse(searchCriteria), request: lastRequest }),
         results,
         token || undefined
       );
@@ -126,8 +126,8 @@ export default function MovieMood() {
         </div>
       )}
 
-      {/* Show loading in main content area */}
-      {loading && (
+      {/* Show loading in main content area until the first movie arrives */}
+      {loading && (!results || results.movies.length === 0) && (
         <div className="w-full max-w-4xl text-center px-4">
           <div className="rounded-xl p-[2px] bg-gradient-to-r from-[#F930C7] to-[#3076F9]">
             <div className="rounded-[10px] bg-black p-6 sm:p-8 text-white">
@@ -163,8 +163,8 @@ export default function MovieMood() {
         </div>
       )}
 
-      {/* Show results at the top if they exist */}
-      {!loading && results && results.movies && (
+      {/* Show results at the top if they exist, growing while they stream in */}
+      {results && results.movies && results.movies.length > 0 && (
         <div className="w-full max-w-4xl px-4">
           <div className="rounded-xl p-[2px] bg-gradient-to-r from-[#F930C7] to-[#3076F9]">
             <div className="rounded-[10px] bg-black p-4 sm:p-6 lg:p-8 text-white">
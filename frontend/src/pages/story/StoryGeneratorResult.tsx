@@ -177,7 +177,9 @@ export default function StoryGeneratorResult() {
           {imageData?.imageUrl && (
             <div className="mb-6 flex justify-center">
               <img
-                src={imageData.imageUrl}
+                src={`/api/proxy/image?url=${encodeURIComponent(
+                  imageData.imageUrl
+                )}`}
                 alt="Story cover"
                 className="max-w-full h-auto rounded-lg shadow-lg border"
                 style={{ maxHeight: "400px" }}
@@ -1,4 +1,4 @@
-import type { MovieRequest, MovieResponse, MovieListSummary, MovieListDetail } from "../types/movie";
+import type { Movie, MovieRequest, MovieResponse, MovieListSummary, MovieListDetail } from "../types/movie";
 
 const BASE_URL = "http://localhost:8080";
 
@@ -29,6 +29,65 @@ export class MovieService {
     return (await response.json()) as MovieResponse;
   }
 
+  /**
+   * Stream movie recommendations, calling onMovie for each movie as soon as it is generated
+   * Resolves with the number of movies once the stream completes
+   */
+  static async streamRecommendations(
+    request: MovieRequest,
+    onMovie: (movie: Movie) => void,
+    token?: string
+  ): Promise<number> {
+    const response = await fetch(`${BASE_URL}/api/movies/recommendations/stream`, {
+      method: "POST",
+      headers: {
+        "Content-Type": "application/json",
+        Accept: "text/event-stream",
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      body: JSON.stringify(request),
+    });
+
+    if (!response.ok || !response.body) {
+      const message = await safeReadText(response);
+      throw new Error(
+        message || `Request failed with status ${response.status}`
+      );
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = "";
+    let count = 0;
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true });
+
+      // Events are separated by a blank line
+      let boundary;
+      while ((boundary = buffer.indexOf("\n\n")) >= 0) {
+        const rawEvent = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+        let name = "message";
+        let data = "";
+        for (const line of rawEvent.split("\n")) {
+          if (line.startsWith("event:")) name = line.slice(6).trim();
+          else if (line.startsWith("data:")) data += line.slice(5);
+        }
+        if (name === "movie") {
+          count++;
+          onMovie(JSON.parse(data) as Movie);
+        } else if (name === "error") {
+          throw new Error(JSON.parse(data).message);
+        } else if (name === "complete") {
+          return count;
+        }
+      }
+    }
+    return count;
+  }
+
   /**
    * Save a movie list
    */
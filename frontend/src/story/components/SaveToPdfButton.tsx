@@ -46,24 +46,30 @@ export function SaveToPdfButton({
         );
       }
 
-      const result = await response.json();
+      let pdfBlob: Blob;
+      if (response.headers.get("Content-Type")?.includes("application/pdf")) {
+        // Rendered by the backend and streamed directly
+        pdfBlob = await response.blob();
+      } else {
+        const result = await response.json();
 
-      // Check if we got a file URL
-      if (!result.Files || !result.Files[0] || !result.Files[0].Url) {
-        throw new Error("No file URL received from backend");
-      }
+        // Check if we got a file URL
+        if (!result.Files || !result.Files[0] || !result.Files[0].Url) {
+          throw new Error("No file URL received from backend");
+        }
 
-      const fileUrl = result.Files[0].Url;
+        const fileUrl = result.Files[0].Url;
 
-      // Download the PDF file
-      const pdfResponse = await fetch(fileUrl);
-      if (!pdfResponse.ok) {
-        throw new Error(
-          `Failed to download PDF: ${pdfResponse.status} ${pdfResponse.statusText}`
-        );
-      }
+        // Download the PDF file
+        const pdfResponse = await fetch(fileUrl);
+        if (!pdfResponse.ok) {
+          throw new Error(
+            `Failed to download PDF: ${pdfResponse.status} ${pdfResponse.statusText}`
+          );
+        }
 
-      const pdfBlob = await pdfResponse.blob();
+        pdfBlob = await pdfResponse.blob();
+      }
 
       // Create download link and trigger download
       const url = window.URL.createObjectURL(pdfBlob);